@@ -0,0 +1,112 @@
+package com.femcoders.pettrack.benchmarks;
+
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordRequest;
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordResponse;
+import com.femcoders.pettrack.dtos.pet.PetRequest;
+import com.femcoders.pettrack.dtos.pet.PetResponse;
+import com.femcoders.pettrack.dtos.user.UserRequest;
+import com.femcoders.pettrack.dtos.user.UserResponse;
+import com.femcoders.pettrack.models.*;
+import com.femcoders.pettrack.security.UserDetail;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class BenchmarkFixtures {
+
+    public static User owner() {
+        return User.builder()
+                .id(1L)
+                .username("Debora")
+                .email("debora@user.com")
+                .password("$2a$12$xuHYlMnpjp5VbIcxcEZFveIWU7DTVK2ufFRCrd7Or0AfeAWASK3gi")
+                .role(Role.USER)
+                .build();
+    }
+
+    public static User veterinary() {
+        return User.builder()
+                .id(4L)
+                .username("Carmen")
+                .email("carmen@vet.com")
+                .password("$2a$12$aXrRPOIJ.vQ3wPN5/6JE0uED39Ez2jf7D9poXGNTN9nufxsI.M2Ii")
+                .role(Role.VETERINARY)
+                .build();
+    }
+
+    public static UserDetail veterinaryDetail() {
+        return new UserDetail(veterinary());
+    }
+
+    public static UserDetail ownerDetail() {
+        return new UserDetail(owner());
+    }
+
+    public static Pet pet() {
+        return Pet.builder()
+                .id(1L)
+                .name("Luna")
+                .species("Perro")
+                .breed("Golden Retriever")
+                .birthDate(LocalDate.parse("2021-03-15"))
+                .image("https://example.com/images/luna.jpg")
+                .user(owner())
+                .build();
+    }
+
+    public static MedicalRecord medicalRecord() {
+        return MedicalRecord.builder()
+                .id(1L)
+                .description("Vacunación antirrábica anual")
+                .weight(25.0)
+                .date(LocalDate.parse("2024-03-15"))
+                .type(MedicalRecordType.VACCINATION)
+                .pet(pet())
+                .createdBy(veterinary())
+                .build();
+    }
+
+    public static PetRequest petRequest() {
+        return new PetRequest("Luna", "Perro", "Golden Retriever", LocalDate.parse("2021-03-15"),
+                "https://example.com/images/luna.jpg", "Debora");
+    }
+
+    public static MedicalRecordRequest medicalRecordRequest() {
+        return new MedicalRecordRequest("Vacunación antirrábica anual", 25.0, LocalDate.parse("2024-03-15"),
+                MedicalRecordType.VACCINATION, 1L);
+    }
+
+    public static UserRequest userRequest() {
+        return new UserRequest("Debora", "debora@user.com", "Password1!");
+    }
+
+    public static List<PetResponse> petResponses(int size) {
+        List<PetResponse> responses = new ArrayList<>(size);
+        for (long i = 0; i < size; i++) {
+            responses.add(new PetResponse(i, "Luna" + i, "Perro", "Golden Retriever",
+                    LocalDate.parse("2021-03-15"), "https://example.com/images/luna.jpg", "Debora"));
+        }
+        return responses;
+    }
+
+    public static List<MedicalRecordResponse> medicalRecordResponses(int size) {
+        List<MedicalRecordResponse> responses = new ArrayList<>(size);
+        for (long i = 0; i < size; i++) {
+            responses.add(new MedicalRecordResponse(i, "Vacunación antirrábica anual", 25.0,
+                    LocalDate.parse("2024-03-15"), MedicalRecordType.VACCINATION, "Luna", "Carmen"));
+        }
+        return responses;
+    }
+
+    public static List<UserResponse> userResponses(int size) {
+        List<UserResponse> responses = new ArrayList<>(size);
+        for (long i = 0; i < size; i++) {
+            responses.add(new UserResponse(i, "user" + i, "user" + i + "@user.com", Role.USER.name()));
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,46 @@
+package com.femcoders.pettrack.benchmarks;
+
+import com.femcoders.pettrack.security.UserDetail;
+import com.femcoders.pettrack.security.jwt.JwtService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+    private JwtService jwtService;
+    private UserDetail userDetail;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtService = new JwtService();
+        userDetail = BenchmarkFixtures.veterinaryDetail();
+        token = jwtService.generateToken(userDetail);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(userDetail);
+    }
+
+    @Benchmark
+    public boolean isValidToken() {
+        return jwtService.isValidToken(token);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public String authFilterPath() {
+        return jwtService.isValidToken(token) ? jwtService.extractUsername(token) : null;
+    }
+}
@@ -0,0 +1,76 @@
+package com.femcoders.pettrack.benchmarks;
+
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordMapperImpl;
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordRequest;
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordResponse;
+import com.femcoders.pettrack.dtos.pet.PetMapperImpl;
+import com.femcoders.pettrack.dtos.pet.PetRequest;
+import com.femcoders.pettrack.dtos.pet.PetResponse;
+import com.femcoders.pettrack.dtos.user.UserMapperImpl;
+import com.femcoders.pettrack.dtos.user.UserRequest;
+import com.femcoders.pettrack.dtos.user.UserResponse;
+import com.femcoders.pettrack.models.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private final PetMapperImpl petMapper = new PetMapperImpl();
+    private final MedicalRecordMapperImpl medicalRecordMapper = new MedicalRecordMapperImpl();
+    private final UserMapperImpl userMapper = new UserMapperImpl();
+
+    private User owner;
+    private User veterinary;
+    private Pet pet;
+    private MedicalRecord medicalRecord;
+    private PetRequest petRequest;
+    private MedicalRecordRequest medicalRecordRequest;
+    private UserRequest userRequest;
+
+    @Setup
+    public void setup() {
+        owner = BenchmarkFixtures.owner();
+        veterinary = BenchmarkFixtures.veterinary();
+        pet = BenchmarkFixtures.pet();
+        medicalRecord = BenchmarkFixtures.medicalRecord();
+        petRequest = BenchmarkFixtures.petRequest();
+        medicalRecordRequest = BenchmarkFixtures.medicalRecordRequest();
+        userRequest = BenchmarkFixtures.userRequest();
+    }
+
+    @Benchmark
+    public PetResponse petEntityToDto() {
+        return petMapper.entityToDto(pet);
+    }
+
+    @Benchmark
+    public Pet petDtoToEntity() {
+        return petMapper.dtoToEntity(petRequest, owner);
+    }
+
+    @Benchmark
+    public MedicalRecordResponse medicalRecordEntityToDto() {
+        return medicalRecordMapper.entityToDto(medicalRecord);
+    }
+
+    @Benchmark
+    public MedicalRecord medicalRecordDtoToEntity() {
+        return medicalRecordMapper.dtoToEntity(medicalRecordRequest, pet, veterinary);
+    }
+
+    @Benchmark
+    public UserResponse userEntityToDto() {
+        return userMapper.entityToDto(owner);
+    }
+
+    @Benchmark
+    public User userDtoToEntity() {
+        return userMapper.dtoToEntity(userRequest, Role.USER);
+    }
+}
@@ -0,0 +1,40 @@
+package com.femcoders.pettrack.benchmarks;
+
+import com.femcoders.pettrack.security.UserDetail;
+import com.femcoders.pettrack.utils.RoleValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoleValidatorBenchmark {
+    private UserDetail veterinary;
+    private UserDetail owner;
+
+    @Setup
+    public void setup() {
+        veterinary = BenchmarkFixtures.veterinaryDetail();
+        owner = BenchmarkFixtures.ownerDetail();
+    }
+
+    @Benchmark
+    public boolean isVeterinary() {
+        return RoleValidator.isVeterinary(veterinary);
+    }
+
+    @Benchmark
+    public boolean isVeterinaryWhenOwner() {
+        return RoleValidator.isVeterinary(owner);
+    }
+
+    @Benchmark
+    public UserDetail validateVeterinary() {
+        RoleValidator.validateVeterinary(veterinary, "Only veterinaries can manage pets");
+        return veterinary;
+    }
+}
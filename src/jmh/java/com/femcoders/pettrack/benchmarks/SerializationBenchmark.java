@@ -0,0 +1,52 @@
+package com.femcoders.pettrack.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordResponse;
+import com.femcoders.pettrack.dtos.pet.PetResponse;
+import com.femcoders.pettrack.dtos.user.UserResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<PetResponse> pets;
+    private List<MedicalRecordResponse> medicalRecords;
+    private List<UserResponse> users;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        pets = BenchmarkFixtures.petResponses(size);
+        medicalRecords = BenchmarkFixtures.medicalRecordResponses(size);
+        users = BenchmarkFixtures.userResponses(size);
+    }
+
+    @Benchmark
+    public byte[] serializePets() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pets);
+    }
+
+    @Benchmark
+    public byte[] serializeMedicalRecords() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(medicalRecords);
+    }
+
+    @Benchmark
+    public byte[] serializeUsers() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(users);
+    }
+}
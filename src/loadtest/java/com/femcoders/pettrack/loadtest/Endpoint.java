@@ -0,0 +1,18 @@
+package com.femcoders.pettrack.loadtest;
+
+public enum Endpoint {
+    LOGIN("POST /api/auth/login"),
+    PETS("GET /api/pets"),
+    FILTER("GET /api/pets/filter"),
+    RECORDS("GET /api/medical-records");
+
+    private final String label;
+
+    Endpoint(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
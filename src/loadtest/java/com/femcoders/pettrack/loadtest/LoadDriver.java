@@ -0,0 +1,153 @@
+package com.femcoders.pettrack.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.femcoders.pettrack.seed.SyntheticDataGenerator;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP driver: each worker picks an endpoint from the configured mix,
+ * waits for the response and records its latency once the warm-up phase is over.
+ */
+public class LoadDriver {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final LoadTestConfig config;
+    private final URI baseUri;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Endpoint, Recorder> recorders = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+    private final List<String> species = SyntheticDataGenerator.species();
+    private final int totalWeight;
+
+    /** Set once the warm-up is over; only requests started after that are recorded. */
+    private volatile boolean measuring;
+
+    public LoadDriver(LoadTestConfig config, URI baseUri) {
+        this.config = config;
+        this.baseUri = baseUri;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (Endpoint endpoint : Endpoint.values()) {
+            recorders.put(endpoint, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(endpoint, new LongAdder());
+        }
+        this.totalWeight = config.mix().values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    public LoadTestReport run() throws Exception {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < Math.min(config.concurrency(), config.owners()); i++) {
+            tokens.add(login(SyntheticDataGenerator.ownerUsername(i + 1)));
+        }
+
+        long warmupEnd = System.nanoTime() + config.warmup().toNanos();
+        long end = warmupEnd + config.duration().toNanos();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < config.concurrency(); worker++) {
+                String token = tokens.get(worker % tokens.size());
+                workers.submit(() -> drive(token, end));
+            }
+            TimeUnit.NANOSECONDS.sleep(Math.max(0, warmupEnd - System.nanoTime()));
+            measuring = true;
+        }
+
+        Map<Endpoint, LoadTestReport.EndpointResult> results = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : config.mix().keySet()) {
+            results.put(endpoint, LoadTestReport.EndpointResult.of(
+                    recorders.get(endpoint).getIntervalHistogram(), errors.get(endpoint).sum(), config.duration()));
+        }
+        return new LoadTestReport(config, results);
+    }
+
+    private Void drive(String token, long end) {
+        while (System.nanoTime() < end) {
+            Endpoint endpoint = pick();
+            HttpRequest request = request(endpoint, token);
+            boolean measured = measuring;
+            long start = System.nanoTime();
+            int status;
+            try {
+                status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (Exception e) {
+                status = -1;
+            }
+            if (!measured) {
+                continue;
+            }
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            recorders.get(endpoint).recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+            if (status < 200 || status >= 300) {
+                errors.get(endpoint).increment();
+            }
+        }
+        return null;
+    }
+
+    private Endpoint pick() {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<Endpoint, Integer> entry : config.mix().entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty endpoint mix");
+    }
+
+    private HttpRequest request(Endpoint endpoint, String token) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (endpoint) {
+            case LOGIN -> loginRequest(SyntheticDataGenerator.ownerUsername(random.nextInt(config.owners()) + 1));
+            case PETS -> authorized("/api/pets", token);
+            case FILTER -> authorized("/api/pets/filter?species="
+                    + URLEncoder.encode(species.get(random.nextInt(species.size())), StandardCharsets.UTF_8), token);
+            case RECORDS -> authorized("/api/medical-records", token);
+        };
+    }
+
+    private HttpRequest authorized(String path, String token) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    private HttpRequest loginRequest(String username) {
+        String body = "{\"identifier\":\"" + username + "\",\"password\":\"" + SyntheticDataGenerator.SYNTHETIC_PASSWORD + "\"}";
+        return HttpRequest.newBuilder(baseUri.resolve("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private String login(String username) throws Exception {
+        HttpResponse<String> response = httpClient.send(loginRequest(username), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for " + username + ": " + response.statusCode());
+        }
+        JsonNode json = objectMapper.readTree(response.body());
+        return json.get("token").asText();
+    }
+}
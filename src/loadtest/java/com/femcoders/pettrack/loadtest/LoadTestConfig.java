@@ -0,0 +1,65 @@
+package com.femcoders.pettrack.loadtest;
+
+import com.femcoders.pettrack.seed.SeedProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load test settings, read from {@code --key=value} arguments
+ * (e.g. {@code -Dloadtest.args="--owners=1000 --duration=PT2M --mix=login:5,pets:40,filter:30,records:25"}).
+ */
+public record LoadTestConfig(
+        int owners,
+        double petsPerOwner,
+        int maxRecordsPerPet,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        Map<Endpoint, Integer> mix,
+        long seed,
+        Path report
+) {
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value but got " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestConfig(
+                Integer.parseInt(values.getOrDefault("owners", "200")),
+                Double.parseDouble(values.getOrDefault("pets-per-owner", "2.0")),
+                Integer.parseInt(values.getOrDefault("max-records-per-pet", "60")),
+                Integer.parseInt(values.getOrDefault("concurrency", "32")),
+                Duration.parse(values.getOrDefault("warmup", "PT10S")),
+                Duration.parse(values.getOrDefault("duration", "PT30S")),
+                parseMix(values.getOrDefault("mix", "login:5,pets:40,filter:30,records:25")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Path.of(values.getOrDefault("report", "target/loadtest-report.json"))
+        );
+    }
+
+    public SeedProperties seedProperties() {
+        SeedProperties properties = new SeedProperties();
+        properties.setOwners(owners);
+        properties.setPetsPerOwner(petsPerOwner);
+        properties.setMaxRecordsPerPet(maxRecordsPerPet);
+        properties.setRandomSeed(seed);
+        return properties;
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split(":");
+            weights.put(Endpoint.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
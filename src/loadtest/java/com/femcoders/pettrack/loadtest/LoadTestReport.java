@@ -0,0 +1,69 @@
+package com.femcoders.pettrack.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public record LoadTestReport(LoadTestConfig config, Map<Endpoint, EndpointResult> endpoints) {
+
+    public record EndpointResult(
+            long requests,
+            long errors,
+            double throughputPerSecond,
+            double p50Millis,
+            double p99Millis,
+            double p999Millis,
+            double maxMillis
+    ) {
+        static EndpointResult of(Histogram histogram, long errors, Duration duration) {
+            return new EndpointResult(
+                    histogram.getTotalCount(),
+                    errors,
+                    histogram.getTotalCount() / (duration.toMillis() / 1000.0),
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue())
+            );
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%nLoad test: %d owners, %.1f pets/owner, up to %d records/pet, %d workers, %s measured%n",
+                config.owners(), config.petsPerOwner(), config.maxRecordsPerPet(), config.concurrency(), config.duration());
+        out.printf("%-26s %10s %8s %10s %10s %10s %10s %10s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        endpoints.forEach((endpoint, result) -> out.printf("%-26s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                endpoint.getLabel(), result.requests(), result.errors(), result.throughputPerSecond(),
+                result.p50Millis(), result.p99Millis(), result.p999Millis(), result.maxMillis()));
+    }
+
+    public void write(Path path) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("owners", config.owners());
+        json.put("petsPerOwner", config.petsPerOwner());
+        json.put("maxRecordsPerPet", config.maxRecordsPerPet());
+        json.put("concurrency", config.concurrency());
+        json.put("durationSeconds", config.duration().toSeconds());
+        Map<String, EndpointResult> results = new LinkedHashMap<>();
+        endpoints.forEach((endpoint, result) -> results.put(endpoint.getLabel(), result));
+        json.put("endpoints", results);
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), json);
+    }
+}
@@ -0,0 +1,36 @@
+package com.femcoders.pettrack.loadtest;
+
+import com.femcoders.pettrack.PettrackApplication;
+import com.femcoders.pettrack.seed.SeedSummary;
+import com.femcoders.pettrack.seed.SyntheticDataGenerator;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+
+/**
+ * Boots PetTrack on a random port against an embedded H2 database in MySQL mode,
+ * seeds a synthetic dataset and drives the configured endpoint mix over real HTTP.
+ */
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(PettrackApplication.class)
+                .profiles("loadtest")
+                .properties("server.port=0")
+                .run()) {
+            SeedSummary seed = context.getBean(SyntheticDataGenerator.class).generate(config.seedProperties());
+            System.out.printf("Seeded %d users, %d pets and %d medical records in %d ms%n",
+                    seed.users(), seed.pets(), seed.medicalRecords(), seed.elapsedMillis());
+
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            LoadTestReport report = new LoadDriver(config, URI.create("http://localhost:" + port)).run();
+
+            report.print(System.out);
+            report.write(config.report());
+            System.out.println("Report written to " + config.report().toAbsolutePath());
+        }
+    }
+}
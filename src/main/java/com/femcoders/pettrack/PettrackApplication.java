@@ -5,16 +5,20 @@ import io.swagger.v3.oas.annotations.enums.SecuritySchemeIn;
 import io.swagger.v3.oas.annotations.enums.SecuritySchemeType;
 import io.swagger.v3.oas.annotations.info.Info;
 import io.swagger.v3.oas.annotations.security.SecurityScheme;
+import io.swagger.v3.oas.annotations.servers.Server;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 @OpenAPIDefinition(
 		info = @Info(
 				title = "PetTrack API",
 				version = "1.0",
 				description = "API for managing pets, users and medical records in a veterinary center"
-		)
+		),
+		servers = @Server(url = "/", description = "Current host")
 )
 @SecurityScheme(
 		name = "bearerAuth",
@@ -24,6 +28,8 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 		in = SecuritySchemeIn.HEADER
 )
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@EnableScheduling
 public class PettrackApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,21 @@
+package com.femcoders.pettrack.audit;
+
+import com.femcoders.pettrack.events.ChangeType;
+
+import java.time.Instant;
+
+/**
+ * One committed change: {@code before} is null for a create and {@code after} is null for a delete.
+ * The actor is null for unauthenticated writes such as self-registration.
+ */
+public record AuditEvent(
+        Instant at,
+        Long actorId,
+        String actor,
+        ChangeType action,
+        String entity,
+        Long entityId,
+        Object before,
+        Object after
+) {
+}
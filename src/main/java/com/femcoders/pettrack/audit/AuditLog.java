@@ -0,0 +1,186 @@
+package com.femcoders.pettrack.audit;
+
+import com.femcoders.pettrack.utils.LogFrames;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log split into numbered segment files ({@code audit-00000001.log}, ...) of
+ * {@link LogFrames} entries. A segment is closed once the next entry would take it past the segment
+ * size, and the oldest segments beyond the retention count are deleted. On open, anything after the
+ * last valid entry of the newest segment (a write cut short by a crash) is truncated before appending
+ * resumes. Not thread-safe: it has a single writer, and an exclusive lock on {@code audit.lock} keeps a
+ * second process (or a second instance in this one) from appending to the same directory.
+ */
+public class AuditLog implements Closeable {
+    private static final Pattern SEGMENT_NAME = Pattern.compile("audit-(\\d{8})\\.log");
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final int maxSegments;
+    private final boolean fsync;
+
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+
+    private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+    private FileChannel channel;
+    private long segmentNumber;
+    private long position;
+
+    public AuditLog(Path directory, long segmentBytes, int maxSegments, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = Math.max(1, maxSegments);
+        this.fsync = fsync;
+
+        Files.createDirectories(directory);
+        lockChannel = FileChannel.open(directory.resolve("audit.lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock acquired;
+        try {
+            acquired = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            acquired = null;
+        }
+        if (acquired == null) {
+            lockChannel.close();
+            throw new IOException("Audit log " + directory + " is locked by another writer");
+        }
+        lock = acquired;
+
+        List<Path> segments = segments(directory);
+        if (segments.isEmpty()) {
+            open(1);
+        } else {
+            Path newest = segments.getLast();
+            open(segmentNumber(newest));
+            long valid = validLength(Files.readAllBytes(newest));
+            if (valid < channel.size()) {
+                channel.truncate(valid);
+            }
+            position = valid;
+            channel.position(valid);
+        }
+    }
+
+    public void append(List<byte[]> payloads) throws IOException {
+        for (byte[] payload : payloads) {
+            int frameBytes = LogFrames.HEADER_BYTES + payload.length;
+            long segmentEnd = position + buffer.position();
+            if (segmentEnd > 0 && segmentEnd + frameBytes > segmentBytes) {
+                writeBuffer();
+                roll();
+            }
+            if (buffer.remaining() < frameBytes) {
+                writeBuffer();
+                if (buffer.capacity() < frameBytes) {
+                    buffer = ByteBuffer.allocate(frameBytes);
+                }
+            }
+            LogFrames.put(buffer, payload);
+        }
+        writeBuffer();
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    long currentSegment() {
+        return segmentNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (channel != null && channel.isOpen()) {
+                writeBuffer();
+                channel.force(false);
+                channel.close();
+            }
+        } finally {
+            lock.release();
+            lockChannel.close();
+        }
+    }
+
+    /** Every valid entry in the directory, oldest first, stopping each segment at its first invalid frame. */
+    public static List<byte[]> readAll(Path directory) throws IOException {
+        List<byte[]> payloads = new ArrayList<>();
+        for (Path segment : segments(directory)) {
+            ByteBuffer frames = ByteBuffer.wrap(Files.readAllBytes(segment));
+            byte[] payload;
+            while ((payload = LogFrames.next(frames)) != null) {
+                payloads.add(payload);
+            }
+        }
+        return payloads;
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void roll() throws IOException {
+        if (fsync) {
+            channel.force(false);
+        }
+        channel.close();
+        open(segmentNumber + 1);
+        List<Path> segments = segments(directory);
+        for (int i = 0; i < segments.size() - maxSegments; i++) {
+            Files.deleteIfExists(segments.get(i));
+        }
+    }
+
+    private void open(long number) throws IOException {
+        segmentNumber = number;
+        channel = FileChannel.open(directory.resolve("audit-%08d.log".formatted(number)),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        position = channel.size();
+        channel.position(position);
+    }
+
+    private static long validLength(byte[] segment) {
+        ByteBuffer frames = ByteBuffer.wrap(segment);
+        while (LogFrames.next(frames) != null) {
+            // only the position matters
+        }
+        return frames.position();
+    }
+
+    private static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> SEGMENT_NAME.matcher(file.getFileName().toString()).matches())
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long segmentNumber(Path segment) {
+        Matcher matcher = SEGMENT_NAME.matcher(segment.getFileName().toString());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not an audit segment: " + segment);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+}
@@ -0,0 +1,26 @@
+package com.femcoders.pettrack.audit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "pettrack.audit")
+@Getter @Setter
+public class AuditProperties {
+    private boolean enabled = true;
+    private Path directory = Path.of("audit");
+    /** Events held between the request threads and the writer; rounded up to a power of two. */
+    private int bufferSize = 8192;
+    private int batchSize = 256;
+    private DataSize segmentSize = DataSize.ofMegabytes(16);
+    /** Oldest segments beyond this count are deleted. */
+    private int maxSegments = 32;
+    /** How long the writer sleeps when the buffer is empty. */
+    private Duration idlePause = Duration.ofMillis(10);
+    /** Force each written batch to disk before draining the next one. */
+    private boolean fsync = true;
+}
@@ -0,0 +1,75 @@
+package com.femcoders.pettrack.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded multi-producer, single-consumer queue over a preallocated array. Each slot carries a
+ * sequence number: producers claim a position with one CAS on the tail and publish the slot by
+ * advancing its sequence, and the consumer frees it by moving the sequence one lap ahead. Nothing
+ * blocks or allocates; {@link #offer} returns false when the buffer is full.
+ */
+final class AuditRingBuffer<T> {
+    private final Object[] entries;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    /** Only read and written by the consumer thread. */
+    private long head;
+
+    AuditRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("Audit buffer capacity must be at least 2");
+        }
+        int capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.entries = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return entries.length;
+    }
+
+    boolean offer(T value) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    entries[index] = value;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /** Consumer side: moves up to {@code max} published entries, in order, into {@code sink}. */
+    @SuppressWarnings("unchecked")
+    int drainTo(List<T> sink, int max) {
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            sink.add((T) entries[index]);
+            entries[index] = null;
+            sequences.set(index, head + entries.length);
+            head++;
+            drained++;
+        }
+        return drained;
+    }
+}
@@ -0,0 +1,178 @@
+package com.femcoders.pettrack.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.femcoders.pettrack.events.ChangeType;
+import com.femcoders.pettrack.events.MedicalRecordEvent;
+import com.femcoders.pettrack.events.PetEvent;
+import com.femcoders.pettrack.events.UserEvent;
+import com.femcoders.pettrack.security.UserDetail;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Records every committed user, pet and medical record write. The request thread only builds an
+ * {@link AuditEvent} and offers it to a preallocated {@link AuditRingBuffer}; a single writer thread
+ * drains it in batches, serializes them to JSON and appends them to the {@link AuditLog}. When the
+ * buffer is full the event is dropped and counted rather than slowing the request down, and the same
+ * happens to every event if the log cannot be opened.
+ */
+@Slf4j
+@Component
+public class AuditTrail implements SmartLifecycle {
+    private final AuditProperties properties;
+    private final ObjectMapper objectMapper;
+    private final AuditRingBuffer<AuditEvent> buffer;
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder written = new LongAdder();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public AuditTrail(AuditProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.buffer = new AuditRingBuffer<>(properties.getBufferSize());
+        FunctionCounter.builder("pettrack.audit.events.written", written, LongAdder::sum)
+                .description("Audit events appended to the audit log").register(meterRegistry);
+        FunctionCounter.builder("pettrack.audit.events.dropped", dropped, LongAdder::sum)
+                .description("Audit events dropped because the buffer was full").register(meterRegistry);
+        FunctionCounter.builder("pettrack.audit.events.failed", failed, LongAdder::sum)
+                .description("Audit events that could not be serialized or written").register(meterRegistry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onUserEvent(UserEvent event) {
+        publish("User", event.before() != null ? event.before().id() : event.after().id(),
+                event.before(), event.after());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPetEvent(PetEvent event) {
+        publish("Pet", event.before() != null ? event.before().id() : event.after().id(),
+                event.before(), event.after());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMedicalRecordEvent(MedicalRecordEvent event) {
+        publish("MedicalRecord", event.before() != null ? event.before().id() : event.after().id(),
+                event.before(), event.after());
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getWritten() {
+        return written.sum();
+    }
+
+    private void publish(String entity, Long entityId, Object before, Object after) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetail actor = authentication != null && authentication.getPrincipal() instanceof UserDetail userDetail
+                ? userDetail : null;
+        AuditEvent event = new AuditEvent(Instant.now(), actor != null ? actor.getId() : null,
+                actor != null ? actor.getUsername() : null, ChangeType.of(before, after), entity, entityId, before, after);
+        if (!buffer.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        AuditLog auditLog;
+        try {
+            auditLog = new AuditLog(properties.getDirectory(), properties.getSegmentSize().toBytes(),
+                    properties.getMaxSegments(), properties.isFsync());
+        } catch (IOException e) {
+            log.error("Could not open the audit log; audit events will be dropped", e);
+            return;
+        }
+        running = true;
+        writer = Thread.ofPlatform().name("audit-writer").daemon().start(() -> writeLoop(auditLog));
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread current = writer;
+        if (current != null) {
+            LockSupport.unpark(current);
+            try {
+                current.join(Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writer = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void writeLoop(AuditLog auditLog) {
+        List<AuditEvent> batch = new ArrayList<>(properties.getBatchSize());
+        List<byte[]> payloads = new ArrayList<>(properties.getBatchSize());
+        long idlePauseNanos = properties.getIdlePause().toNanos();
+        try (auditLog) {
+            while (true) {
+                // Read the flag before draining so that events offered before stop() are still written
+                boolean stopping = !running;
+                batch.clear();
+                if (buffer.drainTo(batch, properties.getBatchSize()) == 0) {
+                    if (stopping) {
+                        return;
+                    }
+                    LockSupport.parkNanos(idlePauseNanos);
+                    continue;
+                }
+                write(auditLog, batch, payloads);
+            }
+        } catch (IOException e) {
+            log.warn("Could not close the audit log", e);
+        }
+    }
+
+    private void write(AuditLog auditLog, List<AuditEvent> batch, List<byte[]> payloads) {
+        payloads.clear();
+        for (AuditEvent event : batch) {
+            try {
+                payloads.add(objectMapper.writeValueAsBytes(event));
+            } catch (JsonProcessingException e) {
+                failed.increment();
+                log.warn("Could not serialize audit event for {} {}", event.entity(), event.entityId(), e);
+            }
+        }
+        try {
+            auditLog.append(payloads);
+            written.add(payloads.size());
+        } catch (IOException e) {
+            failed.add(payloads.size());
+            log.warn("Could not append {} audit events", payloads.size(), e);
+        }
+    }
+}
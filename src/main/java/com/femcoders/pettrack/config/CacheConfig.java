@@ -0,0 +1,25 @@
+package com.femcoders.pettrack.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfig {
+    public static final String PET_CLINICAL_SUMMARIES = "petClinicalSummaries";
+
+    /**
+     * Puts and evictions issued inside a transaction are deferred until it commits, so a rolled-back
+     * write never evicts and a reader never caches a value that has not been committed yet.
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${pettrack.cache.pet-clinical-summaries.spec}") String petClinicalSummariesSpec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(PET_CLINICAL_SUMMARIES);
+        cacheManager.setCacheSpecification(petClinicalSummariesSpec);
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,72 @@
+package com.femcoders.pettrack.config;
+
+import com.femcoders.pettrack.replica.ReadWriteRoutingDataSource;
+import com.femcoders.pettrack.replica.ReplicaRouter;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+public class DataSourceConfig {
+
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(defaultCandidate = false)
+    @ConditionalOnProperty(name = "pettrack.replica.enabled", havingValue = "true")
+    @ConfigurationProperties("pettrack.replica.datasource")
+    public HikariDataSource replicaDataSource(ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource replica = new HikariDataSource();
+        meterRegistry.ifAvailable(registry -> replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return replica;
+    }
+
+    /**
+     * A single connection of the health probe's own: a probe never queues behind requests for the
+     * application pool, and gives up after {@code validation-timeout} rather than the pool's
+     * connection timeout, while the application pool's saturation is read from its MXBean.
+     */
+    @Bean(defaultCandidate = false)
+    public HikariDataSource healthProbeDataSource(DataSourceProperties properties,
+                                                  @Value("${pettrack.health.validation-timeout:2s}") Duration validationTimeout) {
+        HikariDataSource probe = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        long timeout = Math.max(250, validationTimeout.toMillis());
+        probe.setPoolName("health-probe");
+        probe.setMaximumPoolSize(1);
+        probe.setMinimumIdle(0);
+        probe.setConnectionTimeout(timeout);
+        probe.setValidationTimeout(timeout);
+        probe.setInitializationFailTimeout(-1);
+        return probe;
+    }
+
+    /**
+     * Connections are only taken from a pool when the first statement runs, so a read-only transaction
+     * is routed once Spring has marked it read-only, and one that never queries (a coalesced read, a
+     * failed access check) never holds a connection.
+     */
+    @Bean
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") ObjectProvider<DataSource> replica,
+                                 ReplicaRouter replicaRouter) {
+        DataSource replicaDataSource = replica.getIfAvailable();
+        return new LazyConnectionDataSourceProxy(replicaDataSource != null
+                ? new ReadWriteRoutingDataSource(primary, replicaDataSource, replicaRouter)
+                : primary);
+    }
+}
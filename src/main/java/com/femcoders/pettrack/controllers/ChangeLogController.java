@@ -0,0 +1,50 @@
+package com.femcoders.pettrack.controllers;
+
+import com.femcoders.pettrack.dtos.change.ChangeBatchResponse;
+import com.femcoders.pettrack.security.UserDetail;
+import com.femcoders.pettrack.services.ChangeLogService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/changes")
+@Tag(name = "Changes", description = "Change log for downstream systems")
+@SecurityRequirement(name = "bearerAuth")
+public class ChangeLogController {
+
+    private final ChangeLogService changeLogService;
+
+    @Operation(
+            summary = "Tail the change log",
+            description = "Returns up to limit user, pet and medical record changes starting at offset, oldest first, each with " +
+                    "its before and after values. Consumers store nextOffset and pass it as offset on the next call; a batch " +
+                    "shorter than limit means they have caught up. Offsets older than startOffset have been deleted by retention."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Changes retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ChangeBatchResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid limit, or offset no longer retained or past the end"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized (missing/invalid JWT)"),
+            @ApiResponse(responseCode = "403", description = "Forbidden (only VETERINARY)")
+    })
+    @GetMapping
+    public ResponseEntity<ChangeBatchResponse> getChanges(
+            @RequestParam(defaultValue = "0") long offset,
+            @RequestParam(defaultValue = "100") int limit,
+            @AuthenticationPrincipal UserDetail userDetail) {
+        return ResponseEntity.ok(changeLogService.getChanges(offset, limit, userDetail));
+    }
+}
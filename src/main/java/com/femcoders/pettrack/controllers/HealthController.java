@@ -1,12 +1,14 @@
 package com.femcoders.pettrack.controllers;
 
+import com.femcoders.pettrack.health.DatabaseHealthProber;
+import com.femcoders.pettrack.health.DatabaseProbe;
+import com.femcoders.pettrack.warmup.JitWarmup;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-import javax.sql.DataSource;
-import java.sql.Connection;
+
 import java.util.HashMap;
 import java.util.Map;
 
@@ -15,31 +17,48 @@ import java.util.Map;
 @RequestMapping("/health")
 public class HealthController {
 
-    private final DataSource dataSource;
+    private final DatabaseHealthProber databaseHealthProber;
+    private final JitWarmup jitWarmup;
 
     @GetMapping
     public ResponseEntity<Map<String, Object>> health() {
+        return readiness();
+    }
+
+    @GetMapping("/live")
+    public ResponseEntity<Map<String, Object>> liveness() {
         Map<String, Object> response = new HashMap<>();
         response.put("status", "UP");
         response.put("application", "PetTrack");
+        return ResponseEntity.ok(response);
+    }
 
-        try (Connection connection = dataSource.getConnection()) {
-            if (connection.isValid(5)) {
-                response.put("database", "UP");
-            } else {
-                response.put("database", "DOWN");
-                response.put("status", "DOWN");
-            }
-        } catch (Exception e) {
-            response.put("database", "DOWN");
-            response.put("status", "DOWN");
-            response.put("error", e.getMessage());
+    @GetMapping("/ready")
+    public ResponseEntity<Map<String, Object>> readiness() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "UP");
+        response.put("application", "PetTrack");
+
+        DatabaseProbe probe = databaseHealthProber.getLastProbe();
+        boolean stale = databaseHealthProber.isStale(probe);
+        response.put("database", probe.up() && !stale ? "UP" : "DOWN");
+        response.put("probeLatencyMs", probe.latencyMillis());
+        response.put("checkedAt", probe.checkedAt());
+        response.put("stale", stale);
+        if (probe.error() != null) {
+            response.put("error", probe.error());
+        }
+        databaseHealthProber.getPoolStats().ifPresent(pool -> response.put("pool", pool));
+        if (!jitWarmup.isComplete()) {
+            response.put("warmup", "IN_PROGRESS");
         }
+        jitWarmup.getResult().ifPresent(warmup -> response.put("warmup", warmup));
 
-        if ("DOWN".equals(response.get("status"))) {
+        if ("DOWN".equals(response.get("database")) || !jitWarmup.isComplete()) {
+            response.put("status", "DOWN");
             return ResponseEntity.status(503).body(response);
         }
 
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+}
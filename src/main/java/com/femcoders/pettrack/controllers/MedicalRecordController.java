@@ -1,9 +1,15 @@
 package com.femcoders.pettrack.controllers;
 
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordChangeNotification;
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordPage;
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordPatchRequest;
 import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordRequest;
 import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordResponse;
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordSearch;
 import com.femcoders.pettrack.dtos.pet.PetRequest;
 import com.femcoders.pettrack.dtos.pet.PetResponse;
+import com.femcoders.pettrack.feed.MedicalRecordFeed;
+import com.femcoders.pettrack.models.MedicalRecordType;
 import com.femcoders.pettrack.security.UserDetail;
 import com.femcoders.pettrack.services.MedicalRecordService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,11 +22,15 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -32,6 +42,7 @@ import java.util.Map;
 public class MedicalRecordController {
 
     private final MedicalRecordService medicalRecordService;
+    private final MedicalRecordFeed medicalRecordFeed;
 
     @Operation(
             summary = "Get all medical records",
@@ -50,6 +61,54 @@ public class MedicalRecordController {
         return ResponseEntity.ok(medicalRecords);
     }
 
+    @Operation(
+            summary = "Search medical records",
+            description = "Filters medical records by any combination of pet, type, date range, creating veterinarian and owner, " +
+                    "newest first. Results are keyset-paged: pass the returned nextCursor as cursor to get the next page. " +
+                    "Users without the VETERINARY role only ever see records of their own pets."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Medical records retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = MedicalRecordPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid filter, cursor or page size"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized (missing/invalid JWT)"),
+            @ApiResponse(responseCode = "403", description = "Forbidden (another owner's records)")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<MedicalRecordPage> searchMedicalRecords(
+            @RequestParam(required = false) Long petId,
+            @RequestParam(required = false) MedicalRecordType type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long veterinaryId,
+            @RequestParam(required = false) Long ownerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal UserDetail userDetail) {
+        MedicalRecordSearch search = new MedicalRecordSearch(petId, type, from, to, veterinaryId, ownerId, cursor, size);
+        return ResponseEntity.ok(medicalRecordService.searchMedicalRecords(search, userDetail));
+    }
+
+    @Operation(
+            summary = "Stream medical record changes",
+            description = "Server-Sent Events stream of medical record creates, updates and deletes (event name medical-record), " +
+                    "with heartbeat comments while idle. Users without the VETERINARY role only receive changes to their own pets' records. " +
+                    "A client that falls too far behind is disconnected and should reconnect and refetch."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Stream opened",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = MedicalRecordChangeNotification.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized (missing/invalid JWT)"),
+            @ApiResponse(responseCode = "503", description = "Subscriber limit reached")
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamMedicalRecordChanges(@AuthenticationPrincipal UserDetail userDetail) {
+        return medicalRecordFeed.subscribe(userDetail)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
     @Operation(
             summary = "Get medical record by ID",
             description = "Returns a single medical record by its ID, if the authenticated user has permission."
@@ -131,6 +190,27 @@ public class MedicalRecordController {
         return ResponseEntity.ok(updatedMedicalRecord);
     }
 
+    @Operation(
+            summary = "Partially update medical record",
+            description = "Applies a JSON merge patch: only the supplied fields change, and the pet is looked up only " +
+                    "when the record moves to another pet. Absent or null fields are left unchanged. " +
+                    "Only users with the VETERINARY role can perform this operation."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Medical record updated successfully",
+                    content = @Content(schema = @Schema(implementation = MedicalRecordResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Validation error in request body"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized (missing/invalid JWT)"),
+            @ApiResponse(responseCode = "403", description = "Forbidden (insufficient role)"),
+            @ApiResponse(responseCode = "404", description = "Medical record or pet not found")
+    })
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<MedicalRecordResponse> patchMedicalRecord(@PathVariable Long id,
+                                                 @RequestBody @Valid MedicalRecordPatchRequest medicalRecordPatchRequest,
+                                                 @AuthenticationPrincipal UserDetail userDetail) {
+        return ResponseEntity.ok(medicalRecordService.patchMedicalRecord(id, medicalRecordPatchRequest, userDetail));
+    }
+
     @Operation(
             summary = "Delete medical record",
             description = "Deletes a medical record by its ID and returns a confirmation message. " +
@@ -1,9 +1,17 @@
 package com.femcoders.pettrack.controllers;
 
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordPage;
+import com.femcoders.pettrack.dtos.medicalRecord.WeightSeries;
+import com.femcoders.pettrack.dtos.pet.PetClinicalSummaryResponse;
+import com.femcoders.pettrack.dtos.pet.PetPatchRequest;
 import com.femcoders.pettrack.dtos.pet.PetRequest;
 import com.femcoders.pettrack.dtos.pet.PetResponse;
+import com.femcoders.pettrack.dtos.pet.PetTransferRequest;
+import com.femcoders.pettrack.dtos.pet.PetTransferResponse;
 import com.femcoders.pettrack.security.UserDetail;
-import com.femcoders.pettrack.services.PetServiceImpl;
+import com.femcoders.pettrack.services.MedicalRecordService;
+import com.femcoders.pettrack.services.PetClinicalSummaryService;
+import com.femcoders.pettrack.services.PetService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,6 +23,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
@@ -27,7 +36,9 @@ import java.util.Map;
 @Tag(name = "Pets", description = "Endpoints for managing pets")
 @RequestMapping("/api/pets")
 public class PetController {
-    private final PetServiceImpl petService;
+    private final PetService petService;
+    private final MedicalRecordService medicalRecordService;
+    private final PetClinicalSummaryService petClinicalSummaryService;
 
     @Operation(
             summary = "Get all pets",
@@ -62,6 +73,73 @@ public class PetController {
         );
     }
 
+    @Operation(
+            summary = "Get a pet's medical history",
+            description = "Returns the pet's medical records, newest first, one page at a time. " +
+                    "Pass the returned nextCursor as cursor to get the next page. " +
+                    "Users without the VETERINARY role can only read their own pets' history."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Medical history retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = MedicalRecordPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized (missing/invalid JWT)"),
+            @ApiResponse(responseCode = "403", description = "Forbidden (not the pet's owner)"),
+            @ApiResponse(responseCode = "404", description = "Pet not found")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/{id}/medical-records")
+    public ResponseEntity<MedicalRecordPage> getPetMedicalHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal UserDetail userDetail) {
+        return ResponseEntity.ok(medicalRecordService.getPetMedicalHistory(id, cursor, size, userDetail));
+    }
+
+    @Operation(
+            summary = "Get a pet's clinical summary",
+            description = "Returns the pet's record count, last visit date, last weight and last vaccination date. " +
+                    "Users without the VETERINARY role can only read their own pets' summary."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Clinical summary retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = PetClinicalSummaryResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized (missing/invalid JWT)"),
+            @ApiResponse(responseCode = "403", description = "Forbidden (not the pet's owner)"),
+            @ApiResponse(responseCode = "404", description = "Pet not found")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<PetClinicalSummaryResponse> getPetClinicalSummary(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserDetail userDetail) {
+        return ResponseEntity.ok(petClinicalSummaryService.getPetClinicalSummary(id, userDetail));
+    }
+
+    @Operation(
+            summary = "Get a pet's weight curve",
+            description = "Returns the (date, weight) series of the pet's medical records in date order, " +
+                    "downsampled with Largest-Triangle-Three-Buckets to at most the requested number of points. " +
+                    "Users without the VETERINARY role can only read their own pets' series."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Weight series retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = WeightSeries.class))),
+            @ApiResponse(responseCode = "400", description = "Points out of range"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized (missing/invalid JWT)"),
+            @ApiResponse(responseCode = "403", description = "Forbidden (not the pet's owner)"),
+            @ApiResponse(responseCode = "404", description = "Pet not found")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/{id}/weights")
+    public ResponseEntity<WeightSeries> getPetWeightSeries(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "200") int points,
+            @AuthenticationPrincipal UserDetail userDetail) {
+        return ResponseEntity.ok(medicalRecordService.getPetWeightSeries(id, points, userDetail));
+    }
+
     @Operation(
             summary = "Get pet by ID",
             description = "Returns a single pet by its ID."
@@ -97,6 +175,26 @@ public class PetController {
         return new ResponseEntity<>(createdPet, HttpStatus.CREATED);
     }
 
+    @Operation(
+            summary = "Transfer pets to another owner",
+            description = "Moves all pets of the current owner when petIds is omitted, or only the pets listed in petIds, " +
+                    "to the new owner and returns how many were moved. Only users with the VETERINARY role can perform this operation."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Pets transferred successfully",
+                    content = @Content(schema = @Schema(implementation = PetTransferResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Validation error, same owner, or a selected pet not owned by the current owner"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized (missing/invalid JWT)"),
+            @ApiResponse(responseCode = "403", description = "Forbidden (insufficient role)"),
+            @ApiResponse(responseCode = "404", description = "Current or new owner not found")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping("/transfer")
+    public ResponseEntity<PetTransferResponse> transferPets(@RequestBody @Valid PetTransferRequest petTransferRequest,
+                                                            @AuthenticationPrincipal UserDetail userDetail) {
+        return ResponseEntity.ok(petService.transferPets(petTransferRequest, userDetail));
+    }
+
     @Operation(
             summary = "Update pet",
             description = "Updates the details of a pet by its ID. Only users with the VETERINARY role can perform this operation."
@@ -118,6 +216,27 @@ public class PetController {
         return ResponseEntity.ok(updatedPet);
     }
 
+    @Operation(
+            summary = "Partially update pet",
+            description = "Applies a JSON merge patch: only the supplied fields change, and the owner is looked up only " +
+                    "when it changes. Absent or null fields are left unchanged. Only users with the VETERINARY role can perform this operation."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Pet updated successfully",
+                    content = @Content(schema = @Schema(implementation = PetResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Validation error in request body"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized (missing/invalid JWT)"),
+            @ApiResponse(responseCode = "403", description = "Forbidden (insufficient role)"),
+            @ApiResponse(responseCode = "404", description = "Pet not found or user not found")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<PetResponse> patchPet(@PathVariable Long id,
+                                                @RequestBody @Valid PetPatchRequest petPatchRequest,
+                                                @AuthenticationPrincipal UserDetail userDetail) {
+        return ResponseEntity.ok(petService.patchPet(id, petPatchRequest, userDetail));
+    }
+
     @Operation(
             summary = "Delete pet",
             description = "Deletes a pet by its ID and returns a confirmation message. Only users with the VETERINARY role can perform this operation."
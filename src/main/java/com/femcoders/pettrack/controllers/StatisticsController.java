@@ -0,0 +1,44 @@
+package com.femcoders.pettrack.controllers;
+
+import com.femcoders.pettrack.dtos.statistics.ClinicStatisticsResponse;
+import com.femcoders.pettrack.security.UserDetail;
+import com.femcoders.pettrack.services.StatisticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/statistics")
+@Tag(name = "Statistics", description = "Clinic-wide counts for management dashboards")
+@SecurityRequirement(name = "bearerAuth")
+public class StatisticsController {
+
+    private final StatisticsService statisticsService;
+
+    @Operation(
+            summary = "Get clinic statistics",
+            description = "Returns pets per species, medical records per month and type, and visits per veterinarian (by user id). " +
+                    "Served from in-memory counters updated on every committed write and reconciled with the database periodically."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ClinicStatisticsResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized (missing/invalid JWT)"),
+            @ApiResponse(responseCode = "403", description = "Forbidden (only VETERINARY)")
+    })
+    @GetMapping
+    public ResponseEntity<ClinicStatisticsResponse> getClinicStatistics(@AuthenticationPrincipal UserDetail userDetail) {
+        return ResponseEntity.ok(statisticsService.getClinicStatistics(userDetail));
+    }
+}
@@ -3,6 +3,7 @@ package com.femcoders.pettrack.controllers;
 import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordRequest;
 import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordResponse;
 import com.femcoders.pettrack.dtos.pet.PetResponse;
+import com.femcoders.pettrack.dtos.user.UserPatchRequest;
 import com.femcoders.pettrack.dtos.user.UserRequest;
 import com.femcoders.pettrack.dtos.user.UserResponse;
 import com.femcoders.pettrack.dtos.user.UserUpdateRequest;
@@ -21,6 +22,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
@@ -133,6 +135,26 @@ public class UserController {
         return ResponseEntity.ok(updatedUser);
     }
 
+    @Operation(
+            summary = "Partially update user",
+            description = "Applies a JSON merge patch: only the supplied fields change, and the password is re-hashed " +
+                    "only when a new one is supplied. Absent or null fields are left unchanged. Only VETERINARY role can update users."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "User updated successfully",
+                    content = @Content(schema = @Schema(implementation = UserResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Validation error, or username or email already taken"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized (missing/invalid JWT)"),
+            @ApiResponse(responseCode = "403", description = "Forbidden (insufficient role)"),
+            @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<UserResponse> patchUser(@PathVariable Long id,
+                                                  @RequestBody @Valid UserPatchRequest userPatchRequest,
+                                                  @AuthenticationPrincipal UserDetail userDetail) {
+        return ResponseEntity.ok(userService.patchUser(id, userPatchRequest, userDetail));
+    }
+
     @Operation(
             summary = "Delete user",
             description = "Deletes a user by ID and returns a confirmation message. Only VETERINARY role can delete users."
@@ -0,0 +1,56 @@
+package com.femcoders.pettrack.controllers;
+
+import com.femcoders.pettrack.dtos.vaccinationReminder.VaccinationReminderResponse;
+import com.femcoders.pettrack.security.UserDetail;
+import com.femcoders.pettrack.services.VaccinationReminderService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/vaccination-reminders")
+@Tag(name = "Vaccination Reminders", description = "Upcoming and overdue vaccinations")
+@SecurityRequirement(name = "bearerAuth")
+public class VaccinationReminderController {
+
+    private final VaccinationReminderService vaccinationReminderService;
+
+    @Operation(
+            summary = "Get upcoming and overdue vaccinations",
+            description = "Returns pets whose next vaccination is due on or before dueBefore (default: today plus the due-soon window), " +
+                    "earliest first. Reminders are rebuilt nightly from each pet's last vaccination and its species' booster interval. " +
+                    "Users without the VETERINARY role only ever see their own pets."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Reminders retrieved successfully",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = VaccinationReminderResponse.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid size"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized (missing/invalid JWT)"),
+            @ApiResponse(responseCode = "403", description = "Forbidden (another owner's reminders)")
+    })
+    @GetMapping
+    public ResponseEntity<List<VaccinationReminderResponse>> getVaccinationReminders(
+            @RequestParam(required = false) Long ownerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueBefore,
+            @RequestParam(defaultValue = "50") int size,
+            @AuthenticationPrincipal UserDetail userDetail) {
+        return ResponseEntity.ok(vaccinationReminderService.getVaccinationReminders(ownerId, dueBefore, size, userDetail));
+    }
+}
@@ -0,0 +1,12 @@
+package com.femcoders.pettrack.dtos.change;
+
+import java.util.List;
+
+/** {@code nextOffset} is where the following read should start; it equals {@code endOffset} once caught up. */
+public record ChangeBatchResponse(
+        List<ChangeResponse> changes,
+        long nextOffset,
+        long startOffset,
+        long endOffset
+) {
+}
@@ -0,0 +1,16 @@
+package com.femcoders.pettrack.dtos.change;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.femcoders.pettrack.events.ChangeType;
+
+import java.time.Instant;
+
+public record ChangeResponse(
+        long offset,
+        String aggregateType,
+        Long aggregateId,
+        ChangeType changeType,
+        Instant occurredAt,
+        JsonNode payload
+) {
+}
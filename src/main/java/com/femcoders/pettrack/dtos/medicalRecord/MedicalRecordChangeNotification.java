@@ -0,0 +1,16 @@
+package com.femcoders.pettrack.dtos.medicalRecord;
+
+import com.femcoders.pettrack.events.ChangeType;
+import com.femcoders.pettrack.models.MedicalRecordType;
+
+import java.time.LocalDate;
+
+/** Tells a subscriber which record changed; clients fetch the record itself if they need it. */
+public record MedicalRecordChangeNotification(
+        ChangeType changeType,
+        Long id,
+        Long petId,
+        LocalDate date,
+        MedicalRecordType type
+) {
+}
@@ -0,0 +1,28 @@
+package com.femcoders.pettrack.dtos.medicalRecord;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Keyset position in the (date desc, id desc) order, exchanged with clients as {@code <date>_<id>}.
+ */
+public record MedicalRecordCursor(
+        LocalDate date,
+        Long id
+) {
+    public static MedicalRecordCursor decode(String cursor) {
+        String[] parts = cursor.split("_");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        try {
+            return new MedicalRecordCursor(LocalDate.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (DateTimeParseException | NumberFormatException exception) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public String encode() {
+        return date + "_" + id;
+    }
+}
@@ -0,0 +1,10 @@
+package com.femcoders.pettrack.dtos.medicalRecord;
+
+import java.util.List;
+
+public record MedicalRecordPage(
+        List<MedicalRecordResponse> content,
+        int size,
+        String nextCursor
+) {
+}
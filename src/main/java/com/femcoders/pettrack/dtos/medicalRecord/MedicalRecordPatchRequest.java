@@ -0,0 +1,25 @@
+package com.femcoders.pettrack.dtos.medicalRecord;
+
+import com.femcoders.pettrack.models.MedicalRecordType;
+import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+
+/** JSON merge patch of a medical record: absent or null members leave the field unchanged. */
+public record MedicalRecordPatchRequest(
+        @Pattern(message = "Description must not be blank", regexp = "(?s).*\\S.*")
+        @Size(max = 200, message = "Description must be less than 200 characters")
+        String description,
+
+        Double weight,
+
+        @PastOrPresent(message = "Date must be in the past or today")
+        LocalDate date,
+
+        MedicalRecordType type,
+
+        Long petId
+) {
+}
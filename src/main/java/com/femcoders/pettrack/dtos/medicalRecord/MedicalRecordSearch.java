@@ -0,0 +1,17 @@
+package com.femcoders.pettrack.dtos.medicalRecord;
+
+import com.femcoders.pettrack.models.MedicalRecordType;
+
+import java.time.LocalDate;
+
+public record MedicalRecordSearch(
+        Long petId,
+        MedicalRecordType type,
+        LocalDate from,
+        LocalDate to,
+        Long veterinaryId,
+        Long ownerId,
+        String cursor,
+        int size
+) {
+}
@@ -0,0 +1,9 @@
+package com.femcoders.pettrack.dtos.medicalRecord;
+
+import java.time.LocalDate;
+
+public record WeightPoint(
+        LocalDate date,
+        double weight
+) {
+}
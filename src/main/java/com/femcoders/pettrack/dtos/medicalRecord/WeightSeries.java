@@ -0,0 +1,10 @@
+package com.femcoders.pettrack.dtos.medicalRecord;
+
+import java.util.List;
+
+public record WeightSeries(
+        Long petId,
+        int totalPoints,
+        List<WeightPoint> points
+) {
+}
@@ -0,0 +1,12 @@
+package com.femcoders.pettrack.dtos.pet;
+
+import java.time.LocalDate;
+
+public record PetClinicalSummaryResponse(
+        Long petId,
+        int recordCount,
+        LocalDate lastVisitDate,
+        Double lastWeight,
+        LocalDate lastVaccinationDate
+) {
+}
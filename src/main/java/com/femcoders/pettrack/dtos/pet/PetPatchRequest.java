@@ -0,0 +1,30 @@
+package com.femcoders.pettrack.dtos.pet;
+
+import jakarta.validation.constraints.*;
+
+import java.time.LocalDate;
+
+/** JSON merge patch of a pet: absent or null members leave the field unchanged. */
+public record PetPatchRequest(
+        @Pattern(message = "Name must not be blank", regexp = ".*\\S.*")
+        @Size(max = 20, message = "Name must be less than 20 characters")
+        String name,
+
+        @Pattern(message = "Species must not be blank", regexp = ".*\\S.*")
+        @Size(max = 50, message = "Species must be less than 50 characters")
+        String species,
+
+        @Pattern(message = "Breed must not be blank", regexp = ".*\\S.*")
+        @Size(max = 20, message = "Breed must be less than 20 characters")
+        String breed,
+
+        @PastOrPresent(message = "Birth date must be in the past or today")
+        LocalDate birthDate,
+
+        @Pattern(message = "Must be a valid URL", regexp = "^(http|https)://.*$")
+        String image,
+
+        @Pattern(message = "Username must not be blank", regexp = ".*\\S.*")
+        @Size(max = 50, message = "Username must be less than 50 characters")
+        String username
+) {}
@@ -0,0 +1,19 @@
+package com.femcoders.pettrack.dtos.pet;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record PetTransferRequest(
+        @NotBlank(message = "Current owner's username is required")
+        @Size(max = 50, message = "Username must be less than 50 characters")
+        String fromUsername,
+
+        @NotBlank(message = "New owner's username is required")
+        @Size(max = 50, message = "Username must be less than 50 characters")
+        String toUsername,
+
+        @Size(min = 1, max = 1000, message = "Between 1 and 1000 pets can be selected")
+        List<Long> petIds
+) {}
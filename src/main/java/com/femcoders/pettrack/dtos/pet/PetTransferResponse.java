@@ -0,0 +1,8 @@
+package com.femcoders.pettrack.dtos.pet;
+
+public record PetTransferResponse(
+        Long fromUserId,
+        Long toUserId,
+        int transferred
+) {
+}
@@ -0,0 +1,15 @@
+package com.femcoders.pettrack.dtos.statistics;
+
+import com.femcoders.pettrack.models.MedicalRecordType;
+
+import java.time.Instant;
+import java.util.Map;
+
+public record ClinicStatisticsResponse(
+        Map<String, Long> petsBySpecies,
+        Map<String, Map<MedicalRecordType, Long>> recordsByMonth,
+        Map<Long, Long> visitsByVeterinarian,
+        Instant reconciledAt,
+        long lastReconciliationDrift
+) {
+}
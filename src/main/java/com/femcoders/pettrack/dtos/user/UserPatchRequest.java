@@ -0,0 +1,22 @@
+package com.femcoders.pettrack.dtos.user;
+
+import com.femcoders.pettrack.models.Role;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+/** JSON merge patch of a user: absent or null members leave the field unchanged. */
+public record UserPatchRequest(
+        @Pattern(message = "Username must not be blank", regexp = ".*\\S.*")
+        @Size(max = 20, message = "Username must be less than 20 characters")
+        String username,
+
+        @Email(message = "Email not valid", regexp = "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$")
+        String email,
+
+        @Pattern(message = "Password must contain a minimum of 8 characters, including a number, one uppercase letter, one lowercase letter and one special character", regexp = "^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[!@#$%^&+=.])(?=\\S+$).{8,}$")
+        String password,
+
+        Role role
+) {
+}
@@ -0,0 +1,13 @@
+package com.femcoders.pettrack.dtos.vaccinationReminder;
+
+import java.time.LocalDate;
+
+public record VaccinationReminderResponse(
+        Long petId,
+        String petName,
+        Long ownerId,
+        LocalDate lastVaccinationDate,
+        LocalDate dueDate,
+        boolean overdue
+) {
+}
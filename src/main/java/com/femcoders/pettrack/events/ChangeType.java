@@ -0,0 +1,12 @@
+package com.femcoders.pettrack.events;
+
+public enum ChangeType {
+    CREATE,
+    UPDATE,
+    DELETE;
+
+    /** The kind of change a before/after event pair describes. */
+    public static ChangeType of(Object before, Object after) {
+        return before == null ? CREATE : after == null ? DELETE : UPDATE;
+    }
+}
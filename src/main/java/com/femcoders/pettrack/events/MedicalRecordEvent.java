@@ -0,0 +1,11 @@
+package com.femcoders.pettrack.events;
+
+/**
+ * Published by the medical record write paths: {@code before} is null for a new record and
+ * {@code after} is null for a deleted one.
+ */
+public record MedicalRecordEvent(
+        MedicalRecordSnapshot before,
+        MedicalRecordSnapshot after
+) {
+}
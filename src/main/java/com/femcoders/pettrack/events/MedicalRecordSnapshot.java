@@ -0,0 +1,24 @@
+package com.femcoders.pettrack.events;
+
+import com.femcoders.pettrack.models.MedicalRecord;
+import com.femcoders.pettrack.models.MedicalRecordType;
+
+import java.time.LocalDate;
+
+public record MedicalRecordSnapshot(
+        Long id,
+        Long petId,
+        Long ownerId,
+        Long veterinaryId,
+        LocalDate date,
+        double weight,
+        MedicalRecordType type,
+        String description
+) {
+    public static MedicalRecordSnapshot of(MedicalRecord medicalRecord) {
+        return new MedicalRecordSnapshot(medicalRecord.getId(), medicalRecord.getPet().getId(),
+                medicalRecord.getPet().getUser().getId(), medicalRecord.getCreatedBy().getId(),
+                medicalRecord.getDate(), medicalRecord.getWeight(), medicalRecord.getType(),
+                medicalRecord.getDescription());
+    }
+}
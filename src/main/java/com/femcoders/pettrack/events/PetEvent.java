@@ -0,0 +1,11 @@
+package com.femcoders.pettrack.events;
+
+/**
+ * Published by the pet write paths: {@code before} is null for a new pet and {@code after} is
+ * null for a deleted one.
+ */
+public record PetEvent(
+        PetSnapshot before,
+        PetSnapshot after
+) {
+}
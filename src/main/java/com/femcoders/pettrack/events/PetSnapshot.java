@@ -0,0 +1,24 @@
+package com.femcoders.pettrack.events;
+
+import com.femcoders.pettrack.models.Pet;
+
+import java.time.LocalDate;
+
+public record PetSnapshot(
+        Long id,
+        Long ownerId,
+        String species,
+        String name,
+        String breed,
+        LocalDate birthDate,
+        String image
+) {
+    public static PetSnapshot of(Pet pet) {
+        return new PetSnapshot(pet.getId(), pet.getUser().getId(), pet.getSpecies(), pet.getName(),
+                pet.getBreed(), pet.getBirthDate(), pet.getImage());
+    }
+
+    public PetSnapshot withOwnerId(Long newOwnerId) {
+        return new PetSnapshot(id, newOwnerId, species, name, breed, birthDate, image);
+    }
+}
@@ -0,0 +1,11 @@
+package com.femcoders.pettrack.events;
+
+/**
+ * Published by the user write paths: {@code before} is null for a new user and {@code after} is
+ * null for a deleted one.
+ */
+public record UserEvent(
+        UserSnapshot before,
+        UserSnapshot after
+) {
+}
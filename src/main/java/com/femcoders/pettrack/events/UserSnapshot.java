@@ -0,0 +1,16 @@
+package com.femcoders.pettrack.events;
+
+import com.femcoders.pettrack.models.Role;
+import com.femcoders.pettrack.models.User;
+
+/** The password hash is deliberately left out. */
+public record UserSnapshot(
+        Long id,
+        String username,
+        String email,
+        Role role
+) {
+    public static UserSnapshot of(User user) {
+        return new UserSnapshot(user.getId(), user.getUsername(), user.getEmail(), user.getRole());
+    }
+}
@@ -0,0 +1,22 @@
+package com.femcoders.pettrack.feed;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "pettrack.feed")
+@Getter @Setter
+public class FeedProperties {
+    private int maxSubscribers = 10_000;
+    /** Messages a subscriber may have waiting before it is disconnected as too slow. */
+    private int subscriberBuffer = 64;
+    /** Threads writing to subscriber connections; idle subscribers hold none. */
+    private int dispatcherThreads = 4;
+    /** A send still blocked after this long disconnects its subscriber and frees the dispatcher thread. */
+    private Duration sendTimeout = Duration.ofSeconds(5);
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+    /** Connections are closed after this long; EventSource clients reconnect on their own. */
+    private Duration connectionTimeout = Duration.ofMinutes(30);
+}
@@ -0,0 +1,263 @@
+package com.femcoders.pettrack.feed;
+
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordChangeNotification;
+import com.femcoders.pettrack.events.ChangeType;
+import com.femcoders.pettrack.events.MedicalRecordEvent;
+import com.femcoders.pettrack.events.MedicalRecordSnapshot;
+import com.femcoders.pettrack.security.UserDetail;
+import com.femcoders.pettrack.utils.RoleValidator;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes committed medical record changes to Server-Sent Events subscribers. Veterinarians receive
+ * every change, owners only changes to records of their own pets.
+ * <p>
+ * Publishing only appends the notification to each matching subscriber's bounded queue and, if that
+ * subscriber is not already scheduled, hands it to a small fixed pool that writes its queue to the
+ * connection. An idle subscriber is just an emitter and an empty queue, and holds no thread. A
+ * subscriber whose queue overflows, or whose connection fails, is disconnected; the browser's
+ * EventSource reconnects and the client should refetch what it shows. Heartbeat comments keep idle
+ * connections open through proxies and reveal dead ones.
+ * <p>
+ * Writes block, so a watchdog disconnects a subscriber whose send has not returned within the send
+ * timeout and interrupts the dispatcher thread writing to it: a few stalled clients cannot hold the
+ * pool for longer than that while the queues of healthy subscribers fill up.
+ */
+@Slf4j
+@Component
+public class MedicalRecordFeed {
+    static final String EVENT_NAME = "medical-record";
+    private static final Object HEARTBEAT = new Object();
+
+    private final FeedProperties properties;
+    private final ThreadPoolExecutor dispatcher;
+    private final ScheduledExecutorService watchdog;
+    private final Semaphore slots;
+    private final Map<Long, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final AtomicLong subscriberIds = new AtomicLong();
+    private final AtomicLong eventIds = new AtomicLong();
+
+    public MedicalRecordFeed(FeedProperties properties) {
+        this.properties = properties;
+        int threads = Math.max(1, properties.getDispatcherThreads());
+        // Each subscriber is queued at most once, so this queue cannot outgrow the subscriber limit
+        this.dispatcher = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getMaxSubscribers())),
+                Thread.ofPlatform().name("feed-dispatcher-", 1).daemon().factory());
+        this.slots = new Semaphore(Math.max(0, properties.getMaxSubscribers()));
+        long checkMillis = Math.max(10, properties.getSendTimeout().toMillis() / 2);
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("feed-watchdog").daemon().factory());
+        this.watchdog.scheduleWithFixedDelay(this::disconnectStalled, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /** Registers a subscriber for the user, or returns empty when the subscriber limit is reached. */
+    public Optional<SseEmitter> subscribe(UserDetail userDetail) {
+        return subscribe(userDetail, new SseEmitter(properties.getConnectionTimeout().toMillis()));
+    }
+
+    Optional<SseEmitter> subscribe(UserDetail userDetail, SseEmitter emitter) {
+        if (!slots.tryAcquire()) {
+            return Optional.empty();
+        }
+        Long ownerId = RoleValidator.isVeterinary(userDetail) ? null : userDetail.getId();
+        Subscriber subscriber = new Subscriber(subscriberIds.incrementAndGet(), emitter, ownerId);
+        subscribers.put(subscriber.id, subscriber);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        return Optional.of(emitter);
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMedicalRecordEvent(MedicalRecordEvent event) {
+        MedicalRecordSnapshot before = event.before();
+        MedicalRecordSnapshot after = event.after();
+        MedicalRecordSnapshot current = after != null ? after : before;
+        Notification notification = new Notification(eventIds.incrementAndGet(), new MedicalRecordChangeNotification(
+                ChangeType.of(before, after), current.id(), current.petId(), current.date(), current.type()));
+        Long previousOwnerId = before != null ? before.ownerId() : null;
+        Long ownerId = current.ownerId();
+
+        for (Subscriber subscriber : subscribers.values()) {
+            if (subscriber.ownerId == null || subscriber.ownerId.equals(ownerId) || subscriber.ownerId.equals(previousOwnerId)) {
+                subscriber.enqueue(notification);
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${pettrack.feed.heartbeat-interval:15s}",
+            fixedDelayString = "${pettrack.feed.heartbeat-interval:15s}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers.values()) {
+            if (subscriber.size.get() == 0) {
+                subscriber.enqueue(HEARTBEAT);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        watchdog.shutdownNow();
+        dispatcher.shutdownNow();
+        subscribers.values().forEach(this::disconnect);
+    }
+
+    private void disconnectStalled() {
+        long now = System.nanoTime();
+        long timeout = properties.getSendTimeout().toNanos();
+        for (Subscriber subscriber : subscribers.values()) {
+            if (subscriber.sendingSince(now - timeout)) {
+                log.debug("Disconnecting stalled feed subscriber {}", subscriber.id);
+                // Removed first, so the interrupted thread does not go on to the subscriber's next message
+                disconnect(subscriber);
+                subscriber.interruptSend();
+            }
+        }
+    }
+
+    /** Frees the subscriber's slot; true only for the call that removed it. */
+    private boolean remove(Subscriber subscriber) {
+        if (subscribers.remove(subscriber.id, subscriber)) {
+            slots.release();
+            return true;
+        }
+        return false;
+    }
+
+    private void disconnect(Subscriber subscriber) {
+        if (remove(subscriber)) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    private record Notification(long id, MedicalRecordChangeNotification body) {
+    }
+
+    private final class Subscriber implements Runnable {
+        private final long id;
+        private final SseEmitter emitter;
+        /** Null for veterinarians, who see every record. */
+        private final Long ownerId;
+        private final Queue<Object> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        /** The thread blocked in a send and when the send started; guarded by this subscriber. */
+        private Thread sender;
+        private long sendStartedAt;
+
+        Subscriber(long id, SseEmitter emitter, Long ownerId) {
+            this.id = id;
+            this.emitter = emitter;
+            this.ownerId = ownerId;
+        }
+
+        void enqueue(Object message) {
+            if (size.incrementAndGet() > properties.getSubscriberBuffer()) {
+                size.decrementAndGet();
+                log.debug("Disconnecting slow feed subscriber {}", id);
+                disconnect(this);
+                return;
+            }
+            pending.add(message);
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    disconnect(this);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                Object message;
+                // A disconnected subscriber stops instead of blocking on its next message
+                while (subscribers.get(id) == this && (message = pending.poll()) != null) {
+                    size.decrementAndGet();
+                    send(message);
+                }
+            } catch (IOException | IllegalStateException e) {
+                disconnect(this);
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            // A message may have arrived after the last poll but before the flag was cleared
+            if (!pending.isEmpty() && subscribers.get(id) == this) {
+                schedule();
+            }
+        }
+
+        synchronized boolean sendingSince(long time) {
+            return sender != null && sendStartedAt - time <= 0;
+        }
+
+        synchronized void interruptSend() {
+            if (sender != null) {
+                sender.interrupt();
+            }
+        }
+
+        private void send(Object message) throws IOException {
+            synchronized (this) {
+                sender = Thread.currentThread();
+                sendStartedAt = System.nanoTime();
+            }
+            try {
+                write(message);
+            } finally {
+                synchronized (this) {
+                    sender = null;
+                }
+                // Clears an interrupt from the watchdog that came after the write returned
+                Thread.interrupted();
+            }
+        }
+
+        private void write(Object message) throws IOException {
+            if (message == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } else {
+                Notification notification = (Notification) message;
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(notification.id()))
+                        .name(EVENT_NAME)
+                        .data(notification.body()));
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.femcoders.pettrack.health;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Checks the database from a background thread so that health endpoints only read the
+ * last cached result and never borrow a pool connection on the request path. The check uses a
+ * connection of its own, so an exhausted application pool shows up in the pool stats instead of
+ * holding the probe for the pool's connection timeout.
+ */
+@Component
+public class DatabaseHealthProber {
+    private final DataSource dataSource;
+    private final DataSource probeDataSource;
+    private final Duration probeInterval;
+    private final int validationTimeoutSeconds;
+
+    private volatile DatabaseProbe lastProbe;
+
+    public DatabaseHealthProber(DataSource dataSource,
+                                @Qualifier("healthProbeDataSource") DataSource probeDataSource,
+                                @Value("${pettrack.health.probe-interval:5s}") Duration probeInterval,
+                                @Value("${pettrack.health.validation-timeout:2s}") Duration validationTimeout) {
+        this.dataSource = dataSource;
+        this.probeDataSource = probeDataSource;
+        this.probeInterval = probeInterval;
+        this.validationTimeoutSeconds = (int) Math.max(1, validationTimeout.toSeconds());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${pettrack.health.probe-interval:5s}",
+            fixedDelayString = "${pettrack.health.probe-interval:5s}")
+    public void probe() {
+        long start = System.nanoTime();
+        try (Connection connection = probeDataSource.getConnection()) {
+            boolean valid = connection.isValid(validationTimeoutSeconds);
+            lastProbe = new DatabaseProbe(valid, elapsedMillis(start), Instant.now(),
+                    valid ? null : "Connection validation failed");
+        } catch (Exception e) {
+            lastProbe = new DatabaseProbe(false, elapsedMillis(start), Instant.now(), e.getMessage());
+        }
+    }
+
+    public DatabaseProbe getLastProbe() {
+        DatabaseProbe probe = lastProbe;
+        if (probe == null) {
+            return new DatabaseProbe(false, 0, null, "Database not probed yet");
+        }
+        return probe;
+    }
+
+    public boolean isStale(DatabaseProbe probe) {
+        if (probe.checkedAt() == null) {
+            return true;
+        }
+        Duration age = Duration.between(probe.checkedAt(), Instant.now());
+        return age.compareTo(probeInterval.multipliedBy(3)) > 0;
+    }
+
+    public Optional<PoolStats> getPoolStats() {
+        HikariDataSource hikari = unwrapHikari();
+        if (hikari == null || hikari.getHikariPoolMXBean() == null) {
+            return Optional.empty();
+        }
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        int maximum = hikari.getMaximumPoolSize();
+        int active = pool.getActiveConnections();
+        return Optional.of(new PoolStats(
+                active,
+                pool.getIdleConnections(),
+                pool.getTotalConnections(),
+                maximum,
+                pool.getThreadsAwaitingConnection(),
+                maximum > 0 ? (double) active / maximum : 0
+        ));
+    }
+
+    private HikariDataSource unwrapHikari() {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class);
+            }
+        } catch (SQLException ignored) {
+        }
+        return null;
+    }
+
+    private long elapsedMillis(long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+    }
+}
@@ -0,0 +1,11 @@
+package com.femcoders.pettrack.health;
+
+import java.time.Instant;
+
+public record DatabaseProbe(
+        boolean up,
+        long latencyMillis,
+        Instant checkedAt,
+        String error
+) {
+}
@@ -0,0 +1,11 @@
+package com.femcoders.pettrack.health;
+
+public record PoolStats(
+        int active,
+        int idle,
+        int total,
+        int maximum,
+        int pendingThreads,
+        double saturation
+) {
+}
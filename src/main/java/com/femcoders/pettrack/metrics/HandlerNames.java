@@ -0,0 +1,20 @@
+package com.femcoders.pettrack.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class HandlerNames {
+    public static final String UNKNOWN = "none";
+
+    public static String of(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        return UNKNOWN;
+    }
+}
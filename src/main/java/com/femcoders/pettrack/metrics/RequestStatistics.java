@@ -0,0 +1,55 @@
+package com.femcoders.pettrack.metrics;
+
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements, entity loads and collection fetches Hibernate performs on the
+ * current thread, so {@link RequestStatisticsFilter} can record them per request.
+ */
+public class RequestStatistics implements StatementInspector, PostLoadEventListener, InitializeCollectionEventListener {
+    private static final ThreadLocal<Counters> COUNTERS = ThreadLocal.withInitial(Counters::new);
+
+    public static Counters reset() {
+        Counters counters = COUNTERS.get();
+        counters.statements = 0;
+        counters.entityLoads = 0;
+        counters.collectionFetches = 0;
+        return counters;
+    }
+
+    public static void clear() {
+        COUNTERS.remove();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        COUNTERS.get().statements++;
+        return sql;
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        COUNTERS.get().entityLoads++;
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        COUNTERS.get().collectionFetches++;
+    }
+
+    public static class Counters {
+        private long statements;
+        private long entityLoads;
+        private long collectionFetches;
+
+        public long getStatements() { return statements; }
+
+        public long getEntityLoads() { return entityLoads; }
+
+        public long getCollectionFetches() { return collectionFetches; }
+    }
+}
@@ -0,0 +1,44 @@
+package com.femcoders.pettrack.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@Component
+@RequiredArgsConstructor
+public class RequestStatisticsFilter extends OncePerRequestFilter {
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        RequestStatistics.Counters counters = RequestStatistics.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            String handler = HandlerNames.of(request);
+            if (!HandlerNames.UNKNOWN.equals(handler)) {
+                record("pettrack.request.statements", "SQL statements executed per request", handler, counters.getStatements());
+                record("pettrack.request.entity.loads", "Entities loaded per request", handler, counters.getEntityLoads());
+                record("pettrack.request.collection.fetches", "Collections fetched per request", handler, counters.getCollectionFetches());
+            }
+            RequestStatistics.clear();
+        }
+    }
+
+    private void record(String name, String description, String handler, long value) {
+        DistributionSummary.builder(name)
+                .description(description)
+                .tag("handler", handler)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(value);
+    }
+}
@@ -2,6 +2,7 @@ package com.femcoders.pettrack.models;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -9,6 +10,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "medical_records")
+@DynamicUpdate
 @AllArgsConstructor @NoArgsConstructor
 @Getter @Setter
 @Builder
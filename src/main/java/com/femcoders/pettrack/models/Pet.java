@@ -2,6 +2,7 @@ package com.femcoders.pettrack.models;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -9,6 +10,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "pets")
+@DynamicUpdate
 @AllArgsConstructor @NoArgsConstructor
 @Getter @Setter
 @Builder
@@ -38,8 +40,9 @@ public class Pet {
     @EqualsAndHashCode.Exclude
     private User user;
 
-    @OneToMany(mappedBy = "pet", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToMany(mappedBy = "pet")
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
+    @Builder.Default
     private List<MedicalRecord> medicalRecords = new ArrayList<>();
 }
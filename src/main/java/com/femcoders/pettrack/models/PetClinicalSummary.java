@@ -0,0 +1,32 @@
+package com.femcoders.pettrack.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "pet_clinical_summaries")
+@AllArgsConstructor @NoArgsConstructor
+@Getter @Setter
+@Builder
+public class PetClinicalSummary {
+    @Id
+    @Column(name = "pet_id")
+    private Long petId;
+
+    @Column(name = "record_count", nullable = false)
+    private int recordCount;
+
+    @Column(name = "last_visit_record_id")
+    private Long lastVisitRecordId;
+
+    @Column(name = "last_visit_date")
+    private LocalDate lastVisitDate;
+
+    @Column(name = "last_weight")
+    private Double lastWeight;
+
+    @Column(name = "last_vaccination_date")
+    private LocalDate lastVaccinationDate;
+}
@@ -0,0 +1,23 @@
+package com.femcoders.pettrack.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "vaccination_reminders")
+@AllArgsConstructor @NoArgsConstructor
+@Getter @Setter
+@Builder
+public class VaccinationReminder {
+    @Id
+    @Column(name = "pet_id")
+    private Long petId;
+
+    @Column(name = "last_vaccination_date")
+    private LocalDate lastVaccinationDate;
+
+    @Column(name = "due_date", nullable = false)
+    private LocalDate dueDate;
+}
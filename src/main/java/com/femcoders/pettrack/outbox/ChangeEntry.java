@@ -0,0 +1,17 @@
+package com.femcoders.pettrack.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.femcoders.pettrack.events.ChangeType;
+
+import java.time.Instant;
+
+/** One change log entry; {@code outboxId} lets the relay recognise entries it already appended. */
+public record ChangeEntry(
+        long outboxId,
+        String aggregateType,
+        Long aggregateId,
+        ChangeType changeType,
+        Instant occurredAt,
+        JsonNode payload
+) {
+}
@@ -0,0 +1,362 @@
+package com.femcoders.pettrack.outbox;
+
+import com.femcoders.pettrack.utils.LogFrames;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Offset-addressed, append-only log of {@link LogFrames} entries. Entry {@code n} is the n-th entry
+ * ever appended; segment files are named after the offset of their first entry
+ * ({@code changes-00000000000000000000.log}, ...) and closed once the next entry would take them past the
+ * segment size, and the oldest segments beyond the retention count are deleted.
+ * <p>
+ * Each segment keeps the file position of every {@value #INDEX_INTERVAL}th entry in memory, so a read
+ * seeks close to its offset and scans forward. There is one appender; reads may run concurrently from
+ * any thread and only see entries whose append has completed. On open only the newest segment is
+ * streamed and validated, and anything after its last valid entry is truncated; older segments are
+ * indexed by the first read that needs them.
+ * <p>
+ * A random id kept in {@code changes.id} tells this log apart from any other, so that a database can
+ * be bound to the one log its outbox is relayed to.
+ */
+public class ChangeLog implements Closeable {
+    private static final Pattern SEGMENT_NAME = Pattern.compile("changes-(\\d{20})\\.log");
+    private static final int INDEX_INTERVAL = 128;
+
+    private final Path directory;
+    private final String id;
+    private final long segmentBytes;
+    private final int maxSegments;
+    private final boolean fsync;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+
+    private volatile long startOffset;
+    private volatile long endOffset;
+    private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+    private FileChannel channel;
+    private long position;
+
+    public ChangeLog(Path directory, long segmentBytes, int maxSegments, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = Math.max(1, maxSegments);
+        this.fsync = fsync;
+
+        Files.createDirectories(directory);
+        lockChannel = FileChannel.open(directory.resolve("changes.lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock acquired;
+        try {
+            acquired = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            acquired = null;
+        }
+        if (acquired == null) {
+            lockChannel.close();
+            throw new IOException("Change log " + directory + " is locked by another writer");
+        }
+        lock = acquired;
+        id = readOrCreateId(directory.resolve("changes.id"));
+
+        for (Path file : segmentFiles()) {
+            segments.add(new Segment(baseOffset(file), file, false));
+        }
+        if (segments.isEmpty()) {
+            segments.add(new Segment(0, directory.resolve(segmentName(0)), true));
+        }
+        Segment tail = segments.getLast();
+        Segment.Scan scan = tail.scan(true);
+        channel = FileChannel.open(tail.path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (channel.size() > scan.bytes()) {
+            channel.truncate(scan.bytes());
+        }
+        position = scan.bytes();
+        channel.position(position);
+        startOffset = segments.getFirst().baseOffset;
+        endOffset = tail.baseOffset + scan.entries();
+    }
+
+    /** The id that identifies this log for as long as its directory exists. */
+    public String id() {
+        return id;
+    }
+
+    /** Offset of the oldest retained entry. */
+    public long startOffset() {
+        return startOffset;
+    }
+
+    /** Offset the next appended entry will get. */
+    public long endOffset() {
+        return endOffset;
+    }
+
+    /** Appends the entries in order and returns the offset of the first one. Single appender only. */
+    public synchronized long append(List<byte[]> payloads) throws IOException {
+        long first = endOffset;
+        long next = first;
+        for (byte[] payload : payloads) {
+            int frameBytes = LogFrames.HEADER_BYTES + payload.length;
+            long segmentEnd = position + buffer.position();
+            if (segmentEnd > 0 && segmentEnd + frameBytes > segmentBytes) {
+                writeBuffer();
+                roll(next);
+            }
+            if (buffer.remaining() < frameBytes) {
+                writeBuffer();
+                if (buffer.capacity() < frameBytes) {
+                    buffer = ByteBuffer.allocate(frameBytes);
+                }
+            }
+            Segment active = segments.getLast();
+            long relative = next - active.baseOffset;
+            if (relative % INDEX_INTERVAL == 0) {
+                active.index(relative / INDEX_INTERVAL, position + buffer.position());
+            }
+            LogFrames.put(buffer, payload);
+            next++;
+        }
+        writeBuffer();
+        if (fsync) {
+            channel.force(false);
+        }
+        endOffset = next;
+        return first;
+    }
+
+    /**
+     * Up to {@code limit} entries starting at {@code offset}, oldest first. An offset equal to the end
+     * offset returns nothing; one that was deleted by retention or lies past the end is rejected.
+     */
+    public List<byte[]> read(long offset, int limit) throws IOException {
+        long end = endOffset;
+        if (offset > end) {
+            throw new IllegalArgumentException("Offset " + offset + " is beyond the end of the change log (" + end + ")");
+        }
+        List<byte[]> entries = new ArrayList<>();
+        long next = offset;
+        while (entries.size() < limit && next < end) {
+            List<Segment> current = List.copyOf(segments);
+            int segmentIndex = segmentFor(current, next);
+            if (segmentIndex < 0) {
+                throw offsetNotRetained(offset);
+            }
+            Segment segment = current.get(segmentIndex);
+            long segmentEnd = segmentIndex + 1 < current.size() ? current.get(segmentIndex + 1).baseOffset : end;
+            long slot = (next - segment.baseOffset) / INDEX_INTERVAL;
+            long entryOffset = segment.baseOffset + slot * INDEX_INTERVAL;
+
+            try (FileChannel reader = FileChannel.open(segment.path, StandardOpenOption.READ)) {
+                reader.position(segment.position(slot));
+                DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(reader)));
+                for (; entryOffset < segmentEnd && entries.size() < limit; entryOffset++) {
+                    int length = in.readInt();
+                    int checksum = in.readInt();
+                    if (entryOffset < next) {
+                        in.skipNBytes(length);
+                        continue;
+                    }
+                    byte[] payload = in.readNBytes(length);
+                    if (payload.length != length || LogFrames.checksum(payload) != checksum) {
+                        throw new IOException("Corrupt change log entry at offset " + entryOffset + " in " + segment.path);
+                    }
+                    entries.add(payload);
+                }
+            } catch (NoSuchFileException e) {
+                throw offsetNotRetained(offset);
+            }
+            next = entryOffset;
+        }
+        return entries;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            if (channel.isOpen()) {
+                writeBuffer();
+                channel.force(false);
+                channel.close();
+            }
+        } finally {
+            lock.release();
+            lockChannel.close();
+        }
+    }
+
+    private IllegalArgumentException offsetNotRetained(long offset) {
+        return new IllegalArgumentException("Offset " + offset + " is no longer retained; the earliest available offset is " + startOffset);
+    }
+
+    private static int segmentFor(List<Segment> segments, long offset) {
+        if (segments.isEmpty() || offset < segments.getFirst().baseOffset) {
+            return -1;
+        }
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            if (segments.get(i).baseOffset <= offset) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void roll(long baseOffset) throws IOException {
+        if (fsync) {
+            channel.force(false);
+        }
+        channel.close();
+        Segment segment = new Segment(baseOffset, directory.resolve(segmentName(baseOffset)), true);
+        channel = FileChannel.open(segment.path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        position = 0;
+        segments.add(segment);
+        while (segments.size() > maxSegments) {
+            Segment expired = segments.removeFirst();
+            startOffset = segments.getFirst().baseOffset;
+            Files.deleteIfExists(expired.path);
+        }
+    }
+
+    private static String readOrCreateId(Path file) throws IOException {
+        if (Files.exists(file)) {
+            return Files.readString(file, StandardCharsets.UTF_8).trim();
+        }
+        String created = UUID.randomUUID().toString();
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.writeString(temporary, created, StandardCharsets.UTF_8);
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return created;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> SEGMENT_NAME.matcher(file.getFileName().toString()).matches())
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static String segmentName(long baseOffset) {
+        return "changes-%020d.log".formatted(baseOffset);
+    }
+
+    private static long baseOffset(Path file) {
+        Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not a change log segment: " + file);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    /**
+     * A segment file and the positions of its indexed entries. The appender writes an index slot before
+     * it publishes the entry through {@code endOffset}, so readers never look up a slot that is not set.
+     * A sealed segment found on open is indexed by the first lookup.
+     */
+    private static final class Segment {
+        private final long baseOffset;
+        private final Path path;
+        private volatile long[] positions = new long[16];
+        private volatile boolean indexed;
+
+        Segment(long baseOffset, Path path, boolean indexed) {
+            this.baseOffset = baseOffset;
+            this.path = path;
+            this.indexed = indexed;
+        }
+
+        /**
+         * Streams the frames from the start of the file and indexes them, stopping at the first torn
+         * frame, or corrupt one when {@code verify} is set. A missing file holds no entries.
+         */
+        Scan scan(boolean verify) throws IOException {
+            if (!Files.exists(path)) {
+                indexed = true;
+                return new Scan(0, 0);
+            }
+            long count = 0;
+            long bytes = 0;
+            try (FileChannel reader = FileChannel.open(path, StandardOpenOption.READ)) {
+                long size = reader.size();
+                DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(reader), 64 * 1024));
+                while (size - bytes >= LogFrames.HEADER_BYTES) {
+                    int length = in.readInt();
+                    int checksum = in.readInt();
+                    if (length < 0 || length > size - bytes - LogFrames.HEADER_BYTES) {
+                        break;
+                    }
+                    if (verify) {
+                        if (LogFrames.checksum(in.readNBytes(length)) != checksum) {
+                            break;
+                        }
+                    } else {
+                        in.skipNBytes(length);
+                    }
+                    if (count % INDEX_INTERVAL == 0) {
+                        index(count / INDEX_INTERVAL, bytes);
+                    }
+                    count++;
+                    bytes += LogFrames.HEADER_BYTES + length;
+                }
+            }
+            indexed = true;
+            return new Scan(count, bytes);
+        }
+
+        void index(long slot, long position) {
+            long[] current = positions;
+            if (slot >= current.length) {
+                current = Arrays.copyOf(current, Math.max(current.length * 2, (int) slot + 1));
+                current[(int) slot] = position;
+                positions = current;
+            } else {
+                current[(int) slot] = position;
+            }
+        }
+
+        long position(long slot) throws IOException {
+            if (!indexed) {
+                synchronized (this) {
+                    if (!indexed) {
+                        scan(false);
+                    }
+                }
+            }
+            return positions[(int) slot];
+        }
+
+        record Scan(long entries, long bytes) {
+        }
+    }
+}
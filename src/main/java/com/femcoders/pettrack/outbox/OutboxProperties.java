@@ -0,0 +1,21 @@
+package com.femcoders.pettrack.outbox;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+@ConfigurationProperties(prefix = "pettrack.outbox")
+@Getter @Setter
+public class OutboxProperties {
+    /** Directory of the change log segments. */
+    private Path directory = Path.of("changelog");
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+    /** Oldest segments beyond this count are deleted; consumers further behind must start over. */
+    private int maxSegments = 16;
+    /** Outbox rows moved to the change log per relay batch. */
+    private int batchSize = 500;
+    private boolean fsync = true;
+}
@@ -0,0 +1,183 @@
+package com.femcoders.pettrack.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.femcoders.pettrack.events.ChangeType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Moves {@code outbox_events} rows, oldest id first, into the {@link ChangeLog} and deletes them once
+ * the append is durable. A crash between the append and the delete would relay the last batch twice,
+ * so on start the relay reads the outbox ids of the newest change log entries and only deletes those
+ * rows the first time it sees them again. Entries are in relay order, which can differ from id order
+ * when a transaction that took an earlier id commits late.
+ * <p>
+ * A database is relayed to a single change log. Each batch runs in a transaction that first locks the
+ * {@code outbox_relay} row, so relays on several instances take turns instead of moving the same rows,
+ * and only proceeds when the row names this change log (claiming it when it names none). A relay with
+ * another change log stays idle, so events are never split between logs or offsets repeated.
+ */
+@Slf4j
+@Component
+public class OutboxRelay implements SmartLifecycle {
+    private static final String SELECT_EVENTS =
+            "SELECT id, aggregate_type, aggregate_id, change_type, payload, created_at FROM outbox_events ORDER BY id LIMIT ?";
+    private static final String DELETE_EVENT = "DELETE FROM outbox_events WHERE id = ?";
+    private static final String LOCK_RELAY = "SELECT change_log_id FROM outbox_relay WHERE id = 1 FOR UPDATE";
+    private static final String CLAIM_RELAY = "UPDATE outbox_relay SET change_log_id = ?, claimed_at = ? WHERE id = 1";
+
+    private final OutboxProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Set<Long> alreadyRelayed = new HashSet<>();
+
+    private volatile ChangeLog changeLog;
+    private String relayOwner;
+
+    public OutboxRelay(OutboxProperties properties, JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                       ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public Optional<ChangeLog> getChangeLog() {
+        return Optional.ofNullable(changeLog);
+    }
+
+    @Scheduled(initialDelayString = "${pettrack.outbox.relay-interval:500ms}",
+            fixedDelayString = "${pettrack.outbox.relay-interval:500ms}")
+    public synchronized void relay() {
+        ChangeLog current = changeLog;
+        if (current == null) {
+            return;
+        }
+        try {
+            int batchSize = Math.max(1, properties.getBatchSize());
+            boolean full;
+            do {
+                full = Boolean.TRUE.equals(transactionTemplate.execute(status -> relayBatch(current, batchSize)));
+            } while (full);
+            alreadyRelayed.clear();
+        } catch (Exception e) {
+            log.warn("Outbox relay failed; it will retry on the next run", e);
+        }
+    }
+
+    /** Relays one batch while holding the relay row lock; true when the batch was full. */
+    private boolean relayBatch(ChangeLog current, int batchSize) {
+        if (!holdsRelay(current)) {
+            return false;
+        }
+        List<ChangeEntry> batch = jdbcTemplate.query(SELECT_EVENTS, (resultSet, rowNum) -> new ChangeEntry(
+                resultSet.getLong("id"),
+                resultSet.getString("aggregate_type"),
+                resultSet.getLong("aggregate_id"),
+                ChangeType.valueOf(resultSet.getString("change_type")),
+                resultSet.getTimestamp("created_at").toInstant(),
+                readPayload(resultSet.getString("payload"))
+        ), batchSize);
+        if (batch.isEmpty()) {
+            return false;
+        }
+        try {
+            List<byte[]> payloads = new ArrayList<>(batch.size());
+            for (ChangeEntry entry : batch) {
+                if (!alreadyRelayed.remove(entry.outboxId())) {
+                    payloads.add(objectMapper.writeValueAsBytes(entry));
+                }
+            }
+            current.append(payloads);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        jdbcTemplate.batchUpdate(DELETE_EVENT, batch.stream().map(entry -> new Object[]{entry.outboxId()}).toList());
+        return batch.size() == batchSize;
+    }
+
+    /**
+     * Locks the relay row and tells whether it names this change log, claiming it when it names none.
+     * A refusal is logged when the owner changes, not on every run.
+     */
+    private boolean holdsRelay(ChangeLog current) {
+        String owner = jdbcTemplate.queryForObject(LOCK_RELAY, String.class);
+        if (owner == null) {
+            jdbcTemplate.update(CLAIM_RELAY, current.id(), Timestamp.from(Instant.now()));
+            log.info("Change log {} ({}) claimed the outbox relay", current.id(), properties.getDirectory());
+            owner = current.id();
+        }
+        if (!owner.equals(relayOwner)) {
+            relayOwner = owner;
+            if (!owner.equals(current.id())) {
+                log.warn("The outbox is relayed to change log {}, not to {} ({}); this relay stays idle",
+                        owner, current.id(), properties.getDirectory());
+            }
+        }
+        return owner.equals(current.id());
+    }
+
+    @Override
+    public synchronized void start() {
+        ChangeLog opened;
+        try {
+            opened = new ChangeLog(properties.getDirectory(), properties.getSegmentSize().toBytes(),
+                    properties.getMaxSegments(), properties.isFsync());
+        } catch (IOException e) {
+            log.error("Could not open the change log; outbox events will not be relayed", e);
+            return;
+        }
+        try {
+            long end = opened.endOffset();
+            long from = Math.max(opened.startOffset(), end - properties.getBatchSize());
+            for (byte[] payload : opened.read(from, (int) (end - from))) {
+                alreadyRelayed.add(objectMapper.readValue(payload, ChangeEntry.class).outboxId());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read the tail of the change log", e);
+        }
+        changeLog = opened;
+    }
+
+    @Override
+    public synchronized void stop() {
+        ChangeLog current = changeLog;
+        changeLog = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                log.warn("Could not close the change log", e);
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return changeLog != null;
+    }
+
+    private JsonNode readPayload(String payload) {
+        try {
+            return objectMapper.readTree(payload);
+        } catch (IOException e) {
+            throw new IllegalStateException("Outbox payload is not valid JSON", e);
+        }
+    }
+}
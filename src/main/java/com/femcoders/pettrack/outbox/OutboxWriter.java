@@ -0,0 +1,59 @@
+package com.femcoders.pettrack.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.femcoders.pettrack.events.ChangeType;
+import com.femcoders.pettrack.events.MedicalRecordEvent;
+import com.femcoders.pettrack.events.PetEvent;
+import com.femcoders.pettrack.events.UserEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Writes each domain event to {@code outbox_events} just before its transaction commits, on the same
+ * connection, so an event is stored if and only if the change it describes is.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+    private static final String INSERT_EVENT =
+            "INSERT INTO outbox_events (aggregate_type, aggregate_id, change_type, payload, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onUserEvent(UserEvent event) {
+        write("User", event.before() != null ? event.before().id() : event.after().id(),
+                ChangeType.of(event.before(), event.after()), event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onPetEvent(PetEvent event) {
+        write("Pet", event.before() != null ? event.before().id() : event.after().id(),
+                ChangeType.of(event.before(), event.after()), event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onMedicalRecordEvent(MedicalRecordEvent event) {
+        write("MedicalRecord", event.before() != null ? event.before().id() : event.after().id(),
+                ChangeType.of(event.before(), event.after()), event);
+    }
+
+    private void write(String aggregateType, Long aggregateId, ChangeType changeType, Object event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + aggregateType + " change event", e);
+        }
+        jdbcTemplate.update(INSERT_EVENT, aggregateType, aggregateId, changeType.name(), payload,
+                Timestamp.from(Instant.now()));
+    }
+}
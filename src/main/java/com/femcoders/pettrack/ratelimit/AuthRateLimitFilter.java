@@ -0,0 +1,181 @@
+package com.femcoders.pettrack.ratelimit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.femcoders.pettrack.exceptions.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Rejects login and registration requests with 429 once the client address or the username/email has
+ * used up its bucket, before the request reaches any query or password hash. The body is read here to
+ * find the identifier and replayed to the controller.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+    /** The JSON member naming the account each endpoint works on. */
+    private static final Map<String, String> IDENTIFIER_FIELDS = Map.of(
+            "/api/auth/login", "identifier",
+            "/api/auth/register", "username"
+    );
+
+    private final AuthRateLimiter authRateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !authRateLimiter.isEnabled()
+                || !HttpMethod.POST.matches(request.getMethod())
+                || !IDENTIFIER_FIELDS.containsKey(path(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        Duration wait = authRateLimiter.acquireForIp(request.getRemoteAddr());
+        if (!wait.isZero()) {
+            reject(response, wait);
+            return;
+        }
+
+        byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            writeError(response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body must not exceed " + MAX_BODY_BYTES + " bytes");
+            return;
+        }
+
+        String identifier = identifier(body, IDENTIFIER_FIELDS.get(path(request)));
+        if (identifier != null) {
+            wait = authRateLimiter.acquireForIdentifier(identifier);
+            if (!wait.isZero()) {
+                reject(response, wait);
+                return;
+            }
+        }
+        filterChain.doFilter(new CachedBodyRequest(request, body), response);
+    }
+
+    private String identifier(byte[] body, String field) {
+        try {
+            JsonNode value = objectMapper.readTree(body).path(field);
+            return value.isTextual() && !value.asText().isBlank() ? value.asText() : null;
+        } catch (IOException e) {
+            // Malformed bodies are rejected by the controller before any work is done.
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, Duration wait) throws IOException {
+        long seconds = Math.max(1, (wait.toMillis() + 999) / 1000);
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        writeError(response, HttpStatus.TOO_MANY_REQUESTS, "Too many attempts, try again in " + seconds + " seconds");
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .message(message)
+                .build();
+        objectMapper.writeValue(response.getWriter(), errorResponse);
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                private boolean listening;
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /** The whole body is already in memory, so the listener is told at once that it can be read. */
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    if (!isAsyncStarted()) {
+                        throw new IllegalStateException("A read listener requires an asynchronous request");
+                    }
+                    if (listening) {
+                        throw new IllegalStateException("A read listener is already set");
+                    }
+                    listening = true;
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            readListener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
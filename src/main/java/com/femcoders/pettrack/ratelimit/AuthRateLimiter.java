@@ -0,0 +1,61 @@
+package com.femcoders.pettrack.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/** The per-address and per-identifier buckets guarding the authentication endpoints. */
+@Component
+public class AuthRateLimiter {
+    private final RateLimitProperties properties;
+    private final TokenBucketLimiter byIp;
+    private final TokenBucketLimiter byIdentifier;
+    private final Counter rejectedByIp;
+    private final Counter rejectedByIdentifier;
+
+    public AuthRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.byIp = new TokenBucketLimiter(properties.getIp().getCapacity(),
+                properties.getIp().getRefillInterval(), properties.getStripes());
+        this.byIdentifier = new TokenBucketLimiter(properties.getIdentifier().getCapacity(),
+                properties.getIdentifier().getRefillInterval(), properties.getStripes());
+        this.rejectedByIp = Counter.builder("pettrack.ratelimit.rejected").tag("key", "ip").register(meterRegistry);
+        this.rejectedByIdentifier = Counter.builder("pettrack.ratelimit.rejected").tag("key", "identifier").register(meterRegistry);
+        Gauge.builder("pettrack.ratelimit.buckets", byIp, TokenBucketLimiter::size).tag("key", "ip").register(meterRegistry);
+        Gauge.builder("pettrack.ratelimit.buckets", byIdentifier, TokenBucketLimiter::size).tag("key", "identifier").register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /** @return zero if the address may proceed, otherwise how long it has to wait */
+    public Duration acquireForIp(String address) {
+        Duration wait = byIp.tryAcquire(address);
+        if (!wait.isZero()) {
+            rejectedByIp.increment();
+        }
+        return wait;
+    }
+
+    /** @return zero if the username or email may proceed, otherwise how long it has to wait */
+    public Duration acquireForIdentifier(String identifier) {
+        Duration wait = byIdentifier.tryAcquire(identifier.trim().toLowerCase(Locale.ROOT));
+        if (!wait.isZero()) {
+            rejectedByIdentifier.increment();
+        }
+        return wait;
+    }
+
+    @Scheduled(initialDelayString = "${pettrack.rate-limit.sweep-interval:1m}",
+            fixedDelayString = "${pettrack.rate-limit.sweep-interval:1m}")
+    public void evictIdle() {
+        byIp.evictIdle();
+        byIdentifier.evictIdle();
+    }
+}
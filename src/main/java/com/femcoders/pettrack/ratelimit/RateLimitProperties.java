@@ -0,0 +1,37 @@
+package com.femcoders.pettrack.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "pettrack.rate-limit")
+@Getter @Setter
+public class RateLimitProperties {
+    private boolean enabled = true;
+    /** Requests to the authentication endpoints from one client address. */
+    private Bucket ip = new Bucket(20, Duration.ofSeconds(3));
+    /** Login attempts for one username or email, and registrations of one username, from any address. */
+    private Bucket identifier = new Bucket(5, Duration.ofSeconds(12));
+    /** Independent maps the buckets are spread over, rounded up to a power of two. */
+    private int stripes = 16;
+    /** How often buckets that have refilled completely are dropped. */
+    private Duration sweepInterval = Duration.ofMinutes(1);
+
+    @Getter @Setter
+    public static class Bucket {
+        /** Requests allowed in a burst. */
+        private int capacity;
+        /** Time to earn back one request. */
+        private Duration refillInterval;
+
+        public Bucket() {
+        }
+
+        public Bucket(int capacity, Duration refillInterval) {
+            this.capacity = capacity;
+            this.refillInterval = refillInterval;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.femcoders.pettrack.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets of {@code capacity} tokens, each refilled by one token every {@code refillInterval}, one
+ * per key. A bucket is a single {@link AtomicLong} holding the time at which it will be full again (the
+ * "theoretical arrival time" of the generic cell rate algorithm); taking a token is one compare-and-set
+ * that moves that time forward by one interval, so no bucket ever needs a lock or a background refill.
+ * <p>
+ * Keys are spread over a power-of-two number of maps so that growth and sweeping of one stripe does not
+ * disturb the others. A bucket whose full time has passed is indistinguishable from a new one and is
+ * dropped by {@link #evictIdle()}; a request racing with the sweep can at worst be forgotten.
+ */
+public class TokenBucketLimiter {
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes;
+    private final int mask;
+
+    public TokenBucketLimiter(int capacity, Duration refillInterval, int stripes) {
+        this(capacity, refillInterval, stripes, System::nanoTime);
+    }
+
+    @SuppressWarnings("unchecked")
+    TokenBucketLimiter(int capacity, Duration refillInterval, int stripes, LongSupplier clock) {
+        if (capacity < 1 || refillInterval.isNegative() || refillInterval.isZero()) {
+            throw new IllegalArgumentException("A bucket needs a capacity of at least 1 and a positive refill interval");
+        }
+        this.intervalNanos = refillInterval.toNanos();
+        this.burstNanos = Math.multiplyExact(intervalNanos, (long) capacity);
+        this.clock = clock;
+        int count = Integer.highestOneBit(Math.max(1, stripes - 1) << 1);
+        this.stripes = new ConcurrentHashMap[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new ConcurrentHashMap<>();
+        }
+        this.mask = count - 1;
+    }
+
+    /**
+     * Takes one token from {@code key}'s bucket.
+     *
+     * @return zero if a token was taken, otherwise how long until the next one is available
+     */
+    public Duration tryAcquire(String key) {
+        long now = clock.getAsLong();
+        AtomicLong bucket = stripe(key).computeIfAbsent(key, k -> new AtomicLong(now));
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt, now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return Duration.ofNanos(wait);
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return Duration.ZERO;
+            }
+        }
+    }
+
+    /** Drops the buckets that have refilled completely and returns how many there were. */
+    public int evictIdle() {
+        long now = clock.getAsLong();
+        int evicted = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            for (var entry : stripe.entrySet()) {
+                if (entry.getValue().get() - now <= 0 && stripe.remove(entry.getKey(), entry.getValue())) {
+                    evicted++;
+                }
+            }
+        }
+        return evicted;
+    }
+
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private ConcurrentHashMap<String, AtomicLong> stripe(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+}
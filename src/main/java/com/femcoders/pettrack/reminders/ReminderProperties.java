@@ -0,0 +1,29 @@
+package com.femcoders.pettrack.reminders;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "pettrack.reminders")
+@Getter @Setter
+public class ReminderProperties {
+    private boolean enabled = true;
+    private String cron = "0 0 2 * * *";
+    /** The job only processes chunks between these times; equal values mean no restriction. */
+    private LocalTime windowStart = LocalTime.of(1, 0);
+    private LocalTime windowEnd = LocalTime.of(6, 0);
+    private int chunkSize = 500;
+    private int parallelism = 2;
+    private Duration pauseBetweenChunks = Duration.ofMillis(200);
+    /** Extra pause while request threads are waiting for a pool connection. */
+    private Duration busyPause = Duration.ofSeconds(2);
+    private Duration dueSoon = Duration.ofDays(30);
+    private Duration firstVaccinationAge = Duration.ofDays(56);
+    /** Booster interval per species; species without an entry get no reminders. */
+    private Map<String, Integer> vaccinationIntervalMonths = new HashMap<>();
+}
@@ -0,0 +1,12 @@
+package com.femcoders.pettrack.reminders;
+
+public record ReminderRun(
+        boolean resumed,
+        boolean completed,
+        int chunks,
+        long pets,
+        long reminders,
+        Long checkpoint,
+        long elapsedMillis
+) {
+}
@@ -0,0 +1,202 @@
+package com.femcoders.pettrack.reminders;
+
+import com.femcoders.pettrack.health.DatabaseHealthProber;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Rebuilds {@code vaccination_reminders} from each pet's last vaccination (kept in
+ * {@code pet_clinical_summaries}) and its species' booster interval.
+ * <p>
+ * Pets are walked in primary-key order in chunks of {@code chunk-size}; {@code parallelism} chunks are
+ * processed at a time, each in its own transaction, and the highest key of a finished wave is stored in
+ * {@code job_checkpoints}. A run that leaves its time window or is interrupted resumes from that key on
+ * the next trigger. Between waves the job pauses, and pauses longer while request threads are queueing
+ * for a pool connection.
+ */
+@Slf4j
+@Component
+public class VaccinationReminderJob {
+    static final String JOB_NAME = "vaccination-reminders";
+
+    private static final String CHUNK_KEYS =
+            "SELECT id FROM pets WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String CHUNK_PETS =
+            "SELECT p.id, p.species, p.birth_date, s.last_vaccination_date " +
+            "FROM pets p LEFT JOIN pet_clinical_summaries s ON s.pet_id = p.id " +
+            "WHERE p.id > ? AND p.id <= ?";
+    private static final String DELETE_REMINDERS =
+            "DELETE FROM vaccination_reminders WHERE pet_id > ? AND pet_id <= ?";
+    private static final String INSERT_REMINDER =
+            "INSERT INTO vaccination_reminders (pet_id, last_vaccination_date, due_date) VALUES (?, ?, ?)";
+
+    private final ReminderProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DatabaseHealthProber databaseHealthProber;
+    private final Map<String, Integer> intervalsBySpecies = new HashMap<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public VaccinationReminderJob(ReminderProperties properties, JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate, DatabaseHealthProber databaseHealthProber) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.databaseHealthProber = databaseHealthProber;
+        properties.getVaccinationIntervalMonths()
+                .forEach((species, months) -> intervalsBySpecies.put(species.toLowerCase(Locale.ROOT), months));
+    }
+
+    @Scheduled(cron = "${pettrack.reminders.cron}")
+    public void trigger() {
+        if (!properties.isEnabled() || !insideWindow(LocalTime.now()) || !running.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.ofPlatform().name(JOB_NAME).daemon().start(() -> {
+            try {
+                ReminderRun run = run(LocalDate.now());
+                log.info("Vaccination reminders: {}", run);
+            } catch (Exception e) {
+                log.warn("Vaccination reminder run failed; it will resume from the last checkpoint", e);
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    ReminderRun run(LocalDate today) throws InterruptedException {
+        long start = System.nanoTime();
+        Long checkpoint = jdbcTemplate.queryForObject(
+                "SELECT last_key FROM job_checkpoints WHERE job_name = ?", Long.class, JOB_NAME);
+        boolean resumed = checkpoint != null;
+        long after = resumed ? checkpoint : 0;
+        int chunks = 0;
+        long pets = 0;
+        long reminders = 0;
+
+        int parallelism = Math.max(1, properties.getParallelism());
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism,
+                Thread.ofPlatform().name(JOB_NAME + "-", 1).daemon().factory());
+        try {
+            while (true) {
+                if (!insideWindow(LocalTime.now())) {
+                    return new ReminderRun(resumed, false, chunks, pets, reminders, after, elapsedMillis(start));
+                }
+                List<long[]> wave = nextWave(after, parallelism);
+                if (wave.isEmpty()) {
+                    saveCheckpoint(null, true);
+                    return new ReminderRun(resumed, true, chunks, pets, reminders, null, elapsedMillis(start));
+                }
+
+                List<Future<long[]>> results = new ArrayList<>();
+                for (long[] range : wave) {
+                    results.add(workers.submit(() -> processChunk(range[0], range[1], today)));
+                }
+                for (Future<long[]> result : results) {
+                    long[] counts = result.get();
+                    pets += counts[0];
+                    reminders += counts[1];
+                }
+                chunks += wave.size();
+                after = wave.getLast()[1];
+                saveCheckpoint(after, false);
+                pause();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Vaccination reminder chunk failed", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    boolean insideWindow(LocalTime now) {
+        LocalTime windowStart = properties.getWindowStart();
+        LocalTime windowEnd = properties.getWindowEnd();
+        if (windowStart.equals(windowEnd)) {
+            return true;
+        }
+        if (windowStart.isBefore(windowEnd)) {
+            return !now.isBefore(windowStart) && now.isBefore(windowEnd);
+        }
+        return !now.isBefore(windowStart) || now.isBefore(windowEnd);
+    }
+
+    /** Up to {@code count} consecutive (exclusive start, inclusive end] key ranges after {@code after}. */
+    private List<long[]> nextWave(long after, int count) {
+        List<long[]> wave = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<Long> keys = jdbcTemplate.queryForList(CHUNK_KEYS, Long.class, after, properties.getChunkSize());
+            if (keys.isEmpty()) {
+                break;
+            }
+            wave.add(new long[]{after, keys.getLast()});
+            after = keys.getLast();
+        }
+        return wave;
+    }
+
+    private long[] processChunk(long from, long to, LocalDate today) {
+        return transactionTemplate.execute(status -> {
+            List<Object[]> rows = new ArrayList<>();
+            long[] pets = {0};
+            jdbcTemplate.query(CHUNK_PETS, resultSet -> {
+                pets[0]++;
+                Integer months = intervalsBySpecies.get(resultSet.getString(2).toLowerCase(Locale.ROOT));
+                if (months == null) {
+                    return;
+                }
+                Date lastVaccination = resultSet.getDate(4);
+                LocalDate dueDate = lastVaccination != null
+                        ? lastVaccination.toLocalDate().plusMonths(months)
+                        : resultSet.getDate(3).toLocalDate().plusDays(properties.getFirstVaccinationAge().toDays());
+                rows.add(new Object[]{resultSet.getLong(1), lastVaccination, Date.valueOf(dueDate)});
+            }, from, to);
+
+            jdbcTemplate.update(DELETE_REMINDERS, from, to);
+            jdbcTemplate.batchUpdate(INSERT_REMINDER, rows);
+            return new long[]{pets[0], rows.size()};
+        });
+    }
+
+    private void saveCheckpoint(Long lastKey, boolean completed) {
+        Timestamp now = Timestamp.from(Instant.now());
+        if (completed) {
+            jdbcTemplate.update("UPDATE job_checkpoints SET last_key = NULL, updated_at = ?, completed_at = ? WHERE job_name = ?",
+                    now, now, JOB_NAME);
+        } else {
+            jdbcTemplate.update("UPDATE job_checkpoints SET last_key = ?, updated_at = ? WHERE job_name = ?",
+                    lastKey, now, JOB_NAME);
+        }
+    }
+
+    private void pause() throws InterruptedException {
+        boolean busy = databaseHealthProber.getPoolStats()
+                .map(pool -> pool.pendingThreads() > 0)
+                .orElse(false);
+        Thread.sleep(busy ? properties.getBusyPause() : properties.getPauseBetweenChunks());
+    }
+
+    private long elapsedMillis(long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+    }
+}
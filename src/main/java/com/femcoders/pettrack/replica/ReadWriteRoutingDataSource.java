@@ -0,0 +1,33 @@
+package com.femcoders.pettrack.replica;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Hands out replica connections when {@link ReplicaRouter} allows it and primary connections otherwise.
+ * It has to sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * the transaction manager asks for a connection before it marks the transaction read-only, and the
+ * proxy delays the lookup until the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    private final ReplicaRouter router;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaRouter router) {
+        this.router = router;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return router.readsFromReplica() ? Target.REPLICA : Target.PRIMARY;
+    }
+
+    private enum Target {
+        PRIMARY, REPLICA
+    }
+}
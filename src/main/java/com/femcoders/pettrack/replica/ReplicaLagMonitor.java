@@ -0,0 +1,90 @@
+package com.femcoders.pettrack.replica;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Measures replication lag with a heartbeat row: each tick reads the timestamp the replica has, then
+ * writes the current time on the primary. The replica's copy is therefore at least one interval old,
+ * and {@code max-lag} has to be comfortably above {@code heartbeat-interval}. An unreachable replica
+ * counts as lagging.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "pettrack.replica.enabled", havingValue = "true")
+public class ReplicaLagMonitor {
+    private static final String READ_HEARTBEAT = "SELECT beat_at FROM replica_heartbeat WHERE id = 1";
+    private static final String WRITE_HEARTBEAT = "UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1";
+
+    private final ReplicaProperties properties;
+    private final ReplicaRouter router;
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+
+    private volatile Duration lastLag;
+
+    public ReplicaLagMonitor(ReplicaProperties properties, ReplicaRouter router,
+                             @Qualifier("primaryDataSource") DataSource primaryDataSource,
+                             @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                             MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.router = router;
+        this.primary = new JdbcTemplate(primaryDataSource);
+        this.replica = new JdbcTemplate(replicaDataSource);
+        Gauge.builder("pettrack.replica.lag", this, monitor -> {
+                    Duration lag = monitor.lastLag;
+                    return lag != null ? lag.toMillis() / 1000.0 : Double.NaN;
+                })
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${pettrack.replica.heartbeat-interval:1s}",
+            fixedDelayString = "${pettrack.replica.heartbeat-interval:1s}")
+    public void check() {
+        Duration lag = null;
+        try {
+            Timestamp beatAt = replica.queryForObject(READ_HEARTBEAT, Timestamp.class);
+            lag = beatAt != null ? Duration.between(beatAt.toInstant(), Instant.now()) : null;
+        } catch (DataAccessException e) {
+            log.debug("Could not read the replica heartbeat: {}", e.getMessage());
+        }
+        try {
+            primary.update(WRITE_HEARTBEAT, Timestamp.from(Instant.now()));
+        } catch (DataAccessException e) {
+            log.warn("Could not write the replica heartbeat: {}", e.getMessage());
+        }
+
+        boolean available = lag != null && lag.compareTo(properties.getMaxLag()) <= 0;
+        if (available != router.isReplicaAvailable()) {
+            if (available) {
+                log.info("Replica caught up ({} ms behind); read-only transactions go to the replica", lag.toMillis());
+            } else {
+                log.warn("Replica is {}; read-only transactions go to the primary",
+                        lag != null ? lag.toMillis() + " ms behind" : "unreachable");
+            }
+        }
+        lastLag = lag;
+        router.setReplicaAvailable(available);
+        router.evictExpired();
+    }
+
+    public Duration getLastLag() {
+        return lastLag;
+    }
+}
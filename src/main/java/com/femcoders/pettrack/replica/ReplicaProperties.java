@@ -0,0 +1,20 @@
+package com.femcoders.pettrack.replica;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/** The replica's own pool is configured under {@code pettrack.replica.datasource} with Hikari's property names. */
+@ConfigurationProperties(prefix = "pettrack.replica")
+@Getter @Setter
+public class ReplicaProperties {
+    private boolean enabled = false;
+    /** How long after a committed write the same user's reads keep going to the primary. */
+    private Duration stickiness = Duration.ofSeconds(5);
+    /** Reads fall back to the primary while the replica is further behind than this. */
+    private Duration maxLag = Duration.ofSeconds(3);
+    /** How often the heartbeat is written on the primary and read back from the replica. */
+    private Duration heartbeatInterval = Duration.ofSeconds(1);
+}
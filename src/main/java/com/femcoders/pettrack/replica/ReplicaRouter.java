@@ -0,0 +1,83 @@
+package com.femcoders.pettrack.replica;
+
+import com.femcoders.pettrack.events.MedicalRecordEvent;
+import com.femcoders.pettrack.events.PetEvent;
+import com.femcoders.pettrack.events.UserEvent;
+import com.femcoders.pettrack.security.UserDetail;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides whether the current statement may be answered by the replica: only inside a read-only
+ * transaction, only while the last heartbeat showed the replica within {@code max-lag}, and not for a
+ * user who committed a write in the last {@code stickiness}, so users always read their own writes.
+ * Anonymous reads never stick.
+ */
+@Component
+public class ReplicaRouter {
+    private final ReplicaProperties properties;
+    private final ConcurrentHashMap<Long, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    private volatile boolean replicaAvailable;
+
+    public ReplicaRouter(ReplicaProperties properties) {
+        this.properties = properties;
+    }
+
+    public boolean readsFromReplica() {
+        if (!properties.isEnabled() || !replicaAvailable
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return false;
+        }
+        Long userId = currentUserId();
+        if (userId == null) {
+            return true;
+        }
+        Long until = stickyUntil.get(userId);
+        if (until == null) {
+            return true;
+        }
+        if (until - System.nanoTime() > 0) {
+            return false;
+        }
+        stickyUntil.remove(userId, until);
+        return true;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT,
+            classes = {UserEvent.class, PetEvent.class, MedicalRecordEvent.class})
+    public void onWrite() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Long userId = currentUserId();
+        if (userId != null) {
+            stickyUntil.put(userId, System.nanoTime() + properties.getStickiness().toNanos());
+        }
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    void setReplicaAvailable(boolean replicaAvailable) {
+        this.replicaAvailable = replicaAvailable;
+    }
+
+    void evictExpired() {
+        long now = System.nanoTime();
+        stickyUntil.values().removeIf(until -> until - now <= 0);
+    }
+
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof UserDetail userDetail
+                ? userDetail.getId() : null;
+    }
+}
@@ -1,13 +1,52 @@
 package com.femcoders.pettrack.repositories;
 
+import com.femcoders.pettrack.dtos.medicalRecord.WeightPoint;
+import com.femcoders.pettrack.events.MedicalRecordSnapshot;
 import com.femcoders.pettrack.models.MedicalRecord;
+import com.femcoders.pettrack.models.MedicalRecordType;
 import com.femcoders.pettrack.models.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
-public interface MedicalRecordRepository extends JpaRepository<MedicalRecord, Long> {
+public interface MedicalRecordRepository extends JpaRepository<MedicalRecord, Long>, JpaSpecificationExecutor<MedicalRecord> {
     List<MedicalRecord> findByPet_User_Id(Long userId);
     List<MedicalRecord> findByPetNameIgnoreCase(String name);
+
+    @Query("SELECT new com.femcoders.pettrack.dtos.medicalRecord.WeightPoint(m.date, m.weight) " +
+            "FROM MedicalRecord m WHERE m.pet.id = :petId ORDER BY m.date, m.id")
+    List<WeightPoint> findWeightSeriesByPetId(Long petId);
+
+    @Query("SELECT new com.femcoders.pettrack.events.MedicalRecordSnapshot(" +
+            "m.id, m.pet.id, m.pet.user.id, m.createdBy.id, m.date, m.weight, m.type, m.description) " +
+            "FROM MedicalRecord m WHERE m.pet.id = :petId")
+    List<MedicalRecordSnapshot> findSnapshotsByPetId(Long petId);
+
+    @Query("SELECT new com.femcoders.pettrack.events.MedicalRecordSnapshot(" +
+            "m.id, m.pet.id, m.pet.user.id, m.createdBy.id, m.date, m.weight, m.type, m.description) " +
+            "FROM MedicalRecord m WHERE m.pet.user.id = :ownerId")
+    List<MedicalRecordSnapshot> findSnapshotsByOwnerId(Long ownerId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM MedicalRecord m WHERE m.pet.id = :petId")
+    int deleteAllByPetId(Long petId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM MedicalRecord m WHERE m.pet.id IN (SELECT p.id FROM Pet p WHERE p.user.id = :ownerId)")
+    int deleteAllByOwnerId(Long ownerId);
+
+    long countByPet_Id(Long petId);
+    Optional<Visit> findFirstByPet_IdOrderByDateDescIdDesc(Long petId);
+    Optional<Visit> findFirstByPet_IdAndTypeOrderByDateDescIdDesc(Long petId, MedicalRecordType type);
+
+    interface Visit {
+        Long getId();
+        LocalDate getDate();
+        double getWeight();
+    }
 }
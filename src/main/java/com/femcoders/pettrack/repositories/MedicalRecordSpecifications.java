@@ -0,0 +1,66 @@
+package com.femcoders.pettrack.repositories;
+
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordCursor;
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordSearch;
+import com.femcoders.pettrack.models.MedicalRecord;
+import com.femcoders.pettrack.models.Pet;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Predicate;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class MedicalRecordSpecifications {
+    public static final Sort KEYSET_ORDER = Sort.by(Sort.Order.desc("date"), Sort.Order.desc("id"));
+
+    /**
+     * Filters on every non-null criterion, restricted to {@code ownerId}'s pets when given, and
+     * continues after {@code cursor} in {@link #KEYSET_ORDER}. The pet, its owner and the creating
+     * vet are fetched in the same statement because the response maps all three.
+     */
+    @SuppressWarnings("unchecked")
+    public static Specification<MedicalRecord> search(MedicalRecordSearch search, Long ownerId, MedicalRecordCursor cursor) {
+        return (root, query, cb) -> {
+            From<MedicalRecord, Pet> pet;
+            if (Long.class.equals(query.getResultType())) {
+                pet = root.join("pet");
+            } else {
+                pet = (From<MedicalRecord, Pet>) root.<MedicalRecord, Pet>fetch("pet");
+                pet.fetch("user");
+                root.fetch("createdBy");
+            }
+
+            List<Predicate> predicates = new ArrayList<>();
+            if (search.petId() != null) {
+                predicates.add(cb.equal(pet.get("id"), search.petId()));
+            }
+            if (search.type() != null) {
+                predicates.add(cb.equal(root.get("type"), search.type()));
+            }
+            if (search.from() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("date"), search.from()));
+            }
+            if (search.to() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("date"), search.to()));
+            }
+            if (search.veterinaryId() != null) {
+                predicates.add(cb.equal(root.get("createdBy").get("id"), search.veterinaryId()));
+            }
+            if (ownerId != null) {
+                predicates.add(cb.equal(pet.get("user").get("id"), ownerId));
+            }
+            if (cursor != null) {
+                predicates.add(cb.or(
+                        cb.lessThan(root.get("date"), cursor.date()),
+                        cb.and(cb.equal(root.get("date"), cursor.date()), cb.lessThan(root.get("id"), cursor.id()))
+                ));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.femcoders.pettrack.repositories;
+
+import com.femcoders.pettrack.models.PetClinicalSummary;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface PetClinicalSummaryRepository extends JpaRepository<PetClinicalSummary, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM PetClinicalSummary s WHERE s.petId = :petId")
+    Optional<PetClinicalSummary> findByIdForUpdate(Long petId);
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO pet_clinical_summaries (pet_id, record_count) VALUES (:petId, 0)", nativeQuery = true)
+    int insertIfAbsent(Long petId);
+}
@@ -1,8 +1,44 @@
 package com.femcoders.pettrack.repositories;
 
+import com.femcoders.pettrack.events.PetSnapshot;
 import com.femcoders.pettrack.models.Pet;
+import com.femcoders.pettrack.models.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface PetRepository extends JpaRepository<Pet, Long>, JpaSpecificationExecutor<Pet> {
+    @Query("SELECT p.user.id FROM Pet p WHERE p.id = :id")
+    Optional<Long> findOwnerIdById(Long id);
+
+    @Query("SELECT new com.femcoders.pettrack.events.PetSnapshot(" +
+            "p.id, p.user.id, p.species, p.name, p.breed, p.birthDate, p.image) " +
+            "FROM Pet p WHERE p.user.id = :ownerId")
+    List<PetSnapshot> findSnapshotsByOwnerId(Long ownerId);
+
+    @Query("SELECT new com.femcoders.pettrack.events.PetSnapshot(" +
+            "p.id, p.user.id, p.species, p.name, p.breed, p.birthDate, p.image) " +
+            "FROM Pet p WHERE p.user.id = :ownerId AND p.id IN :ids")
+    List<PetSnapshot> findSnapshotsByOwnerIdAndIdIn(Long ownerId, Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Pet p SET p.user = :newOwner WHERE p.user = :owner")
+    int transferAll(User owner, User newOwner);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Pet p SET p.user = :newOwner WHERE p.user = :owner AND p.id IN :ids")
+    int transfer(User owner, User newOwner, Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Pet p WHERE p.id = :id")
+    int deleteInBulkById(Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Pet p WHERE p.user.id = :ownerId")
+    int deleteAllByOwnerId(Long ownerId);
 }
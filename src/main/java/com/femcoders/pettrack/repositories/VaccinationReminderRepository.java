@@ -0,0 +1,24 @@
+package com.femcoders.pettrack.repositories;
+
+import com.femcoders.pettrack.dtos.vaccinationReminder.VaccinationReminderResponse;
+import com.femcoders.pettrack.models.VaccinationReminder;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface VaccinationReminderRepository extends JpaRepository<VaccinationReminder, Long> {
+    @Query("SELECT new com.femcoders.pettrack.dtos.vaccinationReminder.VaccinationReminderResponse(" +
+            "r.petId, p.name, p.user.id, r.lastVaccinationDate, r.dueDate, CASE WHEN r.dueDate < :today THEN true ELSE false END) " +
+            "FROM VaccinationReminder r JOIN Pet p ON p.id = r.petId " +
+            "WHERE r.dueDate <= :dueBefore ORDER BY r.dueDate, r.petId")
+    List<VaccinationReminderResponse> findDue(LocalDate dueBefore, LocalDate today, Limit limit);
+
+    @Query("SELECT new com.femcoders.pettrack.dtos.vaccinationReminder.VaccinationReminderResponse(" +
+            "r.petId, p.name, p.user.id, r.lastVaccinationDate, r.dueDate, CASE WHEN r.dueDate < :today THEN true ELSE false END) " +
+            "FROM VaccinationReminder r JOIN Pet p ON p.id = r.petId " +
+            "WHERE p.user.id = :ownerId AND r.dueDate <= :dueBefore ORDER BY r.dueDate, r.petId")
+    List<VaccinationReminderResponse> findDueByOwner(Long ownerId, LocalDate dueBefore, LocalDate today, Limit limit);
+}
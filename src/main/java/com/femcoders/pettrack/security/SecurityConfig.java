@@ -2,6 +2,7 @@ package com.femcoders.pettrack.security;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.femcoders.pettrack.exceptions.ErrorResponse;
+import com.femcoders.pettrack.ratelimit.AuthRateLimitFilter;
 import com.femcoders.pettrack.security.jwt.JwtAuthFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -23,6 +24,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @RequiredArgsConstructor
 @EnableMethodSecurity
 public class SecurityConfig {
+    private final AuthRateLimitFilter authRateLimitFilter;
     private final JwtAuthFilter jwtAuthFilter;
     private final CustomAccessDeniedHandler customAccessDeniedHandler;
 
@@ -32,7 +34,8 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/health").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/health", "/health/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/actuator/prometheus").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/medical-records/pet/**").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/users").authenticated()
                         .requestMatchers(HttpMethod.POST, "/api/pets").authenticated()
@@ -41,12 +44,17 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.PUT, "/api/pets/{id}").authenticated()
                         .requestMatchers(HttpMethod.PUT, "/api/medical-records/{id}").authenticated()
                         .requestMatchers(HttpMethod.PUT, "/api/users/{id}").authenticated()
+                        .requestMatchers(HttpMethod.PATCH, "/api/pets/{id}").authenticated()
+                        .requestMatchers(HttpMethod.PATCH, "/api/medical-records/{id}").authenticated()
+                        .requestMatchers(HttpMethod.PATCH, "/api/users/{id}").authenticated()
                         .requestMatchers(HttpMethod.DELETE, "/api/pets/{id}").authenticated()
                         .requestMatchers(HttpMethod.DELETE, "/api/medical-records/{id}").authenticated()
                         .requestMatchers(HttpMethod.DELETE, "/api/users/{id}").authenticated()
                         .requestMatchers(
                                 "/swagger-ui/**",
-                                "/v3/api-docs/**"
+                                "/v3/api-docs/**",
+                                "/openapi.json",
+                                "/webjars/swagger-ui/**"
                         ).permitAll()
                         .anyRequest().authenticated()
                 )
@@ -55,6 +63,7 @@ public class SecurityConfig {
                         .accessDeniedHandler(customAccessDeniedHandler)
                 )
                 .sessionManagement(manager-> manager.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(authRateLimitFilter, UsernamePasswordAuthenticationFilter.class)
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
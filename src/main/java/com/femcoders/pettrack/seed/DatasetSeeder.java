@@ -0,0 +1,38 @@
+package com.femcoders.pettrack.seed;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the synthetic dataset on startup when {@code pettrack.seed.enabled=true} and the database has no users yet.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "pettrack.seed.enabled", havingValue = "true")
+public class DatasetSeeder implements ApplicationRunner {
+    private final SyntheticDataGenerator syntheticDataGenerator;
+    private final SeedProperties seedProperties;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // AOT-processed builds fix the condition above at build time, so check the flag again at runtime
+        if (!seedProperties.isEnabled()) {
+            return;
+        }
+        Long users = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        if (users != null && users > 0) {
+            log.info("Skipping synthetic dataset: database already contains {} users", users);
+            return;
+        }
+        SeedSummary summary = syntheticDataGenerator.generate(seedProperties);
+        log.info("Seeded {} users, {} pets and {} medical records in {} ms",
+                summary.users(), summary.pets(), summary.medicalRecords(), summary.elapsedMillis());
+    }
+}
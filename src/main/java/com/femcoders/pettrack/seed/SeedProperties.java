@@ -0,0 +1,21 @@
+package com.femcoders.pettrack.seed;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.LocalDate;
+
+@ConfigurationProperties(prefix = "pettrack.seed")
+@Getter @Setter
+public class SeedProperties {
+    private boolean enabled = false;
+    private int owners = 50;
+    private int veterinarians = 3;
+    private double petsPerOwner = 2.0;
+    private int maxRecordsPerPet = 60;
+    private int maxPetAgeYears = 15;
+    private int rowsPerStatement = 500;
+    private long randomSeed = 42L;
+    private LocalDate referenceDate;
+}
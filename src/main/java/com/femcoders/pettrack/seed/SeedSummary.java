@@ -0,0 +1,9 @@
+package com.femcoders.pettrack.seed;
+
+public record SeedSummary(
+        long users,
+        long pets,
+        long medicalRecords,
+        long elapsedMillis
+) {
+}
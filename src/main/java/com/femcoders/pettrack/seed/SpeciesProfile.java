@@ -0,0 +1,47 @@
+package com.femcoders.pettrack.seed;
+
+import java.util.List;
+
+/**
+ * Population share, breeds and growth parameters used to generate realistic pets and weight curves.
+ */
+record SpeciesProfile(
+        String species,
+        double share,
+        int growthMonths,
+        int primaryVaccinations,
+        int vaccinationIntervalMonths,
+        int revisionIntervalMonths,
+        List<Breed> breeds
+) {
+    record Breed(String name, double share, double adultWeightKg) {
+    }
+
+    static final List<SpeciesProfile> ALL = List.of(
+            new SpeciesProfile("Perro", 0.45, 12, 3, 12, 6, List.of(
+                    new Breed("Mestizo", 0.25, 15.0),
+                    new Breed("Labrador", 0.15, 30.0),
+                    new Breed("Golden Retriever", 0.10, 30.0),
+                    new Breed("Pastor Alemán", 0.10, 32.0),
+                    new Breed("Beagle", 0.10, 11.0),
+                    new Breed("Chihuahua", 0.12, 2.5),
+                    new Breed("Bulldog Francés", 0.10, 11.0),
+                    new Breed("Yorkshire Terrier", 0.08, 3.0))),
+            new SpeciesProfile("Gato", 0.35, 12, 2, 12, 8, List.of(
+                    new Breed("Europeo", 0.50, 4.5),
+                    new Breed("Siamés", 0.15, 4.0),
+                    new Breed("Maine Coon", 0.10, 7.5),
+                    new Breed("Persa", 0.15, 4.5),
+                    new Breed("Abisinio", 0.10, 4.0))),
+            new SpeciesProfile("Conejo", 0.10, 6, 1, 12, 6, List.of(
+                    new Breed("Belier Holandés", 0.40, 1.8),
+                    new Breed("Cabeza de León", 0.30, 1.5),
+                    new Breed("Enano", 0.30, 1.0))),
+            new SpeciesProfile("Hámster", 0.05, 3, 0, 0, 6, List.of(
+                    new Breed("Hámster Ruso", 0.60, 0.04),
+                    new Breed("Hámster Sirio", 0.40, 0.15))),
+            new SpeciesProfile("Agaporni", 0.05, 4, 0, 0, 12, List.of(
+                    new Breed("Agaporni Verde", 0.50, 0.05),
+                    new Breed("Roseicollis", 0.50, 0.055)))
+    );
+}
@@ -0,0 +1,263 @@
+package com.femcoders.pettrack.seed;
+
+import com.femcoders.pettrack.models.MedicalRecordType;
+import com.femcoders.pettrack.models.Role;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Generates a reproducible synthetic clinic (owners, veterinarians, pets and their visit history)
+ * and bulk-loads it with multi-row INSERT statements. The same seed always produces the same data.
+ */
+@Component
+public class SyntheticDataGenerator {
+    public static final String SYNTHETIC_PASSWORD = "Password1!";
+
+    private static final List<Object[]> DEMO_ACCOUNTS = List.of(
+            new Object[]{"Debora", "debora@user.com", "$2a$12$xuHYlMnpjp5VbIcxcEZFveIWU7DTVK2ufFRCrd7Or0AfeAWASK3gi", Role.USER},
+            new Object[]{"Roberto", "roberto@user.com", "$2a$12$hFLwjK.NusSmPFxVwQ7ZquKCb2DSshmAXICn8WgcJ.grZ6PCeMkhm", Role.USER},
+            new Object[]{"Jenni", "jenni@user.com", "$2a$12$Hr3oBoEbCmOaQikiUrcBlOhlibxgcjQ45F7Z/isjcLP5y3hDZpKxK", Role.USER},
+            new Object[]{"Carmen", "carmen@vet.com", "$2a$12$aXrRPOIJ.vQ3wPN5/6JE0uED39Ez2jf7D9poXGNTN9nufxsI.M2Ii", Role.VETERINARY},
+            new Object[]{"Maribel", "maribel@vet.com", "$2a$12$kpvk6ocqhXWLLNrB049/He2NvWeiSScmXXk3l1QCofgs2ildzAMqi", Role.VETERINARY}
+    );
+
+    private static final List<String> PET_NAMES = List.of(
+            "Luna", "Milo", "Nala", "Simba", "Toby", "Coco", "Max", "Lily", "Daisy", "Chispa", "Kiwi", "Nube",
+            "Rocky", "Lola", "Bruno", "Kira", "Thor", "Canela", "Zeus", "Mia", "Oliver", "Trufa", "Leo", "Frida");
+
+    private static final List<String> VACCINATION_NOTES = List.of(
+            "Vacunación antirrábica anual", "Vacuna polivalente", "Vacuna leptospirosis", "Refuerzo de vacunación");
+    private static final List<String> REVISION_NOTES = List.of(
+            "Revisión general, sin incidencias", "Desparasitación interna", "Desparasitación externa",
+            "Chequeo anual", "Control de peso", "Limpieza dental", "Revisión de oídos");
+    private static final List<String> SURGERY_NOTES = List.of(
+            "Castración", "Extracción dental", "Extirpación de quiste", "Cirugía de ligamento cruzado");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    public static String ownerUsername(long index) {
+        return "owner" + index;
+    }
+
+    public static String veterinaryUsername(long index) {
+        return "vet" + index;
+    }
+
+    public static List<String> species() {
+        return SpeciesProfile.ALL.stream().map(SpeciesProfile::species).toList();
+    }
+
+    public SeedSummary generate(SeedProperties properties) {
+        long start = System.nanoTime();
+        Random random = new Random(properties.getRandomSeed());
+        LocalDate referenceDate = properties.getReferenceDate() != null ? properties.getReferenceDate() : LocalDate.now();
+        String syntheticHash = passwordEncoder.encode(SYNTHETIC_PASSWORD);
+
+        List<Long> ownerIds = new ArrayList<>();
+        List<Long> veterinaryIds = new ArrayList<>();
+        MultiRowInsert users = new MultiRowInsert("users(id, username, email, password, role)", 5, properties.getRowsPerStatement(), null);
+        long userId = 0;
+        for (Object[] account : DEMO_ACCOUNTS) {
+            userId++;
+            users.add(userId, account[0], account[1], account[2], ((Role) account[3]).name());
+            (account[3] == Role.VETERINARY ? veterinaryIds : ownerIds).add(userId);
+        }
+        for (int i = 1; i <= properties.getVeterinarians(); i++) {
+            userId++;
+            users.add(userId, veterinaryUsername(i), veterinaryUsername(i) + "@vet.com", syntheticHash, Role.VETERINARY.name());
+            veterinaryIds.add(userId);
+        }
+        long firstSyntheticOwner = userId + 1;
+        for (int i = 1; i <= properties.getOwners(); i++) {
+            userId++;
+            users.add(userId, ownerUsername(i), ownerUsername(i) + "@user.com", syntheticHash, Role.USER.name());
+        }
+        users.flush();
+
+        MultiRowInsert pets = new MultiRowInsert("pets(id, name, species, breed, birth_date, image, user_id)", 7, properties.getRowsPerStatement(), null);
+        MultiRowInsert records = new MultiRowInsert("medical_records(id, description, weight, date, type, pet_id, created_by_user_id)", 7, properties.getRowsPerStatement(), pets);
+        MultiRowInsert summaries = new MultiRowInsert("pet_clinical_summaries(pet_id, record_count, last_visit_record_id, last_visit_date, last_weight, last_vaccination_date)", 6, properties.getRowsPerStatement(), pets);
+        long petId = 0;
+        long recordId = 0;
+        for (long ownerId = 1; ownerId <= userId; ownerId++) {
+            if (ownerId < firstSyntheticOwner && !ownerIds.contains(ownerId)) {
+                continue;
+            }
+            int petCount = petsForOwner(random, properties.getPetsPerOwner());
+            for (int p = 0; p < petCount; p++) {
+                petId++;
+                SpeciesProfile species = pick(random, SpeciesProfile.ALL, SpeciesProfile::share);
+                SpeciesProfile.Breed breed = pick(random, species.breeds(), SpeciesProfile.Breed::share);
+                LocalDate birthDate = referenceDate.minusDays(random.nextInt(properties.getMaxPetAgeYears() * 365) + 1);
+                String name = PET_NAMES.get(random.nextInt(PET_NAMES.size()));
+                pets.add(petId, name, species.species(), breed.name(), birthDate,
+                        "https://example.com/images/" + name.toLowerCase() + "-" + petId + ".jpg", ownerId);
+
+                double adultWeight = breed.adultWeightKg() * (0.85 + random.nextDouble() * 0.3);
+                List<Visit> visits = visits(random, species, birthDate, referenceDate, properties.getMaxRecordsPerPet());
+                Double lastWeight = null;
+                LocalDate lastVaccination = null;
+                for (Visit visit : visits) {
+                    recordId++;
+                    long veterinaryId = veterinaryIds.get(random.nextInt(veterinaryIds.size()));
+                    lastWeight = weightAt(random, species, adultWeight, birthDate, visit.date());
+                    if (visit.type() == MedicalRecordType.VACCINATION) {
+                        lastVaccination = visit.date();
+                    }
+                    records.add(recordId, describe(random, visit.type()), lastWeight,
+                            visit.date(), visit.type().name(), petId, veterinaryId);
+                }
+                summaries.add(petId, visits.size(), visits.isEmpty() ? null : recordId,
+                        visits.isEmpty() ? null : visits.getLast().date(), lastWeight, lastVaccination);
+            }
+        }
+        records.flush();
+        summaries.flush();
+        pets.flush();
+
+        return new SeedSummary(userId, petId, recordId, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private record Visit(LocalDate date, MedicalRecordType type) {
+    }
+
+    private List<Visit> visits(Random random, SpeciesProfile species, LocalDate birthDate, LocalDate referenceDate, int maxRecords) {
+        List<Visit> visits = new ArrayList<>();
+        LocalDate vaccination = birthDate.plusWeeks(8);
+        for (int i = 0; i < species.primaryVaccinations(); i++) {
+            addVisit(visits, vaccination.plusDays(random.nextInt(5)), MedicalRecordType.VACCINATION, referenceDate);
+            vaccination = vaccination.plusWeeks(4);
+        }
+        if (species.vaccinationIntervalMonths() > 0) {
+            LocalDate booster = vaccination.plusMonths(species.vaccinationIntervalMonths() - 1);
+            while (!booster.isAfter(referenceDate)) {
+                addVisit(visits, booster.plusDays(random.nextInt(29) - 14), MedicalRecordType.VACCINATION, referenceDate);
+                booster = booster.plusMonths(species.vaccinationIntervalMonths());
+            }
+        }
+        LocalDate revision = birthDate.plusMonths(species.revisionIntervalMonths());
+        while (!revision.isAfter(referenceDate)) {
+            addVisit(visits, revision, MedicalRecordType.REVISION, referenceDate);
+            revision = revision.plusMonths(species.revisionIntervalMonths()).plusDays(random.nextInt(61) - 30);
+        }
+        long years = ChronoUnit.YEARS.between(birthDate, referenceDate);
+        for (int year = 0; year <= years; year++) {
+            if (random.nextDouble() < 0.03) {
+                addVisit(visits, birthDate.plusYears(year).plusDays(random.nextInt(365)), MedicalRecordType.SURGERY, referenceDate);
+            }
+        }
+        visits.sort(Comparator.comparing(Visit::date));
+        return visits.size() > maxRecords ? visits.subList(visits.size() - maxRecords, visits.size()) : visits;
+    }
+
+    private void addVisit(List<Visit> visits, LocalDate date, MedicalRecordType type, LocalDate referenceDate) {
+        if (!date.isAfter(referenceDate)) {
+            visits.add(new Visit(date, type));
+        }
+    }
+
+    /**
+     * Logistic growth towards the adult weight over the species' growth period, with slight
+     * weight gain in old age and a few percent of visit-to-visit noise.
+     */
+    private double weightAt(Random random, SpeciesProfile species, double adultWeight, LocalDate birthDate, LocalDate date) {
+        double ageMonths = ChronoUnit.DAYS.between(birthDate, date) / 30.4;
+        double growth = 1 / (1 + Math.exp(-6 * (ageMonths / species.growthMonths() - 0.5)));
+        double ageing = 1 + Math.max(0, ageMonths - 84) * 0.001;
+        double noise = 1 + (random.nextDouble() - 0.5) * 0.06;
+        double weight = adultWeight * growth * ageing * noise;
+        return Math.max(0.01, Math.round(weight * 100) / 100.0);
+    }
+
+    private String describe(Random random, MedicalRecordType type) {
+        List<String> notes = switch (type) {
+            case VACCINATION -> VACCINATION_NOTES;
+            case REVISION -> REVISION_NOTES;
+            case SURGERY -> SURGERY_NOTES;
+        };
+        return notes.get(random.nextInt(notes.size()));
+    }
+
+    private int petsForOwner(Random random, double mean) {
+        double extra = -Math.log(1 - random.nextDouble()) * Math.max(0, mean - 1);
+        return 1 + (int) Math.min(extra, 20);
+    }
+
+    private <T> T pick(Random random, List<T> options, ToDoubleFunction<T> share) {
+        double total = options.stream().mapToDouble(share).sum();
+        double roll = random.nextDouble() * total;
+        for (T option : options) {
+            roll -= share.applyAsDouble(option);
+            if (roll < 0) {
+                return option;
+            }
+        }
+        return options.getLast();
+    }
+
+    /**
+     * Buffers rows and writes them as {@code INSERT INTO t(...) VALUES (...), (...), ...}
+     * so each round trip loads up to {@code rowsPerStatement} rows. A referenced buffer is
+     * flushed first so foreign keys always point at rows that already exist.
+     */
+    private final class MultiRowInsert {
+        private final String table;
+        private final int columns;
+        private final int rowsPerStatement;
+        private final MultiRowInsert referenced;
+        private final List<Object> parameters = new ArrayList<>();
+        private final String fullStatement;
+        private int rows;
+
+        private MultiRowInsert(String table, int columns, int rowsPerStatement, MultiRowInsert referenced) {
+            this.table = table;
+            this.columns = columns;
+            this.rowsPerStatement = rowsPerStatement;
+            this.referenced = referenced;
+            this.fullStatement = statement(rowsPerStatement);
+        }
+
+        void add(Object... values) {
+            parameters.addAll(Arrays.asList(values));
+            rows++;
+            if (rows == rowsPerStatement) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (rows == 0) {
+                return;
+            }
+            if (referenced != null) {
+                referenced.flush();
+            }
+            String sql = rows == rowsPerStatement ? fullStatement : statement(rows);
+            jdbcTemplate.update(sql, parameters.toArray());
+            parameters.clear();
+            rows = 0;
+        }
+
+        private String statement(int rowCount) {
+            String row = "(" + String.join(", ", Collections.nCopies(columns, "?")) + ")";
+            return "INSERT INTO " + table + " VALUES " + String.join(", ", Collections.nCopies(rowCount, row));
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.femcoders.pettrack.services;
+
+import com.femcoders.pettrack.dtos.change.ChangeBatchResponse;
+import com.femcoders.pettrack.security.UserDetail;
+
+public interface ChangeLogService {
+    ChangeBatchResponse getChanges(long offset, int limit, UserDetail userDetail);
+}
@@ -0,0 +1,52 @@
+package com.femcoders.pettrack.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.femcoders.pettrack.dtos.change.ChangeBatchResponse;
+import com.femcoders.pettrack.dtos.change.ChangeResponse;
+import com.femcoders.pettrack.outbox.ChangeEntry;
+import com.femcoders.pettrack.outbox.ChangeLog;
+import com.femcoders.pettrack.outbox.OutboxRelay;
+import com.femcoders.pettrack.security.UserDetail;
+import com.femcoders.pettrack.utils.RoleValidator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ChangeLogServiceImpl implements ChangeLogService {
+    private static final int MAX_CHANGES = 1000;
+
+    private final OutboxRelay outboxRelay;
+    private final ObjectMapper objectMapper;
+
+    public ChangeBatchResponse getChanges(long offset, int limit, UserDetail userDetail) {
+        RoleValidator.validateVeterinary(userDetail, "Only veterinaries can read the change log");
+
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative");
+        }
+        if (limit < 1 || limit > MAX_CHANGES) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_CHANGES);
+        }
+
+        ChangeLog changeLog = outboxRelay.getChangeLog()
+                .orElseThrow(() -> new IllegalStateException("The change log is not available"));
+        try {
+            List<byte[]> entries = changeLog.read(offset, limit);
+            List<ChangeResponse> changes = new ArrayList<>(entries.size());
+            for (int i = 0; i < entries.size(); i++) {
+                ChangeEntry entry = objectMapper.readValue(entries.get(i), ChangeEntry.class);
+                changes.add(new ChangeResponse(offset + i, entry.aggregateType(), entry.aggregateId(),
+                        entry.changeType(), entry.occurredAt(), entry.payload()));
+            }
+            return new ChangeBatchResponse(changes, offset + changes.size(), changeLog.startOffset(), changeLog.endOffset());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the change log", e);
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.femcoders.pettrack.services;
 
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordPatchRequest;
 import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordRequest;
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordPage;
 import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordResponse;
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordSearch;
+import com.femcoders.pettrack.dtos.medicalRecord.WeightSeries;
 import com.femcoders.pettrack.models.Pet;
 import com.femcoders.pettrack.models.User;
 import com.femcoders.pettrack.security.UserDetail;
@@ -13,7 +17,11 @@ public interface MedicalRecordService {
     List<MedicalRecordResponse> getAllMedicalRecords(UserDetail userDetail);
     MedicalRecordResponse getMedicalRecordById(Long id, UserDetail userDetail);
     List<MedicalRecordResponse> getMedicalRecordsByPetName(String petName, UserDetail userDetail);
+    MedicalRecordPage searchMedicalRecords(MedicalRecordSearch search, UserDetail userDetail);
+    MedicalRecordPage getPetMedicalHistory(Long petId, String cursor, int size, UserDetail userDetail);
+    WeightSeries getPetWeightSeries(Long petId, int points, UserDetail userDetail);
     MedicalRecordResponse createMedicalRecord(MedicalRecordRequest medicalRecordRequest, UserDetail userDetail);
     MedicalRecordResponse updateMedicalRecord(Long id, MedicalRecordRequest medicalRecordRequest, UserDetail userDetail);
+    MedicalRecordResponse patchMedicalRecord(Long id, MedicalRecordPatchRequest medicalRecordPatchRequest, UserDetail userDetail);
     Map<String, String> deleteMedicalRecord(Long id, UserDetail userDetail);
 }
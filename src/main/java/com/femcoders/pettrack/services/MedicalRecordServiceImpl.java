@@ -1,83 +1,201 @@
 package com.femcoders.pettrack.services;
 
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordCursor;
 import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordMapper;
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordPage;
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordPatchRequest;
 import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordRequest;
 import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordResponse;
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordSearch;
+import com.femcoders.pettrack.dtos.medicalRecord.WeightPoint;
+import com.femcoders.pettrack.dtos.medicalRecord.WeightSeries;
+import com.femcoders.pettrack.events.MedicalRecordEvent;
+import com.femcoders.pettrack.events.MedicalRecordSnapshot;
+import com.femcoders.pettrack.events.PetEvent;
+import com.femcoders.pettrack.events.UserEvent;
 import com.femcoders.pettrack.exceptions.EntityNotFoundException;
 import com.femcoders.pettrack.models.*;
 import com.femcoders.pettrack.repositories.MedicalRecordRepository;
+import com.femcoders.pettrack.repositories.MedicalRecordSpecifications;
 import com.femcoders.pettrack.repositories.PetRepository;
 import com.femcoders.pettrack.repositories.UserRepository;
+import com.femcoders.pettrack.replica.ReplicaRouter;
 import com.femcoders.pettrack.security.UserDetail;
+import com.femcoders.pettrack.utils.Downsampling;
 import com.femcoders.pettrack.utils.RoleValidator;
-import jakarta.transaction.Transactional;
+import com.femcoders.pettrack.utils.SingleFlight;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.function.Supplier;
 
 @Service
+@ConditionalOnProperty(name = "pettrack.sharding.enabled", havingValue = "false", matchIfMissing = true)
 @RequiredArgsConstructor
 public class MedicalRecordServiceImpl implements MedicalRecordService {
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int MIN_WEIGHT_POINTS = 3;
+    private static final int MAX_WEIGHT_POINTS = 1000;
+
     private final MedicalRecordMapper medicalRecordMapper;
     private final MedicalRecordRepository medicalRecordRepository;
     private final PetRepository petRepository;
     private final UserRepository userRepository;
+    private final PetClinicalSummaryService petClinicalSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReplicaRouter replicaRouter;
+
+    /**
+     * Identical reads arriving while one is still running share its result. The keys carry the owner the
+     * read is restricted to, or the owner the result must be checked against, so sharing never widens
+     * what a caller can see.
+     */
+    private final SingleFlight reads = new SingleFlight();
 
+    @Transactional(readOnly = true)
     public List<MedicalRecordResponse> getAllMedicalRecords(UserDetail userDetail) {
-        List<MedicalRecord> medicalRecords = medicalRecordRepository.findByPet_User_Id(userDetail.getId());
+        Long ownerId = RoleValidator.isVeterinary(userDetail) ? null : userDetail.getId();
 
-        if (userDetail.getRole().equals(Role.VETERINARY.name())) {
-            medicalRecords = medicalRecordRepository.findAll();
-        }
+        return read(new AllRecords(ownerId), () -> {
+            List<MedicalRecord> medicalRecords = ownerId == null
+                    ? medicalRecordRepository.findAll()
+                    : medicalRecordRepository.findByPet_User_Id(ownerId);
 
-        return medicalRecords.stream()
-                .map(medicalRecord -> medicalRecordMapper.entityToDto(medicalRecord))
-                .toList();
+            return medicalRecords.stream()
+                    .map(medicalRecord -> medicalRecordMapper.entityToDto(medicalRecord))
+                    .toList();
+        });
     }
 
+    @Transactional(readOnly = true)
     public MedicalRecordResponse getMedicalRecordById(Long id, UserDetail userDetail) {
-        MedicalRecord medicalRecord = medicalRecordRepository.findById(id)
-                .orElseThrow(()->new EntityNotFoundException(MedicalRecord.class.getSimpleName(), id));
+        Owned<MedicalRecordResponse> medicalRecord = read(new RecordById(id), () -> {
+            MedicalRecord found = medicalRecordRepository.findById(id)
+                    .orElseThrow(()->new EntityNotFoundException(MedicalRecord.class.getSimpleName(), id));
+            return new Owned<>(found.getPet().getUser().getId(), medicalRecordMapper.entityToDto(found));
+        });
 
         if (RoleValidator.isVeterinary(userDetail)) {
-            return medicalRecordMapper.entityToDto(medicalRecord);
+            return medicalRecord.value();
         }
 
         Long loggedUserId = userDetail.getId();
-        Long ownerId = medicalRecord.getPet().getUser().getId();
 
-        if (!loggedUserId.equals(ownerId)) {
+        if (!loggedUserId.equals(medicalRecord.ownerId())) {
             throw new SecurityException("You do not have permission to view this medical record");
         }
 
-        return medicalRecordMapper.entityToDto(medicalRecord);
+        return medicalRecord.value();
     }
 
+    @Transactional(readOnly = true)
     public List<MedicalRecordResponse> getMedicalRecordsByPetName(String petName, UserDetail userDetail) {
-        List<MedicalRecord> medicalRecords = medicalRecordRepository.findByPetNameIgnoreCase(petName);
+        Owned<List<MedicalRecordResponse>> medicalRecords = read(new RecordsByPetName(petName.toLowerCase()), () -> {
+            List<MedicalRecord> found = medicalRecordRepository.findByPetNameIgnoreCase(petName);
 
-        if (medicalRecords.isEmpty()) {
-            throw new EntityNotFoundException("Pet", "name '" + petName + "'");
-        }
+            if (found.isEmpty()) {
+                throw new EntityNotFoundException("Pet", "name '" + petName + "'");
+            }
 
-        if (RoleValidator.isVeterinary(userDetail)) {
-            return medicalRecords.stream()
+            return new Owned<>(found.getFirst().getPet().getUser().getId(), found.stream()
                     .map(medicalRecord -> medicalRecordMapper.entityToDto(medicalRecord))
-                    .toList();
+                    .toList());
+        });
+
+        if (RoleValidator.isVeterinary(userDetail)) {
+            return medicalRecords.value();
         }
-        if (!medicalRecords.getFirst().getPet().getUser().getId().equals(userDetail.getId())) {
+        if (!medicalRecords.ownerId().equals(userDetail.getId())) {
             throw new SecurityException("You do not have permission to view this medical record");
         }
 
-        return medicalRecords.stream()
-                .map(medicalRecord -> medicalRecordMapper.entityToDto(medicalRecord))
-                .toList();
+        return medicalRecords.value();
+    }
+
+    @Transactional(readOnly = true)
+    public MedicalRecordPage searchMedicalRecords(MedicalRecordSearch search, UserDetail userDetail) {
+        if (search.from() != null && search.to() != null && search.from().isAfter(search.to())) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+
+        Long ownerId = search.ownerId();
+        if (!RoleValidator.isVeterinary(userDetail)) {
+            if (ownerId != null && !ownerId.equals(userDetail.getId())) {
+                throw new SecurityException("You do not have permission to view these medical records");
+            }
+            ownerId = userDetail.getId();
+        }
+
+        return findPage(search, ownerId);
+    }
+
+    @Transactional(readOnly = true)
+    public MedicalRecordPage getPetMedicalHistory(Long petId, String cursor, int size, UserDetail userDetail) {
+        validatePetAccess(petId, userDetail);
+        return findPage(new MedicalRecordSearch(petId, null, null, null, null, null, cursor, size), null);
+    }
+
+    @Transactional(readOnly = true)
+    public WeightSeries getPetWeightSeries(Long petId, int points, UserDetail userDetail) {
+        if (points < MIN_WEIGHT_POINTS || points > MAX_WEIGHT_POINTS) {
+            throw new IllegalArgumentException("Points must be between " + MIN_WEIGHT_POINTS + " and " + MAX_WEIGHT_POINTS);
+        }
+        validatePetAccess(petId, userDetail);
+
+        return read(new PetWeights(petId, points), () -> {
+            List<WeightPoint> series = medicalRecordRepository.findWeightSeriesByPetId(petId);
+            List<WeightPoint> sampled = Downsampling.largestTriangleThreeBuckets(
+                    series, points, point -> point.date().toEpochDay(), WeightPoint::weight);
+            return new WeightSeries(petId, series.size(), List.copyOf(sampled));
+        });
+    }
+
+    private void validatePetAccess(Long petId, UserDetail userDetail) {
+        Long ownerId = petRepository.findOwnerIdById(petId)
+                .orElseThrow(() -> new EntityNotFoundException(Pet.class.getSimpleName(), petId));
+
+        if (!RoleValidator.isVeterinary(userDetail) && !ownerId.equals(userDetail.getId())) {
+            throw new SecurityException("You do not have permission to view this pet's medical records");
+        }
+    }
+
+    private MedicalRecordPage findPage(MedicalRecordSearch search, Long ownerId) {
+        if (search.size() < 1 || search.size() > MAX_SEARCH_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        }
+        return read(new RecordPage(search, ownerId), () -> loadPage(search, ownerId));
+    }
+
+    private MedicalRecordPage loadPage(MedicalRecordSearch search, Long ownerId) {
+        MedicalRecordCursor cursor = search.cursor() != null ? MedicalRecordCursor.decode(search.cursor()) : null;
+
+        List<MedicalRecord> medicalRecords = medicalRecordRepository.findBy(
+                MedicalRecordSpecifications.search(search, ownerId, cursor),
+                query -> query.sortBy(MedicalRecordSpecifications.KEYSET_ORDER).limit(search.size() + 1).all());
+
+        boolean hasMore = medicalRecords.size() > search.size();
+        List<MedicalRecord> page = hasMore ? medicalRecords.subList(0, search.size()) : medicalRecords;
+        String nextCursor = hasMore
+                ? new MedicalRecordCursor(page.getLast().getDate(), page.getLast().getId()).encode()
+                : null;
+
+        return new MedicalRecordPage(
+                page.stream().map(medicalRecord -> medicalRecordMapper.entityToDto(medicalRecord)).toList(),
+                page.size(),
+                nextCursor
+        );
     }
 
-    @Transactional
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public MedicalRecordResponse createMedicalRecord(MedicalRecordRequest medicalRecordRequest, UserDetail userDetail) {
         RoleValidator.validateVeterinary(userDetail, "Only veterinaries can manage medical records");
 
@@ -89,16 +207,18 @@ public class MedicalRecordServiceImpl implements MedicalRecordService {
 
         MedicalRecord medicalRecord = medicalRecordMapper.dtoToEntity(medicalRecordRequest, pet, userVeterinary);
         MedicalRecord medicalRecordSaved = medicalRecordRepository.save(medicalRecord);
+        recordChanged(null, MedicalRecordSnapshot.of(medicalRecordSaved));
 
         return medicalRecordMapper.entityToDto(medicalRecordSaved);
     }
 
-    @Transactional
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public MedicalRecordResponse updateMedicalRecord(Long id, MedicalRecordRequest medicalRecordRequest, UserDetail userDetail) {
         RoleValidator.validateVeterinary(userDetail, "Only veterinaries can manage medical records");
 
         MedicalRecord medicalRecordToUpdate = medicalRecordRepository.findById(id)
                 .orElseThrow(() ->new EntityNotFoundException(MedicalRecord.class.getSimpleName(), id));
+        MedicalRecordSnapshot before = MedicalRecordSnapshot.of(medicalRecordToUpdate);
 
         medicalRecordToUpdate.setDescription(medicalRecordRequest.description());
         medicalRecordToUpdate.setWeight(medicalRecordRequest.weight());
@@ -111,10 +231,45 @@ public class MedicalRecordServiceImpl implements MedicalRecordService {
         medicalRecordToUpdate.setPet(newPet);
 
         medicalRecordRepository.save(medicalRecordToUpdate);
+        recordChanged(before, MedicalRecordSnapshot.of(medicalRecordToUpdate));
         return medicalRecordMapper.entityToDto(medicalRecordToUpdate);
     }
 
-        @Transactional
+    /** Applies only the supplied fields; the pet is looked up only when the record moves to another one. */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public MedicalRecordResponse patchMedicalRecord(Long id, MedicalRecordPatchRequest medicalRecordPatchRequest, UserDetail userDetail) {
+        RoleValidator.validateVeterinary(userDetail, "Only veterinaries can manage medical records");
+
+        MedicalRecord medicalRecord = medicalRecordRepository.findById(id)
+                .orElseThrow(() ->new EntityNotFoundException(MedicalRecord.class.getSimpleName(), id));
+        MedicalRecordSnapshot before = MedicalRecordSnapshot.of(medicalRecord);
+
+        if (medicalRecordPatchRequest.description() != null) {
+            medicalRecord.setDescription(medicalRecordPatchRequest.description());
+        }
+        if (medicalRecordPatchRequest.weight() != null) {
+            medicalRecord.setWeight(medicalRecordPatchRequest.weight());
+        }
+        if (medicalRecordPatchRequest.date() != null) {
+            medicalRecord.setDate(medicalRecordPatchRequest.date());
+        }
+        if (medicalRecordPatchRequest.type() != null) {
+            medicalRecord.setType(medicalRecordPatchRequest.type());
+        }
+        Long petId = medicalRecordPatchRequest.petId();
+        if (petId != null && !petId.equals(medicalRecord.getPet().getId())) {
+            medicalRecord.setPet(petRepository.findById(petId)
+                    .orElseThrow(() -> new EntityNotFoundException(Pet.class.getSimpleName(), petId)));
+        }
+
+        MedicalRecordSnapshot after = MedicalRecordSnapshot.of(medicalRecord);
+        if (!after.equals(before)) {
+            recordChanged(before, after);
+        }
+        return medicalRecordMapper.entityToDto(medicalRecord);
+    }
+
+        @Transactional(isolation = Isolation.READ_COMMITTED)
         public Map<String, String> deleteMedicalRecord(Long id, UserDetail userDetail) {
             RoleValidator.validateVeterinary(userDetail, "Only veterinaries can manage medical records");
 
@@ -122,8 +277,48 @@ public class MedicalRecordServiceImpl implements MedicalRecordService {
                     .orElseThrow(()->new EntityNotFoundException(MedicalRecord.class.getSimpleName(), id));
 
             medicalRecordRepository.delete(medicalRecordToDelete);
+            recordChanged(MedicalRecordSnapshot.of(medicalRecordToDelete), null);
 
             String messsage = "Medical record with id: " + medicalRecordToDelete.getId() + " from pet " + medicalRecordToDelete.getPet().getName() + " has been deleted successfully";
             return Map.of("message", messsage);
         }
+
+    /** Reads arriving after a committed write must not share a load that started before it. */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT,
+            classes = {UserEvent.class, PetEvent.class, MedicalRecordEvent.class})
+    public void onWrite() {
+        reads.invalidate();
+    }
+
+    /** Reads sent to the replica and reads that must see the primary never share a result. */
+    private <T> T read(Object key, Supplier<T> loader) {
+        return reads.execute(new RoutedRead(key, replicaRouter.readsFromReplica()), loader);
+    }
+
+    /** Writes that call this run at READ COMMITTED, which the clinical summary needs; see {@link PetClinicalSummaryServiceImpl}. */
+    private void recordChanged(MedicalRecordSnapshot before, MedicalRecordSnapshot after) {
+        petClinicalSummaryService.recordChanged(before, after);
+        eventPublisher.publishEvent(new MedicalRecordEvent(before, after));
+    }
+
+    private record Owned<T>(Long ownerId, T value) {
+    }
+
+    private record AllRecords(Long ownerId) {
+    }
+
+    private record RecordById(Long id) {
+    }
+
+    private record RecordsByPetName(String petName) {
+    }
+
+    private record RecordPage(MedicalRecordSearch search, Long ownerId) {
+    }
+
+    private record PetWeights(Long petId, int points) {
+    }
+
+    private record RoutedRead(Object key, boolean replica) {
+    }
 }
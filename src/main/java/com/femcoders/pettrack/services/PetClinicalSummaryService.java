@@ -0,0 +1,14 @@
+package com.femcoders.pettrack.services;
+
+import com.femcoders.pettrack.dtos.pet.PetClinicalSummaryResponse;
+import com.femcoders.pettrack.events.MedicalRecordSnapshot;
+import com.femcoders.pettrack.security.UserDetail;
+
+import java.util.List;
+
+public interface PetClinicalSummaryService {
+    PetClinicalSummaryResponse getPetClinicalSummary(Long petId, UserDetail userDetail);
+    void createSummary(Long petId);
+    void recordChanged(MedicalRecordSnapshot before, MedicalRecordSnapshot after);
+    void petsDeleted(List<Long> petIds);
+}
@@ -0,0 +1,180 @@
+package com.femcoders.pettrack.services;
+
+import com.femcoders.pettrack.config.CacheConfig;
+import com.femcoders.pettrack.dtos.pet.PetClinicalSummaryResponse;
+import com.femcoders.pettrack.events.MedicalRecordSnapshot;
+import com.femcoders.pettrack.exceptions.EntityNotFoundException;
+import com.femcoders.pettrack.models.MedicalRecordType;
+import com.femcoders.pettrack.models.Pet;
+import com.femcoders.pettrack.models.PetClinicalSummary;
+import com.femcoders.pettrack.replica.ReplicaRouter;
+import com.femcoders.pettrack.repositories.MedicalRecordRepository;
+import com.femcoders.pettrack.repositories.PetClinicalSummaryRepository;
+import com.femcoders.pettrack.repositories.PetRepository;
+import com.femcoders.pettrack.security.UserDetail;
+import com.femcoders.pettrack.utils.RoleValidator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Keeps {@code pet_clinical_summaries} in step with the medical records. Every record write locks the
+ * affected summary rows (in pet id order, so a record moving between pets cannot deadlock) and applies
+ * the change as a delta; only removing the record a "last" figure came from re-reads the newest
+ * remaining one, which is a single index lookup.
+ * <p>
+ * {@link #recordChanged} runs in the caller's transaction, which must be READ COMMITTED: at REPEATABLE
+ * READ that re-read would see the snapshot taken before the summary lock was granted, and could pick a
+ * record that the previous lock holder had just deleted.
+ */
+@Service
+@RequiredArgsConstructor
+public class PetClinicalSummaryServiceImpl implements PetClinicalSummaryService {
+    private final PetClinicalSummaryRepository petClinicalSummaryRepository;
+    private final MedicalRecordRepository medicalRecordRepository;
+    private final PetRepository petRepository;
+    private final CacheManager cacheManager;
+    private final ReplicaRouter replicaRouter;
+
+    /**
+     * A summary read from the replica may predate the last eviction, so it is returned but only
+     * summaries read from the primary are cached.
+     */
+    @Transactional(readOnly = true)
+    public PetClinicalSummaryResponse getPetClinicalSummary(Long petId, UserDetail userDetail) {
+        Long ownerId = petRepository.findOwnerIdById(petId)
+                .orElseThrow(() -> new EntityNotFoundException(Pet.class.getSimpleName(), petId));
+
+        if (!RoleValidator.isVeterinary(userDetail) && !ownerId.equals(userDetail.getId())) {
+            throw new SecurityException("You do not have permission to view this pet's clinical summary");
+        }
+
+        Cache cache = summaryCache();
+        if (!replicaRouter.readsFromReplica()) {
+            return cache.get(petId, () -> loadSummary(petId));
+        }
+        PetClinicalSummaryResponse cached = cache.get(petId, PetClinicalSummaryResponse.class);
+        return cached != null ? cached : loadSummary(petId);
+    }
+
+    private PetClinicalSummaryResponse loadSummary(Long petId) {
+        return toResponse(petClinicalSummaryRepository.findById(petId)
+                .orElseGet(() -> recompute(PetClinicalSummary.builder().petId(petId).build())));
+    }
+
+    @Transactional
+    public void createSummary(Long petId) {
+        petClinicalSummaryRepository.save(PetClinicalSummary.builder().petId(petId).recordCount(0).build());
+    }
+
+    @Transactional
+    public void recordChanged(MedicalRecordSnapshot before, MedicalRecordSnapshot after) {
+        List<Long> petIds = Stream.of(before, after)
+                .filter(Objects::nonNull)
+                .map(MedicalRecordSnapshot::petId)
+                .distinct()
+                .sorted()
+                .toList();
+
+        for (Long petId : petIds) {
+            petClinicalSummaryRepository.findByIdForUpdate(petId).ifPresentOrElse(
+                    summary -> apply(summary, belongsTo(before, petId), belongsTo(after, petId)),
+                    () -> createMissing(petId));
+            summaryCache().evict(petId);
+        }
+    }
+
+    /**
+     * Writers that find no summary all insert an empty one, of which only the first is kept, then
+     * take its lock in turn and count it from the records they can see.
+     */
+    private void createMissing(Long petId) {
+        petClinicalSummaryRepository.insertIfAbsent(petId);
+        petClinicalSummaryRepository.findByIdForUpdate(petId).ifPresent(this::recompute);
+    }
+
+    /**
+     * The summary rows go with their pets through {@code ON DELETE CASCADE}; only the cached copies
+     * need dropping, once the deleting transaction commits.
+     */
+    public void petsDeleted(List<Long> petIds) {
+        Cache cache = summaryCache();
+        petIds.forEach(cache::evict);
+    }
+
+    private void apply(PetClinicalSummary summary, MedicalRecordSnapshot removed, MedicalRecordSnapshot added) {
+        if (removed == null) {
+            summary.setRecordCount(summary.getRecordCount() + 1);
+        } else if (added == null) {
+            summary.setRecordCount(summary.getRecordCount() - 1);
+        }
+
+        if (removed != null && removed.id().equals(summary.getLastVisitRecordId())) {
+            refreshLastVisit(summary);
+        } else if (added != null && isAfterLastVisit(summary, added)) {
+            summary.setLastVisitRecordId(added.id());
+            summary.setLastVisitDate(added.date());
+            summary.setLastWeight(added.weight());
+        }
+
+        if (removed != null && removed.type() == MedicalRecordType.VACCINATION
+                && removed.date().equals(summary.getLastVaccinationDate())) {
+            refreshLastVaccination(summary);
+        } else if (added != null && added.type() == MedicalRecordType.VACCINATION
+                && (summary.getLastVaccinationDate() == null || added.date().isAfter(summary.getLastVaccinationDate()))) {
+            summary.setLastVaccinationDate(added.date());
+        }
+    }
+
+    private boolean isAfterLastVisit(PetClinicalSummary summary, MedicalRecordSnapshot record) {
+        if (summary.getLastVisitDate() == null || record.date().isAfter(summary.getLastVisitDate())) {
+            return true;
+        }
+        return record.date().isEqual(summary.getLastVisitDate()) && record.id() > summary.getLastVisitRecordId();
+    }
+
+    private void refreshLastVisit(PetClinicalSummary summary) {
+        var lastVisit = medicalRecordRepository.findFirstByPet_IdOrderByDateDescIdDesc(summary.getPetId());
+        summary.setLastVisitRecordId(lastVisit.map(MedicalRecordRepository.Visit::getId).orElse(null));
+        summary.setLastVisitDate(lastVisit.map(MedicalRecordRepository.Visit::getDate).orElse(null));
+        summary.setLastWeight(lastVisit.map(MedicalRecordRepository.Visit::getWeight).orElse(null));
+    }
+
+    private void refreshLastVaccination(PetClinicalSummary summary) {
+        summary.setLastVaccinationDate(medicalRecordRepository
+                .findFirstByPet_IdAndTypeOrderByDateDescIdDesc(summary.getPetId(), MedicalRecordType.VACCINATION)
+                .map(MedicalRecordRepository.Visit::getDate)
+                .orElse(null));
+    }
+
+    private PetClinicalSummary recompute(PetClinicalSummary summary) {
+        summary.setRecordCount((int) medicalRecordRepository.countByPet_Id(summary.getPetId()));
+        refreshLastVisit(summary);
+        refreshLastVaccination(summary);
+        return summary;
+    }
+
+    private MedicalRecordSnapshot belongsTo(MedicalRecordSnapshot state, Long petId) {
+        return state != null && state.petId().equals(petId) ? state : null;
+    }
+
+    private PetClinicalSummaryResponse toResponse(PetClinicalSummary summary) {
+        return new PetClinicalSummaryResponse(
+                summary.getPetId(),
+                summary.getRecordCount(),
+                summary.getLastVisitDate(),
+                summary.getLastWeight(),
+                summary.getLastVaccinationDate()
+        );
+    }
+
+    private Cache summaryCache() {
+        return Objects.requireNonNull(cacheManager.getCache(CacheConfig.PET_CLINICAL_SUMMARIES));
+    }
+}
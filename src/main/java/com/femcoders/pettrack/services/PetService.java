@@ -1,7 +1,10 @@
 package com.femcoders.pettrack.services;
 
+import com.femcoders.pettrack.dtos.pet.PetPatchRequest;
 import com.femcoders.pettrack.dtos.pet.PetRequest;
 import com.femcoders.pettrack.dtos.pet.PetResponse;
+import com.femcoders.pettrack.dtos.pet.PetTransferRequest;
+import com.femcoders.pettrack.dtos.pet.PetTransferResponse;
 import com.femcoders.pettrack.security.UserDetail;
 
 import java.util.List;
@@ -13,5 +16,7 @@ public interface PetService {
     PetResponse getPetById(Long id);
     PetResponse createPet(PetRequest petRequest, UserDetail userDetail);
     PetResponse updatePet(Long id, PetRequest petRequest, UserDetail userDetail);
+    PetResponse patchPet(Long id, PetPatchRequest petPatchRequest, UserDetail userDetail);
     Map<String, String> deletePet(Long id, UserDetail userDetail);
+    PetTransferResponse transferPets(PetTransferRequest petTransferRequest, UserDetail userDetail);
 }
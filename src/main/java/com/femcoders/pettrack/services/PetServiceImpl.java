@@ -1,41 +1,76 @@
 package com.femcoders.pettrack.services;
 
 import com.femcoders.pettrack.dtos.pet.PetMapper;
+import com.femcoders.pettrack.dtos.pet.PetPatchRequest;
 import com.femcoders.pettrack.dtos.pet.PetRequest;
 import com.femcoders.pettrack.dtos.pet.PetResponse;
+import com.femcoders.pettrack.dtos.pet.PetTransferRequest;
+import com.femcoders.pettrack.dtos.pet.PetTransferResponse;
+import com.femcoders.pettrack.events.MedicalRecordEvent;
+import com.femcoders.pettrack.events.MedicalRecordSnapshot;
+import com.femcoders.pettrack.events.PetEvent;
+import com.femcoders.pettrack.events.PetSnapshot;
+import com.femcoders.pettrack.events.UserEvent;
 import com.femcoders.pettrack.exceptions.EntityNotFoundException;
 import com.femcoders.pettrack.models.Pet;
 import com.femcoders.pettrack.models.User;
+import com.femcoders.pettrack.repositories.MedicalRecordRepository;
 import com.femcoders.pettrack.repositories.PetRepository;
 import com.femcoders.pettrack.repositories.UserRepository;
+import com.femcoders.pettrack.replica.ReplicaRouter;
 import com.femcoders.pettrack.security.UserDetail;
 import com.femcoders.pettrack.utils.RoleValidator;
-import jakarta.transaction.Transactional;
+import com.femcoders.pettrack.utils.SingleFlight;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import jakarta.persistence.criteria.Predicate;
 
 @Service
+@ConditionalOnProperty(name = "pettrack.sharding.enabled", havingValue = "false", matchIfMissing = true)
 @RequiredArgsConstructor
 public class PetServiceImpl implements PetService {
     private final PetRepository petRepository;
+    private final MedicalRecordRepository medicalRecordRepository;
     private final PetMapper petMapper;
     private final UserRepository userRepository;
+    private final PetClinicalSummaryService petClinicalSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReplicaRouter replicaRouter;
 
+    /** Identical reads arriving while one is still running share its result. */
+    private final SingleFlight reads = new SingleFlight();
+
+    @Transactional(readOnly = true)
     public List<PetResponse> getAllPets() {
-        List<Pet> pets = petRepository.findAll();
-        return pets.stream()
-                .map(pet -> petMapper.entityToDto(pet))
-                .toList();
+        return read(AllPets.KEY, () -> {
+            List<Pet> pets = petRepository.findAll();
+            return pets.stream()
+                    .map(pet -> petMapper.entityToDto(pet))
+                    .toList();
+        });
     }
 
+    @Transactional(readOnly = true)
     public List<PetResponse> getFilteredPets(String name, String species, String breed) {
+        return read(new PetFilter(normalize(name), normalize(species), normalize(breed)),
+                () -> findFilteredPets(name, species, breed));
+    }
+
+    private List<PetResponse> findFilteredPets(String name, String species, String breed) {
         List<Pet> pets = petRepository.findAll(
                 (root, query, cb) -> {
                     List<Predicate> predicates = new ArrayList<>();
@@ -66,10 +101,13 @@ public class PetServiceImpl implements PetService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
     public PetResponse getPetById(Long id) {
-        Pet pet = petRepository.findById(id)
-                .orElseThrow(()->new EntityNotFoundException(Pet.class.getSimpleName(), id));
-        return petMapper.entityToDto(pet);
+        return read(new PetById(id), () -> {
+            Pet pet = petRepository.findById(id)
+                    .orElseThrow(()->new EntityNotFoundException(Pet.class.getSimpleName(), id));
+            return petMapper.entityToDto(pet);
+        });
     }
 
     @Transactional
@@ -80,6 +118,8 @@ public class PetServiceImpl implements PetService {
 
         Pet pet = petMapper.dtoToEntity(petRequest, petOwner);
         petRepository.save(pet);
+        petClinicalSummaryService.createSummary(pet.getId());
+        eventPublisher.publishEvent(new PetEvent(null, PetSnapshot.of(pet)));
 
         return petMapper.entityToDto(pet);
     }
@@ -90,6 +130,7 @@ public class PetServiceImpl implements PetService {
 
         Pet petToUpdate = petRepository.findById(id)
                 .orElseThrow(()->new EntityNotFoundException(Pet.class.getSimpleName(), id));
+        PetSnapshot before = PetSnapshot.of(petToUpdate);
 
         petToUpdate.setName(petRequest.name());
         petToUpdate.setSpecies(petRequest.species());
@@ -102,9 +143,45 @@ public class PetServiceImpl implements PetService {
         petToUpdate.setUser(newPetOwner);
 
         petRepository.save(petToUpdate);
+        eventPublisher.publishEvent(new PetEvent(before, PetSnapshot.of(petToUpdate)));
         return petMapper.entityToDto(petToUpdate);
     }
 
+    /** Applies only the supplied fields; the owner is looked up only when it actually changes. */
+    @Transactional
+    public PetResponse patchPet(Long id, PetPatchRequest petPatchRequest, UserDetail userDetail) {
+        RoleValidator.validateVeterinary(userDetail, "Only veterinaries can manage pets");
+
+        Pet pet = petRepository.findById(id)
+                .orElseThrow(()->new EntityNotFoundException(Pet.class.getSimpleName(), id));
+        PetSnapshot before = PetSnapshot.of(pet);
+
+        if (petPatchRequest.name() != null) {
+            pet.setName(petPatchRequest.name());
+        }
+        if (petPatchRequest.species() != null) {
+            pet.setSpecies(petPatchRequest.species());
+        }
+        if (petPatchRequest.breed() != null) {
+            pet.setBreed(petPatchRequest.breed());
+        }
+        if (petPatchRequest.birthDate() != null) {
+            pet.setBirthDate(petPatchRequest.birthDate());
+        }
+        if (petPatchRequest.image() != null) {
+            pet.setImage(petPatchRequest.image());
+        }
+        if (petPatchRequest.username() != null && !petPatchRequest.username().equalsIgnoreCase(pet.getUser().getUsername())) {
+            pet.setUser(getUserByUsername(petPatchRequest.username()));
+        }
+
+        PetSnapshot after = PetSnapshot.of(pet);
+        if (!after.equals(before)) {
+            eventPublisher.publishEvent(new PetEvent(before, after));
+        }
+        return petMapper.entityToDto(pet);
+    }
+
     @Transactional
     public Map<String, String> deletePet(Long id, UserDetail userDetail) {
         RoleValidator.validateVeterinary(userDetail, "Only veterinaries can manage pets");
@@ -112,14 +189,86 @@ public class PetServiceImpl implements PetService {
         Pet petToDelete = petRepository.findById(id)
                 .orElseThrow(()->new EntityNotFoundException(Pet.class.getSimpleName(), id));
 
-        petRepository.delete(petToDelete);
+        PetSnapshot deletedPet = PetSnapshot.of(petToDelete);
+        List<MedicalRecordSnapshot> deletedRecords = medicalRecordRepository.findSnapshotsByPetId(id);
+
+        medicalRecordRepository.deleteAllByPetId(id);
+        petRepository.deleteInBulkById(id);
+        petClinicalSummaryService.petsDeleted(List.of(id));
+
+        deletedRecords.forEach(medicalRecord ->
+                eventPublisher.publishEvent(new MedicalRecordEvent(medicalRecord, null)));
+        eventPublisher.publishEvent(new PetEvent(deletedPet, null));
 
         String message = "Pet '" + petToDelete.getName() + "' with id:" + petToDelete.getId() + " has been deleted successfully";
         return Map.of("message", message);
     }
 
+    /**
+     * Moves every pet of {@code fromUsername}, or only the selected ones, to {@code toUsername} with one
+     * UPDATE. Selected pets that do not belong to the current owner fail the whole transfer.
+     */
+    @Transactional
+    public PetTransferResponse transferPets(PetTransferRequest petTransferRequest, UserDetail userDetail) {
+        RoleValidator.validateVeterinary(userDetail, "Only veterinaries can manage pets");
+
+        User owner = getUserByUsername(petTransferRequest.fromUsername());
+        User newOwner = getUserByUsername(petTransferRequest.toUsername());
+        if (owner.getId().equals(newOwner.getId())) {
+            throw new IllegalArgumentException("The current and the new owner must be different users");
+        }
+
+        boolean selected = petTransferRequest.petIds() != null;
+        List<PetSnapshot> pets;
+        int transferred;
+        if (selected) {
+            Set<Long> petIds = new HashSet<>(petTransferRequest.petIds());
+            pets = petRepository.findSnapshotsByOwnerIdAndIdIn(owner.getId(), petIds);
+            if (pets.size() != petIds.size()) {
+                pets.forEach(pet -> petIds.remove(pet.id()));
+                throw new IllegalArgumentException("Pets " + petIds.stream().sorted().toList()
+                        + " do not belong to " + owner.getUsername());
+            }
+            transferred = petRepository.transfer(owner, newOwner, petIds);
+        } else {
+            pets = petRepository.findSnapshotsByOwnerId(owner.getId());
+            transferred = petRepository.transferAll(owner, newOwner);
+        }
+
+        pets.forEach(pet -> eventPublisher.publishEvent(new PetEvent(pet, pet.withOwnerId(newOwner.getId()))));
+        return new PetTransferResponse(owner.getId(), newOwner.getId(), transferred);
+    }
+
+    /** Reads arriving after a committed write must not share a load that started before it. */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT,
+            classes = {UserEvent.class, PetEvent.class, MedicalRecordEvent.class})
+    public void onWrite() {
+        reads.invalidate();
+    }
+
     private User getUserByUsername(String username) {
         return userRepository.findByUsernameIgnoreCase(username)
                 .orElseThrow(()->new EntityNotFoundException("User","username: " + username));
     }
+
+    /** Reads sent to the replica and reads that must see the primary never share a result. */
+    private <T> T read(Object key, Supplier<T> loader) {
+        return reads.execute(new RoutedRead(key, replicaRouter.readsFromReplica()), loader);
+    }
+
+    /** The filter ignores blank criteria and compares trimmed, lower-cased values, so equal keys mean equal queries. */
+    private static String normalize(String criterion) {
+        return criterion == null || criterion.isBlank() ? null : criterion.trim().toLowerCase();
+    }
+
+    private enum AllPets { KEY }
+
+    private record PetFilter(String name, String species, String breed) {
+    }
+
+    private record PetById(Long id) {
+    }
+
+    private record RoutedRead(Object key, boolean replica) {
+    }
 }
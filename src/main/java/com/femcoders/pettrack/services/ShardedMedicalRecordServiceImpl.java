@@ -0,0 +1,271 @@
+package com.femcoders.pettrack.services;
+
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordCursor;
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordPage;
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordPatchRequest;
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordRequest;
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordResponse;
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordSearch;
+import com.femcoders.pettrack.dtos.medicalRecord.WeightPoint;
+import com.femcoders.pettrack.dtos.medicalRecord.WeightSeries;
+import com.femcoders.pettrack.events.MedicalRecordEvent;
+import com.femcoders.pettrack.events.MedicalRecordSnapshot;
+import com.femcoders.pettrack.events.PetSnapshot;
+import com.femcoders.pettrack.exceptions.EntityNotFoundException;
+import com.femcoders.pettrack.models.MedicalRecord;
+import com.femcoders.pettrack.models.Pet;
+import com.femcoders.pettrack.models.User;
+import com.femcoders.pettrack.repositories.UserRepository;
+import com.femcoders.pettrack.security.UserDetail;
+import com.femcoders.pettrack.shard.ShardedMedicalRecordRepository;
+import com.femcoders.pettrack.shard.ShardedPetRepository;
+import com.femcoders.pettrack.utils.Downsampling;
+import com.femcoders.pettrack.utils.RoleValidator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * {@link MedicalRecordService} over the shard databases, used instead of {@link MedicalRecordServiceImpl}
+ * while {@code pettrack.sharding.enabled} is set. Pet names come from the pets' shards and usernames
+ * from the primary database; as in {@link ShardedPetServiceImpl}, events are published in the
+ * primary's transaction and every shard write commits on its own.
+ */
+@Service
+@ConditionalOnProperty(name = "pettrack.sharding.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ShardedMedicalRecordServiceImpl implements MedicalRecordService {
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int MIN_WEIGHT_POINTS = 3;
+    private static final int MAX_WEIGHT_POINTS = 1000;
+    private static final MedicalRecordSearch ALL = new MedicalRecordSearch(null, null, null, null, null, null, null, 0);
+
+    private final ShardedMedicalRecordRepository medicalRecordRepository;
+    private final ShardedPetRepository petRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public List<MedicalRecordResponse> getAllMedicalRecords(UserDetail userDetail) {
+        Long ownerId = RoleValidator.isVeterinary(userDetail) ? null : userDetail.getId();
+        return toResponses(medicalRecordRepository.search(ALL, ownerId, null, null));
+    }
+
+    @Transactional(readOnly = true)
+    public MedicalRecordResponse getMedicalRecordById(Long id, UserDetail userDetail) {
+        MedicalRecordSnapshot medicalRecord = getMedicalRecord(id);
+
+        if (!RoleValidator.isVeterinary(userDetail) && !userDetail.getId().equals(medicalRecord.ownerId())) {
+            throw new SecurityException("You do not have permission to view this medical record");
+        }
+
+        return toResponses(List.of(medicalRecord)).getFirst();
+    }
+
+    @Transactional(readOnly = true)
+    public List<MedicalRecordResponse> getMedicalRecordsByPetName(String petName, UserDetail userDetail) {
+        List<MedicalRecordSnapshot> medicalRecords = petRepository.findByName(petName).stream()
+                .flatMap(pet -> medicalRecordRepository.search(byPet(pet.id()), pet.ownerId(), null, null).stream())
+                .toList();
+
+        if (medicalRecords.isEmpty()) {
+            throw new EntityNotFoundException("Pet", "name '" + petName + "'");
+        }
+        if (!RoleValidator.isVeterinary(userDetail) && !medicalRecords.getFirst().ownerId().equals(userDetail.getId())) {
+            throw new SecurityException("You do not have permission to view this medical record");
+        }
+
+        return toResponses(medicalRecords);
+    }
+
+    @Transactional(readOnly = true)
+    public MedicalRecordPage searchMedicalRecords(MedicalRecordSearch search, UserDetail userDetail) {
+        if (search.from() != null && search.to() != null && search.from().isAfter(search.to())) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+
+        Long ownerId = search.ownerId();
+        if (!RoleValidator.isVeterinary(userDetail)) {
+            if (ownerId != null && !ownerId.equals(userDetail.getId())) {
+                throw new SecurityException("You do not have permission to view these medical records");
+            }
+            ownerId = userDetail.getId();
+        }
+
+        return findPage(search, ownerId);
+    }
+
+    @Transactional(readOnly = true)
+    public MedicalRecordPage getPetMedicalHistory(Long petId, String cursor, int size, UserDetail userDetail) {
+        PetSnapshot pet = validatePetAccess(petId, userDetail);
+        return findPage(new MedicalRecordSearch(petId, null, null, null, null, null, cursor, size), pet.ownerId());
+    }
+
+    @Transactional(readOnly = true)
+    public WeightSeries getPetWeightSeries(Long petId, int points, UserDetail userDetail) {
+        if (points < MIN_WEIGHT_POINTS || points > MAX_WEIGHT_POINTS) {
+            throw new IllegalArgumentException("Points must be between " + MIN_WEIGHT_POINTS + " and " + MAX_WEIGHT_POINTS);
+        }
+        PetSnapshot pet = validatePetAccess(petId, userDetail);
+
+        List<WeightPoint> series = medicalRecordRepository.search(byPet(petId), pet.ownerId(), null, null).reversed().stream()
+                .map(medicalRecord -> new WeightPoint(medicalRecord.date(), medicalRecord.weight()))
+                .toList();
+        List<WeightPoint> sampled = Downsampling.largestTriangleThreeBuckets(
+                series, points, point -> point.date().toEpochDay(), WeightPoint::weight);
+        return new WeightSeries(petId, series.size(), List.copyOf(sampled));
+    }
+
+    private PetSnapshot validatePetAccess(Long petId, UserDetail userDetail) {
+        PetSnapshot pet = getPet(petId);
+
+        if (!RoleValidator.isVeterinary(userDetail) && !pet.ownerId().equals(userDetail.getId())) {
+            throw new SecurityException("You do not have permission to view this pet's medical records");
+        }
+        return pet;
+    }
+
+    private MedicalRecordPage findPage(MedicalRecordSearch search, Long ownerId) {
+        if (search.size() < 1 || search.size() > MAX_SEARCH_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        }
+        MedicalRecordCursor cursor = search.cursor() != null ? MedicalRecordCursor.decode(search.cursor()) : null;
+
+        List<MedicalRecordSnapshot> medicalRecords = medicalRecordRepository.search(search, ownerId, cursor, search.size() + 1);
+
+        boolean hasMore = medicalRecords.size() > search.size();
+        List<MedicalRecordSnapshot> page = hasMore ? medicalRecords.subList(0, search.size()) : medicalRecords;
+        String nextCursor = hasMore
+                ? new MedicalRecordCursor(page.getLast().date(), page.getLast().id()).encode()
+                : null;
+
+        return new MedicalRecordPage(toResponses(page), page.size(), nextCursor);
+    }
+
+    @Transactional
+    public MedicalRecordResponse createMedicalRecord(MedicalRecordRequest medicalRecordRequest, UserDetail userDetail) {
+        RoleValidator.validateVeterinary(userDetail, "Only veterinaries can manage medical records");
+
+        PetSnapshot pet = getPet(medicalRecordRequest.petId());
+
+        User userVeterinary = userRepository.findById(userDetail.getId())
+                .orElseThrow(()->new EntityNotFoundException(User.class.getSimpleName(), userDetail.getId()));
+
+        MedicalRecordSnapshot medicalRecordSaved = medicalRecordRepository.insert(new MedicalRecordSnapshot(null,
+                pet.id(), pet.ownerId(), userVeterinary.getId(), medicalRecordRequest.date(),
+                medicalRecordRequest.weight(), medicalRecordRequest.type(), medicalRecordRequest.description()));
+        eventPublisher.publishEvent(new MedicalRecordEvent(null, medicalRecordSaved));
+
+        return toResponse(medicalRecordSaved, pet.name(), userVeterinary.getUsername());
+    }
+
+    @Transactional
+    public MedicalRecordResponse updateMedicalRecord(Long id, MedicalRecordRequest medicalRecordRequest, UserDetail userDetail) {
+        RoleValidator.validateVeterinary(userDetail, "Only veterinaries can manage medical records");
+
+        MedicalRecordSnapshot before = getMedicalRecord(id);
+
+        PetSnapshot newPet = petRepository.findById(medicalRecordRequest.petId())
+                .orElseThrow(()->new NoSuchElementException("Pet not found with id " + medicalRecordRequest.petId()));
+
+        MedicalRecordSnapshot after = new MedicalRecordSnapshot(id, newPet.id(), newPet.ownerId(), before.veterinaryId(),
+                medicalRecordRequest.date(), medicalRecordRequest.weight(), medicalRecordRequest.type(),
+                medicalRecordRequest.description());
+        save(before, after);
+        return toResponses(List.of(after)).getFirst();
+    }
+
+    /** Applies only the supplied fields; the pet is looked up only when the record moves to another one. */
+    @Transactional
+    public MedicalRecordResponse patchMedicalRecord(Long id, MedicalRecordPatchRequest medicalRecordPatchRequest, UserDetail userDetail) {
+        RoleValidator.validateVeterinary(userDetail, "Only veterinaries can manage medical records");
+
+        MedicalRecordSnapshot before = getMedicalRecord(id);
+
+        Long petId = medicalRecordPatchRequest.petId();
+        PetSnapshot pet = petId != null && !petId.equals(before.petId()) ? getPet(petId) : null;
+
+        MedicalRecordSnapshot after = new MedicalRecordSnapshot(id,
+                pet != null ? pet.id() : before.petId(),
+                pet != null ? pet.ownerId() : before.ownerId(),
+                before.veterinaryId(),
+                medicalRecordPatchRequest.date() != null ? medicalRecordPatchRequest.date() : before.date(),
+                medicalRecordPatchRequest.weight() != null ? medicalRecordPatchRequest.weight() : before.weight(),
+                medicalRecordPatchRequest.type() != null ? medicalRecordPatchRequest.type() : before.type(),
+                medicalRecordPatchRequest.description() != null ? medicalRecordPatchRequest.description() : before.description());
+        if (!after.equals(before)) {
+            save(before, after);
+        }
+        return toResponses(List.of(after)).getFirst();
+    }
+
+    @Transactional
+    public Map<String, String> deleteMedicalRecord(Long id, UserDetail userDetail) {
+        RoleValidator.validateVeterinary(userDetail, "Only veterinaries can manage medical records");
+
+        MedicalRecordSnapshot medicalRecordToDelete = getMedicalRecord(id);
+        if (!medicalRecordRepository.delete(medicalRecordToDelete)) {
+            throw new EntityNotFoundException(MedicalRecord.class.getSimpleName(), id);
+        }
+        eventPublisher.publishEvent(new MedicalRecordEvent(medicalRecordToDelete, null));
+
+        String petName = petRepository.findByIds(List.of(medicalRecordToDelete.ownerId()), List.of(medicalRecordToDelete.petId()))
+                .stream()
+                .findFirst()
+                .map(PetSnapshot::name)
+                .orElse(null);
+        String messsage = "Medical record with id: " + medicalRecordToDelete.id() + " from pet " + petName + " has been deleted successfully";
+        return Map.of("message", messsage);
+    }
+
+    private void save(MedicalRecordSnapshot before, MedicalRecordSnapshot after) {
+        if (!medicalRecordRepository.update(before, after)) {
+            throw new EntityNotFoundException(MedicalRecord.class.getSimpleName(), before.id());
+        }
+        eventPublisher.publishEvent(new MedicalRecordEvent(before, after));
+    }
+
+    private MedicalRecordSnapshot getMedicalRecord(Long id) {
+        return medicalRecordRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException(MedicalRecord.class.getSimpleName(), id));
+    }
+
+    private PetSnapshot getPet(Long id) {
+        return petRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException(Pet.class.getSimpleName(), id));
+    }
+
+    private static MedicalRecordSearch byPet(Long petId) {
+        return new MedicalRecordSearch(petId, null, null, null, null, null, null, 0);
+    }
+
+    /** Reads the pet names from the owners' shards and the veterinarians' usernames from the primary, once per page. */
+    private List<MedicalRecordResponse> toResponses(List<MedicalRecordSnapshot> medicalRecords) {
+        Set<Long> ownerIds = medicalRecords.stream().map(MedicalRecordSnapshot::ownerId).collect(Collectors.toSet());
+        Set<Long> petIds = medicalRecords.stream().map(MedicalRecordSnapshot::petId).collect(Collectors.toSet());
+        Set<Long> veterinaryIds = medicalRecords.stream().map(MedicalRecordSnapshot::veterinaryId).collect(Collectors.toSet());
+
+        Map<Long, String> petNames = petRepository.findByIds(ownerIds, petIds).stream()
+                .collect(Collectors.toMap(PetSnapshot::id, PetSnapshot::name, (first, second) -> first));
+        Map<Long, String> usernames = userRepository.findAllById(veterinaryIds).stream()
+                .collect(Collectors.toMap(User::getId, User::getUsername));
+
+        return medicalRecords.stream()
+                .map(medicalRecord -> toResponse(medicalRecord, petNames.get(medicalRecord.petId()),
+                        usernames.get(medicalRecord.veterinaryId())))
+                .toList();
+    }
+
+    private static MedicalRecordResponse toResponse(MedicalRecordSnapshot medicalRecord, String petName, String createdBy) {
+        return new MedicalRecordResponse(medicalRecord.id(), medicalRecord.description(), medicalRecord.weight(),
+                medicalRecord.date(), medicalRecord.type(), petName, createdBy);
+    }
+}
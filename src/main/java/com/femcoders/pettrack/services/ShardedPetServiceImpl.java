@@ -0,0 +1,190 @@
+package com.femcoders.pettrack.services;
+
+import com.femcoders.pettrack.dtos.pet.PetPatchRequest;
+import com.femcoders.pettrack.dtos.pet.PetRequest;
+import com.femcoders.pettrack.dtos.pet.PetResponse;
+import com.femcoders.pettrack.dtos.pet.PetTransferRequest;
+import com.femcoders.pettrack.dtos.pet.PetTransferResponse;
+import com.femcoders.pettrack.events.MedicalRecordEvent;
+import com.femcoders.pettrack.events.PetEvent;
+import com.femcoders.pettrack.events.PetSnapshot;
+import com.femcoders.pettrack.exceptions.EntityNotFoundException;
+import com.femcoders.pettrack.models.Pet;
+import com.femcoders.pettrack.models.User;
+import com.femcoders.pettrack.repositories.UserRepository;
+import com.femcoders.pettrack.security.UserDetail;
+import com.femcoders.pettrack.shard.ShardedPetRepository;
+import com.femcoders.pettrack.utils.RoleValidator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * {@link PetService} over the shard databases, used instead of {@link PetServiceImpl} while
+ * {@code pettrack.sharding.enabled} is set. Owners are looked up in the primary database; the
+ * transactions here are the primary's, in which the events are published, while every shard write
+ * commits on its own.
+ */
+@Service
+@ConditionalOnProperty(name = "pettrack.sharding.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ShardedPetServiceImpl implements PetService {
+    private final ShardedPetRepository petRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public List<PetResponse> getAllPets() {
+        return toResponses(petRepository.findAll());
+    }
+
+    @Transactional(readOnly = true)
+    public List<PetResponse> getFilteredPets(String name, String species, String breed) {
+        return toResponses(petRepository.findByFilter(normalize(name), normalize(species), normalize(breed)));
+    }
+
+    @Transactional(readOnly = true)
+    public PetResponse getPetById(Long id) {
+        return toResponses(List.of(getPet(id))).getFirst();
+    }
+
+    @Transactional
+    public PetResponse createPet(PetRequest petRequest, UserDetail userDetail) {
+        RoleValidator.validateVeterinary(userDetail, "Only veterinaries can manage pets");
+
+        User petOwner = getUserByUsername(petRequest.username());
+
+        PetSnapshot pet = petRepository.insert(new PetSnapshot(null, petOwner.getId(), petRequest.species(),
+                petRequest.name(), petRequest.breed(), petRequest.birthDate(), petRequest.image()));
+        eventPublisher.publishEvent(new PetEvent(null, pet));
+
+        return toResponse(pet, petOwner.getUsername());
+    }
+
+    @Transactional
+    public PetResponse updatePet(Long id, PetRequest petRequest, UserDetail userDetail) {
+        RoleValidator.validateVeterinary(userDetail, "Only veterinaries can manage pets");
+
+        PetSnapshot before = getPet(id);
+        User newPetOwner = getUserByUsername(petRequest.username());
+
+        PetSnapshot after = save(before, new PetSnapshot(id, before.ownerId(), petRequest.species(),
+                petRequest.name(), petRequest.breed(), petRequest.birthDate(), petRequest.image()), newPetOwner.getId());
+        eventPublisher.publishEvent(new PetEvent(before, after));
+        return toResponse(after, newPetOwner.getUsername());
+    }
+
+    /** Applies only the supplied fields; the owner is looked up only when a username is supplied. */
+    @Transactional
+    public PetResponse patchPet(Long id, PetPatchRequest petPatchRequest, UserDetail userDetail) {
+        RoleValidator.validateVeterinary(userDetail, "Only veterinaries can manage pets");
+
+        PetSnapshot before = getPet(id);
+        Long ownerId = petPatchRequest.username() != null
+                ? getUserByUsername(petPatchRequest.username()).getId()
+                : before.ownerId();
+
+        PetSnapshot patched = new PetSnapshot(id, before.ownerId(),
+                petPatchRequest.species() != null ? petPatchRequest.species() : before.species(),
+                petPatchRequest.name() != null ? petPatchRequest.name() : before.name(),
+                petPatchRequest.breed() != null ? petPatchRequest.breed() : before.breed(),
+                petPatchRequest.birthDate() != null ? petPatchRequest.birthDate() : before.birthDate(),
+                petPatchRequest.image() != null ? petPatchRequest.image() : before.image());
+        if (patched.equals(before) && ownerId.equals(before.ownerId())) {
+            return toResponses(List.of(before)).getFirst();
+        }
+
+        PetSnapshot after = save(before, patched, ownerId);
+        eventPublisher.publishEvent(new PetEvent(before, after));
+        return toResponses(List.of(after)).getFirst();
+    }
+
+    @Transactional
+    public Map<String, String> deletePet(Long id, UserDetail userDetail) {
+        RoleValidator.validateVeterinary(userDetail, "Only veterinaries can manage pets");
+
+        PetSnapshot petToDelete = getPet(id);
+        petRepository.delete(petToDelete)
+                .orElseThrow(() -> new EntityNotFoundException(Pet.class.getSimpleName(), id))
+                .forEach(medicalRecord -> eventPublisher.publishEvent(new MedicalRecordEvent(medicalRecord, null)));
+        eventPublisher.publishEvent(new PetEvent(petToDelete, null));
+
+        String message = "Pet '" + petToDelete.name() + "' with id:" + petToDelete.id() + " has been deleted successfully";
+        return Map.of("message", message);
+    }
+
+    /**
+     * Moves every pet of {@code fromUsername}, or only the selected ones, to {@code toUsername}, one pet
+     * at a time: a failure part way leaves the pets moved so far with the new owner.
+     */
+    @Transactional
+    public PetTransferResponse transferPets(PetTransferRequest petTransferRequest, UserDetail userDetail) {
+        RoleValidator.validateVeterinary(userDetail, "Only veterinaries can manage pets");
+
+        User owner = getUserByUsername(petTransferRequest.fromUsername());
+        User newOwner = getUserByUsername(petTransferRequest.toUsername());
+        if (owner.getId().equals(newOwner.getId())) {
+            throw new IllegalArgumentException("The current and the new owner must be different users");
+        }
+
+        List<PetSnapshot> pets = petRepository.findByOwnerId(owner.getId());
+        if (petTransferRequest.petIds() != null) {
+            Set<Long> petIds = new HashSet<>(petTransferRequest.petIds());
+            pets = pets.stream().filter(pet -> petIds.contains(pet.id())).toList();
+            if (pets.size() != petIds.size()) {
+                pets.forEach(pet -> petIds.remove(pet.id()));
+                throw new IllegalArgumentException("Pets " + petIds.stream().sorted().toList()
+                        + " do not belong to " + owner.getUsername());
+            }
+        }
+
+        for (PetSnapshot pet : pets) {
+            eventPublisher.publishEvent(new PetEvent(pet, petRepository.transfer(pet, newOwner.getId())));
+        }
+        return new PetTransferResponse(owner.getId(), newOwner.getId(), pets.size());
+    }
+
+    /** Writes the fields of {@code changed} over {@code before}, then moves the pet if its owner changes. */
+    private PetSnapshot save(PetSnapshot before, PetSnapshot changed, Long ownerId) {
+        if (!changed.equals(before) && !petRepository.update(changed)) {
+            throw new EntityNotFoundException(Pet.class.getSimpleName(), before.id());
+        }
+        return ownerId.equals(before.ownerId()) ? changed : petRepository.transfer(changed, ownerId);
+    }
+
+    private PetSnapshot getPet(Long id) {
+        return petRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException(Pet.class.getSimpleName(), id));
+    }
+
+    private User getUserByUsername(String username) {
+        return userRepository.findByUsernameIgnoreCase(username)
+                .orElseThrow(()->new EntityNotFoundException("User","username: " + username));
+    }
+
+    private List<PetResponse> toResponses(List<PetSnapshot> pets) {
+        Set<Long> ownerIds = pets.stream().map(PetSnapshot::ownerId).collect(Collectors.toSet());
+        Map<Long, String> usernames = userRepository.findAllById(ownerIds).stream()
+                .collect(Collectors.toMap(User::getId, User::getUsername));
+        return pets.stream()
+                .map(pet -> toResponse(pet, usernames.get(pet.ownerId())))
+                .toList();
+    }
+
+    private static PetResponse toResponse(PetSnapshot pet, String username) {
+        return new PetResponse(pet.id(), pet.name(), pet.species(), pet.breed(), pet.birthDate(), pet.image(), username);
+    }
+
+    /** The filter ignores blank criteria and compares trimmed, lower-cased values. */
+    private static String normalize(String criterion) {
+        return criterion == null || criterion.isBlank() ? null : criterion.trim().toLowerCase();
+    }
+}
@@ -0,0 +1,8 @@
+package com.femcoders.pettrack.services;
+
+import com.femcoders.pettrack.dtos.statistics.ClinicStatisticsResponse;
+import com.femcoders.pettrack.security.UserDetail;
+
+public interface StatisticsService {
+    ClinicStatisticsResponse getClinicStatistics(UserDetail userDetail);
+}
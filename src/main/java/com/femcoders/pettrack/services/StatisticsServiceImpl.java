@@ -0,0 +1,19 @@
+package com.femcoders.pettrack.services;
+
+import com.femcoders.pettrack.dtos.statistics.ClinicStatisticsResponse;
+import com.femcoders.pettrack.security.UserDetail;
+import com.femcoders.pettrack.stats.ClinicStatistics;
+import com.femcoders.pettrack.utils.RoleValidator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class StatisticsServiceImpl implements StatisticsService {
+    private final ClinicStatistics clinicStatistics;
+
+    public ClinicStatisticsResponse getClinicStatistics(UserDetail userDetail) {
+        RoleValidator.validateVeterinary(userDetail, "Only veterinaries can view clinic statistics");
+        return clinicStatistics.snapshot();
+    }
+}
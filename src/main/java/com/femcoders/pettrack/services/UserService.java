@@ -1,5 +1,6 @@
 package com.femcoders.pettrack.services;
 
+import com.femcoders.pettrack.dtos.user.UserPatchRequest;
 import com.femcoders.pettrack.dtos.user.UserRequest;
 import com.femcoders.pettrack.dtos.user.UserResponse;
 import com.femcoders.pettrack.dtos.user.UserUpdateRequest;
@@ -17,5 +18,6 @@ public interface UserService {
     List<UserResponse> getFilterUserByRole(Role role, UserDetail userDetail);
     UserResponse createUser(UserRequest userRequest, UserDetail userDetail);
     UserResponse updateUser(Long id, UserUpdateRequest userUpdateRequest, UserDetail userDetail);
+    UserResponse patchUser(Long id, UserPatchRequest userPatchRequest, UserDetail userDetail);
     Map<String, String> deleteUser(Long id, UserDetail userDetail);
 }
@@ -1,20 +1,30 @@
 package com.femcoders.pettrack.services;
 
 import com.femcoders.pettrack.dtos.user.UserMapper;
+import com.femcoders.pettrack.dtos.user.UserPatchRequest;
 import com.femcoders.pettrack.dtos.user.UserRequest;
 import com.femcoders.pettrack.dtos.user.UserResponse;
 import com.femcoders.pettrack.dtos.user.UserUpdateRequest;
+import com.femcoders.pettrack.events.MedicalRecordEvent;
+import com.femcoders.pettrack.events.MedicalRecordSnapshot;
+import com.femcoders.pettrack.events.PetEvent;
+import com.femcoders.pettrack.events.PetSnapshot;
+import com.femcoders.pettrack.events.UserEvent;
+import com.femcoders.pettrack.events.UserSnapshot;
 import com.femcoders.pettrack.exceptions.EntityNotFoundException;
 import com.femcoders.pettrack.models.Role;
 import com.femcoders.pettrack.models.User;
+import com.femcoders.pettrack.repositories.MedicalRecordRepository;
+import com.femcoders.pettrack.repositories.PetRepository;
 import com.femcoders.pettrack.repositories.UserRepository;
 import com.femcoders.pettrack.security.UserDetail;
 import com.femcoders.pettrack.utils.RoleValidator;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -26,8 +36,12 @@ import jakarta.persistence.criteria.Predicate;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService, UserDetailsService {
     private final UserRepository userRepository;
+    private final PetRepository petRepository;
+    private final MedicalRecordRepository medicalRecordRepository;
+    private final PetClinicalSummaryService petClinicalSummaryService;
     private final UserMapper userMapper;
     private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public UserDetail loadUserByUsername(String identifier) throws EntityNotFoundException {
@@ -53,9 +67,11 @@ public class UserServiceImpl implements UserService, UserDetailsService {
         user.setPassword(bCryptPasswordEncoder.encode(userRequestDTO.password()));
 
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserEvent(null, UserSnapshot.of(user)));
         return userMapper.entityToDto(user);
     }
 
+    @Transactional(readOnly = true)
     public List<UserResponse> getAllUsers(UserDetail userDetail) {
         RoleValidator.validateVeterinary(userDetail, "Only veterinarians can view all users");
 
@@ -66,6 +82,7 @@ public class UserServiceImpl implements UserService, UserDetailsService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
     public UserResponse getUserById(Long userId, UserDetail userDetail) {
         User user = userRepository.findById(userId)
                 .orElseThrow(()->new EntityNotFoundException(User.class.getSimpleName(), userId));
@@ -81,6 +98,7 @@ public class UserServiceImpl implements UserService, UserDetailsService {
         throw new SecurityException("You do not have permission to view this user");
     }
 
+    @Transactional(readOnly = true)
     public List<UserResponse> getFilterUserByRole(Role role, UserDetail userDetail) {
         RoleValidator.validateVeterinary(userDetail, "Only veterinarians can filter users");
 
@@ -116,6 +134,7 @@ public class UserServiceImpl implements UserService, UserDetailsService {
         user.setPassword(bCryptPasswordEncoder.encode(userRequest.password()));
 
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserEvent(null, UserSnapshot.of(user)));
 
         return userMapper.entityToDto(user);
     }
@@ -126,6 +145,7 @@ public class UserServiceImpl implements UserService, UserDetailsService {
 
         User user = userRepository.findById(id)
                 .orElseThrow(()->new EntityNotFoundException(User.class.getSimpleName(), id));
+        UserSnapshot before = UserSnapshot.of(user);
 
         user.setUsername(userUpdateRequest.username());
         user.setEmail(userUpdateRequest.email());
@@ -133,6 +153,45 @@ public class UserServiceImpl implements UserService, UserDetailsService {
         user.setRole(userUpdateRequest.role() != null ? userUpdateRequest.role() : Role.USER);
 
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserEvent(before, UserSnapshot.of(user)));
+        return userMapper.entityToDto(user);
+    }
+
+    /**
+     * Applies only the supplied fields, so the password is hashed only when a new one is given; with
+     * {@code @DynamicUpdate} the UPDATE lists just the columns that changed.
+     */
+    @Transactional
+    public UserResponse patchUser(Long id, UserPatchRequest userPatchRequest, UserDetail userDetail) {
+        RoleValidator.validateVeterinary(userDetail, "Only veterinarians can edit users");
+
+        User user = userRepository.findById(id)
+                .orElseThrow(()->new EntityNotFoundException(User.class.getSimpleName(), id));
+        UserSnapshot before = UserSnapshot.of(user);
+
+        if (userPatchRequest.username() != null && !userPatchRequest.username().equals(user.getUsername())) {
+            if (userRepository.existsByUsername(userPatchRequest.username())) {
+                throw new IllegalArgumentException("Username already exists");
+            }
+            user.setUsername(userPatchRequest.username());
+        }
+        if (userPatchRequest.email() != null && !userPatchRequest.email().equals(user.getEmail())) {
+            if (userRepository.existsByEmail(userPatchRequest.email())) {
+                throw new IllegalArgumentException("Email already exists");
+            }
+            user.setEmail(userPatchRequest.email());
+        }
+        if (userPatchRequest.password() != null) {
+            user.setPassword(bCryptPasswordEncoder.encode(userPatchRequest.password()));
+        }
+        if (userPatchRequest.role() != null) {
+            user.setRole(userPatchRequest.role());
+        }
+
+        UserSnapshot after = UserSnapshot.of(user);
+        if (!after.equals(before) || userPatchRequest.password() != null) {
+            eventPublisher.publishEvent(new UserEvent(before, after));
+        }
         return userMapper.entityToDto(user);
     }
 
@@ -143,7 +202,20 @@ public class UserServiceImpl implements UserService, UserDetailsService {
         User userToDelete = userRepository.findById(id)
                 .orElseThrow(()-> new EntityNotFoundException(User.class.getSimpleName(), id));
 
-        userRepository.delete(userToDelete);
+        // Children first, each as one statement; the pets and records are read only as snapshots for the events.
+        UserSnapshot deletedUser = UserSnapshot.of(userToDelete);
+        List<PetSnapshot> deletedPets = petRepository.findSnapshotsByOwnerId(id);
+        List<MedicalRecordSnapshot> deletedRecords = medicalRecordRepository.findSnapshotsByOwnerId(id);
+
+        medicalRecordRepository.deleteAllByOwnerId(id);
+        petRepository.deleteAllByOwnerId(id);
+        userRepository.deleteInBulkById(id);
+        petClinicalSummaryService.petsDeleted(deletedPets.stream().map(PetSnapshot::id).toList());
+
+        deletedRecords.forEach(medicalRecord ->
+                eventPublisher.publishEvent(new MedicalRecordEvent(medicalRecord, null)));
+        deletedPets.forEach(pet -> eventPublisher.publishEvent(new PetEvent(pet, null)));
+        eventPublisher.publishEvent(new UserEvent(deletedUser, null));
 
         String message = "User with id: " + userToDelete.getId() + " has been deleted successfully";
         return Map.of("message", message);
@@ -0,0 +1,11 @@
+package com.femcoders.pettrack.services;
+
+import com.femcoders.pettrack.dtos.vaccinationReminder.VaccinationReminderResponse;
+import com.femcoders.pettrack.security.UserDetail;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface VaccinationReminderService {
+    List<VaccinationReminderResponse> getVaccinationReminders(Long ownerId, LocalDate dueBefore, int size, UserDetail userDetail);
+}
@@ -0,0 +1,45 @@
+package com.femcoders.pettrack.services;
+
+import com.femcoders.pettrack.dtos.vaccinationReminder.VaccinationReminderResponse;
+import com.femcoders.pettrack.reminders.ReminderProperties;
+import com.femcoders.pettrack.repositories.VaccinationReminderRepository;
+import com.femcoders.pettrack.security.UserDetail;
+import com.femcoders.pettrack.utils.RoleValidator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class VaccinationReminderServiceImpl implements VaccinationReminderService {
+    private static final int MAX_REMINDERS = 100;
+
+    private final VaccinationReminderRepository vaccinationReminderRepository;
+    private final ReminderProperties reminderProperties;
+
+    public List<VaccinationReminderResponse> getVaccinationReminders(Long ownerId, LocalDate dueBefore, int size, UserDetail userDetail) {
+        if (size < 1 || size > MAX_REMINDERS) {
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_REMINDERS);
+        }
+
+        if (!RoleValidator.isVeterinary(userDetail)) {
+            if (ownerId != null && !ownerId.equals(userDetail.getId())) {
+                throw new SecurityException("You do not have permission to view these vaccination reminders");
+            }
+            ownerId = userDetail.getId();
+        }
+
+        LocalDate today = LocalDate.now();
+        if (dueBefore == null) {
+            dueBefore = today.plusDays(reminderProperties.getDueSoon().toDays());
+        }
+
+        if (ownerId == null) {
+            return vaccinationReminderRepository.findDue(dueBefore, today, Limit.of(size));
+        }
+        return vaccinationReminderRepository.findDueByOwner(ownerId, dueBefore, today, Limit.of(size));
+    }
+}
@@ -0,0 +1,62 @@
+package com.femcoders.pettrack.shard;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hands out ids that are unique across shards from the primary's {@code shard_sequences}. Each node
+ * reserves {@code id-block-size} ids per round trip, so ids are unique but only roughly ordered
+ * across nodes, and a restart skips the rest of its blocks.
+ */
+@Component
+@ConditionalOnProperty(name = "pettrack.sharding.enabled", havingValue = "true")
+public class ShardIdAllocator {
+    private static final String ADVANCE = "UPDATE shard_sequences SET next_value = next_value + ? WHERE name = ?";
+    private static final String CURRENT = "SELECT next_value FROM shard_sequences WHERE name = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int blockSize;
+    private final Map<String, Block> blocks = new HashMap<>();
+
+    public ShardIdAllocator(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                            ShardingProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.blockSize = Math.max(1, properties.getIdBlockSize());
+    }
+
+    public synchronized long next(String sequence) {
+        Block block = blocks.get(sequence);
+        if (block == null || block.next == block.end) {
+            block = reserve(sequence);
+            blocks.put(sequence, block);
+        }
+        return block.next++;
+    }
+
+    private Block reserve(String sequence) {
+        Long end = transactionTemplate.execute(status -> {
+            if (jdbcTemplate.update(ADVANCE, blockSize, sequence) == 0) {
+                throw new IllegalStateException("Unknown shard sequence: " + sequence);
+            }
+            return jdbcTemplate.queryForObject(CURRENT, Long.class, sequence);
+        });
+        return new Block(end - blockSize, end);
+    }
+
+    private static final class Block {
+        private long next;
+        private final long end;
+
+        Block(long next, long end) {
+            this.next = next;
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.femcoders.pettrack.shard;
+
+/**
+ * Maps an owner id to a shard with jump consistent hashing (Lamping and Veach): owners spread evenly,
+ * no lookup table is needed, and going from n to n + 1 shards only moves owners onto the new shard.
+ */
+public final class ShardRouter {
+    private final int shardCount;
+
+    public ShardRouter(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("There must be at least one shard");
+        }
+        this.shardCount = shardCount;
+    }
+
+    public int shardOf(long ownerId) {
+        long key = ownerId;
+        long bucket = -1;
+        long next = 0;
+        while (next < shardCount) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+}
@@ -0,0 +1,189 @@
+package com.femcoders.pettrack.shard;
+
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordCursor;
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordSearch;
+import com.femcoders.pettrack.events.MedicalRecordSnapshot;
+import com.femcoders.pettrack.models.MedicalRecordType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Medical records, stored on the shard of their pet's owner. Listings use the same (date desc, id desc)
+ * keyset order, criteria and cursor as the single-database search; an owner's records are read from
+ * one shard, every other listing merges a page from every shard.
+ */
+@Component
+@ConditionalOnProperty(name = "pettrack.sharding.enabled", havingValue = "true")
+public class ShardedMedicalRecordRepository {
+    static final String SEQUENCE = "medical_records";
+    static final String COLUMNS = "id, pet_id, owner_id, created_by_user_id, date, weight, type, description";
+    static final String INSERT = "INSERT INTO medical_records "
+            + "(id, pet_id, owner_id, created_by_user_id, date, weight, type, description) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    static final RowMapper<MedicalRecordSnapshot> RECORD = (resultSet, rowNum) -> new MedicalRecordSnapshot(
+            resultSet.getLong(1), resultSet.getLong(2), resultSet.getLong(3), resultSet.getLong(4),
+            resultSet.getDate(5).toLocalDate(), resultSet.getDouble(6),
+            MedicalRecordType.valueOf(resultSet.getString(7)), resultSet.getString(8));
+
+    private static final MedicalRecordSearch ALL = new MedicalRecordSearch(null, null, null, null, null, null, null, 0);
+    private static final String NEWEST_FIRST = " ORDER BY date DESC, id DESC";
+    private static final String BEFORE_CURSOR = " AND (date < ? OR (date = ? AND id < ?))";
+    private static final Comparator<MedicalRecordSnapshot> NEWEST_FIRST_ORDER =
+            Comparator.comparing(MedicalRecordSnapshot::date).thenComparing(MedicalRecordSnapshot::id).reversed();
+
+    private final Shards shards;
+    private final ShardIdAllocator idAllocator;
+
+    public ShardedMedicalRecordRepository(Shards shards, ShardIdAllocator idAllocator) {
+        this.shards = shards;
+        this.idAllocator = idAllocator;
+    }
+
+    /**
+     * Stores a new record on the shard of {@code record.ownerId()}, which must own {@code record.petId()};
+     * the id of {@code record} is ignored and a new one assigned. The pet row stays locked until the
+     * record is in, so the pet cannot move to another shard without it.
+     */
+    public MedicalRecordSnapshot insert(MedicalRecordSnapshot record) {
+        MedicalRecordSnapshot stored = new MedicalRecordSnapshot(idAllocator.next(SEQUENCE), record.petId(),
+                record.ownerId(), record.veterinaryId(), record.date(), record.weight(), record.type(),
+                record.description());
+        Shards.Shard shard = shards.forOwner(stored.ownerId());
+        shard.transactionTemplate().executeWithoutResult(status -> {
+            lockPet(shard, stored);
+            shard.jdbcTemplate().update(INSERT, insertArguments(stored, stored.ownerId()));
+        });
+        return stored;
+    }
+
+    public Optional<MedicalRecordSnapshot> findById(long id) {
+        return shards.findAny(shard -> shard.jdbcTemplate()
+                .query("SELECT " + COLUMNS + " FROM medical_records WHERE id = ?", RECORD, id)
+                .stream()
+                .findFirst());
+    }
+
+    /**
+     * Replaces the record {@code before} with {@code after}, whose pet must belong to
+     * {@code after.ownerId()}. A record moving to a pet of an owner on another shard is copied there
+     * and then deleted here, with the same caveat as {@link ShardedPetRepository#transfer}. Returns
+     * false if the record is no longer on the shard of {@code before.ownerId()}.
+     */
+    public boolean update(MedicalRecordSnapshot before, MedicalRecordSnapshot after) {
+        Shards.Shard source = shards.forOwner(before.ownerId());
+        Shards.Shard target = shards.forOwner(after.ownerId());
+
+        if (source.index() == target.index()) {
+            return Boolean.TRUE.equals(source.transactionTemplate().execute(status -> {
+                lockPet(source, after);
+                return source.jdbcTemplate().update(
+                        "UPDATE medical_records SET pet_id = ?, owner_id = ?, created_by_user_id = ?, date = ?, "
+                                + "weight = ?, type = ?, description = ? WHERE id = ?",
+                        after.petId(), after.ownerId(), after.veterinaryId(), Date.valueOf(after.date()),
+                        after.weight(), after.type().name(), after.description(), before.id()) == 1;
+            }));
+        }
+
+        return Boolean.TRUE.equals(source.transactionTemplate().execute(status -> {
+            if (source.jdbcTemplate().update("DELETE FROM medical_records WHERE id = ?", before.id()) == 0) {
+                return false;
+            }
+            target.transactionTemplate().executeWithoutResult(copy -> {
+                lockPet(target, after);
+                target.jdbcTemplate().update("DELETE FROM medical_records WHERE id = ?", after.id());
+                target.jdbcTemplate().update(INSERT, insertArguments(after, after.ownerId()));
+            });
+            return true;
+        }));
+    }
+
+    public boolean delete(MedicalRecordSnapshot record) {
+        return shards.forOwner(record.ownerId()).jdbcTemplate()
+                .update("DELETE FROM medical_records WHERE id = ?", record.id()) == 1;
+    }
+
+    /** An owner's records, newest first, after {@code cursor} when it is given. */
+    public List<MedicalRecordSnapshot> findByOwnerId(long ownerId, MedicalRecordCursor cursor, int size) {
+        return search(ALL, ownerId, cursor, size);
+    }
+
+    /** A pet's records, newest first, after {@code cursor} when it is given. */
+    public List<MedicalRecordSnapshot> findByPetId(long ownerId, long petId, MedicalRecordCursor cursor, int size) {
+        return search(new MedicalRecordSearch(petId, null, null, null, null, null, null, size), ownerId, cursor, size);
+    }
+
+    /** The clinic-wide listing, newest first, after {@code cursor} when it is given. */
+    public List<MedicalRecordSnapshot> findPage(MedicalRecordCursor cursor, int size) {
+        return search(ALL, null, cursor, size);
+    }
+
+    /**
+     * The records matching every non-null criterion of {@code search}, newest first, after
+     * {@code cursor} when it is given; at most {@code size} of them, or all when {@code size} is null.
+     * With an {@code ownerId} only that owner's shard is read, otherwise every shard.
+     */
+    public List<MedicalRecordSnapshot> search(MedicalRecordSearch search, Long ownerId, MedicalRecordCursor cursor,
+                                              Integer size) {
+        if (ownerId != null) {
+            return page(shards.forOwner(ownerId), search, ownerId, cursor, size);
+        }
+        Function<Shards.Shard, List<MedicalRecordSnapshot>> query = shard -> page(shard, search, null, cursor, size);
+        return size != null
+                ? shards.mergeSorted(query, NEWEST_FIRST_ORDER, size)
+                : shards.mergeSorted(query, NEWEST_FIRST_ORDER);
+    }
+
+    private List<MedicalRecordSnapshot> page(Shards.Shard shard, MedicalRecordSearch search, Long ownerId,
+                                             MedicalRecordCursor cursor, Integer size) {
+        StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + " FROM medical_records WHERE 1 = 1");
+        List<Object> arguments = new ArrayList<>();
+        where(sql, arguments, " AND pet_id = ?", search.petId());
+        where(sql, arguments, " AND type = ?", search.type() != null ? search.type().name() : null);
+        where(sql, arguments, " AND date >= ?", search.from() != null ? Date.valueOf(search.from()) : null);
+        where(sql, arguments, " AND date <= ?", search.to() != null ? Date.valueOf(search.to()) : null);
+        where(sql, arguments, " AND created_by_user_id = ?", search.veterinaryId());
+        where(sql, arguments, " AND owner_id = ?", ownerId);
+        if (cursor != null) {
+            sql.append(BEFORE_CURSOR);
+            arguments.add(Date.valueOf(cursor.date()));
+            arguments.add(Date.valueOf(cursor.date()));
+            arguments.add(cursor.id());
+        }
+        sql.append(NEWEST_FIRST);
+        if (size != null) {
+            sql.append(" LIMIT ?");
+            arguments.add(size);
+        }
+        return shard.jdbcTemplate().query(sql.toString(), RECORD, arguments.toArray());
+    }
+
+    private static void where(StringBuilder sql, List<Object> arguments, String condition, Object value) {
+        if (value != null) {
+            sql.append(condition);
+            arguments.add(value);
+        }
+    }
+
+    private static void lockPet(Shards.Shard shard, MedicalRecordSnapshot record) {
+        Long petOwner = shard.jdbcTemplate()
+                .queryForList("SELECT user_id FROM pets WHERE id = ? FOR UPDATE", Long.class, record.petId())
+                .stream()
+                .findFirst()
+                .orElse(null);
+        if (!record.ownerId().equals(petOwner)) {
+            throw new IllegalArgumentException("Pet " + record.petId() + " does not belong to owner " + record.ownerId());
+        }
+    }
+
+    static Object[] insertArguments(MedicalRecordSnapshot record, long ownerId) {
+        return new Object[]{record.id(), record.petId(), ownerId, record.veterinaryId(), Date.valueOf(record.date()),
+                record.weight(), record.type().name(), record.description()};
+    }
+}
@@ -0,0 +1,197 @@
+package com.femcoders.pettrack.shard;
+
+import com.femcoders.pettrack.events.MedicalRecordSnapshot;
+import com.femcoders.pettrack.events.PetSnapshot;
+import com.femcoders.pettrack.exceptions.EntityNotFoundException;
+import com.femcoders.pettrack.models.Pet;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Pets partitioned by owner: each pet lives, with its medical records, on its owner's shard. Lookups
+ * by owner touch one shard; lookups by id and the clinic-wide listing ask every shard.
+ */
+@Component
+@ConditionalOnProperty(name = "pettrack.sharding.enabled", havingValue = "true")
+public class ShardedPetRepository {
+    static final String SEQUENCE = "pets";
+
+    private static final String COLUMNS = "id, user_id, species, name, breed, birth_date, image";
+    private static final String INSERT =
+            "INSERT INTO pets (id, user_id, species, name, breed, birth_date, image) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final RowMapper<PetSnapshot> PET = (resultSet, rowNum) -> new PetSnapshot(
+            resultSet.getLong(1), resultSet.getLong(2), resultSet.getString(3), resultSet.getString(4),
+            resultSet.getString(5), resultSet.getDate(6).toLocalDate(), resultSet.getString(7));
+
+    private static final Comparator<PetSnapshot> BY_ID = Comparator.comparing(PetSnapshot::id);
+
+    private final Shards shards;
+    private final ShardIdAllocator idAllocator;
+
+    public ShardedPetRepository(Shards shards, ShardIdAllocator idAllocator) {
+        this.shards = shards;
+        this.idAllocator = idAllocator;
+    }
+
+    /** Stores a new pet on its owner's shard; the id of {@code pet} is ignored and a new one assigned. */
+    public PetSnapshot insert(PetSnapshot pet) {
+        PetSnapshot stored = new PetSnapshot(idAllocator.next(SEQUENCE), pet.ownerId(), pet.species(), pet.name(),
+                pet.breed(), pet.birthDate(), pet.image());
+        shards.forOwner(stored.ownerId()).jdbcTemplate().update(INSERT, insertArguments(stored));
+        return stored;
+    }
+
+    public Optional<PetSnapshot> findById(long id) {
+        return shards.findAny(shard -> shard.jdbcTemplate()
+                .query("SELECT " + COLUMNS + " FROM pets WHERE id = ?", PET, id)
+                .stream()
+                .findFirst());
+    }
+
+    public List<PetSnapshot> findByOwnerId(long ownerId) {
+        return shards.forOwner(ownerId).jdbcTemplate()
+                .query("SELECT " + COLUMNS + " FROM pets WHERE user_id = ? ORDER BY id", PET, ownerId);
+    }
+
+    /** The pets with the given ids, in id order, read only from the shards of {@code ownerIds}. */
+    public List<PetSnapshot> findByIds(Collection<Long> ownerIds, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        return shards.mergeSorted(ownerIds, shard -> shard.jdbcTemplate()
+                        .query("SELECT " + COLUMNS + " FROM pets WHERE id IN (" + placeholders + ") ORDER BY id",
+                                PET, ids.toArray()),
+                BY_ID);
+    }
+
+    /** Every pet, in id order. */
+    public List<PetSnapshot> findAll() {
+        return shards.mergeSorted(shard -> shard.jdbcTemplate()
+                .query("SELECT " + COLUMNS + " FROM pets ORDER BY id", PET), BY_ID);
+    }
+
+    /**
+     * The pets whose name, species and breed contain the given lower-case values, in id order; a null
+     * value matches every pet.
+     */
+    public List<PetSnapshot> findByFilter(String name, String species, String breed) {
+        StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + " FROM pets WHERE 1 = 1");
+        List<Object> arguments = new ArrayList<>();
+        contains(sql, arguments, "name", name);
+        contains(sql, arguments, "species", species);
+        contains(sql, arguments, "breed", breed);
+        sql.append(" ORDER BY id");
+        return shards.mergeSorted(shard -> shard.jdbcTemplate().query(sql.toString(), PET, arguments.toArray()), BY_ID);
+    }
+
+    /** The pets called {@code name}, ignoring case, in id order. */
+    public List<PetSnapshot> findByName(String name) {
+        return shards.mergeSorted(shard -> shard.jdbcTemplate()
+                .query("SELECT " + COLUMNS + " FROM pets WHERE LOWER(name) = LOWER(?) ORDER BY id", PET, name), BY_ID);
+    }
+
+    /** The clinic-wide listing in id order: up to {@code size} pets with an id above {@code afterId}. */
+    public List<PetSnapshot> findPage(long afterId, int size) {
+        return shards.mergeSorted(shard -> shard.jdbcTemplate()
+                        .query("SELECT " + COLUMNS + " FROM pets WHERE id > ? ORDER BY id LIMIT ?", PET, afterId, size),
+                BY_ID, size);
+    }
+
+    /** Updates a pet that keeps its owner; use {@link #transfer} to change it. */
+    public boolean update(PetSnapshot pet) {
+        return shards.forOwner(pet.ownerId()).jdbcTemplate().update(
+                "UPDATE pets SET species = ?, name = ?, breed = ?, birth_date = ?, image = ? WHERE id = ? AND user_id = ?",
+                pet.species(), pet.name(), pet.breed(), Date.valueOf(pet.birthDate()), pet.image(),
+                pet.id(), pet.ownerId()) == 1;
+    }
+
+    /**
+     * Deletes the pet and its medical records, and returns the deleted records; empty if the pet was
+     * no longer on its owner's shard.
+     */
+    public Optional<List<MedicalRecordSnapshot>> delete(PetSnapshot pet) {
+        Shards.Shard shard = shards.forOwner(pet.ownerId());
+        return shard.transactionTemplate().execute(status -> {
+            if (shard.jdbcTemplate().queryForList("SELECT id FROM pets WHERE id = ? FOR UPDATE", Long.class, pet.id()).isEmpty()) {
+                return Optional.empty();
+            }
+            List<MedicalRecordSnapshot> records = shard.jdbcTemplate().query(
+                    "SELECT " + ShardedMedicalRecordRepository.COLUMNS + " FROM medical_records WHERE pet_id = ?",
+                    ShardedMedicalRecordRepository.RECORD, pet.id());
+            shard.jdbcTemplate().update("DELETE FROM medical_records WHERE pet_id = ?", pet.id());
+            shard.jdbcTemplate().update("DELETE FROM pets WHERE id = ?", pet.id());
+            return Optional.of(records);
+        });
+    }
+
+    /**
+     * Gives the pet and its medical records to {@code newOwnerId} and returns the pet as moved. The pet
+     * row is locked and re-read on the source shard first, and the transfer fails if it is gone or no
+     * longer belongs to {@code pet.ownerId()}; the lock holds back new records and updates while,
+     * between shards, the locked row and its records are copied to the target shard and then deleted
+     * from the source. If the source transaction fails after the copy committed, both shards hold the
+     * pet; repeating the transfer replaces the copy.
+     */
+    public PetSnapshot transfer(PetSnapshot pet, long newOwnerId) {
+        Shards.Shard source = shards.forOwner(pet.ownerId());
+        Shards.Shard target = shards.forOwner(newOwnerId);
+
+        return source.transactionTemplate().execute(status -> {
+            PetSnapshot moved = lock(source, pet).withOwnerId(newOwnerId);
+            if (source.index() == target.index()) {
+                source.jdbcTemplate().update("UPDATE pets SET user_id = ? WHERE id = ?", newOwnerId, pet.id());
+                source.jdbcTemplate().update("UPDATE medical_records SET owner_id = ? WHERE pet_id = ?", newOwnerId, pet.id());
+                return moved;
+            }
+
+            List<MedicalRecordSnapshot> records = source.jdbcTemplate().query(
+                    "SELECT " + ShardedMedicalRecordRepository.COLUMNS + " FROM medical_records WHERE pet_id = ?",
+                    ShardedMedicalRecordRepository.RECORD, pet.id());
+            target.transactionTemplate().executeWithoutResult(copy -> {
+                target.jdbcTemplate().update("DELETE FROM medical_records WHERE pet_id = ?", pet.id());
+                target.jdbcTemplate().update("DELETE FROM pets WHERE id = ?", pet.id());
+                target.jdbcTemplate().update(INSERT, insertArguments(moved));
+                target.jdbcTemplate().batchUpdate(ShardedMedicalRecordRepository.INSERT, records.stream()
+                        .map(record -> ShardedMedicalRecordRepository.insertArguments(record, newOwnerId))
+                        .toList());
+            });
+            source.jdbcTemplate().update("DELETE FROM medical_records WHERE pet_id = ?", pet.id());
+            source.jdbcTemplate().update("DELETE FROM pets WHERE id = ?", pet.id());
+            return moved;
+        });
+    }
+
+    private static void contains(StringBuilder sql, List<Object> arguments, String column, String value) {
+        if (value != null) {
+            sql.append(" AND LOWER(").append(column).append(") LIKE ?");
+            arguments.add("%" + value + "%");
+        }
+    }
+
+    private static PetSnapshot lock(Shards.Shard shard, PetSnapshot pet) {
+        PetSnapshot locked = shard.jdbcTemplate()
+                .query("SELECT " + COLUMNS + " FROM pets WHERE id = ? FOR UPDATE", PET, pet.id())
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new EntityNotFoundException(Pet.class.getSimpleName(), pet.id()));
+        if (!locked.ownerId().equals(pet.ownerId())) {
+            throw new IllegalArgumentException("Pet " + pet.id() + " does not belong to owner " + pet.ownerId());
+        }
+        return locked;
+    }
+
+    private static Object[] insertArguments(PetSnapshot pet) {
+        return new Object[]{pet.id(), pet.ownerId(), pet.species(), pet.name(), pet.breed(),
+                Date.valueOf(pet.birthDate()), pet.image()};
+    }
+}
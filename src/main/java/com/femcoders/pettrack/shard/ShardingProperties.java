@@ -0,0 +1,34 @@
+package com.femcoders.pettrack.shard;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "pettrack.sharding")
+@Getter @Setter
+public class ShardingProperties {
+    private boolean enabled = false;
+    /**
+     * Shard databases. An owner's shard follows from the number of shards, so shards are only ever
+     * appended; each one added moves about 1/n of the owners, all of them onto the new shard.
+     */
+    private List<ShardDataSource> shards = new ArrayList<>();
+    /** Threads querying the shards in parallel for listings that span all owners. */
+    private int scatterThreads = 8;
+    /** A listing fails if any shard has not answered within this time. */
+    private Duration scatterTimeout = Duration.ofSeconds(5);
+    /** Ids reserved from the primary's sequences at a time. */
+    private int idBlockSize = 100;
+
+    @Getter @Setter
+    public static class ShardDataSource {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
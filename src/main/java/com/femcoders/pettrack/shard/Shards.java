@@ -0,0 +1,174 @@
+package com.femcoders.pettrack.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * The shard databases, each with its own pool and transaction manager, migrated from
+ * {@code db/shard} at startup. Owner-scoped work goes to {@link #forOwner(long)}; listings that span
+ * all owners query every shard in parallel and merge the per-shard pages.
+ */
+@Component
+@ConditionalOnProperty(name = "pettrack.sharding.enabled", havingValue = "true")
+public class Shards implements DisposableBean {
+    private final List<Shard> shards = new ArrayList<>();
+    private final List<HikariDataSource> dataSources = new ArrayList<>();
+    private final ShardRouter router;
+    private final ExecutorService scatterExecutor;
+    private final Duration scatterTimeout;
+
+    public Shards(ShardingProperties properties) {
+        List<ShardingProperties.ShardDataSource> configured = properties.getShards();
+        if (configured.isEmpty()) {
+            throw new IllegalStateException("pettrack.sharding.shards must list at least one database");
+        }
+        this.router = new ShardRouter(configured.size());
+        this.scatterTimeout = properties.getScatterTimeout();
+        this.scatterExecutor = Executors.newFixedThreadPool(Math.max(1, properties.getScatterThreads()),
+                Thread.ofPlatform().name("shard-scatter-", 1).daemon().factory());
+
+        try {
+            for (int index = 0; index < configured.size(); index++) {
+                ShardingProperties.ShardDataSource shard = configured.get(index);
+                HikariDataSource dataSource = new HikariDataSource();
+                dataSource.setPoolName("shard-" + index);
+                dataSource.setJdbcUrl(shard.getUrl());
+                dataSource.setUsername(shard.getUsername());
+                dataSource.setPassword(shard.getPassword());
+                dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+                dataSources.add(dataSource);
+
+                Flyway.configure().dataSource(dataSource).locations("classpath:db/shard").load().migrate();
+                shards.add(new Shard(index, new JdbcTemplate(dataSource),
+                        new TransactionTemplate(new DataSourceTransactionManager(dataSource))));
+            }
+        } catch (RuntimeException e) {
+            destroy();
+            throw e;
+        }
+    }
+
+    public Shard forOwner(long ownerId) {
+        return shards.get(router.shardOf(ownerId));
+    }
+
+    public List<Shard> all() {
+        return List.copyOf(shards);
+    }
+
+    /**
+     * Runs {@code query} on every shard, each returning at most {@code limit} rows sorted by
+     * {@code order}, and merges them into the first {@code limit} rows overall.
+     */
+    public <T> List<T> mergeSorted(Function<Shard, List<T>> query, Comparator<? super T> order, int limit) {
+        return merge(scatter(shards, query), order, limit);
+    }
+
+    /** Runs {@code query}, which returns rows sorted by {@code order}, on every shard and merges all of them. */
+    public <T> List<T> mergeSorted(Function<Shard, List<T>> query, Comparator<? super T> order) {
+        return merge(scatter(shards, query), order, Integer.MAX_VALUE);
+    }
+
+    /** Like {@link #mergeSorted(Function, Comparator)}, but only on the shards of {@code ownerIds}. */
+    public <T> List<T> mergeSorted(Collection<Long> ownerIds, Function<Shard, List<T>> query, Comparator<? super T> order) {
+        List<Shard> owning = ownerIds.stream()
+                .map(this::forOwner)
+                .distinct()
+                .toList();
+        return merge(scatter(owning, query), order, Integer.MAX_VALUE);
+    }
+
+    private static <T> List<T> merge(List<List<T>> pages, Comparator<? super T> order, int limit) {
+        PriorityQueue<Head<T>> heads = new PriorityQueue<>((left, right) -> order.compare(left.value, right.value));
+        for (List<T> page : pages) {
+            Iterator<T> rows = page.iterator();
+            if (rows.hasNext()) {
+                heads.add(new Head<>(rows.next(), rows));
+            }
+        }
+
+        List<T> merged = new ArrayList<>();
+        while (merged.size() < limit && !heads.isEmpty()) {
+            Head<T> head = heads.poll();
+            merged.add(head.value);
+            if (head.rest.hasNext()) {
+                heads.add(new Head<>(head.rest.next(), head.rest));
+            }
+        }
+        return merged;
+    }
+
+    /** Runs {@code query} on every shard and returns a row found on any of them. */
+    public <T> Optional<T> findAny(Function<Shard, Optional<T>> query) {
+        return scatter(shards, query).stream()
+                .flatMap(Optional::stream)
+                .findFirst();
+    }
+
+    private <R> List<R> scatter(List<Shard> targets, Function<Shard, R> query) {
+        if (targets.size() == 1) {
+            return List.of(query.apply(targets.getFirst()));
+        }
+
+        List<Future<R>> futures = targets.stream()
+                .map(shard -> scatterExecutor.submit(() -> query.apply(shard)))
+                .toList();
+        long deadline = System.nanoTime() + scatterTimeout.toNanos();
+        List<R> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<R> future : futures) {
+                results.add(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            }
+            return results;
+        } catch (TimeoutException e) {
+            throw new QueryTimeoutException("A shard did not answer within " + scatterTimeout.toMillis() + " ms");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DataAccessException cause) {
+                throw cause;
+            }
+            throw new DataAccessResourceFailureException("A shard query failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessResourceFailureException("Interrupted while querying the shards", e);
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scatterExecutor.shutdownNow();
+        dataSources.forEach(HikariDataSource::close);
+    }
+
+    public record Shard(int index, JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+    }
+
+    private record Head<T>(T value, Iterator<T> rest) {
+    }
+}
@@ -0,0 +1,191 @@
+package com.femcoders.pettrack.stats;
+
+import com.femcoders.pettrack.dtos.statistics.ClinicStatisticsResponse;
+import com.femcoders.pettrack.events.MedicalRecordEvent;
+import com.femcoders.pettrack.events.MedicalRecordSnapshot;
+import com.femcoders.pettrack.events.PetEvent;
+import com.femcoders.pettrack.models.MedicalRecordType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Clinic-wide counts (pets per species, records per month and type, visits per veterinarian) held in
+ * {@link LongAdder}s, so concurrent writers never contend on a single counter and reads never touch
+ * the database. The counters are loaded from the database at startup, moved by the committed write
+ * events, and periodically rebuilt from the database, which also corrects any drift.
+ * <p>
+ * While a rebuild reads, events move both the published counters and the ones being loaded, so no
+ * write that commits after the rebuild's queries is lost when the new counters are published. A write
+ * that commits while the queries run may be counted twice or not at all, until the next rebuild.
+ */
+@Slf4j
+@Component
+public class ClinicStatistics {
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Counters counters = new Counters();
+    private volatile Counters rebuilding;
+    private volatile Instant reconciledAt;
+    private volatile long lastDrift;
+
+    public ClinicStatistics(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${pettrack.stats.reconcile-interval:15m}",
+            fixedDelayString = "${pettrack.stats.reconcile-interval:15m}")
+    public synchronized void reconcile() {
+        Counters fresh = new Counters();
+        rebuilding = fresh;
+        try {
+            load(fresh);
+            long drift = reconciledAt == null ? 0 : counters.distance(fresh);
+            counters = fresh;
+            lastDrift = drift;
+            reconciledAt = Instant.now();
+            if (drift > 0) {
+                log.warn("Clinic statistics drifted by {} from the database and were reset", drift);
+            }
+        } catch (Exception e) {
+            log.warn("Could not reconcile clinic statistics: {}", e.getMessage());
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMedicalRecordEvent(MedicalRecordEvent event) {
+        apply(current -> {
+            if (event.before() != null) {
+                current.addRecord(event.before(), -1);
+            }
+            if (event.after() != null) {
+                current.addRecord(event.after(), 1);
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPetEvent(PetEvent event) {
+        apply(current -> {
+            if (event.before() != null) {
+                Counters.add(current.petsBySpecies, event.before().species(), -1);
+            }
+            if (event.after() != null) {
+                Counters.add(current.petsBySpecies, event.after().species(), 1);
+            }
+        });
+    }
+
+    public ClinicStatisticsResponse snapshot() {
+        Counters current = counters;
+        Map<String, Map<MedicalRecordType, Long>> recordsByMonth = new TreeMap<>();
+        current.recordsByMonthAndType.forEach((key, count) -> {
+            long value = count.sum();
+            if (value != 0) {
+                recordsByMonth.computeIfAbsent(key.month().toString(), month -> new TreeMap<>()).put(key.type(), value);
+            }
+        });
+        return new ClinicStatisticsResponse(
+                Counters.sums(current.petsBySpecies),
+                recordsByMonth,
+                Counters.sums(current.visitsByVeterinarian),
+                reconciledAt,
+                lastDrift
+        );
+    }
+
+    /**
+     * Reads the rebuild before the published counters: when no rebuild is seen, any rebuild that starts
+     * afterwards queries the database after this event's commit, so it already counts the write.
+     */
+    private void apply(Consumer<Counters> delta) {
+        Counters next = rebuilding;
+        Counters current = counters;
+        delta.accept(current);
+        if (next != null && next != current) {
+            delta.accept(next);
+        }
+    }
+
+    private void load(Counters fresh) {
+        jdbcTemplate.query("SELECT species, COUNT(*) FROM pets GROUP BY species",
+                resultSet -> {
+                    Counters.add(fresh.petsBySpecies, resultSet.getString(1), resultSet.getLong(2));
+                });
+        jdbcTemplate.query("SELECT date, type, COUNT(*) FROM medical_records GROUP BY date, type",
+                resultSet -> {
+                    MonthAndType key = new MonthAndType(YearMonth.from(resultSet.getDate(1).toLocalDate()),
+                            MedicalRecordType.valueOf(resultSet.getString(2)));
+                    Counters.add(fresh.recordsByMonthAndType, key, resultSet.getLong(3));
+                });
+        jdbcTemplate.query("SELECT created_by_user_id, COUNT(*) FROM medical_records GROUP BY created_by_user_id",
+                resultSet -> {
+                    Counters.add(fresh.visitsByVeterinarian, resultSet.getLong(1), resultSet.getLong(2));
+                });
+    }
+
+    record MonthAndType(YearMonth month, MedicalRecordType type) {
+    }
+
+    private static final class Counters {
+        private final ConcurrentHashMap<String, LongAdder> petsBySpecies = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<MonthAndType, LongAdder> recordsByMonthAndType = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<Long, LongAdder> visitsByVeterinarian = new ConcurrentHashMap<>();
+
+        void addRecord(MedicalRecordSnapshot record, long delta) {
+            add(recordsByMonthAndType, new MonthAndType(YearMonth.from(record.date()), record.type()), delta);
+            add(visitsByVeterinarian, record.veterinaryId(), delta);
+        }
+
+        long distance(Counters other) {
+            return distance(petsBySpecies, other.petsBySpecies)
+                    + distance(recordsByMonthAndType, other.recordsByMonthAndType)
+                    + distance(visitsByVeterinarian, other.visitsByVeterinarian);
+        }
+
+        static <K> void add(ConcurrentHashMap<K, LongAdder> counters, K key, long delta) {
+            counters.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+        }
+
+        static <K extends Comparable<K>> Map<K, Long> sums(ConcurrentHashMap<K, LongAdder> counters) {
+            Map<K, Long> sums = new TreeMap<>();
+            counters.forEach((key, count) -> {
+                long value = count.sum();
+                if (value != 0) {
+                    sums.put(key, value);
+                }
+            });
+            return sums;
+        }
+
+        private static <K> long distance(Map<K, LongAdder> left, Map<K, LongAdder> right) {
+            Set<K> keys = new HashSet<>(left.keySet());
+            keys.addAll(right.keySet());
+            long distance = 0;
+            for (K key : keys) {
+                long leftValue = left.containsKey(key) ? left.get(key).sum() : 0;
+                long rightValue = right.containsKey(key) ? right.get(key).sum() : 0;
+                distance += Math.abs(leftValue - rightValue);
+            }
+            return distance;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.femcoders.pettrack.utils;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class Downsampling {
+
+    /**
+     * Largest-Triangle-Three-Buckets: keeps the first and last points and, from each of the
+     * {@code threshold - 2} buckets in between, the point forming the largest triangle with the
+     * previously kept point and the average of the next bucket. Peaks and dips survive, so the
+     * chart keeps its visual shape. Points must be sorted by x; returns them unchanged when
+     * there are no more than {@code threshold}.
+     */
+    public static <T> List<T> largestTriangleThreeBuckets(List<T> points, int threshold,
+                                                          ToDoubleFunction<T> x, ToDoubleFunction<T> y) {
+        if (threshold < 3) {
+            throw new IllegalArgumentException("Threshold must be at least 3");
+        }
+        if (points.size() <= threshold) {
+            return points;
+        }
+
+        List<T> sampled = new ArrayList<>(threshold);
+        double bucketSize = (double) (points.size() - 2) / (threshold - 2);
+        int selected = 0;
+        sampled.add(points.getFirst());
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            int nextStart = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, points.size());
+            double averageX = 0;
+            double averageY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                averageX += x.applyAsDouble(points.get(i));
+                averageY += y.applyAsDouble(points.get(i));
+            }
+            averageX /= nextEnd - nextStart;
+            averageY /= nextEnd - nextStart;
+
+            int start = (int) Math.floor(bucket * bucketSize) + 1;
+            int end = nextStart;
+            double selectedX = x.applyAsDouble(points.get(selected));
+            double selectedY = y.applyAsDouble(points.get(selected));
+            double maxArea = -1;
+            int next = start;
+            for (int i = start; i < end; i++) {
+                double area = Math.abs((selectedX - averageX) * (y.applyAsDouble(points.get(i)) - selectedY)
+                        - (selectedX - x.applyAsDouble(points.get(i))) * (averageY - selectedY));
+                if (area > maxArea) {
+                    maxArea = area;
+                    next = i;
+                }
+            }
+            sampled.add(points.get(next));
+            selected = next;
+        }
+
+        sampled.add(points.getLast());
+        return sampled;
+    }
+}
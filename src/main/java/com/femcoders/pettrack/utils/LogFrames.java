@@ -0,0 +1,46 @@
+package com.femcoders.pettrack.utils;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * Framing shared by the file-backed logs: each entry is its payload length, the CRC32 of the payload
+ * and the payload, so a reader can tell a complete entry from a torn or corrupted one.
+ */
+public final class LogFrames {
+    public static final int HEADER_BYTES = 8;
+
+    private LogFrames() {
+    }
+
+    public static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    public static void put(ByteBuffer buffer, byte[] payload) {
+        buffer.putInt(payload.length).putInt(checksum(payload)).put(payload);
+    }
+
+    /** Reads the frame at the buffer's position, leaving the position unchanged when it is missing or corrupt. */
+    public static byte[] next(ByteBuffer frames) {
+        int start = frames.position();
+        if (frames.remaining() < HEADER_BYTES) {
+            return null;
+        }
+        int length = frames.getInt();
+        int checksum = frames.getInt();
+        if (length < 0 || length > frames.remaining()) {
+            frames.position(start);
+            return null;
+        }
+        byte[] payload = new byte[length];
+        frames.get(payload);
+        if (checksum(payload) != checksum) {
+            frames.position(start);
+            return null;
+        }
+        return payload;
+    }
+}
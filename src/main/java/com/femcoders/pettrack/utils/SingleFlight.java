@@ -0,0 +1,71 @@
+package com.femcoders.pettrack.utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical reads: the first caller for a key runs the loader, and callers that
+ * arrive with the same key while it is still running wait for and share its result or exception.
+ * Nothing is kept once the load finishes, so the next caller always starts a fresh load.
+ * <p>
+ * A load that started before a write committed may not see it, so the owner calls {@link #invalidate()}
+ * after every commit that can change a result. Callers arriving after that never join a load started
+ * before it, which means a caller who reads right after their own write gets the written data.
+ * <p>
+ * Keys must identify everything the result depends on, including the caller's visibility scope,
+ * and results must be immutable because several threads receive the same instance.
+ */
+public class SingleFlight {
+    private final ConcurrentHashMap<Flight, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, Supplier<T> loader) {
+        Flight flight = new Flight(key, generation.get());
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(flight, call);
+        if (running != null) {
+            return (T) await(running);
+        }
+
+        try {
+            T result = loader.get();
+            call.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flight, call);
+        }
+    }
+
+    /** Makes every later caller start a fresh load instead of joining one that is already running. */
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private Object await(CompletableFuture<Object> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Flight(Object key, long generation) {
+    }
+}
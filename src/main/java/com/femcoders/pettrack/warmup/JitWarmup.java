@@ -0,0 +1,114 @@
+package com.femcoders.pettrack.warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordMapper;
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordResponse;
+import com.femcoders.pettrack.dtos.pet.PetMapper;
+import com.femcoders.pettrack.dtos.pet.PetResponse;
+import com.femcoders.pettrack.models.Role;
+import com.femcoders.pettrack.models.User;
+import com.femcoders.pettrack.repositories.MedicalRecordRepository;
+import com.femcoders.pettrack.repositories.PetRepository;
+import com.femcoders.pettrack.security.UserDetail;
+import com.femcoders.pettrack.security.jwt.JwtService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Drives the request hot paths (token validation, pet listing, record mapping and JSON serialization)
+ * in-process after startup so they are JIT-compiled before readiness reports UP.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JitWarmup {
+    private final WarmupProperties properties;
+    private final JwtService jwtService;
+    private final PetRepository petRepository;
+    private final MedicalRecordRepository medicalRecordRepository;
+    private final PetMapper petMapper;
+    private final MedicalRecordMapper medicalRecordMapper;
+    private final ObjectMapper objectMapper;
+
+    private volatile WarmupResult result;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (properties.isEnabled()) {
+            Thread.ofPlatform().name("jit-warmup").daemon().start(this::run);
+        }
+    }
+
+    public boolean isComplete() {
+        return !properties.isEnabled() || result != null;
+    }
+
+    public Optional<WarmupResult> getResult() {
+        return Optional.ofNullable(result);
+    }
+
+    void run() {
+        UserDetail userDetail = new UserDetail(User.builder().id(0L).username("warmup").role(Role.VETERINARY).build());
+        Pageable page = PageRequest.of(0, properties.getPageSize());
+        int sampleSize = Math.max(1, properties.getSampleSize());
+        long[] lastSamples = new long[sampleSize];
+        long firstTotal = 0;
+        long iterations = 0;
+        long start = System.nanoTime();
+        long deadline = start + properties.getDuration().toNanos();
+        String error = null;
+
+        try {
+            do {
+                long iterationStart = System.nanoTime();
+                iteration(userDetail, page);
+                long elapsed = System.nanoTime() - iterationStart;
+                if (iterations < sampleSize) {
+                    firstTotal += elapsed;
+                }
+                lastSamples[(int) (iterations % sampleSize)] = elapsed;
+                iterations++;
+            } while (System.nanoTime() < deadline);
+        } catch (Exception e) {
+            error = e.getMessage();
+            log.warn("JIT warm-up stopped after {} iterations: {}", iterations, e.getMessage());
+        }
+
+        int samples = (int) Math.min(iterations, sampleSize);
+        double firstMean = samples > 0 ? firstTotal / 1_000.0 / samples : 0;
+        double lastMean = samples > 0 ? sum(lastSamples, samples) / 1_000.0 / samples : 0;
+        result = new WarmupResult(iterations, (System.nanoTime() - start) / 1_000_000, firstMean, lastMean,
+                lastMean > 0 ? firstMean / lastMean : 0, error);
+        log.info("JIT warm-up finished: {} iterations in {} ms, mean iteration {} µs -> {} µs",
+                iterations, result.elapsedMillis(), Math.round(firstMean), Math.round(lastMean));
+    }
+
+    private void iteration(UserDetail userDetail, Pageable page) throws JsonProcessingException {
+        String token = jwtService.generateToken(userDetail);
+        if (jwtService.isValidToken(token)) {
+            jwtService.extractUsername(token);
+        }
+        List<PetResponse> pets = petRepository.findAll(page).map(petMapper::entityToDto).getContent();
+        List<MedicalRecordResponse> medicalRecords = medicalRecordRepository.findAll(page)
+                .map(medicalRecordMapper::entityToDto).getContent();
+        objectMapper.writeValueAsBytes(pets);
+        objectMapper.writeValueAsBytes(medicalRecords);
+    }
+
+    private long sum(long[] values, int count) {
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            total += values[i];
+        }
+        return total;
+    }
+}
@@ -0,0 +1,16 @@
+package com.femcoders.pettrack.warmup;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "pettrack.warmup")
+@Getter @Setter
+public class WarmupProperties {
+    private boolean enabled = false;
+    private Duration duration = Duration.ofSeconds(20);
+    private int pageSize = 50;
+    private int sampleSize = 50;
+}
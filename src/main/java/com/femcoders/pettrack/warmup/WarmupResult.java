@@ -0,0 +1,11 @@
+package com.femcoders.pettrack.warmup;
+
+public record WarmupResult(
+        long iterations,
+        long elapsedMillis,
+        double firstIterationsMeanMicros,
+        double lastIterationsMeanMicros,
+        double speedup,
+        String error
+) {
+}
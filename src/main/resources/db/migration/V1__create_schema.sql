@@ -0,0 +1,44 @@
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(50) NOT NULL,
+    email VARCHAR(50) NOT NULL,
+    password VARCHAR(100) NOT NULL,
+    role ENUM('USER', 'VETERINARY') NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE pets (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    species VARCHAR(255) NOT NULL,
+    breed VARCHAR(255) NOT NULL,
+    birth_date DATE NOT NULL,
+    image VARCHAR(255) NOT NULL,
+    user_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_pets_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE medical_records (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    description VARCHAR(255) NOT NULL,
+    weight FLOAT(53) NOT NULL,
+    date DATE NOT NULL,
+    type ENUM('REVISION', 'SURGERY', 'VACCINATION') NOT NULL,
+    pet_id BIGINT NOT NULL,
+    created_by_user_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_medical_records_pet FOREIGN KEY (pet_id) REFERENCES pets (id),
+    CONSTRAINT fk_medical_records_created_by FOREIGN KEY (created_by_user_id) REFERENCES users (id)
+);
+
+-- A pet's history in date order; the leading pet_id column also backs fk_medical_records_pet.
+CREATE INDEX idx_medical_records_pet_date ON medical_records (pet_id, date);
+
+-- Records authored by a veterinarian; also backs fk_medical_records_created_by.
+CREATE INDEX idx_medical_records_created_by ON medical_records (created_by_user_id);
+
+-- An owner's pets, and pet-by-name lookups scoped to an owner; also backs fk_pets_user.
+CREATE INDEX idx_pets_user_name ON pets (user_id, name);
@@ -0,0 +1,16 @@
+-- Indexes for GET /api/medical-records/search. Every filter combination leads with an equality
+-- column followed by date, so date ranges and the (date, id) keyset order are index range scans
+-- (InnoDB appends the primary key to each secondary index).
+
+-- petId + type (+ date range)
+CREATE INDEX idx_medical_records_pet_type_date ON medical_records (pet_id, type, date);
+
+-- type (+ date range)
+CREATE INDEX idx_medical_records_type_date ON medical_records (type, date);
+
+-- date range only
+CREATE INDEX idx_medical_records_date ON medical_records (date);
+
+-- veterinarian (+ date range); supersedes the single-column index, which also backed the foreign key
+CREATE INDEX idx_medical_records_created_by_date ON medical_records (created_by_user_id, date);
+DROP INDEX idx_medical_records_created_by ON medical_records;
@@ -0,0 +1,5 @@
+-- Weight series for GET /api/pets/{id}/weights read (date, weight) straight from the index
+-- instead of the table rows. The new index also serves every (pet_id, date) lookup and the
+-- foreign key, so it replaces idx_medical_records_pet_date.
+CREATE INDEX idx_medical_records_pet_date_weight ON medical_records (pet_id, date, weight);
+DROP INDEX idx_medical_records_pet_date ON medical_records;
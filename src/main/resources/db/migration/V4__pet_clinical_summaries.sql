@@ -0,0 +1,21 @@
+-- One row per pet with the figures the dashboards show, kept up to date by the medical record
+-- writes in the same transaction so reading them is a single primary-key lookup.
+CREATE TABLE pet_clinical_summaries (
+    pet_id BIGINT NOT NULL,
+    record_count INT NOT NULL,
+    last_visit_record_id BIGINT,
+    last_visit_date DATE,
+    last_weight FLOAT(53),
+    last_vaccination_date DATE,
+    PRIMARY KEY (pet_id),
+    CONSTRAINT fk_pet_clinical_summaries_pet FOREIGN KEY (pet_id) REFERENCES pets (id) ON DELETE CASCADE
+);
+
+INSERT INTO pet_clinical_summaries (pet_id, record_count, last_visit_record_id, last_visit_date, last_weight, last_vaccination_date)
+SELECT p.id,
+       (SELECT COUNT(*) FROM medical_records m WHERE m.pet_id = p.id),
+       (SELECT m.id FROM medical_records m WHERE m.pet_id = p.id ORDER BY m.date DESC, m.id DESC LIMIT 1),
+       (SELECT MAX(m.date) FROM medical_records m WHERE m.pet_id = p.id),
+       (SELECT m.weight FROM medical_records m WHERE m.pet_id = p.id ORDER BY m.date DESC, m.id DESC LIMIT 1),
+       (SELECT MAX(m.date) FROM medical_records m WHERE m.pet_id = p.id AND m.type = 'VACCINATION')
+FROM pets p;
@@ -0,0 +1,23 @@
+-- Next vaccination due date per pet, rebuilt by the nightly VaccinationReminderJob. Owners reach
+-- their rows through idx_pets_user_name; clinic-wide due lists read idx_vaccination_reminders_due_date.
+CREATE TABLE vaccination_reminders (
+    pet_id BIGINT NOT NULL,
+    last_vaccination_date DATE,
+    due_date DATE NOT NULL,
+    PRIMARY KEY (pet_id),
+    CONSTRAINT fk_vaccination_reminders_pet FOREIGN KEY (pet_id) REFERENCES pets (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_vaccination_reminders_due_date ON vaccination_reminders (due_date);
+
+-- Progress of resumable background jobs: last_key is the highest key fully processed by the
+-- current run, NULL when no run is in progress.
+CREATE TABLE job_checkpoints (
+    job_name VARCHAR(100) NOT NULL,
+    last_key BIGINT,
+    updated_at TIMESTAMP(6),
+    completed_at TIMESTAMP(6),
+    PRIMARY KEY (job_name)
+);
+
+INSERT INTO job_checkpoints (job_name) VALUES ('vaccination-reminders');
@@ -0,0 +1,12 @@
+-- Change events written in the same transaction as the user, pet or medical record change they
+-- describe. The OutboxRelay copies them, in id order, to the file-backed change log and then
+-- deletes them, so the table only holds events that have not been relayed yet.
+CREATE TABLE outbox_events (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    aggregate_type VARCHAR(30) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    change_type VARCHAR(10) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,9 @@
+-- A single row rewritten on the primary every heartbeat interval. Reading it back from a replica
+-- tells how far behind replication is, independently of the database vendor's own status commands.
+CREATE TABLE replica_heartbeat (
+    id TINYINT NOT NULL,
+    beat_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, CURRENT_TIMESTAMP(6));
@@ -0,0 +1,11 @@
+-- Id sequences for pets and medical records stored in shard databases. Application nodes reserve
+-- blocks of ids by advancing next_value; the sequences start above the ids already used here so
+-- rows copied into the shards keep their ids.
+CREATE TABLE shard_sequences (
+    name VARCHAR(30) NOT NULL,
+    next_value BIGINT NOT NULL,
+    PRIMARY KEY (name)
+);
+
+INSERT INTO shard_sequences (name, next_value) SELECT 'pets', COALESCE(MAX(id), 0) + 1 FROM pets;
+INSERT INTO shard_sequences (name, next_value) SELECT 'medical_records', COALESCE(MAX(id), 0) + 1 FROM medical_records;
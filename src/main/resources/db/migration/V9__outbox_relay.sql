@@ -0,0 +1,11 @@
+-- A single row naming the change log the outbox is relayed to. The OutboxRelay locks it for each
+-- batch, so relays on several instances never move the same rows, and only the change log recorded
+-- here may relay: the first relay to find it empty claims it.
+CREATE TABLE outbox_relay (
+    id TINYINT NOT NULL,
+    change_log_id VARCHAR(36),
+    claimed_at TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+INSERT INTO outbox_relay (id, change_log_id, claimed_at) VALUES (1, NULL, NULL);
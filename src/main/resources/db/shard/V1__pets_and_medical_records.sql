@@ -0,0 +1,39 @@
+-- Schema of each shard database. A shard holds the pets of the owners routed to it and their medical
+-- records; users stay in the primary database, so owner and veterinarian ids are not foreign keys here.
+-- Ids come from shard_sequences in the primary and are unique across shards.
+CREATE TABLE pets (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    species VARCHAR(255) NOT NULL,
+    breed VARCHAR(255) NOT NULL,
+    birth_date DATE NOT NULL,
+    image VARCHAR(255) NOT NULL,
+    user_id BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- owner_id repeats the pet's owner so that an owner's records are read without a join.
+CREATE TABLE medical_records (
+    id BIGINT NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    weight FLOAT(53) NOT NULL,
+    date DATE NOT NULL,
+    type ENUM('REVISION', 'SURGERY', 'VACCINATION') NOT NULL,
+    pet_id BIGINT NOT NULL,
+    owner_id BIGINT NOT NULL,
+    created_by_user_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_medical_records_pet FOREIGN KEY (pet_id) REFERENCES pets (id)
+);
+
+-- An owner's pets in id order.
+CREATE INDEX idx_pets_user ON pets (user_id, id);
+
+-- A pet's history in (date, id) order; also backs fk_medical_records_pet.
+CREATE INDEX idx_medical_records_pet_date ON medical_records (pet_id, date, id);
+
+-- An owner's records in (date, id) order.
+CREATE INDEX idx_medical_records_owner_date ON medical_records (owner_id, date, id);
+
+-- The shard's share of the clinic-wide listing in (date, id) order.
+CREATE INDEX idx_medical_records_date ON medical_records (date, id);
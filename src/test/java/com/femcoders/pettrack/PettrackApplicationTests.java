@@ -1,15 +1,40 @@
 package com.femcoders.pettrack;
 
+import com.femcoders.pettrack.replica.ReplicaLagMonitor;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.ScheduledAnnotationBeanPostProcessor;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 @ActiveProfiles("test")
 @SpringBootTest
 class PettrackApplicationTests {
 
+	@Autowired
+	ScheduledAnnotationBeanPostProcessor scheduledTasks;
+
+	@Value("${spring.task.scheduling.pool.size}")
+	int schedulingPoolSize;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void schedulingPool_hasAThreadPerScheduledTask() {
+		// The replica heartbeat only runs with a replica configured, so it is counted from its class
+		long replicaTasks = Arrays.stream(ReplicaLagMonitor.class.getDeclaredMethods())
+				.filter(method -> method.isAnnotationPresent(Scheduled.class))
+				.count();
+
+		assertThat(scheduledTasks.getScheduledTasks().size() + replicaTasks).isLessThanOrEqualTo(schedulingPoolSize);
+	}
+
 }
@@ -0,0 +1,18 @@
+package com.femcoders.pettrack;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/** A BCrypt encoder at the lowest cost, so tests that create users do not spend their time hashing. */
+@TestConfiguration
+public class TestPasswordEncoderConfig {
+
+    @Bean
+    @Primary
+    PasswordEncoder testPasswordEncoder() {
+        return new BCryptPasswordEncoder(4);
+    }
+}
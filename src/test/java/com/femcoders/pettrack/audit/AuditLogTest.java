@@ -0,0 +1,110 @@
+package com.femcoders.pettrack.audit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("AuditLog Unit Tests")
+public class AuditLogTest {
+    @TempDir
+    Path directory;
+
+    private static List<byte[]> payloads(int from, int to) {
+        return IntStream.range(from, to)
+                .mapToObj(i -> ("entry-" + i).getBytes(StandardCharsets.UTF_8))
+                .toList();
+    }
+
+    private List<String> readAll() throws IOException {
+        return AuditLog.readAll(directory).stream()
+                .map(payload -> new String(payload, StandardCharsets.UTF_8))
+                .toList();
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".log")).sorted().toList();
+        }
+    }
+
+    @Test
+    @DisplayName("Should read back appended entries across reopen, in order")
+    void shouldRoundTrip() throws IOException {
+        try (AuditLog log = new AuditLog(directory, 1024 * 1024, 4, true)) {
+            log.append(payloads(0, 3));
+        }
+        try (AuditLog log = new AuditLog(directory, 1024 * 1024, 4, true)) {
+            log.append(payloads(3, 5));
+        }
+
+        assertThat(readAll()).containsExactly("entry-0", "entry-1", "entry-2", "entry-3", "entry-4");
+    }
+
+    @Test
+    @DisplayName("Should roll segments at the size limit and keep only the newest ones")
+    void shouldRollAndRetain() throws IOException {
+        // Each frame is 8 header bytes plus a 7-byte payload, so three fit in a 48-byte segment
+        try (AuditLog log = new AuditLog(directory, 48, 2, false)) {
+            log.append(payloads(0, 10));
+            assertThat(log.currentSegment()).isEqualTo(4);
+        }
+
+        assertThat(segments()).extracting(file -> file.getFileName().toString())
+                .containsExactly("audit-00000003.log", "audit-00000004.log");
+        assertThat(readAll()).containsExactly("entry-6", "entry-7", "entry-8", "entry-9");
+    }
+
+    @Test
+    @DisplayName("Should truncate a torn tail on open and resume appending after the last valid entry")
+    void shouldRecoverTornTail() throws IOException {
+        try (AuditLog log = new AuditLog(directory, 1024, 4, true)) {
+            log.append(payloads(0, 2));
+        }
+        Path segment = segments().getFirst();
+        long validLength = Files.size(segment);
+        Files.write(segment, new byte[]{0, 0, 0, 42, 1, 2}, StandardOpenOption.APPEND);
+
+        try (AuditLog log = new AuditLog(directory, 1024, 4, true)) {
+            assertThat(Files.size(segment)).isEqualTo(validLength);
+            log.append(payloads(2, 3));
+        }
+
+        assertThat(readAll()).containsExactly("entry-0", "entry-1", "entry-2");
+    }
+
+    @Test
+    @DisplayName("Should stop reading a segment at an entry whose checksum does not match")
+    void shouldDetectCorruption() throws IOException {
+        try (AuditLog log = new AuditLog(directory, 1024, 4, true)) {
+            log.append(payloads(0, 3));
+        }
+        Path segment = segments().getFirst();
+        byte[] bytes = Files.readAllBytes(segment);
+        bytes[15 + 8 + 2] ^= 0x01;
+        Files.write(segment, bytes);
+
+        assertThat(readAll()).containsExactly("entry-0");
+    }
+
+    @Test
+    @DisplayName("Should refuse a second writer on the same directory")
+    void shouldLockDirectory() throws IOException {
+        try (AuditLog ignored = new AuditLog(directory, 1024, 4, true)) {
+            assertThatThrownBy(() -> new AuditLog(directory, 1024, 4, true))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("locked");
+        }
+    }
+}
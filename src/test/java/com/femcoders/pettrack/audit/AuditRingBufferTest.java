@@ -0,0 +1,87 @@
+package com.femcoders.pettrack.audit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("AuditRingBuffer Unit Tests")
+public class AuditRingBufferTest {
+
+    @Test
+    @DisplayName("Should round the capacity up to a power of two")
+    void shouldRoundCapacity() {
+        assertThat(new AuditRingBuffer<Integer>(5).capacity()).isEqualTo(8);
+        assertThat(new AuditRingBuffer<Integer>(8).capacity()).isEqualTo(8);
+        assertThatThrownBy(() -> new AuditRingBuffer<Integer>(1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject offers when full and accept them again after draining, in order")
+    void shouldRejectWhenFull() {
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(4)).isFalse();
+
+        List<Integer> drained = new ArrayList<>();
+        assertThat(buffer.drainTo(drained, 3)).isEqualTo(3);
+        assertThat(buffer.offer(4)).isTrue();
+        buffer.drainTo(drained, 10);
+
+        assertThat(drained).containsExactly(0, 1, 2, 3, 4);
+        assertThat(buffer.drainTo(drained, 10)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should deliver every offer from concurrent producers exactly once")
+    void shouldNotLoseOrDuplicateUnderContention() throws Exception {
+        AuditRingBuffer<Long> buffer = new AuditRingBuffer<>(64);
+        int producers = 8;
+        int perProducer = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long base = (long) p * perProducer;
+            futures.add(executor.submit(() -> {
+                for (long i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            }));
+        }
+
+        Set<Long> received = new HashSet<>();
+        List<Long> batch = new ArrayList<>();
+        long[] lastPerProducer = new long[producers];
+        Arrays.fill(lastPerProducer, -1);
+        while (received.size() < producers * perProducer) {
+            batch.clear();
+            buffer.drainTo(batch, 32);
+            for (Long value : batch) {
+                assertThat(received.add(value)).isTrue();
+                int producer = (int) (value / perProducer);
+                assertThat(value).isGreaterThan(lastPerProducer[producer]);
+                lastPerProducer[producer] = value;
+            }
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertThat(received).hasSize(producers * perProducer);
+    }
+}
@@ -0,0 +1,118 @@
+package com.femcoders.pettrack.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.femcoders.pettrack.events.MedicalRecordEvent;
+import com.femcoders.pettrack.events.MedicalRecordSnapshot;
+import com.femcoders.pettrack.events.PetEvent;
+import com.femcoders.pettrack.events.PetSnapshot;
+import com.femcoders.pettrack.events.UserEvent;
+import com.femcoders.pettrack.events.UserSnapshot;
+import com.femcoders.pettrack.models.MedicalRecordType;
+import com.femcoders.pettrack.models.Role;
+import com.femcoders.pettrack.models.User;
+import com.femcoders.pettrack.security.UserDetail;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AuditTrail Unit Tests")
+public class AuditTrailTest {
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private AuditProperties properties;
+
+    @BeforeEach
+    void setup() {
+        properties = new AuditProperties();
+        properties.setDirectory(directory);
+        properties.setBufferSize(16);
+        properties.setSegmentSize(DataSize.ofKilobytes(64));
+        properties.setFsync(false);
+        UserDetail vet = new UserDetail(User.builder().id(4L).username("Carmen").role(Role.VETERINARY).build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(vet, null, vet.getAuthorities()));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private List<JsonNode> readLog() throws IOException {
+        List<JsonNode> entries = new ArrayList<>();
+        for (byte[] payload : AuditLog.readAll(directory)) {
+            entries.add(objectMapper.readTree(payload));
+        }
+        return entries;
+    }
+
+    private PetSnapshot pet(String name) {
+        return new PetSnapshot(1L, 1L, "Perro", name, "Labrador", LocalDate.parse("2021-05-10"), "luna.jpg");
+    }
+
+    @Test
+    @DisplayName("Should write who changed what, with before and after values, once stopped")
+    void shouldWriteCommittedChanges() throws IOException {
+        AuditTrail auditTrail = new AuditTrail(properties, objectMapper, new SimpleMeterRegistry());
+        auditTrail.start();
+
+        auditTrail.onPetEvent(new PetEvent(null, pet("Luna")));
+        auditTrail.onPetEvent(new PetEvent(pet("Luna"), pet("Lunita")));
+        auditTrail.onMedicalRecordEvent(new MedicalRecordEvent(new MedicalRecordSnapshot(
+                1L, 1L, 1L, 4L, LocalDate.parse("2024-03-15"), 25.0, MedicalRecordType.VACCINATION, "Rabia"), null));
+        SecurityContextHolder.clearContext();
+        auditTrail.onUserEvent(new UserEvent(null, new UserSnapshot(6L, "Nuria", "nuria@example.com", Role.USER)));
+        auditTrail.stop();
+
+        List<JsonNode> entries = readLog();
+        assertThat(entries).hasSize(4);
+        assertThat(entries).extracting(entry -> entry.get("action").asText())
+                .containsExactly("CREATE", "UPDATE", "DELETE", "CREATE");
+
+        JsonNode update = entries.get(1);
+        assertThat(update.get("actorId").asLong()).isEqualTo(4L);
+        assertThat(update.get("actor").asText()).isEqualTo("Carmen");
+        assertThat(update.get("entity").asText()).isEqualTo("Pet");
+        assertThat(update.get("before").get("name").asText()).isEqualTo("Luna");
+        assertThat(update.get("after").get("name").asText()).isEqualTo("Lunita");
+        assertThat(entries.get(2).get("before").get("date").asText()).isEqualTo("2024-03-15");
+        assertThat(entries.get(2).get("after").isNull()).isTrue();
+        assertThat(entries.get(3).get("actorId").isNull()).isTrue();
+        assertThat(auditTrail.getWritten()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should drop and count events instead of blocking when the buffer is full")
+    void shouldDropWhenFull() throws IOException {
+        AuditTrail auditTrail = new AuditTrail(properties, objectMapper, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 20; i++) {
+            auditTrail.onPetEvent(new PetEvent(null, pet("Pet " + i)));
+        }
+        assertThat(auditTrail.getDropped()).isEqualTo(4);
+
+        auditTrail.start();
+        auditTrail.stop();
+        assertThat(readLog()).hasSize(16);
+    }
+}
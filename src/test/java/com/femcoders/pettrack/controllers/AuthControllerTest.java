@@ -15,6 +15,7 @@ import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -161,4 +162,68 @@ public class AuthControllerTest {
                     .andExpect(jsonPath("$.details.identifier").value("Username or email is required"));
         }
     }
+
+    @Nested
+    @DisplayName("Rate limiting")
+    class RateLimiting {
+        private ResultActions performLoginFrom(String address, LoginRequest loginRequest) throws Exception {
+            return mockMvc.perform(post("/api/auth/login")
+                    .with(request -> {
+                        request.setRemoteAddr(address);
+                        return request;
+                    })
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(asJsonString(loginRequest))
+                    .accept(MediaType.APPLICATION_JSON));
+        }
+
+        @Test
+        @DisplayName("Should return 429 once an address has used up its attempts")
+        void shouldReturn429WhenAddressExhausted() throws Exception
+        {
+            LoginRequest invalid = new LoginRequest(" ", "123");
+            for (int i = 0; i < 20; i++) {
+                performLoginFrom("10.47.0.1", invalid)
+                        .andExpect(status().isBadRequest());
+            }
+
+            performLoginFrom("10.47.0.1", invalid)
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().exists("Retry-After"))
+                    .andExpect(jsonPath("$.message").value(startsWith("Too many attempts")));
+            performLoginFrom("10.47.0.2", invalid)
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Should return 429 once an identifier has used up its attempts from any address")
+        void shouldReturn429WhenIdentifierExhausted() throws Exception
+        {
+            LoginRequest wrongPassword = new LoginRequest("Jenni", "Wrongpassword");
+            for (int i = 0; i < 5; i++) {
+                performLoginFrom("10.48.0." + i, wrongPassword)
+                        .andExpect(status().isUnauthorized());
+            }
+
+            performLoginFrom("10.48.0.99", new LoginRequest("jenni", "Wrongpassword"))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().exists("Retry-After"));
+        }
+
+        @Test
+        @DisplayName("Should return 413 with an error body when the request body is too large")
+        void shouldReturn413WhenBodyTooLarge() throws Exception
+        {
+            mockMvc.perform(post("/api/auth/login")
+                            .with(request -> {
+                                request.setRemoteAddr("10.49.0.1");
+                                return request;
+                            })
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(new LoginRequest("Jenni", "x".repeat(17 * 1024))))
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isPayloadTooLarge())
+                    .andExpect(jsonPath("$.message").value(startsWith("Request body must not exceed")));
+        }
+    }
 }
@@ -0,0 +1,171 @@
+package com.femcoders.pettrack.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.femcoders.pettrack.models.Role;
+import com.femcoders.pettrack.models.User;
+import com.femcoders.pettrack.outbox.OutboxRelay;
+import com.femcoders.pettrack.security.UserDetail;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("ChangeLogController Integration Tests")
+@Sql(scripts = "/test-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+public class ChangeLogControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    private final UserDetail vetUserDetail = new UserDetail(User.builder()
+            .id(4L).username("Carmen").role(Role.VETERINARY).build());
+    private final UserDetail regularUserDetail = new UserDetail(User.builder()
+            .id(1L).username("Debora").role(Role.USER).build());
+
+    /** A database and change log of its own, so relays of other cached contexts cannot take its outbox rows. */
+    @DynamicPropertySource
+    static void isolatedOutbox(DynamicPropertyRegistry registry) throws IOException {
+        registry.add("spring.datasource.url",
+                () -> "jdbc:h2:mem:changes;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE,YEAR,MONTH;DB_CLOSE_DELAY=-1");
+        registry.add("spring.datasource.username", () -> "sa");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("pettrack.outbox.directory", Files.createTempDirectory("changelog")::toString);
+        registry.add("pettrack.outbox.relay-interval", () -> "1h");
+    }
+
+    private long endOffset() {
+        return outboxRelay.getChangeLog().orElseThrow().endOffset();
+    }
+
+    private long pendingOutboxEvents() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events", Long.class);
+    }
+
+    private ResultActions performGetChanges(long offset, int limit, UserDetail userDetail) throws Exception {
+        return mockMvc.perform(get("/api/changes")
+                .param("offset", String.valueOf(offset))
+                .param("limit", String.valueOf(limit))
+                .with(user(userDetail))
+                .accept(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    @DisplayName("Should publish committed changes with their before and after values, in order")
+    void getChanges_returnsCommittedChanges() throws Exception {
+        long start = endOffset();
+        Map<String, String> petRequest = Map.of(
+                "name", "Trufa",
+                "species", "Perro",
+                "breed", "Caniche Toy",
+                "birthDate", "2021-03-15",
+                "image", "https://example.com/images/trufa.jpg",
+                "username", "Debora");
+        Map<String, Object> recordUpdate = Map.of(
+                "description", "Vacuna antirrábica",
+                "weight", 25.5,
+                "date", "2024-03-15",
+                "type", "VACCINATION",
+                "petId", 1);
+
+        mockMvc.perform(post("/api/pets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(petRequest))
+                        .with(user(vetUserDetail)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(put("/api/medical-records/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(recordUpdate))
+                        .with(user(vetUserDetail)))
+                .andExpect(status().isOk());
+        assertThat(pendingOutboxEvents()).isEqualTo(2);
+
+        outboxRelay.relay();
+
+        assertThat(pendingOutboxEvents()).isZero();
+        performGetChanges(start, 10, vetUserDetail)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(2)))
+                .andExpect(jsonPath("$.changes[0].offset", is((int) start)))
+                .andExpect(jsonPath("$.changes[0].aggregateType", is("Pet")))
+                .andExpect(jsonPath("$.changes[0].changeType", is("CREATE")))
+                .andExpect(jsonPath("$.changes[0].payload.before", nullValue()))
+                .andExpect(jsonPath("$.changes[0].payload.after.name", is("Trufa")))
+                .andExpect(jsonPath("$.changes[1].aggregateType", is("MedicalRecord")))
+                .andExpect(jsonPath("$.changes[1].aggregateId", is(1)))
+                .andExpect(jsonPath("$.changes[1].changeType", is("UPDATE")))
+                .andExpect(jsonPath("$.changes[1].payload.before.weight", is(25.0)))
+                .andExpect(jsonPath("$.changes[1].payload.after.weight", is(25.5)))
+                .andExpect(jsonPath("$.nextOffset", is((int) start + 2)))
+                .andExpect(jsonPath("$.endOffset", is((int) start + 2)));
+        performGetChanges(start + 1, 10, vetUserDetail)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(1)))
+                .andExpect(jsonPath("$.changes[0].offset", is((int) start + 1)));
+    }
+
+    @Test
+    @DisplayName("Should not write an outbox event for a rejected write")
+    void rejectedWrite_writesNoOutboxEvent() throws Exception {
+        mockMvc.perform(put("/api/medical-records/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "description", "Revisión",
+                                "weight", 25.5,
+                                "date", "2024-03-15",
+                                "type", "REVISION",
+                                "petId", 99)))
+                        .with(user(vetUserDetail)))
+                .andExpect(status().isNotFound());
+
+        assertThat(pendingOutboxEvents()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an offset past the end or an invalid limit")
+    void getChanges_returnsBadRequest() throws Exception {
+        performGetChanges(endOffset() + 1, 10, vetUserDetail)
+                .andExpect(status().isBadRequest());
+        performGetChanges(0, 0, vetUserDetail)
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return 403 when the user is not a veterinary")
+    void getChanges_returnsForbidden_whenNotVeterinary() throws Exception {
+        performGetChanges(0, 10, regularUserDetail)
+                .andExpect(status().isForbidden());
+    }
+}
@@ -27,4 +27,23 @@ public class HealthControllerTest {
                 .andExpect(jsonPath("$.application").value("PetTrack"))
                 .andExpect(jsonPath("$.database").exists());
     }
+
+    @Test
+    public void testLivenessEndpoint() throws Exception {
+        mockMvc.perform(get("/health/live"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"))
+                .andExpect(jsonPath("$.database").doesNotExist());
+    }
+
+    @Test
+    public void testReadinessEndpoint() throws Exception {
+        mockMvc.perform(get("/health/ready"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"))
+                .andExpect(jsonPath("$.database").value("UP"))
+                .andExpect(jsonPath("$.probeLatencyMs").exists())
+                .andExpect(jsonPath("$.pool.maximum").exists())
+                .andExpect(jsonPath("$.pool.pendingThreads").exists());
+    }
 }
@@ -12,9 +12,13 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -153,6 +157,70 @@ public class MedicalRecordControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /api/medical-records/search")
+    class Search {
+        @Test
+        @DisplayName("Should filter by type and date range, newest first")
+        void shouldFilterByTypeAndDate() throws Exception {
+            mockMvc.perform(get("/api/medical-records/search")
+                            .param("type", "VACCINATION")
+                            .param("from", "2024-01-01")
+                            .param("to", "2024-05-31")
+                            .with(user(vet)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.size").value(3))
+                    .andExpect(jsonPath("$.content[0].id").value(7))
+                    .andExpect(jsonPath("$.content[2].id").value(5))
+                    .andExpect(jsonPath("$.nextCursor").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("Should continue from the returned cursor")
+        void shouldPageWithCursor() throws Exception {
+            mockMvc.perform(get("/api/medical-records/search")
+                            .param("size", "2")
+                            .with(user(vet)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[1].id").value(9))
+                    .andExpect(jsonPath("$.nextCursor").value("2024-07-05_9"));
+
+            mockMvc.perform(get("/api/medical-records/search")
+                            .param("size", "2")
+                            .param("cursor", "2024-07-05_9")
+                            .with(user(vet)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].id").value(11));
+        }
+
+        @Test
+        @DisplayName("Should only return the owner's records for USER")
+        void shouldRestrictToOwner_whenUser() throws Exception {
+            mockMvc.perform(get("/api/medical-records/search")
+                            .with(user(regular)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.size").value(4));
+        }
+
+        @Test
+        @DisplayName("Should return 403 when USER asks for another owner's records")
+        void shouldReturnForbidden_whenOtherOwner() throws Exception {
+            mockMvc.perform(get("/api/medical-records/search")
+                            .param("ownerId", "2")
+                            .with(user(regular)))
+                    .andExpect(status().isForbidden());
+        }
+
+        @Test
+        @DisplayName("Should return 400 for an invalid cursor")
+        void shouldReturnBadRequest_whenInvalidCursor() throws Exception {
+            mockMvc.perform(get("/api/medical-records/search")
+                            .param("cursor", "not-a-cursor")
+                            .with(user(vet)))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
     @Nested
     @DisplayName("GET /api/medical-records/{id}")
     class GetById {
@@ -175,6 +243,55 @@ public class MedicalRecordControllerTest {
                     .andExpect(jsonPath("$.message").value("MedicalRecord not found with id 999"));
         }
     }
+    @Nested
+    @DisplayName("PATCH /api/medical-records/{id}")
+    class Patch {
+        @Test
+        @DisplayName("Should change only the supplied fields (200) when vet")
+        void shouldPatchSuppliedFields_whenVet() throws Exception {
+            mockMvc.perform(patch("/api/medical-records/1")
+                            .with(user(vet))
+                            .contentType("application/merge-patch+json")
+                            .content("{\"weight\": 26.5}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.weight").value(26.5))
+                    .andExpect(jsonPath("$.description").value("Vacunación antirrábica anual"))
+                    .andExpect(jsonPath("$.type").value("VACCINATION"))
+                    .andExpect(jsonPath("$.petName").value("Luna"));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when a supplied field is blank")
+        void shouldReturnBadRequest_whenBlank() throws Exception {
+            mockMvc.perform(patch("/api/medical-records/1")
+                            .with(user(vet))
+                            .contentType("application/merge-patch+json")
+                            .content("{\"description\": \" \"}"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Should return 404 when moved to a pet that does not exist")
+        void shouldReturnNotFound_whenPetMissing() throws Exception {
+            mockMvc.perform(patch("/api/medical-records/1")
+                            .with(user(vet))
+                            .contentType("application/merge-patch+json")
+                            .content("{\"petId\": 99999}"))
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.message").value("Pet not found with id 99999"));
+        }
+
+        @Test
+        @DisplayName("Should return 403 when not vet")
+        void shouldReturnForbidden_whenNotVet() throws Exception {
+            mockMvc.perform(patch("/api/medical-records/1")
+                            .with(user(regular))
+                            .contentType("application/merge-patch+json")
+                            .content("{\"weight\": 26.5}"))
+                    .andExpect(status().isForbidden());
+        }
+    }
+
     @Nested
     @DisplayName("DELETE /api/medical-records/{id}")
     class Delete {
@@ -195,4 +312,51 @@ public class MedicalRecordControllerTest {
                     .andExpect(status().isNotFound());
         }
     }
+
+    @Nested
+    @DisplayName("GET /api/medical-records/stream")
+    class Stream {
+        private String awaitContent(MvcResult result, String expected) throws Exception {
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            String content = result.getResponse().getContentAsString();
+            while (!content.contains(expected) && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+                content = result.getResponse().getContentAsString();
+            }
+            return content;
+        }
+
+        @Test
+        @DisplayName("Should push a new record to veterinarians and its pet's owner only")
+        void shouldPushChanges_filteredByOwnership() throws Exception {
+            UserDetail otherOwner = new UserDetail(User.builder().id(2L).username("Roberto").role(Role.USER).build());
+            MvcResult vetStream = mockMvc.perform(get("/api/medical-records/stream").with(user(vet)))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            MvcResult ownerStream = mockMvc.perform(get("/api/medical-records/stream").with(user(regular)))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            MvcResult otherOwnerStream = mockMvc.perform(get("/api/medical-records/stream").with(user(otherOwner)))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            var body = Map.of(
+                    "description", "Vacuna",
+                    "weight", 12.0,
+                    "date", LocalDate.now().toString(),
+                    "type", "VACCINATION",
+                    "petId", 1
+            );
+            mockMvc.perform(post("/api/medical-records")
+                            .with(user(vet))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJson(body)))
+                    .andExpect(status().isCreated());
+
+            assertThat(awaitContent(vetStream, "\"petId\":1"))
+                    .contains("event:medical-record", "\"changeType\":\"CREATE\"");
+            assertThat(awaitContent(ownerStream, "\"petId\":1")).contains("event:medical-record");
+            assertThat(otherOwnerStream.getResponse().getContentAsString()).doesNotContain("medical-record");
+        }
+    }
 }
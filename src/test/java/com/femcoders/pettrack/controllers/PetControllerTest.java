@@ -17,6 +17,7 @@ import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
+import java.util.List;
 import java.util.Map;
 
 import static org.hamcrest.Matchers.*;
@@ -173,6 +174,128 @@ public class PetControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("Get /api/pets/{id}/medical-records")
+    class GetPetMedicalHistoryTests {
+        private final UserDetail ownerUserDetail = new UserDetail(User.builder()
+                .id(1L).username("Debora").role(Role.USER).build());
+        private final UserDetail otherUserDetail = new UserDetail(User.builder()
+                .id(2L).username("Roberto").role(Role.USER).build());
+        private final UserDetail vetUserDetail = new UserDetail(User.builder()
+                .id(4L).username("Carmen").role(Role.VETERINARY).build());
+
+        private ResultActions performHistoryRequest(long petId, UserDetail userDetail) throws Exception {
+            return mockMvc.perform(get("/api/pets/" + petId + "/medical-records")
+                    .with(user(userDetail))
+                    .accept(MediaType.APPLICATION_JSON));
+        }
+
+        @Test
+        @DisplayName("Should return the pet's medical history to a veterinary")
+        void getPetMedicalHistory_returnsPage_whenVeterinary() throws Exception {
+            performHistoryRequest(1L, vetUserDetail)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.size", is(1)))
+                    .andExpect(jsonPath("$.content[0].id", is(1)))
+                    .andExpect(jsonPath("$.content[0].petName", is("Luna")))
+                    .andExpect(jsonPath("$.nextCursor").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("Should return the pet's medical history to its owner")
+        void getPetMedicalHistory_returnsPage_whenOwner() throws Exception {
+            performHistoryRequest(1L, ownerUserDetail)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(1)));
+        }
+
+        @Test
+        @DisplayName("Should return 403 when the user does not own the pet")
+        void getPetMedicalHistory_returnsForbidden_whenNotOwner() throws Exception {
+            performHistoryRequest(1L, otherUserDetail)
+                    .andExpect(status().isForbidden())
+                    .andExpect(jsonPath("$.timestamp").exists());
+        }
+
+        @Test
+        @DisplayName("Should return 404 when the pet does not exist")
+        void getPetMedicalHistory_returnsNotFound_whenPetNotExists() throws Exception {
+            performHistoryRequest(100L, vetUserDetail)
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.message").value("Pet not found with id 100"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Get /api/pets/{id}/summary")
+    class GetPetClinicalSummaryTests {
+        private final UserDetail ownerUserDetail = new UserDetail(User.builder()
+                .id(1L).username("Debora").role(Role.USER).build());
+        private final UserDetail otherUserDetail = new UserDetail(User.builder()
+                .id(2L).username("Roberto").role(Role.USER).build());
+
+        @Test
+        @DisplayName("Should return the pet's clinical summary to its owner")
+        void getPetClinicalSummary_returnsSummary_whenOwner() throws Exception {
+            mockMvc.perform(get("/api/pets/1/summary").with(user(ownerUserDetail)).accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.petId", is(1)))
+                    .andExpect(jsonPath("$.recordCount", is(1)))
+                    .andExpect(jsonPath("$.lastVisitDate", is("2024-03-15")))
+                    .andExpect(jsonPath("$.lastWeight", is(25.0)))
+                    .andExpect(jsonPath("$.lastVaccinationDate", is("2024-03-15")));
+        }
+
+        @Test
+        @DisplayName("Should return 403 when the user does not own the pet")
+        void getPetClinicalSummary_returnsForbidden_whenNotOwner() throws Exception {
+            mockMvc.perform(get("/api/pets/1/summary").with(user(otherUserDetail)).accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isForbidden());
+        }
+
+        @Test
+        @DisplayName("Should return 404 when the pet does not exist")
+        void getPetClinicalSummary_returnsNotFound_whenPetNotExists() throws Exception {
+            mockMvc.perform(get("/api/pets/100/summary").with(user(ownerUserDetail)).accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Nested
+    @DisplayName("Get /api/pets/{id}/weights")
+    class GetPetWeightSeriesTests {
+        private final UserDetail ownerUserDetail = new UserDetail(User.builder()
+                .id(1L).username("Debora").role(Role.USER).build());
+        private final UserDetail otherUserDetail = new UserDetail(User.builder()
+                .id(2L).username("Roberto").role(Role.USER).build());
+
+        @Test
+        @DisplayName("Should return the pet's weight series to its owner")
+        void getPetWeightSeries_returnsSeries_whenOwner() throws Exception {
+            mockMvc.perform(get("/api/pets/1/weights").with(user(ownerUserDetail)).accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.petId", is(1)))
+                    .andExpect(jsonPath("$.totalPoints", is(1)))
+                    .andExpect(jsonPath("$.points[0].date", is("2024-03-15")))
+                    .andExpect(jsonPath("$.points[0].weight", is(25.0)));
+        }
+
+        @Test
+        @DisplayName("Should return 403 when the user does not own the pet")
+        void getPetWeightSeries_returnsForbidden_whenNotOwner() throws Exception {
+            mockMvc.perform(get("/api/pets/1/weights").with(user(otherUserDetail)).accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isForbidden());
+        }
+
+        @Test
+        @DisplayName("Should return 400 when points is out of range")
+        void getPetWeightSeries_returnsBadRequest_whenPointsOutOfRange() throws Exception {
+            mockMvc.perform(get("/api/pets/1/weights").param("points", "2")
+                            .with(user(ownerUserDetail)).accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
     @Nested
     @DisplayName("Post /api/pets")
     class CreatePetTests {
@@ -328,6 +451,140 @@ public class PetControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("Patch /api/pets/{id}")
+    class PatchPetTests {
+        private final UserDetail vetUserDetail = new UserDetail(User.builder()
+                .id(100L)
+                .username("VeterinaryTest")
+                .role(Role.VETERINARY)
+                .build());
+
+        private ResultActions performPatchRequest(String url, Object body, UserDetail userDetail) throws Exception {
+            return mockMvc.perform(patch(url)
+                    .contentType("application/merge-patch+json")
+                    .content(asJsonString(body))
+                    .with(user(userDetail))
+                    .accept(MediaType.APPLICATION_JSON));
+        }
+
+        @Test
+        @DisplayName("Should change only the supplied fields and keep the owner")
+        void patchPet_changesOnlySuppliedFields() throws Exception {
+            performPatchRequest("/api/pets/1", Map.of("name", "Lunita"), vetUserDetail)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.name").value("Lunita"))
+                    .andExpect(jsonPath("$.breed").value("Golden Retriever"))
+                    .andExpect(jsonPath("$.username").value("Debora"));
+        }
+
+        @Test
+        @DisplayName("Should move the pet when a new owner is supplied")
+        void patchPet_changesOwner() throws Exception {
+            performPatchRequest("/api/pets/1", Map.of("username", "roberto"), vetUserDetail)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.name").value("Luna"))
+                    .andExpect(jsonPath("$.username").value("Roberto"));
+        }
+
+        @Test
+        @DisplayName("Should return 404 when the new owner does not exist")
+        void patchPet_returnsNotFoundWhenUserNotExist() throws Exception {
+            performPatchRequest("/api/pets/1", Map.of("username", "NoExiste"), vetUserDetail)
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Nested
+    @DisplayName("Post /api/pets/transfer")
+    class TransferPetsTests {
+        private final UserDetail vetUserDetail = new UserDetail(User.builder()
+                .id(100L)
+                .username("VeterinaryTest")
+                .role(Role.VETERINARY)
+                .build());
+
+        private final UserDetail regularUserDetail = new UserDetail(User.builder()
+                .id(101L)
+                .username("RegularUser")
+                .role(Role.USER)
+                .build());
+
+        @Test
+        @DisplayName("Should move every pet of the current owner when no pets are selected")
+        void transferPets_movesAllPets() throws Exception {
+            performPostRequest("/api/pets/transfer", Map.of("fromUsername", "Debora", "toUsername", "Roberto"), vetUserDetail)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.fromUserId").value(1))
+                    .andExpect(jsonPath("$.toUserId").value(2))
+                    .andExpect(jsonPath("$.transferred").value(4));
+
+            performGetRequest("/api/pets/10", null)
+                    .andExpect(jsonPath("$.username").value("Roberto"));
+        }
+
+        @Test
+        @DisplayName("Should move only the selected pets")
+        void transferPets_movesSelectedPets() throws Exception {
+            performPostRequest("/api/pets/transfer",
+                    Map.of("fromUsername", "Debora", "toUsername", "Roberto", "petIds", List.of(1, 2)), vetUserDetail)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.transferred").value(2));
+
+            performGetRequest("/api/pets/1", null)
+                    .andExpect(jsonPath("$.username").value("Roberto"));
+            performGetRequest("/api/pets/7", null)
+                    .andExpect(jsonPath("$.username").value("Debora"));
+        }
+
+        @Test
+        @DisplayName("Should return 400 and move nothing when a selected pet belongs to someone else")
+        void transferPets_returnsBadRequestWhenPetNotOwned() throws Exception {
+            performPostRequest("/api/pets/transfer",
+                    Map.of("fromUsername", "Debora", "toUsername", "Roberto", "petIds", List.of(1, 3)), vetUserDetail)
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("Pets [3] do not belong to Debora"));
+
+            performGetRequest("/api/pets/1", null)
+                    .andExpect(jsonPath("$.username").value("Debora"));
+        }
+
+        @Test
+        @DisplayName("Should return 400 and move nothing when the selection is empty")
+        void transferPets_returnsBadRequestWhenSelectionEmpty() throws Exception {
+            performPostRequest("/api/pets/transfer",
+                    Map.of("fromUsername", "Debora", "toUsername", "Roberto", "petIds", List.of()), vetUserDetail)
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.details.petIds").value("Between 1 and 1000 pets can be selected"));
+
+            performGetRequest("/api/pets/10", null)
+                    .andExpect(jsonPath("$.username").value("Debora"));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when the current and new owner are the same user")
+        void transferPets_returnsBadRequestWhenSameOwner() throws Exception {
+            performPostRequest("/api/pets/transfer", Map.of("fromUsername", "Debora", "toUsername", "debora"), vetUserDetail)
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("The current and the new owner must be different users"));
+        }
+
+        @Test
+        @DisplayName("Should return 404 when the new owner does not exist")
+        void transferPets_returnsNotFoundWhenUserNotExist() throws Exception {
+            performPostRequest("/api/pets/transfer", Map.of("fromUsername", "Debora", "toUsername", "NoExiste"), vetUserDetail)
+                    .andExpect(status().isNotFound());
+        }
+
+        @Test
+        @DisplayName("Should return 403 when is not veterinary")
+        void transferPets_returnsForbiddenWhenIsNotVeterinary() throws Exception {
+            performPostRequest("/api/pets/transfer", Map.of("fromUsername", "Debora", "toUsername", "Roberto"), regularUserDetail)
+                    .andExpect(status().isForbidden())
+                    .andExpect(jsonPath("$.message").value("Only veterinaries can manage pets"));
+        }
+    }
+
     @Nested
     @DisplayName("Delete /api/pets")
     class DeletePetTests {
@@ -0,0 +1,102 @@
+package com.femcoders.pettrack.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.femcoders.pettrack.models.Role;
+import com.femcoders.pettrack.models.User;
+import com.femcoders.pettrack.security.UserDetail;
+import com.femcoders.pettrack.stats.ClinicStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Map;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("StatisticsController Integration Tests")
+@Sql(scripts = "/test-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+public class StatisticsControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ClinicStatistics clinicStatistics;
+
+    private final UserDetail vetUserDetail = new UserDetail(User.builder()
+            .id(4L).username("Carmen").role(Role.VETERINARY).build());
+    private final UserDetail regularUserDetail = new UserDetail(User.builder()
+            .id(1L).username("Debora").role(Role.USER).build());
+
+    @BeforeEach
+    void reconcileWithTestData() {
+        clinicStatistics.reconcile();
+    }
+
+    private ResultActions performGetStatistics(UserDetail userDetail) throws Exception {
+        return mockMvc.perform(get("/api/statistics")
+                .with(user(userDetail))
+                .accept(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    @DisplayName("Should return counts loaded from the database")
+    void getClinicStatistics_returnsCounts() throws Exception {
+        performGetStatistics(vetUserDetail)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.petsBySpecies.Perro", is(5)))
+                .andExpect(jsonPath("$.petsBySpecies.Gato", is(3)))
+                .andExpect(jsonPath("$.recordsByMonth.2024-07.REVISION", is(3)))
+                .andExpect(jsonPath("$.visitsByVeterinarian.4", is(6)))
+                .andExpect(jsonPath("$.visitsByVeterinarian.5", is(6)));
+    }
+
+    @Test
+    @DisplayName("Should reflect committed writes without reloading")
+    void getClinicStatistics_reflectsWrites() throws Exception {
+        Map<String, Object> request = Map.of(
+                "description", "Vacuna polivalente",
+                "weight", 26.0,
+                "date", "2024-07-30",
+                "type", "VACCINATION",
+                "petId", 1);
+        mockMvc.perform(post("/api/medical-records")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .with(user(vetUserDetail)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(delete("/api/pets/12").with(user(vetUserDetail)))
+                .andExpect(status().isOk());
+
+        performGetStatistics(vetUserDetail)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recordsByMonth.2024-07.VACCINATION", is(1)))
+                .andExpect(jsonPath("$.recordsByMonth.2024-07.REVISION", is(2)))
+                .andExpect(jsonPath("$.visitsByVeterinarian.4", is(6)))
+                .andExpect(jsonPath("$.petsBySpecies.Hámster").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should return 403 when the user is not a veterinary")
+    void getClinicStatistics_returnsForbidden_whenNotVeterinary() throws Exception {
+        performGetStatistics(regularUserDetail)
+                .andExpect(status().isForbidden());
+    }
+}
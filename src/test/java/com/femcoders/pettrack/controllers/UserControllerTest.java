@@ -12,12 +12,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
 import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -36,6 +38,9 @@ public class UserControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private UserDetail userDetailVet;
     private UserDetail userDetailUser;
 
@@ -233,6 +238,48 @@ public class UserControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("Patch /api/users/{id}")
+    class PatchUserTests {
+        private ResultActions performPatchRequest(String url, Object body, UserDetail userDetail) throws Exception {
+            return mockMvc.perform(patch(url)
+                    .contentType("application/merge-patch+json")
+                    .content(asJsonString(body))
+                    .with(user(userDetail))
+                    .accept(MediaType.APPLICATION_JSON));
+        }
+
+        @Test
+        @DisplayName("Should change only the supplied fields and keep the password")
+        void patchUser_changesOnlySuppliedFields() throws Exception {
+            String password = jdbcTemplate.queryForObject("SELECT password FROM users WHERE id = 1", String.class);
+
+            performPatchRequest("/api/users/1", Map.of("email", "debora.new@user.com"), userDetailVet)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.username").value("Debora"))
+                    .andExpect(jsonPath("$.email").value("debora.new@user.com"));
+
+            assertThat(jdbcTemplate.queryForObject("SELECT password FROM users WHERE id = 1", String.class))
+                    .isEqualTo(password);
+        }
+
+        @Test
+        @DisplayName("Should return 400 when the username is taken")
+        void patchUser_returnsBadRequestWhenUsernameTaken() throws Exception {
+            performPatchRequest("/api/users/1", Map.of("username", "Roberto"), userDetailVet)
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("Username already exists"));
+        }
+
+        @Test
+        @DisplayName("Should not patch user when user is not veterinary")
+        void patchUser_whenIsNotVeterinary() throws Exception {
+            performPatchRequest("/api/users/1", Map.of("email", "debora.new@user.com"), userDetailUser)
+                    .andExpect(status().isForbidden())
+                    .andExpect(jsonPath("$.message").value("Only veterinarians can edit users"));
+        }
+    }
+
     @Nested
     @DisplayName("Delete /api/users/{id}")
     class DeleteUserTests {
@@ -244,6 +291,19 @@ public class UserControllerTest {
                     .andExpect(jsonPath("$.message", containsString("has been deleted")));
         }
 
+        @Test
+        @DisplayName("Should delete the user's pets, their records and summaries")
+        void deleteUser_removesOwnedPetsAndRecords() throws Exception {
+            performDeleteRequest("/api/users/1", userDetailVet)
+                    .andExpect(status().isOk());
+
+            assertThat(count("SELECT COUNT(*) FROM users WHERE id = 1")).isZero();
+            assertThat(count("SELECT COUNT(*) FROM pets WHERE user_id = 1")).isZero();
+            assertThat(count("SELECT COUNT(*) FROM medical_records WHERE pet_id = 1")).isZero();
+            assertThat(count("SELECT COUNT(*) FROM pet_clinical_summaries WHERE pet_id = 1")).isZero();
+            assertThat(count("SELECT COUNT(*) FROM pets")).isEqualTo(8);
+        }
+
         @Test
         @DisplayName("Should not delete user when user is not veterinary")
         void deleteUser_whenIsNotVeterinary() throws Exception {
@@ -253,4 +313,8 @@ public class UserControllerTest {
                     .andExpect(jsonPath("$.timestamp").exists());
         }
     }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
 }
@@ -0,0 +1,66 @@
+package com.femcoders.pettrack.controllers;
+
+import com.femcoders.pettrack.models.Role;
+import com.femcoders.pettrack.models.User;
+import com.femcoders.pettrack.security.UserDetail;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("VaccinationReminderController Integration Tests")
+@Sql(scripts = "/test-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+public class VaccinationReminderControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final UserDetail ownerUserDetail = new UserDetail(User.builder()
+            .id(1L).username("Debora").role(Role.USER).build());
+    private final UserDetail vetUserDetail = new UserDetail(User.builder()
+            .id(4L).username("Carmen").role(Role.VETERINARY).build());
+
+    private ResultActions performGetRequest(String url, UserDetail userDetail) throws Exception {
+        return mockMvc.perform(get(url)
+                .with(user(userDetail))
+                .accept(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    @DisplayName("Should return the owner's reminders, earliest due first")
+    void getVaccinationReminders_returnsOwnPets_whenUser() throws Exception {
+        performGetRequest("/api/vaccination-reminders?dueBefore=2025-12-31", ownerUserDetail)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].petId", contains(1, 7, 10)))
+                .andExpect(jsonPath("$[0].petName", is("Luna")))
+                .andExpect(jsonPath("$[0].dueDate", is("2025-03-15")))
+                .andExpect(jsonPath("$[0].overdue", is(true)));
+    }
+
+    @Test
+    @DisplayName("Should return the whole clinic's reminders to a veterinary, limited by dueBefore")
+    void getVaccinationReminders_returnsAll_whenVeterinary() throws Exception {
+        performGetRequest("/api/vaccination-reminders?dueBefore=2025-05-20", vetUserDetail)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].petId", contains(5, 1, 7)));
+    }
+
+    @Test
+    @DisplayName("Should return 403 when a user asks for another owner's reminders")
+    void getVaccinationReminders_returnsForbidden_whenOtherOwner() throws Exception {
+        performGetRequest("/api/vaccination-reminders?ownerId=3", ownerUserDetail)
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,223 @@
+package com.femcoders.pettrack.feed;
+
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordChangeNotification;
+import com.femcoders.pettrack.events.ChangeType;
+import com.femcoders.pettrack.events.MedicalRecordEvent;
+import com.femcoders.pettrack.events.MedicalRecordSnapshot;
+import com.femcoders.pettrack.models.MedicalRecordType;
+import com.femcoders.pettrack.models.Role;
+import com.femcoders.pettrack.models.User;
+import com.femcoders.pettrack.security.UserDetail;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("MedicalRecordFeed Unit Tests")
+public class MedicalRecordFeedTest {
+    private final UserDetail vet = new UserDetail(User.builder().id(4L).username("Carmen").role(Role.VETERINARY).build());
+    private final UserDetail owner = new UserDetail(User.builder().id(1L).username("Debora").role(Role.USER).build());
+    private final UserDetail otherOwner = new UserDetail(User.builder().id(2L).username("Roberto").role(Role.USER).build());
+
+    private FeedProperties properties;
+    private MedicalRecordFeed feed;
+
+    /** Records what the feed sends instead of writing to a connection; can be held to act as a slow client. */
+    static class RecordingEmitter extends SseEmitter {
+        final List<Object> sent = new CopyOnWriteArrayList<>();
+        final CountDownLatch release;
+        volatile boolean completed;
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        RecordingEmitter() {
+            this(new CountDownLatch(0));
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            builder.build().forEach(part -> sent.add(part.getData()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        List<MedicalRecordChangeNotification> notifications() {
+            return sent.stream()
+                    .filter(MedicalRecordChangeNotification.class::isInstance)
+                    .map(MedicalRecordChangeNotification.class::cast)
+                    .toList();
+        }
+    }
+
+    @BeforeEach
+    void setup() {
+        properties = new FeedProperties();
+        properties.setSubscriberBuffer(2);
+        properties.setMaxSubscribers(3);
+        feed = new MedicalRecordFeed(properties);
+    }
+
+    @AfterEach
+    void shutdown() {
+        feed.shutdown();
+    }
+
+    private static MedicalRecordSnapshot record(long id, long petId, long ownerId) {
+        return new MedicalRecordSnapshot(id, petId, ownerId, 4L, LocalDate.parse("2024-07-01"), 10.0,
+                MedicalRecordType.REVISION, "Control");
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should deliver every change to veterinarians and only their pets' changes to owners")
+    void shouldFilterByRoleAndOwnership() throws InterruptedException {
+        RecordingEmitter vetEmitter = new RecordingEmitter();
+        RecordingEmitter ownerEmitter = new RecordingEmitter();
+        RecordingEmitter otherOwnerEmitter = new RecordingEmitter();
+        feed.subscribe(vet, vetEmitter);
+        feed.subscribe(owner, ownerEmitter);
+        feed.subscribe(otherOwner, otherOwnerEmitter);
+
+        feed.onMedicalRecordEvent(new MedicalRecordEvent(null, record(1, 1, 1)));
+        feed.onMedicalRecordEvent(new MedicalRecordEvent(null, record(2, 3, 2)));
+        // Record 2 moves from owner 2's pet to owner 1's pet: both owners hear about it
+        feed.onMedicalRecordEvent(new MedicalRecordEvent(record(2, 3, 2), record(2, 1, 1)));
+
+        await(() -> vetEmitter.notifications().size() == 3 && ownerEmitter.notifications().size() == 2
+                && otherOwnerEmitter.notifications().size() == 2);
+        assertThat(ownerEmitter.notifications()).extracting(MedicalRecordChangeNotification::id).containsExactly(1L, 2L);
+        assertThat(otherOwnerEmitter.notifications()).extracting(MedicalRecordChangeNotification::changeType)
+                .containsExactly(ChangeType.CREATE, ChangeType.UPDATE);
+    }
+
+    @Test
+    @DisplayName("Should disconnect a subscriber whose buffer overflows without affecting the others")
+    void shouldEvictSlowSubscriber() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        RecordingEmitter fast = new RecordingEmitter();
+        feed.subscribe(vet, slow);
+        feed.subscribe(vet, fast);
+
+        // The slow client holds one message in flight and buffers two, so the fourth one overflows
+        for (int sent = 1; sent <= 4; sent++) {
+            feed.onMedicalRecordEvent(new MedicalRecordEvent(null, record(sent, 1, 1)));
+            int expected = sent;
+            await(() -> fast.notifications().size() == expected);
+        }
+
+        await(() -> slow.completed);
+        assertThat(feed.subscriberCount()).isEqualTo(1);
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Should send heartbeats to idle subscribers")
+    void shouldSendHeartbeat() throws InterruptedException {
+        RecordingEmitter emitter = new RecordingEmitter();
+        feed.subscribe(owner, emitter);
+
+        feed.heartbeat();
+
+        await(() -> !emitter.sent.isEmpty());
+        assertThat(emitter.notifications()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should disconnect a subscriber whose send stalls and free the dispatcher thread")
+    void shouldEvictStalledSubscriber() throws InterruptedException {
+        feed.shutdown();
+        properties.setDispatcherThreads(1);
+        properties.setSendTimeout(Duration.ofMillis(100));
+        feed = new MedicalRecordFeed(properties);
+        RecordingEmitter stalled = new RecordingEmitter(new CountDownLatch(1));
+        RecordingEmitter healthy = new RecordingEmitter();
+
+        // The only dispatcher thread blocks on the stalled client before the healthy one subscribes
+        feed.subscribe(vet, stalled);
+        feed.onMedicalRecordEvent(new MedicalRecordEvent(null, record(1, 1, 1)));
+        feed.subscribe(vet, healthy);
+        feed.onMedicalRecordEvent(new MedicalRecordEvent(null, record(2, 1, 1)));
+
+        await(() -> stalled.completed && healthy.notifications().size() == 1);
+        assertThat(feed.subscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should refuse subscribers beyond the limit and reuse the slot of a disconnected one")
+    void shouldRefuseBeyondLimit() throws InterruptedException {
+        RecordingEmitter broken = new RecordingEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        assertThat(feed.subscribe(owner, broken)).isPresent();
+        for (int i = 1; i < 3; i++) {
+            assertThat(feed.subscribe(owner, new RecordingEmitter())).isPresent();
+        }
+        assertThat(feed.subscribe(owner, new RecordingEmitter())).isEmpty();
+
+        feed.heartbeat();
+
+        await(() -> broken.completed);
+        assertThat(feed.subscribe(owner, new RecordingEmitter())).isPresent();
+        assertThat(feed.subscribe(owner, new RecordingEmitter())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should never admit more subscribers than the limit under concurrent subscriptions")
+    void shouldHoldLimitUnderConcurrency() throws InterruptedException {
+        int attempts = 64;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger admitted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        for (int i = 0; i < attempts; i++) {
+            executor.submit(() -> {
+                start.await();
+                if (feed.subscribe(owner, new RecordingEmitter()).isPresent()) {
+                    admitted.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(admitted).hasValue(3);
+        assertThat(feed.subscriberCount()).isEqualTo(3);
+    }
+}
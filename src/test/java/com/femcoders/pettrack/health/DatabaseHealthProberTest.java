@@ -0,0 +1,86 @@
+package com.femcoders.pettrack.health;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@DisplayName("DatabaseHealthProber Unit Tests")
+public class DatabaseHealthProberTest {
+
+    @Test
+    @DisplayName("Should report DOWN before the first probe")
+    void shouldReportDown_beforeFirstProbe() {
+        var prober = new DatabaseHealthProber(mock(DataSource.class), mock(DataSource.class), Duration.ofSeconds(5), Duration.ofSeconds(2));
+
+        DatabaseProbe probe = prober.getLastProbe();
+
+        assertThat(probe.up()).isFalse();
+        assertThat(prober.isStale(probe)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should cache an UP result when the connection is valid")
+    void shouldCacheUp_whenConnectionValid() throws Exception {
+        var dataSource = mock(DataSource.class);
+        var connection = mock(Connection.class);
+        given(dataSource.getConnection()).willReturn(connection);
+        given(connection.isValid(2)).willReturn(true);
+        var prober = new DatabaseHealthProber(mock(DataSource.class), dataSource, Duration.ofSeconds(5), Duration.ofSeconds(2));
+
+        prober.probe();
+        DatabaseProbe first = prober.getLastProbe();
+        DatabaseProbe second = prober.getLastProbe();
+
+        assertThat(first.up()).isTrue();
+        assertThat(first.error()).isNull();
+        assertThat(second).isSameAs(first);
+        assertThat(prober.isStale(first)).isFalse();
+        verify(dataSource, times(1)).getConnection();
+        verify(connection).close();
+    }
+
+    @Test
+    @DisplayName("Should cache a DOWN result with the error when the connection fails")
+    void shouldCacheDown_whenConnectionFails() throws Exception {
+        var dataSource = mock(DataSource.class);
+        given(dataSource.getConnection()).willThrow(new SQLException("Connection refused"));
+        var prober = new DatabaseHealthProber(mock(DataSource.class), dataSource, Duration.ofSeconds(5), Duration.ofSeconds(2));
+
+        prober.probe();
+
+        assertThat(prober.getLastProbe().up()).isFalse();
+        assertThat(prober.getLastProbe().error()).isEqualTo("Connection refused");
+    }
+
+    @Test
+    @DisplayName("Should not expose pool stats when the data source is not a Hikari pool")
+    void shouldReturnEmptyPoolStats_whenNotHikari() {
+        var prober = new DatabaseHealthProber(mock(DataSource.class), mock(DataSource.class), Duration.ofSeconds(5), Duration.ofSeconds(2));
+
+        assertThat(prober.getPoolStats()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should probe with its own connection, not one from the application pool")
+    void shouldProbeWithOwnConnection() throws Exception {
+        var applicationPool = mock(DataSource.class);
+        var probeDataSource = mock(DataSource.class);
+        var connection = mock(Connection.class);
+        given(probeDataSource.getConnection()).willReturn(connection);
+        given(connection.isValid(2)).willReturn(true);
+        var prober = new DatabaseHealthProber(applicationPool, probeDataSource, Duration.ofSeconds(5), Duration.ofSeconds(2));
+
+        prober.probe();
+
+        assertThat(prober.getLastProbe().up()).isTrue();
+        verify(applicationPool, never()).getConnection();
+    }
+}
@@ -0,0 +1,70 @@
+package com.femcoders.pettrack.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@Sql(scripts = "/test-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@DisplayName("Metrics endpoint Integration Tests")
+public class MetricsEndpointTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @LocalServerPort
+    int port;
+
+    @LocalManagementPort
+    int managementPort;
+
+    @Test
+    @DisplayName("Should expose per-handler, per-repository, pool and Hibernate metrics on the management port")
+    void shouldExposeMetrics_afterServingARequest() throws Exception {
+        mockMvc.perform(get("/api/pets").with(user("testuser").roles("USER")))
+                .andExpect(status().isOk());
+
+        ResponseEntity<String> scrape = restTemplate.getForEntity(
+                "http://localhost:" + managementPort + "/actuator/prometheus", String.class);
+
+        assertThat(scrape.getStatusCode().is2xxSuccessful()).isTrue();
+        assertThat(scrape.getBody())
+                .contains("handler=\"PetController.getAllPets\"")
+                .contains("http_server_requests_seconds_bucket")
+                .contains("pettrack_request_statements")
+                .contains("pettrack_request_entity_loads")
+                .contains("spring_data_repository_invocations_seconds")
+                .contains("hikaricp_connections_active")
+                .contains("hibernate_query_executions");
+    }
+
+    @Test
+    @DisplayName("Should not serve metrics on the API port")
+    void shouldNotServeMetrics_onApiPort() {
+        ResponseEntity<String> scrape = restTemplate.getForEntity(
+                "http://localhost:" + port + "/actuator/prometheus", String.class);
+
+        assertThat(managementPort).isNotEqualTo(port);
+        assertThat(scrape.getStatusCode().is4xxClientError()).isTrue();
+    }
+}
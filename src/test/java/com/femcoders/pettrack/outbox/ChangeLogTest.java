@@ -0,0 +1,127 @@
+package com.femcoders.pettrack.outbox;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ChangeLog Unit Tests")
+public class ChangeLogTest {
+    @TempDir
+    Path directory;
+
+    private static List<byte[]> entries(int from, int to) {
+        return IntStream.range(from, to)
+                .mapToObj(i -> ("change-%05d".formatted(i)).getBytes(StandardCharsets.UTF_8))
+                .toList();
+    }
+
+    private static List<String> text(List<byte[]> payloads) {
+        return payloads.stream().map(payload -> new String(payload, StandardCharsets.UTF_8)).toList();
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".log")).sorted().toList();
+        }
+    }
+
+    @Test
+    @DisplayName("Should address entries by offset across segments and index slots")
+    void shouldReadFromAnyOffset() throws IOException {
+        // 20-byte frames, 50 per 1000-byte segment
+        try (ChangeLog log = new ChangeLog(directory, 1000, 100, false)) {
+            assertThat(log.append(entries(0, 300))).isZero();
+            assertThat(log.append(entries(300, 400))).isEqualTo(300);
+
+            assertThat(log.endOffset()).isEqualTo(400);
+            assertThat(segments()).hasSize(8);
+            assertThat(text(log.read(0, 2))).containsExactly("change-00000", "change-00001");
+            assertThat(text(log.read(129, 1))).containsExactly("change-00129");
+            assertThat(text(log.read(148, 5))).containsExactly(
+                    "change-00148", "change-00149", "change-00150", "change-00151", "change-00152");
+            assertThat(log.read(395, 10)).hasSize(5);
+            assertThat(log.read(400, 10)).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep offsets across reopen and truncate a torn tail")
+    void shouldRecoverOnOpen() throws IOException {
+        try (ChangeLog log = new ChangeLog(directory, 1000, 100, true)) {
+            log.append(entries(0, 70));
+        }
+        Files.write(segments().getLast(), new byte[]{0, 0, 0, 9, 7}, StandardOpenOption.APPEND);
+
+        try (ChangeLog log = new ChangeLog(directory, 1000, 100, true)) {
+            assertThat(log.endOffset()).isEqualTo(70);
+            assertThat(log.append(entries(70, 75))).isEqualTo(70);
+            assertThat(text(log.read(68, 4))).containsExactly("change-00068", "change-00069", "change-00070", "change-00071");
+        }
+    }
+
+    @Test
+    @DisplayName("Should validate only the newest segment on open and index older ones on first read")
+    void shouldOpenFromTailSegment() throws IOException {
+        String id;
+        try (ChangeLog log = new ChangeLog(directory, 1000, 100, false)) {
+            log.append(entries(0, 400));
+            id = log.id();
+        }
+        // Flip the last payload byte of the first entry in the oldest segment
+        Path oldest = segments().getFirst();
+        byte[] bytes = Files.readAllBytes(oldest);
+        bytes[19] ^= 1;
+        Files.write(oldest, bytes);
+
+        try (ChangeLog log = new ChangeLog(directory, 1000, 100, false)) {
+            assertThat(log.id()).isEqualTo(id);
+            assertThat(log.startOffset()).isZero();
+            assertThat(log.endOffset()).isEqualTo(400);
+            assertThat(text(log.read(260, 2))).containsExactly("change-00260", "change-00261");
+            assertThat(text(log.read(1, 1))).containsExactly("change-00001");
+            assertThatThrownBy(() -> log.read(0, 1))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("Corrupt change log entry at offset 0");
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject offsets deleted by retention or past the end")
+    void shouldRejectOffsetsOutOfRange() throws IOException {
+        try (ChangeLog log = new ChangeLog(directory, 1000, 2, false)) {
+            log.append(entries(0, 200));
+
+            assertThat(log.startOffset()).isEqualTo(100);
+            assertThat(segments()).hasSize(2);
+            assertThat(text(log.read(100, 1))).containsExactly("change-00100");
+            assertThatThrownBy(() -> log.read(99, 1))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("earliest available offset is 100");
+            assertThatThrownBy(() -> log.read(201, 1))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("beyond the end");
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse a second writer on the same directory")
+    void shouldLockDirectory() throws IOException {
+        try (ChangeLog ignored = new ChangeLog(directory, 1000, 2, false)) {
+            assertThatThrownBy(() -> new ChangeLog(directory, 1000, 2, false))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("locked");
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.femcoders.pettrack.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.femcoders.pettrack.H2DataJpaTest;
+import com.femcoders.pettrack.events.ChangeType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@H2DataJpaTest
+@DisplayName("OutboxRelay Tests")
+public class OutboxRelayTest {
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private OutboxProperties properties;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setup() {
+        properties = new OutboxProperties();
+        properties.setDirectory(directory);
+        properties.setBatchSize(3);
+        properties.setFsync(false);
+        relay = new OutboxRelay(properties, jdbcTemplate, transactionTemplate, objectMapper);
+    }
+
+    @AfterEach
+    void stopRelay() {
+        relay.stop();
+    }
+
+    private long insertEvent(long petId, String changeType) {
+        jdbcTemplate.update("INSERT INTO outbox_events (aggregate_type, aggregate_id, change_type, payload, created_at) VALUES (?, ?, ?, ?, ?)",
+                "Pet", petId, changeType, "{\"before\":null,\"after\":{\"id\":" + petId + "}}", Timestamp.from(Instant.now()));
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM outbox_events", Long.class);
+    }
+
+    private List<ChangeEntry> readLog() throws IOException {
+        ChangeLog changeLog = relay.getChangeLog().orElseThrow();
+        List<ChangeEntry> entries = new ArrayList<>();
+        for (byte[] payload : changeLog.read(changeLog.startOffset(), 1000)) {
+            entries.add(objectMapper.readValue(payload, ChangeEntry.class));
+        }
+        return entries;
+    }
+
+    @Test
+    @DisplayName("Should move every outbox row to the change log in id order, in batches, and delete it")
+    void shouldRelayAndDelete() throws IOException {
+        relay.start();
+        for (long petId = 1; petId <= 7; petId++) {
+            insertEvent(petId, "CREATE");
+        }
+
+        relay.relay();
+
+        List<ChangeEntry> entries = readLog();
+        assertThat(entries).extracting(ChangeEntry::aggregateId).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+        assertThat(entries.getFirst().changeType()).isEqualTo(ChangeType.CREATE);
+        assertThat(entries.getFirst().payload().get("after").get("id").asLong()).isEqualTo(1L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events", Long.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not append rows again that were appended before a crash but not deleted")
+    void shouldSkipRowsAppendedBeforeRestart() throws IOException {
+        relay.start();
+        long first = insertEvent(1, "CREATE");
+        long second = insertEvent(2, "CREATE");
+        // Simulate a relay that appended both rows and crashed before deleting them
+        List<byte[]> appended = new ArrayList<>();
+        for (long outboxId : List.of(first, second)) {
+            appended.add(objectMapper.writeValueAsBytes(new ChangeEntry(outboxId, "Pet", outboxId - first + 1,
+                    ChangeType.CREATE, Instant.now(), objectMapper.createObjectNode())));
+        }
+        relay.getChangeLog().orElseThrow().append(appended);
+        relay.stop();
+
+        relay = new OutboxRelay(properties, jdbcTemplate, transactionTemplate, objectMapper);
+        relay.start();
+        insertEvent(3, "UPDATE");
+        relay.relay();
+
+        assertThat(readLog()).extracting(ChangeEntry::aggregateId).containsExactly(1L, 2L, 3L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events", Long.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should leave the outbox to the change log that claimed it")
+    void shouldRelayOnlyToClaimingChangeLog(@TempDir Path otherDirectory) throws IOException {
+        relay.start();
+        insertEvent(1, "CREATE");
+        relay.relay();
+
+        OutboxProperties otherProperties = new OutboxProperties();
+        otherProperties.setDirectory(otherDirectory);
+        otherProperties.setFsync(false);
+        OutboxRelay other = new OutboxRelay(otherProperties, jdbcTemplate, transactionTemplate, objectMapper);
+        other.start();
+        try {
+            insertEvent(2, "CREATE");
+            other.relay();
+
+            assertThat(other.getChangeLog().orElseThrow().endOffset()).isZero();
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events", Long.class)).isOne();
+        } finally {
+            other.stop();
+        }
+
+        relay.relay();
+
+        assertThat(readLog()).extracting(ChangeEntry::aggregateId).containsExactly(1L, 2L);
+        assertThat(jdbcTemplate.queryForObject("SELECT change_log_id FROM outbox_relay", String.class))
+                .isEqualTo(relay.getChangeLog().orElseThrow().id());
+    }
+}
@@ -0,0 +1,103 @@
+package com.femcoders.pettrack.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TokenBucketLimiter Unit Tests")
+public class TokenBucketLimiterTest {
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    private final TokenBucketLimiter limiter = new TokenBucketLimiter(3, Duration.ofSeconds(10), 4, now::get);
+
+    @Test
+    @DisplayName("Should allow a burst of capacity requests and then report the wait for the next token")
+    void shouldAllowBurstThenReject() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("alice")).isZero();
+        }
+
+        assertThat(limiter.tryAcquire("alice")).isEqualTo(Duration.ofSeconds(10));
+        assertThat(limiter.tryAcquire("bob")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should earn back one token per refill interval, up to the capacity")
+    void shouldRefillOverTime() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("alice");
+        }
+
+        advance(Duration.ofSeconds(4));
+        assertThat(limiter.tryAcquire("alice")).isEqualTo(Duration.ofSeconds(6));
+        advance(Duration.ofSeconds(6));
+        assertThat(limiter.tryAcquire("alice")).isZero();
+        assertThat(limiter.tryAcquire("alice")).isEqualTo(Duration.ofSeconds(10));
+
+        advance(Duration.ofHours(1));
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("alice")).isZero();
+        }
+        assertThat(limiter.tryAcquire("alice")).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should evict only buckets that have refilled completely")
+    void shouldEvictIdleBuckets() {
+        limiter.tryAcquire("alice");
+        advance(Duration.ofSeconds(5));
+        limiter.tryAcquire("bob");
+        advance(Duration.ofSeconds(5));
+
+        assertThat(limiter.evictIdle()).isEqualTo(1);
+        assertThat(limiter.size()).isEqualTo(1);
+        advance(Duration.ofSeconds(5));
+        assertThat(limiter.evictIdle()).isEqualTo(1);
+        assertThat(limiter.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should hand out exactly capacity tokens to concurrent callers")
+    void shouldNotOverspendUnderContention() throws Exception {
+        TokenBucketLimiter shared = new TokenBucketLimiter(100, Duration.ofHours(1), 4, now::get);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int granted = 0;
+                    for (int i = 0; i < 1000; i++) {
+                        if (shared.tryAcquire("alice").isZero()) {
+                            granted++;
+                        }
+                    }
+                    return granted;
+                }));
+            }
+            start.countDown();
+
+            int granted = 0;
+            for (Future<Integer> result : results) {
+                granted += result.get();
+            }
+            assertThat(granted).isEqualTo(100);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,121 @@
+package com.femcoders.pettrack.reminders;
+
+import com.femcoders.pettrack.H2DataJpaTest;
+import com.femcoders.pettrack.health.DatabaseHealthProber;
+import com.femcoders.pettrack.seed.SeedProperties;
+import com.femcoders.pettrack.seed.SyntheticDataGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+@H2DataJpaTest
+@Import(SyntheticDataGenerator.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("VaccinationReminderJob Tests")
+public class VaccinationReminderJobTest {
+    private static final LocalDate TODAY = LocalDate.parse("2025-01-01");
+    private static boolean seeded;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    SyntheticDataGenerator generator;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private ReminderProperties properties;
+    private VaccinationReminderJob job;
+
+    @BeforeEach
+    void setup() {
+        if (!seeded) {
+            SeedProperties seed = new SeedProperties();
+            seed.setOwners(150);
+            seed.setVeterinarians(2);
+            seed.setReferenceDate(TODAY);
+            generator.generate(seed);
+            seeded = true;
+        }
+        jdbcTemplate.update("DELETE FROM vaccination_reminders");
+        jdbcTemplate.update("UPDATE job_checkpoints SET last_key = NULL, completed_at = NULL");
+
+        properties = new ReminderProperties();
+        properties.setChunkSize(40);
+        properties.setParallelism(3);
+        properties.setPauseBetweenChunks(Duration.ZERO);
+        properties.setWindowStart(LocalTime.MIDNIGHT);
+        properties.setWindowEnd(LocalTime.MIDNIGHT);
+        properties.setVaccinationIntervalMonths(Map.of("Perro", 12, "gato", 12, "Conejo", 12));
+        DatabaseHealthProber prober = mock(DatabaseHealthProber.class);
+        given(prober.getPoolStats()).willReturn(Optional.empty());
+        job = new VaccinationReminderJob(properties, jdbcTemplate, new TransactionTemplate(transactionManager), prober);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    @Test
+    @DisplayName("Should write one reminder per vaccinable pet, due one interval after its last vaccination")
+    void shouldBuildReminders() throws Exception {
+        ReminderRun run = job.run(TODAY);
+
+        long pets = count("SELECT COUNT(*) FROM pets");
+        assertThat(run.completed()).isTrue();
+        assertThat(run.pets()).isEqualTo(pets);
+        assertThat(run.chunks()).isEqualTo((int) ((pets + 39) / 40));
+        assertThat(count("SELECT COUNT(*) FROM vaccination_reminders")).isEqualTo(run.reminders())
+                .isEqualTo(count("SELECT COUNT(*) FROM pets WHERE species IN ('Perro', 'Gato', 'Conejo')"));
+        assertThat(count("SELECT COUNT(*) FROM vaccination_reminders r JOIN pet_clinical_summaries s ON s.pet_id = r.pet_id " +
+                "WHERE r.due_date <> DATEADD(MONTH, 12, s.last_vaccination_date)")).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT last_key FROM job_checkpoints WHERE job_name = 'vaccination-reminders'", Long.class)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should resume after the stored checkpoint and leave earlier chunks untouched")
+    void shouldResumeFromCheckpoint() throws Exception {
+        jdbcTemplate.update("UPDATE job_checkpoints SET last_key = 100 WHERE job_name = 'vaccination-reminders'");
+
+        ReminderRun run = job.run(TODAY);
+
+        assertThat(run.resumed()).isTrue();
+        assertThat(run.completed()).isTrue();
+        assertThat(run.pets()).isEqualTo(count("SELECT COUNT(*) FROM pets WHERE id > 100"));
+        assertThat(count("SELECT COUNT(*) FROM vaccination_reminders WHERE pet_id <= 100")).isZero();
+        assertThat(count("SELECT COUNT(*) FROM vaccination_reminders WHERE pet_id > 100")).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should stop outside its window and keep the checkpoint for the next run")
+    void shouldStopOutsideWindow() throws Exception {
+        LocalTime now = LocalTime.now();
+        properties.setWindowStart(now.plusHours(1));
+        properties.setWindowEnd(now.plusHours(2));
+
+        ReminderRun run = job.run(TODAY);
+
+        assertThat(run.completed()).isFalse();
+        assertThat(run.chunks()).isZero();
+        assertThat(job.insideWindow(now.plusMinutes(90))).isTrue();
+        assertThat(job.insideWindow(now)).isFalse();
+    }
+}
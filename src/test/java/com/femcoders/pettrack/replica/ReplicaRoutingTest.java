@@ -0,0 +1,143 @@
+package com.femcoders.pettrack.replica;
+
+import com.femcoders.pettrack.models.Role;
+import com.femcoders.pettrack.models.User;
+import com.femcoders.pettrack.security.UserDetail;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** Runs against two embedded H2 databases, one as the primary and one as the replica, so no MySQL server is needed. */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:pettrack-primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE,YEAR,MONTH;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "pettrack.replica.enabled=true",
+        "pettrack.replica.datasource.jdbc-url=jdbc:h2:mem:pettrack-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE,YEAR,MONTH;DB_CLOSE_DELAY=-1",
+        "pettrack.replica.datasource.username=sa",
+        "pettrack.replica.datasource.password=",
+        "pettrack.replica.heartbeat-interval=1h",
+        "pettrack.replica.max-lag=3s",
+        "pettrack.replica.stickiness=1m"
+})
+@AutoConfigureMockMvc
+@DisplayName("Read replica routing")
+@Sql(scripts = "/test-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+public class ReplicaRoutingTest {
+    private static final String REPLICA_NAME = "Luna (replica)";
+
+    private final UserDetail reader = new UserDetail(User.builder()
+            .id(5L).username("Maribel").role(Role.VETERINARY).build());
+    private final UserDetail writer = new UserDetail(User.builder()
+            .id(4L).username("Carmen").role(Role.VETERINARY).build());
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void prepareReplica() {
+        Flyway.configure().dataSource(replicaDataSource).locations("classpath:db/migration").load().migrate();
+        new ResourceDatabasePopulator(new ClassPathResource("test-data.sql")).execute(replicaDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.update("UPDATE pets SET name = ? WHERE id = 1", REPLICA_NAME);
+        setReplicaHeartbeat(Instant.now());
+        replicaLagMonitor.check();
+    }
+
+    private void setReplicaHeartbeat(Instant beatAt) {
+        replica.update("UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1", Timestamp.from(beatAt));
+    }
+
+    private ResultActions getPet(UserDetail userDetail) throws Exception {
+        return mockMvc.perform(get("/api/pets/1")
+                .with(user(userDetail))
+                .accept(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    @DisplayName("Should answer read-only requests from the replica while it is caught up")
+    void readOnlyRequest_readsReplica() throws Exception {
+        getPet(reader)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value(REPLICA_NAME));
+    }
+
+    @Test
+    @DisplayName("Should write to the primary and send the writer's next reads there too")
+    void write_goesToPrimary_andWriterReadsOwnWrite() throws Exception {
+        mockMvc.perform(patch("/api/pets/1")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"name\": \"Estrella\"}")
+                        .with(user(writer))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        assertThat(jdbcTemplate.queryForObject("SELECT name FROM pets WHERE id = 1", String.class)).isEqualTo("Estrella");
+        assertThat(replica.queryForObject("SELECT name FROM pets WHERE id = 1", String.class)).isEqualTo(REPLICA_NAME);
+        getPet(writer)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Estrella"));
+        getPet(reader)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value(REPLICA_NAME));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary while the replica lags behind")
+    void laggingReplica_fallsBackToPrimary() throws Exception {
+        setReplicaHeartbeat(Instant.now().minusSeconds(60));
+        replicaLagMonitor.check();
+
+        assertThat(replicaLagMonitor.getLastLag()).isGreaterThan(Duration.ofSeconds(3));
+        getPet(reader)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Luna"));
+    }
+
+    @Test
+    @DisplayName("Should write the heartbeat to the primary on every check")
+    void check_writesHeartbeatToPrimary() {
+        Instant before = Instant.now().minusMillis(1);
+
+        replicaLagMonitor.check();
+
+        Timestamp beatAt = jdbcTemplate.queryForObject("SELECT beat_at FROM replica_heartbeat WHERE id = 1", Timestamp.class);
+        assertThat(beatAt.toInstant()).isAfter(before);
+    }
+}
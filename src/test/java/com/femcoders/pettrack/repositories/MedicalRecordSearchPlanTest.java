@@ -0,0 +1,149 @@
+package com.femcoders.pettrack.repositories;
+
+import com.femcoders.pettrack.H2DataJpaTest;
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordCursor;
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordSearch;
+import com.femcoders.pettrack.models.MedicalRecord;
+import com.femcoders.pettrack.models.MedicalRecordType;
+import com.femcoders.pettrack.seed.SeedProperties;
+import com.femcoders.pettrack.seed.SyntheticDataGenerator;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs each search filter combination, captures the SQL Hibernate generates and checks H2's plan
+ * for it: medical_records must be read through an index range, never scanned. H2 backs foreign keys
+ * with its own indexes where MySQL reuses the composite ones, so the index names are not asserted.
+ */
+@H2DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.femcoders.pettrack.repositories.MedicalRecordSearchPlanTest$CapturingInspector")
+@Import(SyntheticDataGenerator.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Medical record search query plans")
+public class MedicalRecordSearchPlanTest {
+    private static final LocalDate FROM = LocalDate.parse("2022-01-01");
+    private static final LocalDate TO = LocalDate.parse("2023-12-31");
+    // H2 prints the index and its range condition after the table, e.g. /* public.idx_medical_records_type_date: type = ?1 */
+    private static final Pattern MEDICAL_RECORDS_INDEX_ACCESS = Pattern.compile("\"medical_records\" \"mr1_0\"\\s+/\\* public\\.\\w+: ");
+    private static boolean seeded;
+
+    @Autowired
+    MedicalRecordRepository medicalRecordRepository;
+
+    @Autowired
+    SyntheticDataGenerator generator;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    public static class CapturingInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void setup() {
+        // ANALYZE commits, so the dataset is loaded once and shared by every test in the class
+        if (!seeded) {
+            SeedProperties properties = new SeedProperties();
+            properties.setOwners(100);
+            properties.setReferenceDate(LocalDate.parse("2025-01-01"));
+            generator.generate(properties);
+            jdbcTemplate.execute("ANALYZE");
+            seeded = true;
+        }
+        CapturingInspector.STATEMENTS.clear();
+    }
+
+    static Stream<Arguments> combinations() {
+        return Stream.of(
+                Arguments.of("pet", search(7L, null, null, null, null, null), null),
+                Arguments.of("pet + type", search(7L, MedicalRecordType.VACCINATION, null, null, null, null), null),
+                Arguments.of("pet + date range", search(7L, null, FROM, TO, null, null), null),
+                Arguments.of("pet + type + date range", search(7L, MedicalRecordType.REVISION, FROM, TO, null, null), null),
+                Arguments.of("type", search(null, MedicalRecordType.SURGERY, null, null, null, null), null),
+                Arguments.of("type + date range", search(null, MedicalRecordType.VACCINATION, FROM, TO, null, null), null),
+                Arguments.of("date range", search(null, null, FROM, TO, null, null), null),
+                Arguments.of("veterinarian", search(null, null, null, null, 4L, null), null),
+                Arguments.of("veterinarian + date range", search(null, null, FROM, TO, 4L, null), null),
+                Arguments.of("owner", search(null, null, null, null, null, 1L), 1L),
+                Arguments.of("owner + type + date range", search(null, MedicalRecordType.VACCINATION, FROM, TO, null, 1L), 1L),
+                Arguments.of("pet + owner + cursor", search(7L, null, null, null, null, 1L), 1L)
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("combinations")
+    void shouldUseIndexRangeScan(String name, MedicalRecordSearch search, Long ownerId) {
+        MedicalRecordCursor cursor = name.contains("cursor") ? new MedicalRecordCursor(LocalDate.parse("2024-06-01"), 1_000_000L) : null;
+        medicalRecordRepository.findBy(MedicalRecordSpecifications.search(search, ownerId, cursor),
+                query -> query.sortBy(MedicalRecordSpecifications.KEYSET_ORDER).limit(21).all());
+
+        String plan = explain(CapturingInspector.STATEMENTS.getLast());
+
+        assertThat(plan).as(plan).doesNotContainIgnoringCase("tableScan");
+        assertThat(plan).as(plan).containsPattern(MEDICAL_RECORDS_INDEX_ACCESS);
+    }
+
+    @Test
+    @DisplayName("Should page through results in (date desc, id desc) order without gaps")
+    void shouldPageWithKeyset() {
+        MedicalRecordSearch search = search(null, null, FROM, TO, null, null);
+        List<MedicalRecord> all = medicalRecordRepository.findBy(MedicalRecordSpecifications.search(search, null, null),
+                query -> query.sortBy(MedicalRecordSpecifications.KEYSET_ORDER).all());
+
+        List<Long> paged = new ArrayList<>();
+        MedicalRecordCursor cursor = null;
+        do {
+            MedicalRecordCursor after = cursor;
+            List<MedicalRecord> page = medicalRecordRepository.findBy(MedicalRecordSpecifications.search(search, null, after),
+                    query -> query.sortBy(MedicalRecordSpecifications.KEYSET_ORDER).limit(50).all());
+            page.forEach(medicalRecord -> paged.add(medicalRecord.getId()));
+            cursor = page.size() < 50 ? null : new MedicalRecordCursor(page.getLast().getDate(), page.getLast().getId());
+        } while (cursor != null);
+
+        assertThat(all).isNotEmpty();
+        assertThat(paged).containsExactlyElementsOf(all.stream().map(MedicalRecord::getId).toList());
+    }
+
+    private static MedicalRecordSearch search(Long petId, MedicalRecordType type, LocalDate from, LocalDate to,
+                                              Long veterinaryId, Long ownerId) {
+        return new MedicalRecordSearch(petId, type, from, to, veterinaryId, ownerId, null, 20);
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((java.sql.Connection connection) -> {
+            try (var statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++) {
+                    statement.setObject(i, null);
+                }
+                try (var resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,87 @@
+package com.femcoders.pettrack.seed;
+
+import com.femcoders.pettrack.H2DataJpaTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@H2DataJpaTest
+@Import(SyntheticDataGenerator.class)
+@DisplayName("SyntheticDataGenerator Tests")
+public class SyntheticDataGeneratorTest {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    SyntheticDataGenerator generator;
+
+    private SeedProperties properties;
+
+    @BeforeEach
+    void setup() {
+        properties = new SeedProperties();
+        properties.setOwners(200);
+        properties.setVeterinarians(2);
+        properties.setPetsPerOwner(2.0);
+        properties.setMaxRecordsPerPet(30);
+        properties.setRowsPerStatement(97);
+        properties.setReferenceDate(LocalDate.parse("2025-01-01"));
+    }
+
+    @Test
+    @DisplayName("Should load demo accounts, synthetic owners, veterinarians, pets and records")
+    void shouldLoadConsistentDataset() {
+        SeedSummary summary = generator.generate(properties);
+
+        assertThat(summary.users()).isEqualTo(5 + 2 + 200);
+        assertThat(count("users")).isEqualTo(summary.users());
+        assertThat(count("pets")).isEqualTo(summary.pets()).isGreaterThanOrEqualTo(203);
+        assertThat(count("medical_records")).isEqualTo(summary.medicalRecords()).isGreaterThan(summary.pets());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE role = 'VETERINARY'", Long.class)).isEqualTo(4);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE username = 'Carmen'", Long.class)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should generate records only for veterinarians, within the pet's life and with positive weights")
+    void shouldGenerateRealisticRecords() {
+        generator.generate(properties);
+
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM medical_records r JOIN users u ON u.id = r.created_by_user_id
+                WHERE u.role <> 'VETERINARY'""", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM medical_records r JOIN pets p ON p.id = r.pet_id
+                WHERE r.date < p.birth_date OR r.date > DATE '2025-01-01'""", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT MIN(weight) FROM medical_records", Double.class)).isPositive();
+        assertThat(jdbcTemplate.queryForObject("SELECT MAX(cnt) FROM (SELECT COUNT(*) cnt FROM medical_records GROUP BY pet_id) t", Long.class))
+                .isLessThanOrEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("Should follow the species distribution, with dogs and cats as the majority")
+    void shouldFollowSpeciesDistribution() {
+        generator.generate(properties);
+
+        Map<String, Long> bySpecies = jdbcTemplate.queryForList("SELECT species, COUNT(*) cnt FROM pets GROUP BY species")
+                .stream()
+                .collect(Collectors.toMap(row -> (String) row.get("species"), row -> ((Number) row.get("cnt")).longValue()));
+
+        long total = bySpecies.values().stream().mapToLong(Long::longValue).sum();
+        assertThat(bySpecies.keySet()).isSubsetOf(SyntheticDataGenerator.species());
+        assertThat(bySpecies.get("Perro") + bySpecies.get("Gato")).isGreaterThan(total / 2);
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+}
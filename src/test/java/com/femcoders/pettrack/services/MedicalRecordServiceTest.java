@@ -3,8 +3,13 @@ package com.femcoders.pettrack.services;
 import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordMapper;
 import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordRequest;
 import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordResponse;
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordSearch;
+import com.femcoders.pettrack.dtos.medicalRecord.WeightPoint;
+import com.femcoders.pettrack.events.MedicalRecordEvent;
+import com.femcoders.pettrack.events.MedicalRecordSnapshot;
 import com.femcoders.pettrack.exceptions.EntityNotFoundException;
 import com.femcoders.pettrack.models.*;
+import com.femcoders.pettrack.replica.ReplicaRouter;
 import com.femcoders.pettrack.repositories.MedicalRecordRepository;
 import com.femcoders.pettrack.repositories.PetRepository;
 import com.femcoders.pettrack.repositories.UserRepository;
@@ -13,6 +18,8 @@ import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
 import java.util.*;
@@ -20,6 +27,7 @@ import java.util.*;
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.ArgumentMatchers.any;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,6 +46,15 @@ public class MedicalRecordServiceTest {
     @Mock
     UserRepository userRepository;
 
+    @Mock
+    PetClinicalSummaryService summaryService;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    ReplicaRouter replicaRouter;
+
     MedicalRecordServiceImpl service;
 
     private Pet pet;
@@ -51,7 +68,7 @@ public class MedicalRecordServiceTest {
 
     @BeforeEach
     void setup() {
-        pet = Pet.builder().id(7L).name("Luna").build();
+        pet = Pet.builder().id(7L).name("Luna").user(User.builder().id(1L).username("Owner").role(Role.USER).build()).build();
         vet = User.builder().id(100L).username("Vet").role(Role.VETERINARY).build();
         vetPrincipal = new UserDetail(vet);
         userPrincipal = new UserDetail(User.builder().id(2L).username("User").role(Role.USER).build());
@@ -82,7 +99,7 @@ public class MedicalRecordServiceTest {
                 "Luna",
                 "Vet"
         );
-        service = new MedicalRecordServiceImpl(mapper, recordRepository, petRepository, userRepository);
+        service = new MedicalRecordServiceImpl(mapper, recordRepository, petRepository, userRepository, summaryService, eventPublisher, replicaRouter);
     }
 
     @Nested @DisplayName("createMedicalRecord()")
@@ -100,6 +117,8 @@ public class MedicalRecordServiceTest {
             assertThat(result.id()).isEqualTo(30L);
             verify(petRepository).findById(7L);
             verify(recordRepository).save(entitySaved);
+            verify(summaryService).recordChanged(null, MedicalRecordSnapshot.of(entitySaved));
+            verify(eventPublisher).publishEvent(new MedicalRecordEvent(null, MedicalRecordSnapshot.of(entitySaved)));
             verify(mapper).entityToDto(entitySaved);
         }
 
@@ -289,4 +308,130 @@ public class MedicalRecordServiceTest {
         }
     }
 
+    @Nested @DisplayName("searchMedicalRecords()")
+    class Search {
+        private MedicalRecordSearch search(Long ownerId, String cursor, int size) {
+            return new MedicalRecordSearch(null, MedicalRecordType.VACCINATION, null, null, null, ownerId, cursor, size);
+        }
+
+        @Test @DisplayName("Should return a page and the cursor of its last record when more records exist")
+        void shouldReturnNextCursor_whenMoreRecords() {
+            var older = MedicalRecord.builder().id(29L).date(LocalDate.parse("2024-01-10")).pet(pet).createdBy(vet).build();
+            given(recordRepository.findBy(any(Specification.class), any())).willReturn(List.of(entitySaved, older));
+            given(mapper.entityToDto(entitySaved)).willReturn(resp);
+
+            var result = service.searchMedicalRecords(search(null, null, 1), vetPrincipal);
+
+            assertThat(result.content()).containsExactly(resp);
+            assertThat(result.size()).isEqualTo(1);
+            assertThat(result.nextCursor()).isEqualTo("2024-01-20_30");
+        }
+
+        @Test @DisplayName("Should return no cursor on the last page")
+        void shouldReturnNoCursor_whenLastPage() {
+            given(recordRepository.findBy(any(Specification.class), any())).willReturn(List.of(entitySaved));
+            given(mapper.entityToDto(entitySaved)).willReturn(resp);
+
+            var result = service.searchMedicalRecords(search(null, "2024-02-01_40", 20), userPrincipal);
+
+            assertThat(result.content()).hasSize(1);
+            assertThat(result.nextCursor()).isNull();
+        }
+
+        @Test @DisplayName("Should throw SecurityException when USER asks for another owner's records")
+        void shouldThrowForbidden_whenUserSearchesOtherOwner() {
+            var thrown = catchThrowable(() -> service.searchMedicalRecords(search(99L, null, 20), userPrincipal));
+
+            assertThat(thrown).isInstanceOf(SecurityException.class);
+        }
+
+        @Test @DisplayName("Should reject invalid page sizes, cursors and date ranges")
+        void shouldThrowIllegalArgument_whenInvalidSearch() {
+            var invertedRange = new MedicalRecordSearch(null, null, LocalDate.parse("2024-02-01"), LocalDate.parse("2024-01-01"),
+                    null, null, null, 20);
+
+            assertThat(catchThrowable(() -> service.searchMedicalRecords(search(null, null, 0), vetPrincipal)))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThat(catchThrowable(() -> service.searchMedicalRecords(search(null, null, 101), vetPrincipal)))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThat(catchThrowable(() -> service.searchMedicalRecords(search(null, "yesterday", 20), vetPrincipal)))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThat(catchThrowable(() -> service.searchMedicalRecords(invertedRange, vetPrincipal)))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested @DisplayName("getPetMedicalHistory()")
+    class PetHistory {
+        @Test @DisplayName("Should check the pet's owner once and return the page of its records")
+        void shouldReturnHistory_whenOwner() {
+            given(petRepository.findOwnerIdById(7L)).willReturn(Optional.of(2L));
+            given(recordRepository.findBy(any(Specification.class), any())).willReturn(List.of(entitySaved));
+            given(mapper.entityToDto(entitySaved)).willReturn(resp);
+
+            var result = service.getPetMedicalHistory(7L, null, 20, userPrincipal);
+
+            assertThat(result.content()).containsExactly(resp);
+            assertThat(result.nextCursor()).isNull();
+            verify(petRepository).findOwnerIdById(7L);
+        }
+
+        @Test @DisplayName("Should throw SecurityException when USER is not the pet's owner")
+        void shouldThrowForbidden_whenNotOwner() {
+            given(petRepository.findOwnerIdById(7L)).willReturn(Optional.of(99L));
+
+            var thrown = catchThrowable(() -> service.getPetMedicalHistory(7L, null, 20, userPrincipal));
+
+            assertThat(thrown).isInstanceOf(SecurityException.class);
+            verifyNoInteractions(recordRepository);
+        }
+
+        @Test @DisplayName("Should throw EntityNotFoundException when the pet does not exist")
+        void shouldThrowNotFound_whenPetMissing() {
+            given(petRepository.findOwnerIdById(999L)).willReturn(Optional.empty());
+
+            var thrown = catchThrowable(() -> service.getPetMedicalHistory(999L, null, 20, vetPrincipal));
+
+            assertThat(thrown).isInstanceOf(EntityNotFoundException.class);
+            verifyNoInteractions(recordRepository);
+        }
+    }
+
+    @Nested @DisplayName("getPetWeightSeries()")
+    class WeightSeriesTests {
+        @Test @DisplayName("Should downsample the pet's weight series to the requested points")
+        void shouldDownsample_whenSeriesLongerThanPoints() {
+            var series = new ArrayList<WeightPoint>();
+            for (int day = 0; day < 400; day++) {
+                series.add(new WeightPoint(LocalDate.parse("2020-01-01").plusDays(day), 5 + day * 0.05));
+            }
+            given(petRepository.findOwnerIdById(7L)).willReturn(Optional.of(2L));
+            given(recordRepository.findWeightSeriesByPetId(7L)).willReturn(series);
+
+            var result = service.getPetWeightSeries(7L, 100, userPrincipal);
+
+            assertThat(result.totalPoints()).isEqualTo(400);
+            assertThat(result.points()).hasSize(100);
+            assertThat(result.points().getFirst()).isEqualTo(series.getFirst());
+            assertThat(result.points().getLast()).isEqualTo(series.getLast());
+        }
+
+        @Test @DisplayName("Should reject point counts out of range before touching the database")
+        void shouldThrowIllegalArgument_whenPointsOutOfRange() {
+            assertThat(catchThrowable(() -> service.getPetWeightSeries(7L, 2, vetPrincipal)))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThat(catchThrowable(() -> service.getPetWeightSeries(7L, 1001, vetPrincipal)))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verifyNoInteractions(petRepository, recordRepository);
+        }
+
+        @Test @DisplayName("Should throw SecurityException when USER is not the pet's owner")
+        void shouldThrowForbidden_whenNotOwner() {
+            given(petRepository.findOwnerIdById(7L)).willReturn(Optional.of(99L));
+
+            assertThat(catchThrowable(() -> service.getPetWeightSeries(7L, 100, userPrincipal)))
+                    .isInstanceOf(SecurityException.class);
+            verifyNoInteractions(recordRepository);
+        }
+    }
 }
@@ -0,0 +1,93 @@
+package com.femcoders.pettrack.services;
+
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordRequest;
+import com.femcoders.pettrack.models.MedicalRecordType;
+import com.femcoders.pettrack.models.PetClinicalSummary;
+import com.femcoders.pettrack.models.Role;
+import com.femcoders.pettrack.models.User;
+import com.femcoders.pettrack.repositories.PetClinicalSummaryRepository;
+import com.femcoders.pettrack.security.UserDetail;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@DisplayName("PetClinicalSummary Concurrency Tests")
+@Sql(scripts = "/test-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+public class PetClinicalSummaryConcurrencyTest {
+    private static final int WRITERS = 8;
+
+    @Autowired
+    private MedicalRecordService medicalRecordService;
+
+    @Autowired
+    private PetClinicalSummaryRepository summaryRepository;
+
+    @Test
+    @DisplayName("Should keep the count and the last visit exact when records for one pet are written concurrently")
+    void concurrentCreates_keepSummaryExact() throws Exception {
+        UserDetail veterinary = new UserDetail(User.builder().id(4L).username("Carmen").role(Role.VETERINARY).build());
+        List<Callable<Object>> writes = new ArrayList<>();
+        for (int i = 1; i <= WRITERS; i++) {
+            LocalDate date = LocalDate.parse("2024-08-01").plusDays(i);
+            double weight = 25.0 + i;
+            writes.add(() -> medicalRecordService.createMedicalRecord(
+                    new MedicalRecordRequest("Control de peso", weight, date, MedicalRecordType.REVISION, 1L), veterinary));
+        }
+
+        runConcurrently(writes);
+
+        PetClinicalSummary summary = summaryRepository.findById(1L).orElseThrow();
+        assertThat(summary.getRecordCount()).isEqualTo(1 + WRITERS);
+        assertThat(summary.getLastVisitDate()).isEqualTo(LocalDate.parse("2024-08-01").plusDays(WRITERS));
+        assertThat(summary.getLastWeight()).isEqualTo(25.0 + WRITERS);
+        assertThat(summary.getLastVaccinationDate()).isEqualTo(LocalDate.parse("2024-03-15"));
+    }
+
+    @Test
+    @DisplayName("Should re-read the last visit and vaccination from committed rows when the newest records are deleted concurrently")
+    void concurrentDeletes_keepSummaryExact() throws Exception {
+        UserDetail veterinary = new UserDetail(User.builder().id(4L).username("Carmen").role(Role.VETERINARY).build());
+        List<Long> created = new ArrayList<>();
+        for (int i = 1; i <= WRITERS; i++) {
+            created.add(medicalRecordService.createMedicalRecord(new MedicalRecordRequest("Refuerzo",
+                    25.0 + i, LocalDate.parse("2024-08-01").plusDays(i), MedicalRecordType.VACCINATION, 1L), veterinary).id());
+        }
+
+        List<Callable<Object>> deletes = new ArrayList<>();
+        for (Long id : created.subList(1, WRITERS)) {
+            deletes.add(() -> medicalRecordService.deleteMedicalRecord(id, veterinary));
+        }
+        runConcurrently(deletes);
+
+        PetClinicalSummary summary = summaryRepository.findById(1L).orElseThrow();
+        assertThat(summary.getRecordCount()).isEqualTo(2);
+        assertThat(summary.getLastVisitRecordId()).isEqualTo(created.getFirst());
+        assertThat(summary.getLastVisitDate()).isEqualTo(LocalDate.parse("2024-08-02"));
+        assertThat(summary.getLastWeight()).isEqualTo(26.0);
+        assertThat(summary.getLastVaccinationDate()).isEqualTo(LocalDate.parse("2024-08-02"));
+    }
+
+    private void runConcurrently(List<Callable<Object>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        try {
+            for (Future<Object> task : executor.invokeAll(tasks)) {
+                task.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
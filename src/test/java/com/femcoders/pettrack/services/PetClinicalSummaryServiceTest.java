@@ -0,0 +1,184 @@
+package com.femcoders.pettrack.services;
+
+import com.femcoders.pettrack.config.CacheConfig;
+import com.femcoders.pettrack.events.MedicalRecordSnapshot;
+import com.femcoders.pettrack.models.MedicalRecordType;
+import com.femcoders.pettrack.models.PetClinicalSummary;
+import com.femcoders.pettrack.models.Role;
+import com.femcoders.pettrack.models.User;
+import com.femcoders.pettrack.replica.ReplicaRouter;
+import com.femcoders.pettrack.repositories.MedicalRecordRepository;
+import com.femcoders.pettrack.repositories.PetClinicalSummaryRepository;
+import com.femcoders.pettrack.repositories.PetRepository;
+import com.femcoders.pettrack.security.UserDetail;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PetClinicalSummaryService Unit Tests")
+public class PetClinicalSummaryServiceTest {
+
+    @Mock
+    PetClinicalSummaryRepository summaryRepository;
+
+    @Mock
+    MedicalRecordRepository recordRepository;
+
+    @Mock
+    PetRepository petRepository;
+
+    @Mock
+    ReplicaRouter replicaRouter;
+
+    PetClinicalSummaryServiceImpl service;
+
+    private PetClinicalSummary summary;
+
+    @BeforeEach
+    void setup() {
+        service = new PetClinicalSummaryServiceImpl(summaryRepository, recordRepository, petRepository,
+                new ConcurrentMapCacheManager(CacheConfig.PET_CLINICAL_SUMMARIES), replicaRouter);
+        summary = PetClinicalSummary.builder()
+                .petId(7L)
+                .recordCount(3)
+                .lastVisitRecordId(30L)
+                .lastVisitDate(LocalDate.parse("2024-05-01"))
+                .lastWeight(12.0)
+                .lastVaccinationDate(LocalDate.parse("2024-03-01"))
+                .build();
+    }
+
+    private MedicalRecordSnapshot state(Long id, Long petId, String date, double weight, MedicalRecordType type) {
+        return new MedicalRecordSnapshot(id, petId, 1L, 100L, LocalDate.parse(date), weight, type, "Control");
+    }
+
+    @Nested @DisplayName("recordChanged()")
+    class RecordChanged {
+        @Test @DisplayName("Should count a new record and take its date and weight when it is the newest")
+        void shouldApplyNewestRecord_whenCreated() {
+            given(summaryRepository.findByIdForUpdate(7L)).willReturn(Optional.of(summary));
+
+            service.recordChanged(null, state(31L, 7L, "2024-06-01", 12.6, MedicalRecordType.VACCINATION));
+
+            assertThat(summary.getRecordCount()).isEqualTo(4);
+            assertThat(summary.getLastVisitRecordId()).isEqualTo(31L);
+            assertThat(summary.getLastVisitDate()).isEqualTo(LocalDate.parse("2024-06-01"));
+            assertThat(summary.getLastWeight()).isEqualTo(12.6);
+            assertThat(summary.getLastVaccinationDate()).isEqualTo(LocalDate.parse("2024-06-01"));
+            verifyNoInteractions(recordRepository);
+        }
+
+        @Test @DisplayName("Should only count a backdated record")
+        void shouldOnlyCount_whenCreatedRecordIsOlder() {
+            given(summaryRepository.findByIdForUpdate(7L)).willReturn(Optional.of(summary));
+
+            service.recordChanged(null, state(31L, 7L, "2024-01-01", 9.0, MedicalRecordType.REVISION));
+
+            assertThat(summary.getRecordCount()).isEqualTo(4);
+            assertThat(summary.getLastVisitRecordId()).isEqualTo(30L);
+            assertThat(summary.getLastWeight()).isEqualTo(12.0);
+            verifyNoInteractions(recordRepository);
+        }
+
+        @Test @DisplayName("Should re-read the newest remaining visit when the last one is deleted")
+        void shouldRefreshLastVisit_whenLastVisitDeleted() {
+            var previous = mock(MedicalRecordRepository.Visit.class);
+            given(previous.getId()).willReturn(20L);
+            given(previous.getDate()).willReturn(LocalDate.parse("2024-04-01"));
+            given(previous.getWeight()).willReturn(11.5);
+            given(summaryRepository.findByIdForUpdate(7L)).willReturn(Optional.of(summary));
+            given(recordRepository.findFirstByPet_IdOrderByDateDescIdDesc(7L)).willReturn(Optional.of(previous));
+
+            service.recordChanged(state(30L, 7L, "2024-05-01", 12.0, MedicalRecordType.REVISION), null);
+
+            assertThat(summary.getRecordCount()).isEqualTo(2);
+            assertThat(summary.getLastVisitRecordId()).isEqualTo(20L);
+            assertThat(summary.getLastWeight()).isEqualTo(11.5);
+            assertThat(summary.getLastVaccinationDate()).isEqualTo(LocalDate.parse("2024-03-01"));
+        }
+
+        @Test @DisplayName("Should insert a missing summary without a duplicate key, then lock and recount it")
+        void shouldInsertIfAbsentAndRecount_whenSummaryMissing() {
+            var inserted = PetClinicalSummary.builder().petId(7L).recordCount(0).build();
+            given(summaryRepository.findByIdForUpdate(7L)).willReturn(Optional.empty(), Optional.of(inserted));
+            given(recordRepository.countByPet_Id(7L)).willReturn(4L);
+
+            service.recordChanged(null, state(31L, 7L, "2024-06-01", 12.6, MedicalRecordType.REVISION));
+
+            InOrder inOrder = inOrder(summaryRepository);
+            inOrder.verify(summaryRepository).findByIdForUpdate(7L);
+            inOrder.verify(summaryRepository).insertIfAbsent(7L);
+            inOrder.verify(summaryRepository).findByIdForUpdate(7L);
+            verify(summaryRepository, never()).save(any());
+            assertThat(inserted.getRecordCount()).isEqualTo(4);
+        }
+
+        @Test @DisplayName("Should lock both pets in id order when a record moves between pets")
+        void shouldLockInOrder_whenRecordMovesPet() {
+            var target = PetClinicalSummary.builder().petId(2L).recordCount(0).build();
+            given(summaryRepository.findByIdForUpdate(2L)).willReturn(Optional.of(target));
+            given(summaryRepository.findByIdForUpdate(7L)).willReturn(Optional.of(summary));
+
+            service.recordChanged(state(25L, 7L, "2024-02-01", 10.0, MedicalRecordType.REVISION),
+                    state(25L, 2L, "2024-02-01", 10.0, MedicalRecordType.REVISION));
+
+            InOrder inOrder = inOrder(summaryRepository);
+            inOrder.verify(summaryRepository).findByIdForUpdate(2L);
+            inOrder.verify(summaryRepository).findByIdForUpdate(7L);
+            assertThat(target.getRecordCount()).isEqualTo(1);
+            assertThat(target.getLastVisitRecordId()).isEqualTo(25L);
+            assertThat(summary.getRecordCount()).isEqualTo(2);
+            assertThat(summary.getLastVisitRecordId()).isEqualTo(30L);
+        }
+    }
+
+    @Nested @DisplayName("getPetClinicalSummary()")
+    class GetSummary {
+        private final UserDetail owner = new UserDetail(User.builder().id(2L).username("User").role(Role.USER).build());
+
+        @Test @DisplayName("Should serve repeated reads from the cache")
+        void shouldCacheSummary() {
+            given(petRepository.findOwnerIdById(7L)).willReturn(Optional.of(2L));
+            given(summaryRepository.findById(7L)).willReturn(Optional.of(summary));
+
+            var first = service.getPetClinicalSummary(7L, owner);
+            var second = service.getPetClinicalSummary(7L, owner);
+
+            assertThat(second).isEqualTo(first);
+            assertThat(first.recordCount()).isEqualTo(3);
+            verify(summaryRepository, times(1)).findById(7L);
+        }
+
+        @Test @DisplayName("Should not cache a summary read from the replica")
+        void shouldNotCacheSummary_readFromReplica() {
+            given(petRepository.findOwnerIdById(7L)).willReturn(Optional.of(2L));
+            given(summaryRepository.findById(7L)).willReturn(Optional.of(summary));
+            given(replicaRouter.readsFromReplica()).willReturn(true, false);
+
+            service.getPetClinicalSummary(7L, owner);
+            service.getPetClinicalSummary(7L, owner);
+
+            verify(summaryRepository, times(2)).findById(7L);
+        }
+
+        @Test @DisplayName("Should throw SecurityException when USER is not the pet's owner")
+        void shouldThrowForbidden_whenNotOwner() {
+            given(petRepository.findOwnerIdById(7L)).willReturn(Optional.of(99L));
+
+            assertThat(catchThrowable(() -> service.getPetClinicalSummary(7L, owner)))
+                    .isInstanceOf(SecurityException.class);
+            verifyNoInteractions(summaryRepository);
+        }
+    }
+}
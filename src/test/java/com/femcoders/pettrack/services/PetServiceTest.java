@@ -3,10 +3,16 @@ package com.femcoders.pettrack.services;
 import com.femcoders.pettrack.dtos.pet.PetMapper;
 import com.femcoders.pettrack.dtos.pet.PetRequest;
 import com.femcoders.pettrack.dtos.pet.PetResponse;
+import com.femcoders.pettrack.dtos.pet.PetTransferRequest;
+import com.femcoders.pettrack.dtos.pet.PetTransferResponse;
+import com.femcoders.pettrack.events.PetEvent;
+import com.femcoders.pettrack.events.PetSnapshot;
 import com.femcoders.pettrack.exceptions.EntityNotFoundException;
 import com.femcoders.pettrack.models.Pet;
 import com.femcoders.pettrack.models.Role;
 import com.femcoders.pettrack.models.User;
+import com.femcoders.pettrack.replica.ReplicaRouter;
+import com.femcoders.pettrack.repositories.MedicalRecordRepository;
 import com.femcoders.pettrack.repositories.PetRepository;
 import com.femcoders.pettrack.repositories.UserRepository;
 import com.femcoders.pettrack.security.UserDetail;
@@ -23,12 +29,16 @@ import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.verify;
@@ -39,12 +49,24 @@ public class PetServiceTest {
     @Mock
     PetRepository petRepository;
 
+    @Mock
+    MedicalRecordRepository medicalRecordRepository;
+
     @Mock
     PetMapper petMapper;
 
     @Mock
     UserRepository userRepository;
 
+    @Mock
+    PetClinicalSummaryService petClinicalSummaryService;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    ReplicaRouter replicaRouter;
+
     @InjectMocks
     PetServiceImpl petService;
 
@@ -192,6 +214,28 @@ public class PetServiceTest {
             verify(petMapper).entityToDto(pet1);
             verify(petMapper).entityToDto(pet2);
         }
+
+        @Test
+        @DisplayName("Should not share a listing that started loading before a committed write")
+        void shouldLoadAgain_afterWrite() throws Exception {
+            CountDownLatch loading = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            given(petRepository.findAll())
+                    .willAnswer(invocation -> {
+                        loading.countDown();
+                        release.await(5, TimeUnit.SECONDS);
+                        return List.of(pet1);
+                    })
+                    .willReturn(List.of(pet1, pet2));
+
+            CompletableFuture<List<PetResponse>> before = CompletableFuture.supplyAsync(() -> petService.getAllPets());
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            petService.onWrite();
+
+            assertThat(petService.getAllPets()).containsExactly(petResponse1, petResponse2);
+            release.countDown();
+            assertThat(before.get(5, TimeUnit.SECONDS)).containsExactly(petResponse1);
+        }
     }
 
     @Nested
@@ -399,6 +443,7 @@ public class PetServiceTest {
             verify(userRepository).findByUsernameIgnoreCase("Debora");
             verify(petMapper).dtoToEntity(petRequestNew, user);
             verify(petRepository).save(petNew);
+            verify(petClinicalSummaryService).createSummary(petNew.getId());
             verify(petMapper).entityToDto(petNew);
         }
 
@@ -491,6 +536,9 @@ public class PetServiceTest {
             Map<String, String> result = petService.deletePet(1L, userVeterinary);
 
             assertThat(result.get("message")).isEqualTo("Pet 'Luna' with id:1 has been deleted successfully");
+            verify(medicalRecordRepository).deleteAllByPetId(1L);
+            verify(petRepository).deleteInBulkById(1L);
+            verify(petClinicalSummaryService).petsDeleted(List.of(1L));
         }
 
         @Test
@@ -517,4 +565,41 @@ public class PetServiceTest {
                     .hasMessage("Only veterinaries can manage pets");
         }
     }
+
+    @Nested
+    @DisplayName("transferPets")
+    class transferPetsTests {
+        private final User newOwner = User.builder().id(2L).username("Roberto").build();
+
+        @Test
+        @DisplayName("Should move all pets with one update and publish an ownership change per pet")
+        void shouldTransferAllPets() {
+            PetSnapshot luna = PetSnapshot.of(pet1);
+            given(userRepository.findByUsernameIgnoreCase("Debora")).willReturn(Optional.of(user));
+            given(userRepository.findByUsernameIgnoreCase("Roberto")).willReturn(Optional.of(newOwner));
+            given(petRepository.findSnapshotsByOwnerId(1L)).willReturn(List.of(luna, PetSnapshot.of(pet2)));
+            given(petRepository.transferAll(user, newOwner)).willReturn(2);
+
+            PetTransferResponse result = petService.transferPets(
+                    new PetTransferRequest("Debora", "Roberto", null), userVeterinary);
+
+            assertThat(result).isEqualTo(new PetTransferResponse(1L, 2L, 2));
+            verify(eventPublisher).publishEvent(new PetEvent(luna, luna.withOwnerId(2L)));
+        }
+
+        @Test
+        @DisplayName("Should reject selected pets that the current owner does not have")
+        void shouldRejectPetsNotOwned() {
+            given(userRepository.findByUsernameIgnoreCase("Debora")).willReturn(Optional.of(user));
+            given(userRepository.findByUsernameIgnoreCase("Roberto")).willReturn(Optional.of(newOwner));
+            given(petRepository.findSnapshotsByOwnerIdAndIdIn(any(), any())).willReturn(List.of(PetSnapshot.of(pet1)));
+
+            Throwable throwable = catchThrowable(() -> petService.transferPets(
+                    new PetTransferRequest("Debora", "Roberto", List.of(1L, 3L)), userVeterinary));
+
+            assertThat(throwable)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Pets [3] do not belong to Debora");
+        }
+    }
 }
@@ -0,0 +1,228 @@
+package com.femcoders.pettrack.services;
+
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordPage;
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordPatchRequest;
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordRequest;
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordResponse;
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordSearch;
+import com.femcoders.pettrack.dtos.pet.PetPatchRequest;
+import com.femcoders.pettrack.dtos.pet.PetRequest;
+import com.femcoders.pettrack.dtos.pet.PetResponse;
+import com.femcoders.pettrack.dtos.pet.PetTransferRequest;
+import com.femcoders.pettrack.events.MedicalRecordEvent;
+import com.femcoders.pettrack.events.PetEvent;
+import com.femcoders.pettrack.models.MedicalRecordType;
+import com.femcoders.pettrack.models.Role;
+import com.femcoders.pettrack.models.User;
+import com.femcoders.pettrack.repositories.UserRepository;
+import com.femcoders.pettrack.security.UserDetail;
+import com.femcoders.pettrack.shard.H2Shards;
+import com.femcoders.pettrack.shard.Shards;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/** The sharded services over three embedded H2 shards; users come from a mocked primary. */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Sharded PetService and MedicalRecordService")
+public class ShardedServicesTest {
+    private static H2Shards h2Shards;
+
+    @Mock
+    UserRepository userRepository;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    ShardedPetServiceImpl petService;
+    ShardedMedicalRecordServiceImpl medicalRecordService;
+
+    private User owner;
+    private User newOwner;
+    private final User vet = User.builder().id(100L).username("Vet").role(Role.VETERINARY).build();
+    private final UserDetail vetPrincipal = new UserDetail(vet);
+
+    @BeforeAll
+    static void createShards() {
+        h2Shards = new H2Shards(3, 10);
+    }
+
+    @AfterAll
+    static void closeShards() {
+        h2Shards.close();
+    }
+
+    @BeforeEach
+    void setup() {
+        h2Shards.clear();
+        Shards shards = h2Shards.shards();
+        long newOwnerId = LongStream.iterate(2, id -> id + 1)
+                .filter(id -> shards.forOwner(id).index() != shards.forOwner(1).index())
+                .findFirst()
+                .orElseThrow();
+        owner = User.builder().id(1L).username("Debora").role(Role.USER).build();
+        newOwner = User.builder().id(newOwnerId).username("Carmen").role(Role.USER).build();
+
+        Map<String, User> byUsername = Map.of("debora", owner, "carmen", newOwner, "vet", vet);
+        Map<Long, User> byId = Map.of(owner.getId(), owner, newOwner.getId(), newOwner, vet.getId(), vet);
+        lenient().when(userRepository.findByUsernameIgnoreCase(anyString()))
+                .thenAnswer(call -> Optional.ofNullable(byUsername.get(call.<String>getArgument(0).toLowerCase())));
+        lenient().when(userRepository.findById(anyLong()))
+                .thenAnswer(call -> Optional.ofNullable(byId.get(call.<Long>getArgument(0))));
+        lenient().when(userRepository.findAllById(any()))
+                .thenAnswer(call -> call.<Collection<Long>>getArgument(0).stream()
+                        .map(byId::get)
+                        .toList());
+
+        petService = new ShardedPetServiceImpl(h2Shards.petRepository(), userRepository, eventPublisher);
+        medicalRecordService = new ShardedMedicalRecordServiceImpl(h2Shards.medicalRecordRepository(),
+                h2Shards.petRepository(), userRepository, eventPublisher);
+    }
+
+    private PetResponse createPet(String name, String username) {
+        return petService.createPet(new PetRequest(name, "Perro", "Beagle", LocalDate.of(2021, 3, 15),
+                "https://example.com/images/" + name + ".jpg", username), vetPrincipal);
+    }
+
+    private MedicalRecordResponse createRecord(PetResponse pet, String date) {
+        return medicalRecordService.createMedicalRecord(new MedicalRecordRequest("Revisión " + date, 20.0,
+                LocalDate.parse(date), MedicalRecordType.REVISION, pet.id()), vetPrincipal);
+    }
+
+    @Test
+    @DisplayName("Should store a pet on its owner's shard and answer with the owner's username")
+    void createPet_readsBackWithUsername() {
+        PetResponse created = createPet("Luna", "Debora");
+
+        assertThat(petService.getPetById(created.id())).isEqualTo(created);
+        assertThat(created.username()).isEqualTo("Debora");
+        assertThat(h2Shards.petRepository().findByOwnerId(owner.getId())).hasSize(1);
+        assertThat(petService.getFilteredPets(" LU ", null, "")).containsExactly(created);
+        verify(eventPublisher).publishEvent(any(PetEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should move a pet and its records to the new owner's shard when an update changes the owner")
+    void updatePet_withNewOwner_movesPetAndRecords() {
+        PetResponse pet = createPet("Milo", "Debora");
+        createRecord(pet, "2024-03-01");
+
+        PetResponse updated = petService.updatePet(pet.id(), new PetRequest("Milo", "Perro", "Beagle",
+                LocalDate.of(2021, 3, 15), pet.image(), "Carmen"), vetPrincipal);
+
+        assertThat(updated.username()).isEqualTo("Carmen");
+        assertThat(h2Shards.petRepository().findByOwnerId(owner.getId())).isEmpty();
+        assertThat(medicalRecordService.getPetMedicalHistory(pet.id(), null, 10, new UserDetail(newOwner)).content())
+                .extracting(MedicalRecordResponse::petName, MedicalRecordResponse::createdBy)
+                .containsExactly(tuple("Milo", "Vet"));
+    }
+
+    @Test
+    @DisplayName("Should publish one event per medical record deleted with its pet")
+    void deletePet_publishesRecordEvents() {
+        PetResponse pet = createPet("Toby", "Debora");
+        createRecord(pet, "2024-01-01");
+        createRecord(pet, "2024-02-01");
+
+        petService.deletePet(pet.id(), vetPrincipal);
+
+        verify(eventPublisher, times(4)).publishEvent(any(MedicalRecordEvent.class));
+        assertThat(catchThrowable(() -> petService.getPetById(pet.id())))
+                .hasMessage("Pet not found with id " + pet.id());
+        assertThat(medicalRecordService.getAllMedicalRecords(vetPrincipal)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should transfer only the selected pets and reject pets of another owner")
+    void transferPets_movesSelectedPets() {
+        PetResponse kept = createPet("Coco", "Debora");
+        PetResponse moved = createPet("Nala", "Debora");
+
+        assertThat(petService.transferPets(new PetTransferRequest("Debora", "Carmen", List.of(moved.id())), vetPrincipal)
+                .transferred()).isEqualTo(1);
+        assertThat(petService.getPetById(moved.id()).username()).isEqualTo("Carmen");
+        assertThat(petService.getPetById(kept.id()).username()).isEqualTo("Debora");
+        assertThat(catchThrowable(() -> petService.transferPets(
+                new PetTransferRequest("Debora", "Carmen", List.of(moved.id())), vetPrincipal)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Pets [" + moved.id() + "] do not belong to Debora");
+    }
+
+    @Test
+    @DisplayName("Should page an owner's search results and keep other owners' records out of them")
+    void searchMedicalRecords_pagesOwnersRecords() {
+        PetResponse pet = createPet("Kiwi", "Debora");
+        PetResponse otherPet = createPet("Simba", "Carmen");
+        createRecord(pet, "2024-01-01");
+        createRecord(pet, "2024-02-01");
+        createRecord(pet, "2024-03-01");
+        createRecord(otherPet, "2024-04-01");
+
+        MedicalRecordPage first = medicalRecordService.searchMedicalRecords(
+                new MedicalRecordSearch(null, null, null, null, null, null, null, 2), new UserDetail(owner));
+        MedicalRecordPage second = medicalRecordService.searchMedicalRecords(
+                new MedicalRecordSearch(null, null, null, null, null, null, first.nextCursor(), 2), new UserDetail(owner));
+
+        assertThat(first.content()).extracting(MedicalRecordResponse::date)
+                .containsExactly(LocalDate.parse("2024-03-01"), LocalDate.parse("2024-02-01"));
+        assertThat(second.content()).extracting(MedicalRecordResponse::date)
+                .containsExactly(LocalDate.parse("2024-01-01"));
+        assertThat(second.nextCursor()).isNull();
+        assertThat(medicalRecordService.getAllMedicalRecords(vetPrincipal)).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("Should refuse an owner another owner's record and let a patch move a record to another pet")
+    void medicalRecords_checkOwnerAndMoveBetweenPets() {
+        PetResponse pet = createPet("Daisy", "Debora");
+        PetResponse otherPet = createPet("Bruno", "Carmen");
+        MedicalRecordResponse record = createRecord(pet, "2024-05-01");
+
+        assertThat(catchThrowable(() -> medicalRecordService.getMedicalRecordById(record.id(), new UserDetail(newOwner))))
+                .isInstanceOf(SecurityException.class);
+
+        MedicalRecordResponse patched = medicalRecordService.patchMedicalRecord(record.id(),
+                new MedicalRecordPatchRequest(null, 21.5, null, null, otherPet.id()), vetPrincipal);
+
+        assertThat(patched.petName()).isEqualTo("Bruno");
+        assertThat(patched.weight()).isEqualTo(21.5);
+        assertThat(medicalRecordService.getMedicalRecordById(record.id(), new UserDetail(newOwner))).isEqualTo(patched);
+        assertThat(medicalRecordService.getPetWeightSeries(pet.id(), 3, vetPrincipal).totalPoints()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should apply a pet patch and skip the write when nothing changes")
+    void patchPet_appliesSuppliedFields() {
+        PetResponse pet = createPet("Rocky", "Debora");
+
+        PetResponse patched = petService.patchPet(pet.id(), new PetPatchRequest("Rocco", null, null, null, null, null), vetPrincipal);
+        PetResponse unchanged = petService.patchPet(pet.id(), new PetPatchRequest(null, null, null, null, null, "debora"), vetPrincipal);
+
+        assertThat(patched.name()).isEqualTo("Rocco");
+        assertThat(unchanged).isEqualTo(patched);
+        verify(eventPublisher, times(2)).publishEvent(any(PetEvent.class));
+    }
+}
@@ -1,12 +1,17 @@
 package com.femcoders.pettrack.services;
 
 import com.femcoders.pettrack.dtos.user.UserMapper;
+import com.femcoders.pettrack.dtos.user.UserPatchRequest;
 import com.femcoders.pettrack.dtos.user.UserRequest;
 import com.femcoders.pettrack.dtos.user.UserResponse;
 import com.femcoders.pettrack.dtos.user.UserUpdateRequest;
+import com.femcoders.pettrack.events.UserEvent;
+import com.femcoders.pettrack.events.UserSnapshot;
 import com.femcoders.pettrack.exceptions.EntityNotFoundException;
 import com.femcoders.pettrack.models.Role;
 import com.femcoders.pettrack.models.User;
+import com.femcoders.pettrack.repositories.MedicalRecordRepository;
+import com.femcoders.pettrack.repositories.PetRepository;
 import com.femcoders.pettrack.repositories.UserRepository;
 import com.femcoders.pettrack.security.UserDetail;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,9 +25,11 @@ import org.mockito.Mock;
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
@@ -35,12 +42,24 @@ public class UserServiceTest {
     @Mock
     UserRepository userRepository;
 
+    @Mock
+    PetRepository petRepository;
+
+    @Mock
+    MedicalRecordRepository medicalRecordRepository;
+
+    @Mock
+    PetClinicalSummaryService petClinicalSummaryService;
+
     @Mock
     UserMapper userMapper;
 
     @Mock
     BCryptPasswordEncoder bCryptPasswordEncoder;
 
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     UserServiceImpl userService;
 
@@ -274,6 +293,47 @@ public class UserServiceTest {
     }
 
 
+    @Nested
+    @DisplayName("patchUser()")
+    class PatchUserTests {
+        @Test
+        @DisplayName("Should not hash a password when none is supplied")
+        void shouldNotHashPassword_whenOnlyEmailChanges() {
+            given(userRepository.findById(1L)).willReturn(Optional.of(regularEntity));
+
+            userService.patchUser(1L, new UserPatchRequest(null, "debora.new@user.com", null, null), vetPrincipal);
+
+            assertThat(regularEntity.getEmail()).isEqualTo("debora.new@user.com");
+            assertThat(regularEntity.getUsername()).isEqualTo("Debora");
+            verify(bCryptPasswordEncoder, never()).encode(any(CharSequence.class));
+        }
+
+        @Test
+        @DisplayName("Should hash the password when one is supplied")
+        void shouldHashPassword_whenSupplied() {
+            given(userRepository.findById(1L)).willReturn(Optional.of(regularEntity));
+            given(bCryptPasswordEncoder.encode("Debora123.")).willReturn("hashed-password");
+
+            userService.patchUser(1L, new UserPatchRequest(null, null, "Debora123.", null), vetPrincipal);
+
+            assertThat(regularEntity.getPassword()).isEqualTo("hashed-password");
+        }
+
+        @Test
+        @DisplayName("Should reject a username that is already taken")
+        void shouldThrow_whenUsernameTaken() {
+            given(userRepository.findById(1L)).willReturn(Optional.of(regularEntity));
+            given(userRepository.existsByUsername("Roberto")).willReturn(true);
+
+            var thrown = catchThrowable(() -> userService.patchUser(1L,
+                    new UserPatchRequest("Roberto", null, null, null), vetPrincipal));
+
+            assertThat(thrown)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Username already exists");
+        }
+    }
+
     @Nested
     @DisplayName("deleteUser()")
     class DeleteUserTests {
@@ -286,7 +346,10 @@ public class UserServiceTest {
 
             assertThat(res.get("message")).contains("has been deleted");
             verify(userRepository).findById(1L);
-            verify(userRepository).delete(regularEntity);
+            verify(medicalRecordRepository).deleteAllByOwnerId(1L);
+            verify(petRepository).deleteAllByOwnerId(1L);
+            verify(userRepository).deleteInBulkById(1L);
+            verify(eventPublisher).publishEvent(new UserEvent(UserSnapshot.of(regularEntity), null));
         }
 
         @Test
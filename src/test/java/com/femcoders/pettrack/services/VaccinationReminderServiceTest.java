@@ -0,0 +1,88 @@
+package com.femcoders.pettrack.services;
+
+import com.femcoders.pettrack.dtos.vaccinationReminder.VaccinationReminderResponse;
+import com.femcoders.pettrack.models.Role;
+import com.femcoders.pettrack.models.User;
+import com.femcoders.pettrack.reminders.ReminderProperties;
+import com.femcoders.pettrack.repositories.VaccinationReminderRepository;
+import com.femcoders.pettrack.security.UserDetail;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("VaccinationReminderService Unit Tests")
+public class VaccinationReminderServiceTest {
+
+    @Mock
+    VaccinationReminderRepository reminderRepository;
+
+    VaccinationReminderServiceImpl service;
+
+    private UserDetail vetPrincipal;
+    private UserDetail userPrincipal;
+    private VaccinationReminderResponse reminder;
+
+    @BeforeEach
+    void setup() {
+        service = new VaccinationReminderServiceImpl(reminderRepository, new ReminderProperties());
+        vetPrincipal = new UserDetail(User.builder().id(100L).username("Vet").role(Role.VETERINARY).build());
+        userPrincipal = new UserDetail(User.builder().id(2L).username("User").role(Role.USER).build());
+        reminder = new VaccinationReminderResponse(7L, "Luna", 2L, LocalDate.parse("2024-01-20"), LocalDate.parse("2025-01-20"), true);
+    }
+
+    @Test
+    @DisplayName("Should scope a USER to their own pets and default dueBefore to the due-soon window")
+    void shouldScopeToOwner_whenUser() {
+        LocalDate dueBefore = LocalDate.now().plusDays(30);
+        given(reminderRepository.findDueByOwner(eq(2L), eq(dueBefore), any(LocalDate.class), eq(Limit.of(50))))
+                .willReturn(List.of(reminder));
+
+        var result = service.getVaccinationReminders(null, null, 50, userPrincipal);
+
+        assertThat(result).containsExactly(reminder);
+    }
+
+    @Test
+    @DisplayName("Should list the whole clinic for a veterinary without ownerId")
+    void shouldListAll_whenVeterinary() {
+        LocalDate dueBefore = LocalDate.parse("2025-06-01");
+        given(reminderRepository.findDue(eq(dueBefore), any(LocalDate.class), eq(Limit.of(20)))).willReturn(List.of(reminder));
+
+        var result = service.getVaccinationReminders(null, dueBefore, 20, vetPrincipal);
+
+        assertThat(result).hasSize(1);
+        verify(reminderRepository).findDue(eq(dueBefore), any(LocalDate.class), eq(Limit.of(20)));
+    }
+
+    @Test
+    @DisplayName("Should throw SecurityException when USER asks for another owner's reminders")
+    void shouldThrowForbidden_whenOtherOwner() {
+        assertThat(catchThrowable(() -> service.getVaccinationReminders(99L, null, 50, userPrincipal)))
+                .isInstanceOf(SecurityException.class);
+        verifyNoInteractions(reminderRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject sizes out of range")
+    void shouldThrowIllegalArgument_whenSizeOutOfRange() {
+        assertThat(catchThrowable(() -> service.getVaccinationReminders(null, null, 0, vetPrincipal)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> service.getVaccinationReminders(null, null, 101, vetPrincipal)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,75 @@
+package com.femcoders.pettrack.shard;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Embedded shard databases for plain tests: {@code count} H2 shards plus an H2 primary holding only
+ * {@code shard_sequences}, each with a name of its own so that test classes never share data.
+ */
+public class H2Shards implements AutoCloseable {
+    static final String URL = "jdbc:h2:mem:%s;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE,YEAR,MONTH;DB_CLOSE_DELAY=-1";
+
+    private final Shards shards;
+    private final ShardedPetRepository petRepository;
+    private final ShardedMedicalRecordRepository medicalRecordRepository;
+
+    public H2Shards(int count, int idBlockSize) {
+        String name = UUID.randomUUID().toString();
+        ShardingProperties properties = new ShardingProperties();
+        properties.setEnabled(true);
+        properties.setIdBlockSize(idBlockSize);
+        properties.setShards(IntStream.range(0, count)
+                .mapToObj(index -> shard(String.format(URL, name + "-shard-" + index)))
+                .toList());
+
+        DriverManagerDataSource primary = new DriverManagerDataSource(String.format(URL, name + "-primary"), "sa", "");
+        JdbcTemplate primaryJdbcTemplate = new JdbcTemplate(primary);
+        primaryJdbcTemplate.execute("CREATE TABLE shard_sequences (name VARCHAR(30) NOT NULL, next_value BIGINT NOT NULL, PRIMARY KEY (name))");
+        primaryJdbcTemplate.update("INSERT INTO shard_sequences (name, next_value) VALUES ('pets', 1), ('medical_records', 1)");
+        ShardIdAllocator idAllocator = new ShardIdAllocator(primaryJdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(primary)), properties);
+
+        this.shards = new Shards(properties);
+        this.petRepository = new ShardedPetRepository(shards, idAllocator);
+        this.medicalRecordRepository = new ShardedMedicalRecordRepository(shards, idAllocator);
+    }
+
+    static ShardingProperties.ShardDataSource shard(String url) {
+        ShardingProperties.ShardDataSource shard = new ShardingProperties.ShardDataSource();
+        shard.setUrl(url);
+        shard.setUsername("sa");
+        shard.setPassword("");
+        return shard;
+    }
+
+    public Shards shards() {
+        return shards;
+    }
+
+    public ShardedPetRepository petRepository() {
+        return petRepository;
+    }
+
+    public ShardedMedicalRecordRepository medicalRecordRepository() {
+        return medicalRecordRepository;
+    }
+
+    /** Empties every shard. */
+    public void clear() {
+        for (Shards.Shard shard : shards.all()) {
+            shard.jdbcTemplate().update("DELETE FROM medical_records");
+            shard.jdbcTemplate().update("DELETE FROM pets");
+        }
+    }
+
+    @Override
+    public void close() {
+        shards.destroy();
+    }
+}
@@ -0,0 +1,54 @@
+package com.femcoders.pettrack.shard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("ShardRouter Tests")
+public class ShardRouterTest {
+    private static final int OWNERS = 100_000;
+
+    @Test
+    @DisplayName("Should spread owners evenly over the shards")
+    void spreadsOwnersEvenly() {
+        ShardRouter router = new ShardRouter(8);
+        int[] owners = new int[8];
+
+        for (long ownerId = 1; ownerId <= OWNERS; ownerId++) {
+            owners[router.shardOf(ownerId)]++;
+        }
+
+        for (int count : owners) {
+            assertThat((double) count).isCloseTo(OWNERS / 8.0, within(OWNERS / 8.0 * 0.05));
+        }
+    }
+
+    @Test
+    @DisplayName("Should only move owners onto the new shard when one is added")
+    void addingShard_onlyMovesOwnersToIt() {
+        ShardRouter before = new ShardRouter(8);
+        ShardRouter after = new ShardRouter(9);
+        int moved = 0;
+
+        for (long ownerId = 1; ownerId <= OWNERS; ownerId++) {
+            int from = before.shardOf(ownerId);
+            int to = after.shardOf(ownerId);
+            if (from != to) {
+                assertThat(to).isEqualTo(8);
+                moved++;
+            }
+        }
+
+        assertThat((double) moved).isCloseTo(OWNERS / 9.0, within(OWNERS / 9.0 * 0.05));
+    }
+
+    @Test
+    @DisplayName("Should send everything to the only shard and reject an empty shard list")
+    void singleShard_andNoShards() {
+        assertThat(new ShardRouter(1).shardOf(42)).isZero();
+        assertThatThrownBy(() -> new ShardRouter(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
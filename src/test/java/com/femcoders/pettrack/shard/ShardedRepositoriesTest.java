@@ -0,0 +1,296 @@
+package com.femcoders.pettrack.shard;
+
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordCursor;
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordSearch;
+import com.femcoders.pettrack.events.MedicalRecordSnapshot;
+import com.femcoders.pettrack.events.PetSnapshot;
+import com.femcoders.pettrack.exceptions.EntityNotFoundException;
+import com.femcoders.pettrack.models.MedicalRecordType;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Runs against three embedded H2 shards and an embedded H2 primary for the id sequences; no Spring context. */
+@DisplayName("Sharded pet and medical record repositories")
+public class ShardedRepositoriesTest {
+    private static final Comparator<MedicalRecordSnapshot> NEWEST_FIRST =
+            Comparator.comparing(MedicalRecordSnapshot::date).thenComparing(MedicalRecordSnapshot::id).reversed();
+
+    private static H2Shards h2Shards;
+
+    private Shards shards;
+    private ShardedPetRepository petRepository;
+    private ShardedMedicalRecordRepository recordRepository;
+
+    @BeforeAll
+    static void createShards() {
+        h2Shards = new H2Shards(3, 7);
+    }
+
+    @AfterAll
+    static void closeShards() {
+        h2Shards.close();
+    }
+
+    @BeforeEach
+    void clearShards() {
+        h2Shards.clear();
+        shards = h2Shards.shards();
+        petRepository = h2Shards.petRepository();
+        recordRepository = h2Shards.medicalRecordRepository();
+    }
+
+    private PetSnapshot pet(long ownerId, String name) {
+        return petRepository.insert(new PetSnapshot(null, ownerId, "Perro", name, "Beagle",
+                LocalDate.of(2021, 3, 15), "https://example.com/images/" + name + ".jpg"));
+    }
+
+    private MedicalRecordSnapshot record(PetSnapshot pet, LocalDate date) {
+        return recordRepository.insert(new MedicalRecordSnapshot(null, pet.id(), pet.ownerId(), 4L, date, 20.0,
+                MedicalRecordType.REVISION, "Revisión " + date));
+    }
+
+    private long ownerOnOtherShard(long ownerId) {
+        int shard = shards.forOwner(ownerId).index();
+        return LongStream.iterate(ownerId + 1, id -> id + 1)
+                .filter(id -> shards.forOwner(id).index() != shard)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private int petsOnShard(Shards.Shard shard, long ownerId) {
+        return shard.jdbcTemplate().queryForObject("SELECT COUNT(*) FROM pets WHERE user_id = ?", Integer.class, ownerId);
+    }
+
+    @Test
+    @DisplayName("Should keep each owner's pets on a single shard and spread owners over all of them")
+    void ownersPets_liveOnOneShard() {
+        for (long ownerId = 1; ownerId <= 12; ownerId++) {
+            pet(ownerId, "Luna" + ownerId);
+            pet(ownerId, "Milo" + ownerId);
+        }
+
+        for (long ownerId = 1; ownerId <= 12; ownerId++) {
+            Shards.Shard home = shards.forOwner(ownerId);
+            assertThat(petRepository.findByOwnerId(ownerId))
+                    .extracting(PetSnapshot::name)
+                    .containsExactly("Luna" + ownerId, "Milo" + ownerId);
+            for (Shards.Shard shard : shards.all()) {
+                assertThat(petsOnShard(shard, ownerId)).isEqualTo(shard.index() == home.index() ? 2 : 0);
+            }
+        }
+        assertThat(shards.all()).allSatisfy(shard ->
+                assertThat(shard.jdbcTemplate().queryForObject("SELECT COUNT(*) FROM pets", Integer.class)).isPositive());
+    }
+
+    @Test
+    @DisplayName("Should page through all pets in id order by merging every shard's page")
+    void petPages_mergeAllShards() {
+        List<Long> ids = new ArrayList<>();
+        for (long ownerId = 1; ownerId <= 10; ownerId++) {
+            ids.add(pet(ownerId, "Toby" + ownerId).id());
+            ids.add(pet(ownerId, "Coco" + ownerId).id());
+        }
+
+        List<Long> paged = new ArrayList<>();
+        long after = 0;
+        List<PetSnapshot> page;
+        while (!(page = petRepository.findPage(after, 3)).isEmpty()) {
+            assertThat(page).hasSizeLessThanOrEqualTo(3);
+            page.forEach(pet -> paged.add(pet.id()));
+            after = page.getLast().id();
+        }
+
+        assertThat(paged).isSorted().containsExactlyInAnyOrderElementsOf(ids);
+    }
+
+    @Test
+    @DisplayName("Should page through all medical records newest first across shards and per owner")
+    void recordPages_mergeAllShards() {
+        List<MedicalRecordSnapshot> records = new ArrayList<>();
+        for (long ownerId = 1; ownerId <= 6; ownerId++) {
+            PetSnapshot pet = pet(ownerId, "Nala" + ownerId);
+            for (int visit = 0; visit < 4; visit++) {
+                records.add(record(pet, LocalDate.of(2024, 1 + visit * 3, (int) ownerId % 3 + 1)));
+            }
+        }
+
+        List<MedicalRecordSnapshot> paged = new ArrayList<>();
+        MedicalRecordCursor cursor = null;
+        List<MedicalRecordSnapshot> page;
+        while (!(page = recordRepository.findPage(cursor, 5)).isEmpty()) {
+            paged.addAll(page);
+            cursor = new MedicalRecordCursor(page.getLast().date(), page.getLast().id());
+        }
+
+        assertThat(paged).containsExactlyElementsOf(records.stream().sorted(NEWEST_FIRST).toList());
+        assertThat(recordRepository.findByOwnerId(2, null, 10))
+                .containsExactlyElementsOf(records.stream().filter(r -> r.ownerId() == 2).sorted(NEWEST_FIRST).toList());
+    }
+
+    @Test
+    @DisplayName("Should move a pet and its medical records to the new owner's shard")
+    void transfer_movesPetAndRecordsBetweenShards() {
+        long owner = 1;
+        long newOwner = ownerOnOtherShard(owner);
+        PetSnapshot pet = pet(owner, "Simba");
+        record(pet, LocalDate.of(2024, 3, 15));
+        record(pet, LocalDate.of(2024, 6, 15));
+
+        PetSnapshot moved = petRepository.transfer(pet, newOwner);
+
+        assertThat(moved.ownerId()).isEqualTo(newOwner);
+        assertThat(petRepository.findByOwnerId(owner)).isEmpty();
+        assertThat(petRepository.findByOwnerId(newOwner)).containsExactly(moved);
+        assertThat(petRepository.findById(pet.id())).contains(moved);
+        assertThat(recordRepository.findByPetId(newOwner, pet.id(), null, 10))
+                .hasSize(2)
+                .allSatisfy(record -> assertThat(record.ownerId()).isEqualTo(newOwner));
+        assertThat(shards.forOwner(owner).jdbcTemplate()
+                .queryForObject("SELECT COUNT(*) FROM medical_records", Integer.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should delete a pet together with its medical records")
+    void delete_removesPetAndRecords() {
+        PetSnapshot pet = pet(3, "Daisy");
+        MedicalRecordSnapshot record = record(pet, LocalDate.of(2024, 5, 1));
+
+        assertThat(petRepository.delete(pet)).contains(List.of(record));
+
+        assertThat(petRepository.findById(pet.id())).isEmpty();
+        assertThat(recordRepository.findById(record.id())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject a medical record whose pet belongs to another owner")
+    void insertRecord_forOtherOwnersPet_fails() {
+        PetSnapshot pet = pet(1, "Kiwi");
+
+        assertThatThrownBy(() -> recordRepository.insert(new MedicalRecordSnapshot(null, pet.id(), 2L, 4L,
+                LocalDate.of(2024, 1, 1), 1.0, MedicalRecordType.VACCINATION, "Vacuna")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Pet " + pet.id() + " does not belong to owner 2");
+    }
+
+    @Test
+    @DisplayName("Should move the pet as it is on the shard, not as the caller last saw it")
+    void transfer_copiesLockedRow() {
+        long newOwner = ownerOnOtherShard(1);
+        PetSnapshot pet = pet(1, "Rocky");
+        PetSnapshot renamed = new PetSnapshot(pet.id(), 1L, pet.species(), "Rocco", pet.breed(), pet.birthDate(), pet.image());
+        petRepository.update(renamed);
+
+        PetSnapshot moved = petRepository.transfer(pet, newOwner);
+
+        assertThat(moved).isEqualTo(renamed.withOwnerId(newOwner));
+        assertThat(petRepository.findByOwnerId(newOwner)).containsExactly(moved);
+    }
+
+    @Test
+    @DisplayName("Should not bring back a pet deleted before the transfer")
+    void transfer_ofDeletedPet_fails() {
+        long newOwner = ownerOnOtherShard(1);
+        PetSnapshot pet = pet(1, "Lola");
+        petRepository.delete(pet);
+
+        assertThatThrownBy(() -> petRepository.transfer(pet, newOwner))
+                .isInstanceOf(EntityNotFoundException.class);
+        assertThat(petRepository.findById(pet.id())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should refuse a transfer from an owner the pet no longer belongs to")
+    void transfer_fromStaleOwner_fails() {
+        long otherOwner = LongStream.iterate(2, id -> id + 1)
+                .filter(id -> shards.forOwner(id).index() == shards.forOwner(1).index())
+                .findFirst()
+                .orElseThrow();
+        long newOwner = ownerOnOtherShard(1);
+        PetSnapshot pet = pet(1, "Thor");
+        record(pet, LocalDate.of(2024, 2, 1));
+        petRepository.transfer(pet, otherOwner);
+
+        assertThatThrownBy(() -> petRepository.transfer(pet, newOwner))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Pet " + pet.id() + " does not belong to owner 1");
+        assertThat(petRepository.findByOwnerId(newOwner)).isEmpty();
+        assertThat(recordRepository.findByPetId(otherOwner, pet.id(), null, 10)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should move a medical record to the shard of its new pet's owner")
+    void updateRecord_movesItToNewPetsShard() {
+        PetSnapshot pet = pet(1, "Bimba");
+        PetSnapshot otherPet = pet(ownerOnOtherShard(1), "Bruno");
+        MedicalRecordSnapshot record = record(pet, LocalDate.of(2024, 4, 1));
+        MedicalRecordSnapshot moved = new MedicalRecordSnapshot(record.id(), otherPet.id(), otherPet.ownerId(),
+                record.veterinaryId(), record.date(), 25.5, record.type(), record.description());
+
+        assertThat(recordRepository.update(record, moved)).isTrue();
+
+        assertThat(recordRepository.findById(record.id())).contains(moved);
+        assertThat(recordRepository.findByPetId(pet.ownerId(), pet.id(), null, 10)).isEmpty();
+        assertThat(recordRepository.update(record, moved)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should find records by every search criterion on one or all shards")
+    void search_filtersOnEveryCriterion() {
+        PetSnapshot pet = pet(1, "Chispa");
+        PetSnapshot otherPet = pet(ownerOnOtherShard(1), "Pipo");
+        MedicalRecordSnapshot vaccination = recordRepository.insert(new MedicalRecordSnapshot(null, pet.id(), pet.ownerId(),
+                5L, LocalDate.of(2024, 6, 1), 4.0, MedicalRecordType.VACCINATION, "Vacuna"));
+        record(pet, LocalDate.of(2024, 7, 1));
+        MedicalRecordSnapshot otherVaccination = recordRepository.insert(new MedicalRecordSnapshot(null, otherPet.id(),
+                otherPet.ownerId(), 5L, LocalDate.of(2024, 8, 1), 6.0, MedicalRecordType.VACCINATION, "Vacuna"));
+
+        MedicalRecordSearch vaccinations = new MedicalRecordSearch(null, MedicalRecordType.VACCINATION,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), 5L, null, null, 10);
+
+        assertThat(recordRepository.search(vaccinations, null, null, null)).containsExactly(otherVaccination, vaccination);
+        assertThat(recordRepository.search(vaccinations, pet.ownerId(), null, 10)).containsExactly(vaccination);
+    }
+
+    @Test
+    @DisplayName("Should close the shards already opened when a later one fails to start")
+    void failedStartup_closesOpenedPools() throws InterruptedException {
+        ShardingProperties properties = new ShardingProperties();
+        properties.setShards(List.of(
+                H2Shards.shard(String.format(H2Shards.URL, UUID.randomUUID())),
+                H2Shards.shard("jdbc:h2:mem:" + UUID.randomUUID() + ";INIT=RUNSCRIPT FROM 'classpath:missing.sql'")));
+        Set<Thread> before = housekeepers();
+
+        assertThatThrownBy(() -> new Shards(properties)).isInstanceOf(RuntimeException.class);
+
+        Set<Thread> opened = housekeepers();
+        opened.removeAll(before);
+        for (Thread housekeeper : opened) {
+            housekeeper.join(Duration.ofSeconds(5));
+            assertThat(housekeeper.isAlive()).as(housekeeper.getName()).isFalse();
+        }
+    }
+
+    /** The housekeeping threads of every pool named {@code shard-0}, including those of other test classes. */
+    private static Set<Thread> housekeepers() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith("shard-0:housekeeper"))
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+}
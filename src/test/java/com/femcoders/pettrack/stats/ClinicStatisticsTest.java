@@ -0,0 +1,112 @@
+package com.femcoders.pettrack.stats;
+
+import com.femcoders.pettrack.events.MedicalRecordEvent;
+import com.femcoders.pettrack.events.MedicalRecordSnapshot;
+import com.femcoders.pettrack.events.PetEvent;
+import com.femcoders.pettrack.events.PetSnapshot;
+import com.femcoders.pettrack.models.MedicalRecordType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("ClinicStatistics Unit Tests")
+public class ClinicStatisticsTest {
+    private ClinicStatistics statistics;
+
+    @BeforeEach
+    void setup() {
+        statistics = new ClinicStatistics(mock(JdbcTemplate.class));
+    }
+
+    private MedicalRecordSnapshot record(long id, long veterinaryId, String date, MedicalRecordType type) {
+        return new MedicalRecordSnapshot(id, 7L, 1L, veterinaryId, LocalDate.parse(date), 10.0, type, "Control");
+    }
+
+    private PetSnapshot pet(long id, String species) {
+        return new PetSnapshot(id, 1L, species, "Luna", "Mestizo", LocalDate.parse("2020-01-01"), "luna.jpg");
+    }
+
+    @Test
+    @DisplayName("Should count created records by month, type and veterinarian")
+    void shouldCountCreatedRecords() {
+        statistics.onMedicalRecordEvent(new MedicalRecordEvent(null, record(1, 4, "2024-07-05", MedicalRecordType.VACCINATION)));
+        statistics.onMedicalRecordEvent(new MedicalRecordEvent(null, record(2, 4, "2024-07-20", MedicalRecordType.VACCINATION)));
+        statistics.onMedicalRecordEvent(new MedicalRecordEvent(null, record(3, 5, "2024-08-01", MedicalRecordType.REVISION)));
+
+        var snapshot = statistics.snapshot();
+
+        assertThat(snapshot.recordsByMonth()).containsOnlyKeys("2024-07", "2024-08");
+        assertThat(snapshot.recordsByMonth().get("2024-07")).containsExactlyEntriesOf(Map.of(MedicalRecordType.VACCINATION, 2L));
+        assertThat(snapshot.recordsByMonth().get("2024-08")).containsExactlyEntriesOf(Map.of(MedicalRecordType.REVISION, 1L));
+        assertThat(snapshot.visitsByVeterinarian()).containsEntry(4L, 2L).containsEntry(5L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should move an updated record between buckets and drop buckets that reach zero")
+    void shouldMoveUpdatedRecord() {
+        var original = record(1, 4, "2024-07-05", MedicalRecordType.VACCINATION);
+        statistics.onMedicalRecordEvent(new MedicalRecordEvent(null, original));
+
+        statistics.onMedicalRecordEvent(new MedicalRecordEvent(original, record(1, 5, "2024-09-01", MedicalRecordType.SURGERY)));
+
+        var snapshot = statistics.snapshot();
+        assertThat(snapshot.recordsByMonth()).containsOnlyKeys("2024-09");
+        assertThat(snapshot.visitsByVeterinarian()).containsOnlyKeys(5L);
+    }
+
+    @Test
+    @DisplayName("Should count pets by species across create, update and delete")
+    void shouldCountPetsBySpecies() {
+        statistics.onPetEvent(new PetEvent(null, pet(1L, "Perro")));
+        statistics.onPetEvent(new PetEvent(null, pet(2L, "Perro")));
+        statistics.onPetEvent(new PetEvent(pet(2L, "Perro"), pet(2L, "Gato")));
+        statistics.onPetEvent(new PetEvent(pet(1L, "Perro"), null));
+
+        assertThat(statistics.snapshot().petsBySpecies()).containsExactlyEntriesOf(Map.of("Gato", 1L));
+    }
+
+    @Test
+    @DisplayName("Should not lose increments from concurrent writers")
+    void shouldCountConcurrentEvents() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8_000; i++) {
+            long id = i;
+            executor.submit(() -> statistics.onMedicalRecordEvent(
+                    new MedicalRecordEvent(null, record(id, 4, "2024-07-05", MedicalRecordType.REVISION))));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(statistics.snapshot().visitsByVeterinarian()).containsEntry(4L, 8_000L);
+    }
+
+    @Test
+    @DisplayName("Should keep events committed after a rebuild's queries once the rebuild is published")
+    void shouldKeepEventsCommittedDuringRebuild() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        statistics = new ClinicStatistics(jdbcTemplate);
+        doAnswer(call -> {
+            statistics.onPetEvent(new PetEvent(null, pet(1L, "Gato")));
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT created_by_user_id"), any(RowCallbackHandler.class));
+
+        statistics.reconcile();
+        statistics.onPetEvent(new PetEvent(null, pet(2L, "Gato")));
+
+        assertThat(statistics.snapshot().petsBySpecies()).containsExactlyEntriesOf(Map.of("Gato", 2L));
+    }
+}
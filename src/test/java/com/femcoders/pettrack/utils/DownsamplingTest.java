@@ -0,0 +1,56 @@
+package com.femcoders.pettrack.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Downsampling Tests")
+public class DownsamplingTest {
+    private record Point(double x, double y) {
+    }
+
+    private List<Point> downsample(List<Point> points, int threshold) {
+        return Downsampling.largestTriangleThreeBuckets(points, threshold, Point::x, Point::y);
+    }
+
+    @Test
+    @DisplayName("Should return the series unchanged when it is not longer than the threshold")
+    void returnsSeries_whenShorterThanThreshold() {
+        List<Point> points = List.of(new Point(0, 1), new Point(1, 2), new Point(2, 3));
+
+        assertThat(downsample(points, 3)).isSameAs(points);
+    }
+
+    @Test
+    @DisplayName("Should keep the first and last points and return exactly threshold points in order")
+    void keepsEndpoints_andThresholdPoints() {
+        List<Point> points = IntStream.range(0, 1000).mapToObj(i -> new Point(i, Math.sin(i / 50.0))).toList();
+
+        List<Point> sampled = downsample(points, 50);
+
+        assertThat(sampled).hasSize(50);
+        assertThat(sampled.getFirst()).isEqualTo(points.getFirst());
+        assertThat(sampled.getLast()).isEqualTo(points.getLast());
+        assertThat(sampled).isSortedAccordingTo((a, b) -> Double.compare(a.x(), b.x()));
+    }
+
+    @Test
+    @DisplayName("Should keep an isolated spike")
+    void keepsSpike() {
+        List<Point> points = IntStream.range(0, 500).mapToObj(i -> new Point(i, i == 317 ? 40 : 10)).toList();
+
+        assertThat(downsample(points, 20)).contains(new Point(317, 40));
+    }
+
+    @Test
+    @DisplayName("Should reject thresholds below three")
+    void throws_whenThresholdTooSmall() {
+        assertThatThrownBy(() -> downsample(List.of(new Point(0, 0)), 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
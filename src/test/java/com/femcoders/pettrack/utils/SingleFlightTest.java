@@ -0,0 +1,163 @@
+package com.femcoders.pettrack.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SingleFlight Tests")
+public class SingleFlightTest {
+    private static final int CALLERS = 8;
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    @Test
+    @DisplayName("Should run the loader once and share its result with callers that arrive while it runs")
+    void sharesResult_withConcurrentCallers() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Caller<String> leader = Caller.start(() -> singleFlight.execute("key", () -> {
+            loads.incrementAndGet();
+            leaderStarted.countDown();
+            await(release);
+            return "value";
+        }));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        List<Caller<String>> followers = new ArrayList<>();
+        for (int i = 1; i < CALLERS; i++) {
+            followers.add(Caller.start(() -> singleFlight.execute("key", () -> {
+                loads.incrementAndGet();
+                return "other";
+            })));
+        }
+        for (Caller<String> follower : followers) {
+            follower.awaitWaiting();
+        }
+        release.countDown();
+
+        assertThat(leader.get()).isEqualTo("value");
+        for (Caller<String> follower : followers) {
+            assertThat(follower.get()).isEqualTo("value");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not let callers arriving after invalidate() join a load that started before it")
+    void startsFreshLoad_afterInvalidate() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Caller<String> leader = Caller.start(() -> singleFlight.execute("key", () -> {
+            leaderStarted.countDown();
+            await(release);
+            return "before write";
+        }));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        singleFlight.invalidate();
+        assertThat(singleFlight.execute("key", () -> "after write")).isEqualTo("after write");
+
+        release.countDown();
+        assertThat(leader.get()).isEqualTo("before write");
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should rethrow the loader's exception to the caller that ran it and to those waiting on it")
+    void propagatesException_toAllCallers() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Caller<Object> leader = Caller.start(() -> singleFlight.execute("key", () -> {
+            leaderStarted.countDown();
+            await(release);
+            throw new IllegalArgumentException("boom");
+        }));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        Caller<Object> follower = Caller.start(() -> singleFlight.execute("key", () -> "unused"));
+        follower.awaitWaiting();
+        release.countDown();
+
+        assertThatThrownBy(leader::get).isInstanceOf(IllegalArgumentException.class).hasMessage("boom");
+        assertThatThrownBy(follower::get).isInstanceOf(IllegalArgumentException.class).hasMessage("boom");
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not keep results once the load finishes")
+    void doesNotCache_afterCompletion() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(singleFlight.execute("key", loads::incrementAndGet)).isEqualTo(1);
+        assertThat(singleFlight.execute("key", loads::incrementAndGet)).isEqualTo(2);
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should let the next caller retry after a failed load")
+    void retries_afterFailure() {
+        assertThatThrownBy(() -> singleFlight.execute("key", () -> {
+            throw new IllegalStateException("down");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("down");
+
+        assertThat(singleFlight.execute("key", () -> "recovered")).isEqualTo("recovered");
+    }
+
+    /** A caller on its own thread, so the test can see when it is parked waiting for the leader. */
+    private static final class Caller<T> {
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private Thread thread;
+
+        static <T> Caller<T> start(Supplier<T> call) {
+            Caller<T> caller = new Caller<>();
+            caller.thread = Thread.ofPlatform().start(() -> {
+                try {
+                    caller.result.complete(call.get());
+                } catch (RuntimeException e) {
+                    caller.result.completeExceptionally(e);
+                }
+            });
+            return caller;
+        }
+
+        void awaitWaiting() throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (thread.getState() != Thread.State.WAITING) {
+                assertThat(System.nanoTime()).as("caller did not start waiting").isLessThan(deadline);
+                Thread.sleep(1);
+            }
+        }
+
+        T get() throws InterruptedException, TimeoutException {
+            try {
+                return result.get(5, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                throw (RuntimeException) e.getCause();
+            }
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.femcoders.pettrack.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.femcoders.pettrack.dtos.medicalRecord.MedicalRecordMapper;
+import com.femcoders.pettrack.dtos.pet.PetMapper;
+import com.femcoders.pettrack.models.Pet;
+import com.femcoders.pettrack.repositories.MedicalRecordRepository;
+import com.femcoders.pettrack.repositories.PetRepository;
+import com.femcoders.pettrack.security.jwt.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("JitWarmup Unit Tests")
+public class JitWarmupTest {
+
+    private WarmupProperties properties;
+    private PetRepository petRepository;
+    private MedicalRecordRepository medicalRecordRepository;
+    private JitWarmup jitWarmup;
+
+    @BeforeEach
+    void setup() {
+        properties = new WarmupProperties();
+        properties.setEnabled(true);
+        properties.setDuration(Duration.ofMillis(200));
+        properties.setSampleSize(5);
+        petRepository = mock(PetRepository.class);
+        medicalRecordRepository = mock(MedicalRecordRepository.class);
+        jitWarmup = new JitWarmup(properties, new JwtService(), petRepository, medicalRecordRepository,
+                mock(PetMapper.class), mock(MedicalRecordMapper.class), new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("Should report complete immediately when disabled")
+    void shouldBeComplete_whenDisabled() {
+        properties.setEnabled(false);
+
+        assertThat(jitWarmup.isComplete()).isTrue();
+        assertThat(jitWarmup.getResult()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should stay incomplete until the warm-up has run")
+    void shouldBeIncomplete_beforeRun() {
+        assertThat(jitWarmup.isComplete()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should record iterations and latencies for the configured duration")
+    void shouldRecordResult_afterRun() {
+        Page<Pet> pets = new PageImpl<>(List.of(new Pet()));
+        given(petRepository.findAll(any(Pageable.class))).willReturn(pets);
+        given(medicalRecordRepository.findAll(any(Pageable.class))).willReturn(Page.empty());
+
+        jitWarmup.run();
+
+        assertThat(jitWarmup.isComplete()).isTrue();
+        WarmupResult result = jitWarmup.getResult().orElseThrow();
+        assertThat(result.iterations()).isGreaterThan(1);
+        assertThat(result.elapsedMillis()).isGreaterThanOrEqualTo(200);
+        assertThat(result.firstIterationsMeanMicros()).isPositive();
+        assertThat(result.lastIterationsMeanMicros()).isPositive();
+        assertThat(result.error()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should complete with the error when a hot path fails")
+    void shouldCompleteWithError_whenIterationFails() {
+        given(petRepository.findAll(any(Pageable.class))).willThrow(new IllegalStateException("Database unavailable"));
+
+        jitWarmup.run();
+
+        assertThat(jitWarmup.isComplete()).isTrue();
+        assertThat(jitWarmup.getResult().orElseThrow().iterations()).isZero();
+        assertThat(jitWarmup.getResult().orElseThrow().error()).isEqualTo("Database unavailable");
+    }
+}
@@ -1,3 +1,6 @@
+DELETE FROM outbox_events;
+DELETE FROM vaccination_reminders;
+DELETE FROM pet_clinical_summaries;
 DELETE FROM medical_records;
 DELETE FROM pets;
 DELETE FROM users;
@@ -37,3 +40,23 @@ INSERT INTO medical_records(id, description, weight, date, type, pet_id, created
 (10, 'Vacuna leptospirosis', 2.5, '2024-06-10', 'VACCINATION', 10, 4),
 (11, 'Corte de ala y revisión picos', 0.9, '2024-07-01', 'REVISION', 11, 5),
 (12, 'Revisión inicial tras adopción', 0.3, '2024-07-22', 'REVISION', 12, 4);
+
+INSERT INTO pet_clinical_summaries(pet_id, record_count, last_visit_record_id, last_visit_date, last_weight, last_vaccination_date) VALUES
+(1, 1, 1, '2024-03-15', 25.0, '2024-03-15'),
+(2, 1, 2, '2024-05-10', 4.5, NULL),
+(3, 1, 3, '2024-02-20', 28.2, NULL),
+(4, 1, 4, '2024-04-08', 6.7, NULL),
+(5, 1, 5, '2024-01-12', 10.0, '2024-01-12'),
+(6, 1, 6, '2024-06-03', 2.0, NULL),
+(7, 1, 7, '2024-05-20', 30.5, '2024-05-20'),
+(8, 1, 8, '2024-06-18', 3.4, NULL),
+(9, 1, 9, '2024-07-05', 1.8, NULL),
+(10, 1, 10, '2024-06-10', 2.5, '2024-06-10'),
+(11, 1, 11, '2024-07-01', 0.9, NULL),
+(12, 1, 12, '2024-07-22', 0.3, NULL);
+
+INSERT INTO vaccination_reminders(pet_id, last_vaccination_date, due_date) VALUES
+(1, '2024-03-15', '2025-03-15'),
+(5, '2024-01-12', '2025-01-12'),
+(7, '2024-05-20', '2025-05-20'),
+(10, '2024-06-10', '2025-06-10');